@@ -40,6 +40,7 @@ public abstract class BulkAccessor implements Serializable {
 	protected Class target;
 	protected String[] getters, setters;
 	protected Class[] types;
+	protected boolean instantiationSupported;
 
 	/**
 	 * Protected access constructor so the generated class has access to it.
@@ -103,6 +104,28 @@ public abstract class BulkAccessor implements Serializable {
 		return setters.clone();
 	}
 
+	/**
+	 * Does {@link #newInstance()} create the bean directly?  Only the case for public, concrete classes with a public
+	 * no-argument constructor.
+	 *
+	 * @return {@code true} if {@link #newInstance()} is supported
+	 */
+	public boolean isInstantiationSupported() {
+		return instantiationSupported;
+	}
+
+	/**
+	 * Creates an instance of the bean class through its no-argument constructor, without going through reflection.
+	 *
+	 * @return The new bean
+	 *
+	 * @throws UnsupportedOperationException if the bean class cannot be instantiated directly, see
+	 * {@link #isInstantiationSupported()}
+	 */
+	public Object newInstance() {
+		throw new UnsupportedOperationException( "Bulk accessor cannot instantiate " + target.getName() );
+	}
+
 	/**
 	 * Creates a new instance of <code>BulkAccessor</code>.
 	 * The created instance provides methods for setting/getting
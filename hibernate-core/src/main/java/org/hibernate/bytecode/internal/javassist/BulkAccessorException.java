@@ -75,6 +75,17 @@ public class BulkAccessorException extends HibernateException {
 		this.index = index;
 	}
 
+	/**
+	 * Constructs an exception.  This is the constructor the generated accessors call when a property access fails.
+	 *
+	 * @param cause The underlying cause
+	 * @param index The index of the property that causes an exception.
+	 */
+	public BulkAccessorException(Throwable cause, int index) {
+		super( "Invocation failed : @" + index, cause );
+		this.index = index;
+	}
+
 	/**
 	 * Returns the index of the property that causes this exception.
 	 *
@@ -26,6 +26,7 @@ package org.hibernate.bytecode.internal.javassist;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.security.ProtectionDomain;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javassist.CannotCompileException;
 import javassist.bytecode.AccessFlag;
@@ -51,11 +52,13 @@ class BulkAccessorFactory {
 	private static final String OBJECT_CLASS_NAME = Object.class.getName();
 	private static final String GENERATED_GETTER_NAME = "getPropertyValues";
 	private static final String GENERATED_SETTER_NAME = "setPropertyValues";
+	private static final String GENERATED_INSTANTIATOR_NAME = "newInstance";
+	private static final String INSTANTIATOR_DESC = "()Ljava/lang/Object;";
 	private static final String GET_SETTER_DESC = "(Ljava/lang/Object;[Ljava/lang/Object;)V";
 	private static final String THROWABLE_CLASS_NAME = Throwable.class.getName();
 	private static final String BULKEXCEPTION_CLASS_NAME = BulkAccessorException.class.getName();
 
-	private static int counter;
+	private static final AtomicInteger counter = new AtomicInteger();
 
 	private Class targetBean;
 	private String[] getterNames;
@@ -110,7 +113,7 @@ class BulkAccessorFactory {
 	private ClassFile make(Method[] getters, Method[] setters) throws CannotCompileException {
 		String className = targetBean.getName();
 		// set the name of bulk accessor.
-		className = className + "_$$_bulkaccess_" + counter++;
+		className = className + "_$$_bulkaccess_" + counter.getAndIncrement();
 		if ( className.startsWith( "java." ) ) {
 			className = PACKAGE_NAME_PREFIX + className;
 		}
@@ -120,6 +123,9 @@ class BulkAccessorFactory {
 		addDefaultConstructor( classfile );
 		addGetter( classfile, getters );
 		addSetter( classfile, setters );
+		if ( isInstantiationSupported() ) {
+			addInstantiator( classfile );
+		}
 		return classfile;
 	}
 
@@ -135,6 +141,7 @@ class BulkAccessorFactory {
 	private Object newInstance(Class type) throws Exception {
 		final BulkAccessor instance = (BulkAccessor) type.newInstance();
 		instance.target = targetBean;
+		instance.instantiationSupported = isInstantiationSupported();
 		final int len = getterNames.length;
 		instance.getters = new String[len];
 		instance.setters = new String[len];
@@ -173,6 +180,54 @@ class BulkAccessorFactory {
 		classfile.addMethod( constructorMethodInfo );
 	}
 
+	/**
+	 * Can the generated class create the bean directly?  The generated class is not necessarily defined by the
+	 * bean's class loader, so only public classes and constructors are used.
+	 *
+	 * @return {@code true} if {@link #addInstantiator} can be used
+	 */
+	private boolean isInstantiationSupported() {
+		final int modifiers = targetBean.getModifiers();
+		if ( targetBean.isInterface() || Modifier.isAbstract( modifiers ) || !Modifier.isPublic( modifiers ) ) {
+			return false;
+		}
+		if ( targetBean.getEnclosingClass() != null && !Modifier.isStatic( modifiers ) ) {
+			return false;
+		}
+		try {
+			return Modifier.isPublic( targetBean.getDeclaredConstructor().getModifiers() );
+		}
+		catch ( NoSuchMethodException e ) {
+			return false;
+		}
+	}
+
+	/**
+	 * Declares a method creating the bean through its no-argument constructor.
+	 *
+	 * @param classfile The class descriptor
+	 *
+	 * @throws CannotCompileException Indicates trouble with the underlying Javassist calls
+	 */
+	private void addInstantiator(ClassFile classfile) throws CannotCompileException {
+		final ConstPool constPool = classfile.getConstPool();
+		final MethodInfo instantiatorMethodInfo = new MethodInfo( constPool, GENERATED_INSTANTIATOR_NAME, INSTANTIATOR_DESC );
+
+		final Bytecode code = new Bytecode( constPool, 0, 1 );
+		// new // the bean
+		code.addNew( this.targetBean.getName() );
+		// dup
+		code.addOpcode( Opcode.DUP );
+		// invokespecial // the no-argument constructor
+		code.addInvokespecial( this.targetBean.getName(), MethodInfo.nameInit, "()V" );
+		// areturn
+		code.addOpcode( Opcode.ARETURN );
+
+		instantiatorMethodInfo.setCodeAttribute( code.toCodeAttribute() );
+		instantiatorMethodInfo.setAccessFlags( AccessFlag.PUBLIC );
+		classfile.addMethod( instantiatorMethodInfo );
+	}
+
 	private void addGetter(ClassFile classfile, final Method[] getters) throws CannotCompileException {
 		final ConstPool constPool = classfile.getConstPool();
 		final int targetBeanConstPoolIndex = constPool.addClassInfo( this.targetBean.getName() );
@@ -425,16 +480,43 @@ class BulkAccessorFactory {
 	@SuppressWarnings("unchecked")
 	private static Method findAccessor(Class clazz, String name, Class[] params, int index)
 			throws BulkAccessorException {
-		try {
-			final Method method = clazz.getDeclaredMethod( name, params );
-			if ( Modifier.isPrivate( method.getModifiers() ) ) {
+		// accessors inherited from a superclass (a mapped superclass, or the parent entity) are fine as well, as long
+		// as the generated class could call them directly
+		for ( Class current = clazz; current != null && current != Object.class; current = current.getSuperclass() ) {
+			final Method method;
+			try {
+				method = current.getDeclaredMethod( name, params );
+			}
+			catch ( NoSuchMethodException e ) {
+				continue;
+			}
+			final int modifiers = method.getModifiers();
+			if ( Modifier.isPrivate( modifiers ) ) {
 				throw new BulkAccessorException( "private property", index );
 			}
-
+			if ( current != clazz && !Modifier.isPublic( modifiers ) && !samePackage( current, clazz ) ) {
+				throw new BulkAccessorException( "inaccessible inherited property", index );
+			}
 			return method;
 		}
-		catch ( NoSuchMethodException e ) {
-			throw new BulkAccessorException( "cannot find an accessor", index );
+
+		if ( clazz.isInterface() ) {
+			try {
+				// declared by a super interface
+				return clazz.getMethod( name, params );
+			}
+			catch ( NoSuchMethodException ignore ) {
+			}
 		}
+		throw new BulkAccessorException( "cannot find an accessor", index );
+	}
+
+	private static boolean samePackage(Class first, Class second) {
+		final String firstName = first.getName();
+		final String secondName = second.getName();
+		final int firstDot = firstName.lastIndexOf( '.' );
+		final int secondDot = secondName.lastIndexOf( '.' );
+		return firstDot == secondDot && firstName.regionMatches( 0, secondName, 0, Math.max( firstDot, 0 ) )
+				&& first.getClassLoader() == second.getClassLoader();
 	}
 }
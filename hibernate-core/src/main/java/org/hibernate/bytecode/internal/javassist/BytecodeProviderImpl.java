@@ -75,7 +75,9 @@ public class BytecodeProviderImpl implements BytecodeProvider {
 				}
 				else {
 					//test out the optimizer:
-					final Object instance = fastClass.newInstance();
+					final Object instance = bulkAccessor.isInstantiationSupported()
+							? bulkAccessor.newInstance()
+							: fastClass.newInstance();
 					bulkAccessor.setPropertyValues( instance, bulkAccessor.getPropertyValues( instance ) );
 				}
 			}
@@ -110,7 +112,7 @@ public class BytecodeProviderImpl implements BytecodeProvider {
 
 		if ( fastClass != null && bulkAccessor != null ) {
 			return new ReflectionOptimizerImpl(
-					new InstantiationOptimizerAdapter( fastClass ),
+					new InstantiationOptimizerAdapter( fastClass, bulkAccessor ),
 					new AccessOptimizerAdapter( bulkAccessor, clazz )
 			);
 		}
@@ -36,6 +36,7 @@ import org.hibernate.bytecode.spi.ReflectionOptimizer;
  */
 public class InstantiationOptimizerAdapter implements ReflectionOptimizer.InstantiationOptimizer, Serializable {
 	private final FastClass fastClass;
+	private final BulkAccessor bulkAccessor;
 
 	/**
 	 * Constructs the InstantiationOptimizerAdapter
@@ -43,13 +44,25 @@ public class InstantiationOptimizerAdapter implements ReflectionOptimizer.Instan
 	 * @param fastClass The fast class for the class to be instantiated here.
 	 */
 	public InstantiationOptimizerAdapter(FastClass fastClass) {
+		this( fastClass, null );
+	}
+
+	/**
+	 * Constructs the InstantiationOptimizerAdapter
+	 *
+	 * @param fastClass The fast class for the class to be instantiated here.
+	 * @param bulkAccessor The bulk accessor of that class, used instead of the (reflective) fast class when it can
+	 * instantiate the class itself; may be {@code null}
+	 */
+	public InstantiationOptimizerAdapter(FastClass fastClass, BulkAccessor bulkAccessor) {
 		this.fastClass = fastClass;
+		this.bulkAccessor = bulkAccessor != null && bulkAccessor.isInstantiationSupported() ? bulkAccessor : null;
 	}
 
 	@Override
 	public Object newInstance() {
 		try {
-			return fastClass.newInstance();
+			return bulkAccessor != null ? bulkAccessor.newInstance() : fastClass.newInstance();
 		}
 		catch ( Exception e ) {
 			throw new InstantiationException(
@@ -0,0 +1,331 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi.entry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
+import org.hibernate.cache.CacheException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.property.BackrefPropertyAccessor;
+
+/**
+ * Compact binary CacheEntry format for entities.  The whole entry is written into a single {@code byte[]}: the
+ * disassembled state is stored positionally (following the persister's property layout, so no property names are
+ * stored) and values of the common immutable types produced by disassembly - numbers, strings, characters, booleans,
+ * dates, binary data and the arrays used for components - are written in their raw binary form.  Any other value is
+ * written using Java serialization.
+ * <p/>
+ * Compared to caching {@link StandardCacheEntryImpl} instances (an object graph of boxed values which the cache
+ * provider will generally serialize field by field) or the map built by {@link StructuredCacheEntry}, this keeps
+ * far fewer objects per entry on the heap and is cheap to copy or replicate.
+ */
+public class CompactCacheEntry implements CacheEntryStructure {
+	/**
+	 * Access to the singleton instance.
+	 */
+	public static final CompactCacheEntry INSTANCE = new CompactCacheEntry();
+
+	private static final byte NULL = 0;
+	private static final byte TRUE = 1;
+	private static final byte FALSE = 2;
+	private static final byte BYTE = 3;
+	private static final byte SHORT = 4;
+	private static final byte INTEGER = 5;
+	private static final byte LONG = 6;
+	private static final byte FLOAT = 7;
+	private static final byte DOUBLE = 8;
+	private static final byte CHARACTER = 9;
+	private static final byte STRING = 10;
+	private static final byte LONG_STRING = 11;
+	private static final byte BIG_INTEGER = 12;
+	private static final byte BIG_DECIMAL = 13;
+	private static final byte DATE = 14;
+	private static final byte SQL_DATE = 15;
+	private static final byte SQL_TIME = 16;
+	private static final byte SQL_TIMESTAMP = 17;
+	private static final byte BYTES = 18;
+	private static final byte ARRAY = 19;
+	private static final byte UNFETCHED_PROPERTY = 20;
+	private static final byte UNKNOWN_BACKREF = 21;
+	private static final byte SERIALIZED = 22;
+
+	// DataOutput#writeUTF is limited to 65535 bytes, and a char takes at most 3 bytes in modified UTF-8
+	private static final int MAX_SHORT_STRING_LENGTH = 65535 / 3;
+
+	private CompactCacheEntry() {
+	}
+
+	@Override
+	public Object structure(Object item) {
+		final CacheEntry entry = (CacheEntry) item;
+		final Serializable[] state = entry.getDisassembledState();
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream( 16 + state.length * 8 );
+		final DataOutputStream out = new DataOutputStream( bytes );
+		try {
+			out.writeUTF( entry.getSubclass() );
+			out.writeBoolean( entry.areLazyPropertiesUnfetched() );
+			writeValue( entry.getVersion(), out );
+			out.writeInt( state.length );
+			for ( Serializable value : state ) {
+				writeValue( value, out );
+			}
+			out.flush();
+		}
+		catch ( IOException e ) {
+			throw new CacheException( "Unable to write compact cache entry for " + entry.getSubclass(), e );
+		}
+		return bytes.toByteArray();
+	}
+
+	@Override
+	public Object destructure(Object structured, SessionFactoryImplementor factory) {
+		final DataInputStream in = new DataInputStream( new ByteArrayInputStream( (byte[]) structured ) );
+		try {
+			final String subclass = in.readUTF();
+			final boolean lazyPropertiesUnfetched = in.readBoolean();
+			final Object version = readValue( in );
+			final Serializable[] state = new Serializable[ in.readInt() ];
+			for ( int i = 0; i < state.length; i++ ) {
+				state[i] = readValue( in );
+			}
+			return new StandardCacheEntryImpl( state, subclass, lazyPropertiesUnfetched, version );
+		}
+		catch ( IOException e ) {
+			throw new CacheException( "Unable to read compact cache entry", e );
+		}
+	}
+
+	private static void writeValue(Object value, DataOutputStream out) throws IOException {
+		if ( value == null ) {
+			out.writeByte( NULL );
+			return;
+		}
+
+		// exact class checks: subclasses (and the values of custom types) may carry more state than we write
+		final Class valueClass = value.getClass();
+		if ( valueClass == String.class ) {
+			final String string = (String) value;
+			if ( string.length() <= MAX_SHORT_STRING_LENGTH ) {
+				out.writeByte( STRING );
+				out.writeUTF( string );
+			}
+			else {
+				out.writeByte( LONG_STRING );
+				out.writeInt( string.length() );
+				out.writeChars( string );
+			}
+		}
+		else if ( valueClass == Integer.class ) {
+			out.writeByte( INTEGER );
+			out.writeInt( (Integer) value );
+		}
+		else if ( valueClass == Long.class ) {
+			out.writeByte( LONG );
+			out.writeLong( (Long) value );
+		}
+		else if ( valueClass == Boolean.class ) {
+			out.writeByte( (Boolean) value ? TRUE : FALSE );
+		}
+		else if ( valueClass == Short.class ) {
+			out.writeByte( SHORT );
+			out.writeShort( (Short) value );
+		}
+		else if ( valueClass == Byte.class ) {
+			out.writeByte( BYTE );
+			out.writeByte( (Byte) value );
+		}
+		else if ( valueClass == Double.class ) {
+			out.writeByte( DOUBLE );
+			out.writeDouble( (Double) value );
+		}
+		else if ( valueClass == Float.class ) {
+			out.writeByte( FLOAT );
+			out.writeFloat( (Float) value );
+		}
+		else if ( valueClass == Character.class ) {
+			out.writeByte( CHARACTER );
+			out.writeChar( (Character) value );
+		}
+		else if ( valueClass == BigDecimal.class ) {
+			final BigDecimal decimal = (BigDecimal) value;
+			out.writeByte( BIG_DECIMAL );
+			out.writeInt( decimal.scale() );
+			writeBytes( decimal.unscaledValue().toByteArray(), out );
+		}
+		else if ( valueClass == BigInteger.class ) {
+			out.writeByte( BIG_INTEGER );
+			writeBytes( ( (BigInteger) value ).toByteArray(), out );
+		}
+		else if ( valueClass == java.sql.Timestamp.class ) {
+			final java.sql.Timestamp timestamp = (java.sql.Timestamp) value;
+			out.writeByte( SQL_TIMESTAMP );
+			out.writeLong( timestamp.getTime() );
+			out.writeInt( timestamp.getNanos() );
+		}
+		else if ( valueClass == java.util.Date.class ) {
+			out.writeByte( DATE );
+			out.writeLong( ( (java.util.Date) value ).getTime() );
+		}
+		else if ( valueClass == java.sql.Date.class ) {
+			out.writeByte( SQL_DATE );
+			out.writeLong( ( (java.util.Date) value ).getTime() );
+		}
+		else if ( valueClass == java.sql.Time.class ) {
+			out.writeByte( SQL_TIME );
+			out.writeLong( ( (java.util.Date) value ).getTime() );
+		}
+		else if ( valueClass == byte[].class ) {
+			out.writeByte( BYTES );
+			writeBytes( (byte[]) value, out );
+		}
+		else if ( valueClass == Object[].class ) {
+			// the disassembled form of components
+			final Object[] array = (Object[]) value;
+			out.writeByte( ARRAY );
+			out.writeInt( array.length );
+			for ( Object element : array ) {
+				writeValue( element, out );
+			}
+		}
+		else if ( value == LazyPropertyInitializer.UNFETCHED_PROPERTY ) {
+			out.writeByte( UNFETCHED_PROPERTY );
+		}
+		else if ( value == BackrefPropertyAccessor.UNKNOWN ) {
+			out.writeByte( UNKNOWN_BACKREF );
+		}
+		else {
+			out.writeByte( SERIALIZED );
+			writeBytes( SerializationHelper.serialize( (Serializable) value ), out );
+		}
+	}
+
+	private static Serializable readValue(DataInputStream in) throws IOException {
+		final byte tag = in.readByte();
+		switch ( tag ) {
+			case NULL: {
+				return null;
+			}
+			case TRUE: {
+				return Boolean.TRUE;
+			}
+			case FALSE: {
+				return Boolean.FALSE;
+			}
+			case BYTE: {
+				return in.readByte();
+			}
+			case SHORT: {
+				return in.readShort();
+			}
+			case INTEGER: {
+				return in.readInt();
+			}
+			case LONG: {
+				return in.readLong();
+			}
+			case FLOAT: {
+				return in.readFloat();
+			}
+			case DOUBLE: {
+				return in.readDouble();
+			}
+			case CHARACTER: {
+				return in.readChar();
+			}
+			case STRING: {
+				return in.readUTF();
+			}
+			case LONG_STRING: {
+				final char[] chars = new char[ in.readInt() ];
+				for ( int i = 0; i < chars.length; i++ ) {
+					chars[i] = in.readChar();
+				}
+				return new String( chars );
+			}
+			case BIG_INTEGER: {
+				return new BigInteger( readBytes( in ) );
+			}
+			case BIG_DECIMAL: {
+				final int scale = in.readInt();
+				return new BigDecimal( new BigInteger( readBytes( in ) ), scale );
+			}
+			case DATE: {
+				return new java.util.Date( in.readLong() );
+			}
+			case SQL_DATE: {
+				return new java.sql.Date( in.readLong() );
+			}
+			case SQL_TIME: {
+				return new java.sql.Time( in.readLong() );
+			}
+			case SQL_TIMESTAMP: {
+				final java.sql.Timestamp timestamp = new java.sql.Timestamp( in.readLong() );
+				timestamp.setNanos( in.readInt() );
+				return timestamp;
+			}
+			case BYTES: {
+				return readBytes( in );
+			}
+			case ARRAY: {
+				final Object[] array = new Object[ in.readInt() ];
+				for ( int i = 0; i < array.length; i++ ) {
+					array[i] = readValue( in );
+				}
+				return array;
+			}
+			case UNFETCHED_PROPERTY: {
+				return LazyPropertyInitializer.UNFETCHED_PROPERTY;
+			}
+			case UNKNOWN_BACKREF: {
+				return BackrefPropertyAccessor.UNKNOWN;
+			}
+			case SERIALIZED: {
+				return (Serializable) SerializationHelper.deserialize( readBytes( in ) );
+			}
+			default: {
+				throw new CacheException( "Unexpected value tag [" + tag + "] in compact cache entry" );
+			}
+		}
+	}
+
+	private static void writeBytes(byte[] bytes, DataOutputStream out) throws IOException {
+		out.writeInt( bytes.length );
+		out.write( bytes );
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		final byte[] bytes = new byte[ in.readInt() ];
+		in.readFully( bytes );
+		return bytes;
+	}
+}
@@ -164,6 +164,16 @@ public interface AvailableSettings {
 	 * The default batch size for batch fetching
 	 */
 	public static final String DEFAULT_BATCH_FETCH_SIZE = "hibernate.default_batch_fetch_size";
+	/**
+	 * Enables adaptive batch fetching, by naming the largest batch size it may grow to.  It applies to all the
+	 * entities and collections which do not specify a batch size (when no {@link #DEFAULT_BATCH_FETCH_SIZE}
+	 * applies either).  These are loaded one key at a time until a session keeps loading the same entity or
+	 * collection role one key at a time, the N+1 pattern; the batch size is then progressively enlarged for that
+	 * session.  The batch sizes reached are reported as suggested static batch sizes via
+	 * {@link org.hibernate.stat.EntityStatistics#getSuggestedBatchSize()} and
+	 * {@link org.hibernate.stat.CollectionStatistics#getSuggestedBatchSize()}.  Disabled by default.
+	 */
+	public static final String ADAPTIVE_BATCH_FETCH_SIZE = "hibernate.adaptive_batch_fetch_size";
 	/**
 	 * Use <tt>java.io</tt> streams to read / write binary data from / to JDBC
 	 */
@@ -325,16 +335,32 @@ public interface AvailableSettings {
 	 * Enable use of structured second-level cache entries
 	 */
 	public static final String USE_STRUCTURED_CACHE = "hibernate.cache.use_structured_entries";
+	/**
+	 * Enable use of compact binary second-level cache entries for entities, see
+	 * {@link org.hibernate.cache.spi.entry.CompactCacheEntry}.  Takes precedence over {@link #USE_STRUCTURED_CACHE}.
+	 */
+	public static final String USE_COMPACT_CACHE = "hibernate.cache.use_compact_entries";
 
 	/**
 	 * Enable statistics collection
 	 */
 	public static final String GENERATE_STATISTICS = "hibernate.generate_statistics";
 
+	/**
+	 * Enable recording of a per-session profile (timeline of flushes, SQL statements, lazy initializations
+	 * and second-level cache accesses) reported to {@link org.hibernate.stat.SessionProfileObserver}s when
+	 * the session is closed.  Default is <code>false</code> (disabled).
+	 */
+	public static final String SESSION_PROFILING = "hibernate.session_profiling";
+
 	public static final String USE_IDENTIFIER_ROLLBACK = "hibernate.use_identifier_rollback";
 
 	/**
-	 * Use bytecode libraries optimized property access
+	 * Use bytecode libraries optimized property access: a class generated per entity gets and sets all the
+	 * property values at once, instead of calling each getter and setter reflectively.  Disabled by default, as
+	 * reflection reports which getter or setter failed (see HHH-227).  When enabled, each generated class is tried out
+	 * on a new instance of its entity while the SessionFactory is built.  Only honored as a JVM level setting (system
+	 * property or <tt>hibernate.properties</tt>).
 	 */
 	public static final String USE_REFLECTION_OPTIMIZER = "hibernate.bytecode.use_reflection_optimizer";
 
@@ -356,6 +382,38 @@ public interface AvailableSettings {
 	 */
 	public static final String QUERY_STARTUP_CHECKING = "hibernate.query.startup_check";
 
+	/**
+	 * Should the named query check (see {@link #QUERY_STARTUP_CHECKING}) be deferred until after the
+	 * SessionFactory is open (the default is disabled)?  When enabled the named queries are compiled on
+	 * first use, and by a background warm-up task started once the factory is built; errors are then
+	 * logged instead of failing the bootstrap.
+	 */
+	public static final String QUERY_STARTUP_CHECK_DEFERRED = "hibernate.query.startup_check_deferred";
+
+	/**
+	 * The number of threads used to build the SessionFactory: building the entity and collection persisters,
+	 * generating their SQL and loaders, and checking the named queries (see {@link #QUERY_STARTUP_CHECKING}) are
+	 * then spread over that many worker threads.  The default, {@code 1}, builds everything on the calling thread.
+	 */
+	public static final String BOOTSTRAP_THREADS = "hibernate.bootstrap.threads";
+
+	/**
+	 * Names a directory in which {@link BootstrapSnapshot} keeps serialized snapshots of the bound mappings, so that
+	 * later starts with unchanged mapping sources and settings can skip the mapping binding.  Not set by default.
+	 * <p/>
+	 * The snapshots are read back on startup, so the directory must only be writable by the application: anyone able
+	 * to place files there can change the mappings the application runs with.
+	 */
+	public static final String BOOTSTRAP_SNAPSHOT_DIRECTORY = "hibernate.bootstrap.snapshot_dir";
+
+	/**
+	 * Names a classpath resource holding the persister SQL generated ahead of time by
+	 * {@link org.hibernate.tool.precompute.PersisterSqlExporter}.  As long as the mappings are unchanged since the
+	 * export, the persisters take their insert/update/delete and simple select SQL from it instead of generating it.
+	 * Not set by default.
+	 */
+	public static final String PERSISTER_SQL_RESOURCE = "hibernate.persister.precomputed_sql";
+
 	/**
 	 * Auto export/update schema using hbm2ddl tool. Valid values are <tt>update</tt>,
 	 * <tt>create</tt>, <tt>create-drop</tt> and <tt>validate</tt>.
@@ -461,12 +519,56 @@ public interface AvailableSettings {
 	 *     <li>{@link org.hibernate.engine.query.spi.HQLQueryPlan}</li>
 	 *     <li>{@link org.hibernate.engine.query.spi.FilterQueryPlan}</li>
 	 *     <li>{@link org.hibernate.engine.query.spi.NativeSQLQueryPlan}</li>
+	 *     <li>{@link org.hibernate.loader.criteria.CriteriaLoader}</li>
 	 * </ul>
 	 * 
 	 * maintained by {@link org.hibernate.engine.query.spi.QueryPlanCache}. Default is 2048.
 	 */
 	public static final String QUERY_PLAN_CACHE_MAX_SIZE = "hibernate.query.plan_cache_max_size";
 
+	/**
+	 * The eviction policy of the {@link org.hibernate.engine.query.spi.QueryPlanCache} (and of its native SQL
+	 * parameter metadata cache): {@code lirs} (the default), {@code lru}, {@code sampled} or {@code tinylfu}.  The
+	 * sampled policy only stamps an entry on a hit, without any locking or queueing, at the cost of an approximate
+	 * recency order; it suits highly concurrent applications whose working set fits the cache.  The tinylfu policy
+	 * buffers hits without locking as well, and only admits new entries which are used more often than the ones
+	 * they would replace; it suits applications which also run many one-off queries.
+	 */
+	public static final String QUERY_PLAN_CACHE_EVICTION = "hibernate.query.plan_cache_eviction";
+
+	/**
+	 * Should the {@link org.hibernate.loader.criteria.CriteriaLoader}s compiled for Criteria queries be kept in the
+	 * {@link org.hibernate.engine.query.spi.QueryPlanCache}, keyed by the
+	 * {@link org.hibernate.loader.criteria.CriteriaPlanKey shape} of the query?  Default is {@code true}.
+	 */
+	public static final String QUERY_PLAN_CACHE_CRITERIA_ENABLED = "hibernate.query.plan_cache_criteria_enabled";
+
+	/**
+	 * Should the numeric and string literals an HQL query compares against (in its {@code where}, {@code having},
+	 * {@code on}/{@code with} and update {@code set} clauses) be turned into implicit parameters before the
+	 * {@link org.hibernate.engine.query.spi.QueryPlanCache} is consulted, so that queries differing only in those
+	 * literals share a single plan and SQL statement?  Default is {@code false}.
+	 *
+	 * @see org.hibernate.engine.query.spi.LiteralParameterizer
+	 */
+	public static final String QUERY_PLAN_CACHE_PARAMETERIZE_LITERALS = "hibernate.query.plan_cache_parameterize_literals";
+
+	/**
+	 * A file to persist the hottest HQL query plans of the {@link org.hibernate.engine.query.spi.QueryPlanCache}
+	 * to: the plan keys and hit counts are written to it when the SessionFactory is closed, and the plans are
+	 * precompiled from it, hottest first, on a background thread when the SessionFactory is opened.  Not set by
+	 * default.
+	 *
+	 * @see #QUERY_PLAN_CACHE_WARMUP_TIME_BUDGET
+	 */
+	public static final String QUERY_PLAN_CACHE_WARMUP_FILE = "hibernate.query.plan_cache_warmup_file";
+
+	/**
+	 * The time, in milliseconds, the query plan cache warm-up (see {@link #QUERY_PLAN_CACHE_WARMUP_FILE}) may spend
+	 * precompiling plans; plans not compiled by then are simply compiled on first use.  Default is 30000.
+	 */
+	public static final String QUERY_PLAN_CACHE_WARMUP_TIME_BUDGET = "hibernate.query.plan_cache_warmup_time_budget";
+
 	/**
 	 * The maximum number of {@link org.hibernate.engine.query.spi.ParameterMetadata} maintained 
 	 * by {@link org.hibernate.engine.query.spi.QueryPlanCache}. Default is 128.
@@ -602,6 +704,12 @@ public interface AvailableSettings {
 
     public static final String ENABLE_LAZY_LOAD_NO_TRANS = "hibernate.enable_lazy_load_no_trans";
 
+	/**
+	 * Names the {@link org.hibernate.hql.spi.MultiTableBulkIdStrategy} to use for bulk HQL operations on
+	 * multi-table entities: {@code temporary}, {@code persistent}, {@code inline}, {@code cte}, or the name of an
+	 * implementation class.  The {@code inline} and {@code cte} strategies need no id table.  Default is
+	 * {@code temporary} on Dialects supporting temporary tables, {@code persistent} otherwise.
+	 */
 	public static final String HQL_BULK_ID_STRATEGY = "hibernate.hql.bulk_id_strategy";
 
 	/**
@@ -0,0 +1,461 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cfg;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Version;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.ClassLoaderHelper;
+import org.hibernate.internal.util.ReflectHelper;
+import org.hibernate.internal.util.StringHelper;
+
+/**
+ * Keeps serialized snapshots of fully bound {@link Configuration}s on disk, so that a later start with the same
+ * mapping sources and settings can restore the bound mappings instead of running the hbm.xml and annotation
+ * binders and their second passes again.
+ * <p/>
+ * Snapshots are keyed by a hash of the Hibernate version, the {@code hibernate.*} and {@code javax.persistence.*}
+ * settings (passwords excluded) and the mapping sources, which include the bytecode of the mapped classes and their
+ * superclasses.  The classes only reachable from the mapped classes (embeddables, mapped superclasses of hbm.xml
+ * entities, custom types, identifier generators, ...) are only known once the mappings are bound, so each snapshot
+ * also records a hash of the bytecode of every class the bound mappings name, and of their superclasses; a snapshot
+ * is only restored if none of them changed.  Anything supplied through the {@link Configuration} API rather than
+ * through mapping sources or settings (e.g. SQL functions) is expected to be the same on every start.
+ * <p/>
+ * The bound mappings are stored using Java serialization, behind a plain header holding those class hashes.  When
+ * reading a snapshot, only the classes of the JDK, Hibernate and dom4j and the application classes named in the
+ * header (whose bytecode was just checked) are resolved; a snapshot referencing any other class is rejected, and a
+ * configuration which would need one is not written.  Even so, whoever can write to the snapshot directory controls
+ * the mappings the application runs with, so the directory must only be writable by the application itself.
+ * <p/>
+ * Snapshots are strictly an optimization: a configuration which cannot be serialized (e.g. because it uses
+ * attribute converters) or a snapshot which cannot be read simply leads to a regular build.
+ */
+public final class BootstrapSnapshot {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger( CoreMessageLogger.class, BootstrapSnapshot.class.getName() );
+
+	private static final String FILE_PREFIX = "hibernate-mappings-";
+	private static final String FILE_SUFFIX = ".snapshot";
+	private static final String FORMAT = "hibernate-bootstrap-snapshot-3";
+
+	/**
+	 * The packages whose classes a snapshot may reference besides the application classes it was validated against.
+	 */
+	private static final String[] TRUSTED_PACKAGES = { "java.", "javax.", "org.hibernate.", "org.dom4j." };
+
+	private BootstrapSnapshot() {
+	}
+
+	/**
+	 * Build the mappings of the given configuration, using the snapshot directory named by
+	 * {@link AvailableSettings#BOOTSTRAP_SNAPSHOT_DIRECTORY} if set.
+	 *
+	 * @param configuration The configuration, with all mapping sources added but not yet built
+	 *
+	 * @return The configuration to build the SessionFactory from: either a configuration restored from a snapshot,
+	 * or {@code configuration} itself once its mappings are built.
+	 *
+	 * @see #buildMappings(Configuration, File)
+	 */
+	public static Configuration buildMappings(Configuration configuration) {
+		final String directory = configuration.getProperty( AvailableSettings.BOOTSTRAP_SNAPSHOT_DIRECTORY );
+		if ( StringHelper.isEmpty( directory ) ) {
+			configuration.buildMappings();
+			return configuration;
+		}
+		return buildMappings( configuration, new File( directory ) );
+	}
+
+	/**
+	 * Build the mappings of the given configuration, restoring them from a snapshot in the given directory if one
+	 * matches, or writing one after building them otherwise.
+	 *
+	 * @param configuration The configuration, with all mapping sources added but not yet built
+	 * @param directory The snapshot directory, created if needed
+	 *
+	 * @return The configuration to build the SessionFactory from: either a configuration restored from a snapshot,
+	 * carrying over the interceptor, observer and other runtime state of {@code configuration}, or
+	 * {@code configuration} itself once its mappings are built.
+	 */
+	public static Configuration buildMappings(Configuration configuration, File directory) {
+		final Properties snapshotProperties = snapshotProperties( configuration.getProperties() );
+		final String key;
+		try {
+			key = key( configuration, snapshotProperties );
+		}
+		catch ( HibernateException e ) {
+			LOG.debug( "Unable to compute the bootstrap snapshot key, building the mappings", e );
+			configuration.buildMappings();
+			return configuration;
+		}
+
+		final File file = new File( directory, FILE_PREFIX + key + FILE_SUFFIX );
+		if ( file.isFile() ) {
+			final Configuration restored = read( file );
+			if ( restored != null ) {
+				configuration.copyRuntimeStateTo( restored );
+				LOG.debugf( "Restored bound mappings from bootstrap snapshot %s", file );
+				return restored;
+			}
+		}
+
+		configuration.buildMappings();
+		write( configuration, snapshotProperties, directory, file );
+		return configuration;
+	}
+
+	private static Properties snapshotProperties(Properties properties) {
+		final Properties snapshotProperties = new Properties();
+		for ( Map.Entry<Object,Object> entry : properties.entrySet() ) {
+			if ( !( entry.getKey() instanceof String ) || !( entry.getValue() instanceof String ) ) {
+				continue;
+			}
+			final String name = (String) entry.getKey();
+			if ( ( name.startsWith( "hibernate." ) || name.startsWith( "javax.persistence." ) )
+					&& !name.endsWith( "password" )
+					&& !AvailableSettings.BOOTSTRAP_SNAPSHOT_DIRECTORY.equals( name ) ) {
+				snapshotProperties.put( name, entry.getValue() );
+			}
+		}
+		return snapshotProperties;
+	}
+
+	static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance( "SHA-1" );
+		}
+		catch ( NoSuchAlgorithmException e ) {
+			throw new HibernateException( "Unable to create mapping digest", e );
+		}
+	}
+
+	private static String key(Configuration configuration, Properties snapshotProperties) {
+		final MessageDigest digest = newDigest();
+		update( digest, Version.getVersionString() );
+		for ( Map.Entry<Object,Object> entry : new TreeMap<Object,Object>( snapshotProperties ).entrySet() ) {
+			update( digest, entry.getKey() + "=" + entry.getValue() );
+		}
+		configuration.digestMappingSources( digest );
+		return hash( digest );
+	}
+
+	/**
+	 * Hash the bytecode of each of the given classes, together with that of its superclasses.
+	 *
+	 * @param classNames The class names, as named by the bound mappings
+	 *
+	 * @return The hashes, by class name; names which are not loadable classes hash to an empty string
+	 */
+	static Map<String,String> classDigests(Set<String> classNames) {
+		final Map<String,String> classDigests = new TreeMap<String,String>();
+		for ( String className : classNames ) {
+			classDigests.put( className, classDigest( className ) );
+		}
+		return classDigests;
+	}
+
+	private static String classDigest(String className) {
+		Class clazz;
+		try {
+			clazz = ReflectHelper.classForName( className );
+		}
+		catch ( ClassNotFoundException e ) {
+			// a type or generator short name, or a dynamic entity name
+			return "";
+		}
+		catch ( LinkageError e ) {
+			return "";
+		}
+		final MessageDigest digest = newDigest();
+		while ( clazz != null && clazz != Object.class ) {
+			updateClass( digest, clazz.getName(), clazz.getClassLoader() );
+			clazz = clazz.getSuperclass();
+		}
+		return hash( digest );
+	}
+
+	/**
+	 * The names of the given classes and of their superclasses, i.e. the application classes whose bytecode a
+	 * snapshot was validated against, and which it may therefore reference.
+	 */
+	private static Set<String> trustedClassNames(Set<String> classNames) {
+		final Set<String> trustedClassNames = new HashSet<String>();
+		for ( String className : classNames ) {
+			Class clazz;
+			try {
+				clazz = ReflectHelper.classForName( className );
+			}
+			catch ( ClassNotFoundException e ) {
+				continue;
+			}
+			catch ( LinkageError e ) {
+				continue;
+			}
+			while ( clazz != null && clazz != Object.class ) {
+				trustedClassNames.add( clazz.getName() );
+				clazz = clazz.getSuperclass();
+			}
+		}
+		return trustedClassNames;
+	}
+
+	private static boolean isTrusted(String className, Set<String> trustedClassNames) {
+		String name = className;
+		if ( name.startsWith( "[" ) ) {
+			name = name.substring( name.lastIndexOf( '[' ) + 1 );
+			if ( name.length() == 1 ) {
+				// array of primitives
+				return true;
+			}
+			name = name.substring( 1, name.length() - 1 );
+		}
+		for ( String prefix : TRUSTED_PACKAGES ) {
+			if ( name.startsWith( prefix ) ) {
+				return true;
+			}
+		}
+		return trustedClassNames.contains( name );
+	}
+
+	private static Configuration read(File file) {
+		try {
+			final DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( file ) ) );
+			try {
+				if ( !FORMAT.equals( in.readUTF() ) ) {
+					LOG.debugf( "Bootstrap snapshot %s has an unknown format, building the mappings", file );
+					return null;
+				}
+				final int size = in.readInt();
+				final Map<String,String> classDigests = new TreeMap<String,String>();
+				for ( int i = 0; i < size; i++ ) {
+					classDigests.put( in.readUTF(), in.readUTF() );
+				}
+				if ( !classDigests.equals( classDigests( classDigests.keySet() ) ) ) {
+					LOG.debugf( "A class referenced by bootstrap snapshot %s changed, building the mappings", file );
+					return null;
+				}
+				final ObjectInputStream configurationIn = new SnapshotObjectInputStream(
+						in,
+						trustedClassNames( classDigests.keySet() )
+				);
+				return (Configuration) configurationIn.readObject();
+			}
+			finally {
+				in.close();
+			}
+		}
+		catch ( Exception e ) {
+			LOG.warnf( "Unable to read bootstrap snapshot %s, building the mappings: %s", file, e.getMessage() );
+			return null;
+		}
+	}
+
+	private static void write(Configuration configuration, Properties snapshotProperties, File directory, File file) {
+		File tempFile = null;
+		try {
+			final Map<String,String> classDigests = classDigests( configuration.boundClassNames() );
+			if ( !directory.isDirectory() && !directory.mkdirs() ) {
+				throw new IOException( "Unable to create directory " + directory );
+			}
+			// write to a temporary file first, so concurrent starts never see a partial snapshot
+			tempFile = File.createTempFile( FILE_PREFIX, ".tmp", directory );
+			final DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream( new FileOutputStream( tempFile ) )
+			);
+			try {
+				out.writeUTF( FORMAT );
+				out.writeInt( classDigests.size() );
+				for ( Map.Entry<String,String> entry : classDigests.entrySet() ) {
+					out.writeUTF( entry.getKey() );
+					out.writeUTF( entry.getValue() );
+				}
+				final ObjectOutputStream configurationOut = new SnapshotObjectOutputStream(
+						out,
+						trustedClassNames( classDigests.keySet() )
+				);
+				configuration.writeSnapshot( configurationOut, snapshotProperties );
+				configurationOut.flush();
+			}
+			finally {
+				out.close();
+			}
+			if ( !tempFile.renameTo( file ) ) {
+				// most likely another JVM got there first
+				tempFile.delete();
+			}
+			LOG.debugf( "Wrote bootstrap snapshot %s", file );
+		}
+		catch ( InvalidClassException e ) {
+			LOG.debugf( "Not writing bootstrap snapshot %s: %s", file, e.getMessage() );
+			if ( tempFile != null ) {
+				tempFile.delete();
+			}
+		}
+		catch ( Exception e ) {
+			LOG.warnf( "Unable to write bootstrap snapshot %s: %s", file, e.getMessage() );
+			if ( tempFile != null ) {
+				tempFile.delete();
+			}
+		}
+	}
+
+	static String hash(MessageDigest digest) {
+		return new BigInteger( 1, digest.digest() ).toString( 16 );
+	}
+
+	static void update(MessageDigest digest, String value) {
+		try {
+			digest.update( value.getBytes( "UTF-8" ) );
+		}
+		catch ( IOException e ) {
+			throw new HibernateException( e );
+		}
+		digest.update( (byte) 0 );
+	}
+
+	static void updateClass(MessageDigest digest, String className, ClassLoader classLoader) {
+		update( digest, className );
+		if ( classLoader == null ) {
+			return;
+		}
+		final InputStream in = classLoader.getResourceAsStream( className.replace( '.', '/' ) + ".class" );
+		if ( in == null ) {
+			return;
+		}
+		try {
+			try {
+				final byte[] buffer = new byte[4096];
+				int read;
+				while ( ( read = in.read( buffer ) ) != -1 ) {
+					digest.update( buffer, 0, read );
+				}
+			}
+			finally {
+				in.close();
+			}
+		}
+		catch ( IOException e ) {
+			throw new HibernateException( "Unable to read class file of " + className, e );
+		}
+	}
+
+	/**
+	 * Only resolves the classes a snapshot may legitimately reference: those of the JDK, Hibernate and dom4j, and the
+	 * application classes the snapshot was validated against.  Anything else indicates a snapshot which was not
+	 * written by {@link BootstrapSnapshot}, and is rejected before it is instantiated.
+	 */
+	private static class SnapshotObjectInputStream extends ObjectInputStream {
+		private final Set<String> trustedClassNames;
+
+		private SnapshotObjectInputStream(InputStream in, Set<String> trustedClassNames) throws IOException {
+			super( in );
+			this.trustedClassNames = trustedClassNames;
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			final String className = desc.getName();
+			if ( !isTrusted( className, trustedClassNames ) ) {
+				throw new InvalidClassException( className, "Class not expected in a bootstrap snapshot" );
+			}
+			final ClassLoader classLoader = ClassLoaderHelper.getContextClassLoader();
+			if ( classLoader != null ) {
+				try {
+					return Class.forName( className, false, classLoader );
+				}
+				catch ( ClassNotFoundException e ) {
+					// fall through to the default resolution
+				}
+			}
+			return super.resolveClass( desc );
+		}
+
+		@Override
+		protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+			for ( String interfaceName : interfaces ) {
+				if ( !isTrusted( interfaceName, trustedClassNames ) ) {
+					throw new InvalidClassException( interfaceName, "Proxy interface not expected in a bootstrap snapshot" );
+				}
+			}
+			return super.resolveProxyClass( interfaces );
+		}
+	}
+
+	/**
+	 * Applies the checks of {@link SnapshotObjectInputStream} when writing, so that a configuration referencing other
+	 * classes is not written at all rather than failing to be read on every start.
+	 */
+	private static class SnapshotObjectOutputStream extends ObjectOutputStream {
+		private final Set<String> trustedClassNames;
+
+		private SnapshotObjectOutputStream(OutputStream out, Set<String> trustedClassNames) throws IOException {
+			super( out );
+			this.trustedClassNames = trustedClassNames;
+		}
+
+		@Override
+		protected void annotateClass(Class<?> clazz) throws IOException {
+			if ( !isTrusted( clazz.getName(), trustedClassNames ) ) {
+				throw new InvalidClassException( clazz.getName(), "Class not expected in a bootstrap snapshot" );
+			}
+		}
+
+		@Override
+		protected void annotateProxyClass(Class<?> clazz) throws IOException {
+			for ( Class<?> interfaceClass : clazz.getInterfaces() ) {
+				if ( !isTrusted( interfaceClass.getName(), trustedClassNames ) ) {
+					throw new InvalidClassException(
+							interfaceClass.getName(),
+							"Proxy interface not expected in a bootstrap snapshot"
+					);
+				}
+			}
+		}
+	}
+}
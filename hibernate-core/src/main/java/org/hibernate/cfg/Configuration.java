@@ -30,9 +30,11 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.io.StringReader;
 import java.net.URL;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -48,6 +50,7 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarFile;
 import java.util.zip.ZipEntry;
@@ -121,6 +124,7 @@ import org.hibernate.internal.util.xml.XmlDocumentImpl;
 import org.hibernate.mapping.AuxiliaryDatabaseObject;
 import org.hibernate.mapping.Collection;
 import org.hibernate.mapping.Column;
+import org.hibernate.mapping.Component;
 import org.hibernate.mapping.Constraint;
 import org.hibernate.mapping.DenormalizedTable;
 import org.hibernate.mapping.FetchProfile;
@@ -128,6 +132,7 @@ import org.hibernate.mapping.ForeignKey;
 import org.hibernate.mapping.IdGenerator;
 import org.hibernate.mapping.IdentifierCollection;
 import org.hibernate.mapping.Index;
+import org.hibernate.mapping.IndexedCollection;
 import org.hibernate.mapping.Join;
 import org.hibernate.mapping.MappedSuperclass;
 import org.hibernate.mapping.MetadataSource;
@@ -138,8 +143,10 @@ import org.hibernate.mapping.SimpleValue;
 import org.hibernate.mapping.Table;
 import org.hibernate.mapping.TypeDef;
 import org.hibernate.mapping.UniqueKey;
+import org.hibernate.mapping.Value;
 import org.hibernate.metamodel.spi.TypeContributions;
 import org.hibernate.metamodel.spi.TypeContributor;
+import org.hibernate.persister.internal.PrecomputedPersisterSql;
 import org.hibernate.proxy.EntityNotFoundDelegate;
 import org.hibernate.secure.spi.GrantedPermission;
 import org.hibernate.secure.spi.JaccPermissionDeclarations;
@@ -1817,6 +1824,28 @@ public class Configuration implements Serializable {
 	 * @throws HibernateException usually indicates an invalid configuration or invalid mapping information
 	 */
 	public SessionFactory buildSessionFactory(ServiceRegistry serviceRegistry) throws HibernateException {
+		return buildSessionFactory( serviceRegistry, null, null );
+	}
+
+	/**
+	 * Create a {@link SessionFactory} using the mappings in this configuration and its properties, with the given
+	 * overrides applied.  Used by {@link MultiSessionFactoryBuilder} to build several SessionFactories from the same
+	 * bound mappings.
+	 *
+	 * @param serviceRegistry The registry of services to be used in creating this session factory.
+	 * @param overrides Properties overriding those of this configuration for this SessionFactory only, or
+	 * {@code null}
+	 * @param sharedPersisterSql Persister SQL captured from an earlier SessionFactory built from the same mappings,
+	 * used unless the settings name a precomputed SQL resource, or {@code null}
+	 *
+	 * @return The built {@link SessionFactory}
+	 *
+	 * @throws HibernateException usually indicates an invalid configuration or invalid mapping information
+	 */
+	SessionFactory buildSessionFactory(
+			ServiceRegistry serviceRegistry,
+			Properties overrides,
+			PrecomputedPersisterSql sharedPersisterSql) throws HibernateException {
 		LOG.debugf( "Preparing to build session factory with filters : %s", filterDefinitions );
 		
 		buildTypeRegistrations( serviceRegistry );
@@ -1830,15 +1859,33 @@ public class Configuration implements Serializable {
 		Environment.verifyProperties( properties );
 		Properties copy = new Properties();
 		copy.putAll( properties );
+		if ( overrides != null ) {
+			copy.putAll( overrides );
+			Environment.verifyProperties( copy );
+		}
 		ConfigurationHelper.resolvePlaceHolders( copy );
 		Settings settings = buildSettings( copy, serviceRegistry );
+		if ( settings.getPrecomputedPersisterSql() != null
+				&& !settings.getPrecomputedPersisterSql().isGeneratedFrom( getMappingFingerprint() ) ) {
+			LOG.warn( "Mappings changed since the persister SQL was precomputed, generating the SQL" );
+			settings.setPrecomputedPersisterSql( null );
+		}
+		if ( sharedPersisterSql != null
+				&& settings.getPrecomputedPersisterSql() == null
+				&& sharedPersisterSql.isApplicable(
+						serviceRegistry.getService( JdbcServices.class ).getDialect(),
+						settings.isCommentsEnabled()
+				) ) {
+			settings.setPrecomputedPersisterSql( sharedPersisterSql );
+		}
 
 		return new SessionFactoryImpl(
 				this,
 				mapping,
 				serviceRegistry,
 				settings,
-				sessionFactoryObserver
+				sessionFactoryObserver,
+				overrides == null ? properties : copy
 			);
 	}
 	
@@ -2518,6 +2565,169 @@ public class Configuration implements Serializable {
 		out.defaultWriteObject();
 	}
 
+	/**
+	 * Feed everything the bound mappings will be derived from, other than the settings, to the given digest: the
+	 * queued mapping documents and annotated classes (including their bytecode), the XML metadata overrides and the
+	 * programmatic cache settings.  Used to key {@link BootstrapSnapshot}s, so must be called before building the
+	 * mappings.
+	 *
+	 * @param digest The digest to update
+	 */
+	void digestMappingSources(MessageDigest digest) {
+		metadataSourceQueue.digest( digest );
+		digestBindingSettings( digest );
+	}
+
+	/**
+	 * A fingerprint of the bound mappings, derived from what they were bound from: the processed mapping documents,
+	 * the bytecode of the mapped classes (and so their annotations) and of the other classes the mappings name, the
+	 * XML metadata overrides, the programmatic cache settings and the naming strategy; plus the order the tables were
+	 * bound in, which the generated column aliases depend on.  Used to validate
+	 * {@link PrecomputedPersisterSql}, so must be called once the mappings are built.
+	 *
+	 * @return The fingerprint
+	 */
+	public String getMappingFingerprint() {
+		final MessageDigest digest = BootstrapSnapshot.newDigest();
+		for ( String hbmDigest : metadataSourceQueue.processedHbmDigests ) {
+			BootstrapSnapshot.update( digest, hbmDigest );
+		}
+		for ( Map.Entry<String,String> entry : BootstrapSnapshot.classDigests( boundClassNames() ).entrySet() ) {
+			BootstrapSnapshot.update( digest, entry.getKey() + '=' + entry.getValue() );
+		}
+		digestBindingSettings( digest );
+		for ( Map.Entry<String,Table> entry : tables.entrySet() ) {
+			BootstrapSnapshot.update( digest, entry.getKey() + ':' + entry.getValue().getUniqueInteger() );
+		}
+		return BootstrapSnapshot.hash( digest );
+	}
+
+	private void digestBindingSettings(MessageDigest digest) {
+		final MetadataProvider metadataProvider = ( (MetadataProviderInjector) reflectionManager ).getMetadataProvider();
+		digest.update( SerializationHelper.serialize( (Serializable) metadataProvider ) );
+		for ( CacheHolder holder : caches ) {
+			BootstrapSnapshot.update(
+					digest,
+					holder.role + ':' + holder.usage + ':' + holder.region + ':' + holder.isClass + ':' + holder.cacheLazy
+			);
+		}
+		BootstrapSnapshot.update( digest, String.valueOf( metadataSourcePrecedence ) );
+		BootstrapSnapshot.update( digest, namingStrategy.getClass().getName() );
+	}
+
+	/**
+	 * The names of the classes, other than the mapping sources themselves, which the bound mappings were derived
+	 * from: the mapped classes and their proxy interfaces, components, custom types, collection types and identifier
+	 * generators.  Their superclasses (e.g. mapped superclasses) are the caller's concern.  Used to validate
+	 * {@link BootstrapSnapshot}s, so must be called once the mappings are built.
+	 *
+	 * @return The class names; some may be type or generator short names rather than class names
+	 */
+	Set<String> boundClassNames() {
+		final Set<String> classNames = new TreeSet<String>();
+		for ( PersistentClass persistentClass : classes.values() ) {
+			addClassName( classNames, persistentClass.getClassName() );
+			addClassName( classNames, persistentClass.getProxyInterfaceName() );
+			addValueClassNames( classNames, persistentClass.getIdentifier() );
+			addValueClassNames( classNames, persistentClass.getIdentifierMapper() );
+			final Iterator properties = persistentClass.getPropertyIterator();
+			while ( properties.hasNext() ) {
+				addValueClassNames( classNames, ( (Property) properties.next() ).getValue() );
+			}
+		}
+		for ( TypeDef typeDef : typeDefs.values() ) {
+			addClassName( classNames, typeDef.getTypeClass() );
+		}
+		return classNames;
+	}
+
+	private static void addValueClassNames(Set<String> classNames, Value value) {
+		if ( value instanceof Component ) {
+			final Component component = (Component) value;
+			addClassName( classNames, component.getComponentClassName() );
+			final Iterator properties = component.getPropertyIterator();
+			while ( properties.hasNext() ) {
+				addValueClassNames( classNames, ( (Property) properties.next() ).getValue() );
+			}
+		}
+		else if ( value instanceof SimpleValue ) {
+			addClassName( classNames, ( (SimpleValue) value ).getTypeName() );
+			addClassName( classNames, ( (SimpleValue) value ).getIdentifierGeneratorStrategy() );
+		}
+		else if ( value instanceof Collection ) {
+			final Collection collection = (Collection) value;
+			addClassName( classNames, collection.getTypeName() );
+			addValueClassNames( classNames, collection.getElement() );
+			if ( collection instanceof IndexedCollection ) {
+				addValueClassNames( classNames, ( (IndexedCollection) collection ).getIndex() );
+			}
+			if ( collection instanceof IdentifierCollection ) {
+				addValueClassNames( classNames, ( (IdentifierCollection) collection ).getIdentifier() );
+			}
+		}
+	}
+
+	private static void addClassName(Set<String> classNames, String className) {
+		if ( className != null ) {
+			classNames.add( className );
+		}
+	}
+
+	/**
+	 * Serialize this (built) configuration for a {@link BootstrapSnapshot}.  The state supplied programmatically at
+	 * runtime (interceptor, observer, type contributors, ...) is left out, as it need not be serializable; see
+	 * {@link #copyRuntimeStateTo}.
+	 *
+	 * @param out The stream to serialize to
+	 * @param snapshotProperties The properties to store in place of the complete configuration properties
+	 *
+	 * @throws IOException Indicates a problem serializing this configuration
+	 */
+	void writeSnapshot(ObjectOutputStream out, Properties snapshotProperties) throws IOException {
+		final Properties originalProperties = properties;
+		final Interceptor originalInterceptor = interceptor;
+		final EntityNotFoundDelegate originalEntityNotFoundDelegate = entityNotFoundDelegate;
+		final SessionFactoryObserver originalSessionFactoryObserver = sessionFactoryObserver;
+		final CurrentTenantIdentifierResolver originalTenantIdentifierResolver = currentTenantIdentifierResolver;
+		final List<TypeContributor> originalTypeContributors = typeContributorRegistrations;
+		properties = snapshotProperties;
+		interceptor = EmptyInterceptor.INSTANCE;
+		entityNotFoundDelegate = null;
+		sessionFactoryObserver = null;
+		currentTenantIdentifierResolver = null;
+		typeContributorRegistrations = new ArrayList<TypeContributor>();
+		try {
+			out.writeObject( this );
+		}
+		finally {
+			properties = originalProperties;
+			interceptor = originalInterceptor;
+			entityNotFoundDelegate = originalEntityNotFoundDelegate;
+			sessionFactoryObserver = originalSessionFactoryObserver;
+			currentTenantIdentifierResolver = originalTenantIdentifierResolver;
+			typeContributorRegistrations = originalTypeContributors;
+		}
+	}
+
+	/**
+	 * Apply the runtime state left out of a {@link BootstrapSnapshot} to the configuration restored from it.  The
+	 * properties are merged: these properties first, overridden by the restored ones (which include any settings
+	 * derived while binding, e.g. from {@code orm.xml} defaults).
+	 *
+	 * @param target The configuration restored from a snapshot
+	 */
+	void copyRuntimeStateTo(Configuration target) {
+		final Properties mergedProperties = new Properties();
+		mergedProperties.putAll( properties );
+		mergedProperties.putAll( target.properties );
+		target.properties = mergedProperties;
+		target.interceptor = interceptor;
+		target.entityNotFoundDelegate = entityNotFoundDelegate;
+		target.sessionFactoryObserver = sessionFactoryObserver;
+		target.currentTenantIdentifierResolver = currentTenantIdentifierResolver;
+		target.typeContributorRegistrations = new ArrayList<TypeContributor>( typeContributorRegistrations );
+	}
+
 	private void createReflectionManager() {
 		createReflectionManager( new JPAMetadataProvider() );
 	}
@@ -3549,6 +3759,8 @@ public class Configuration implements Serializable {
 		private LinkedHashMap<XmlDocument, Set<String>> hbmMetadataToEntityNamesMap
 				= new LinkedHashMap<XmlDocument, Set<String>>();
 		private Map<String, XmlDocument> hbmMetadataByEntityNameXRef = new HashMap<String, XmlDocument>();
+		// the digests of the mapping documents processed so far, see getMappingFingerprint()
+		private List<String> processedHbmDigests = new ArrayList<String>();
 
 		//XClass are not serializable by default
 		private transient List<XClass> annotatedClasses = new ArrayList<XClass>();
@@ -3668,6 +3880,9 @@ public class Configuration implements Serializable {
 		}
 
 		private void processHbmXml(XmlDocument metadataXml, Set<String> entityNames) {
+			final MessageDigest digest = BootstrapSnapshot.newDigest();
+			BootstrapSnapshot.update( digest, metadataXml.getDocumentTree().asXML() );
+			processedHbmDigests.add( BootstrapSnapshot.hash( digest ) );
 			try {
 				HbmBinder.bindRoot( metadataXml, createMappings(), Collections.EMPTY_MAP, entityNames );
 			}
@@ -3757,6 +3972,23 @@ public class Configuration implements Serializable {
 			return hbmMetadataToEntityNamesMap.isEmpty() && annotatedClasses.isEmpty();
 		}
 
+		private void digest(MessageDigest digest) {
+			for ( XmlDocument metadataXml : hbmMetadataToEntityNamesMap.keySet() ) {
+				BootstrapSnapshot.update( digest, metadataXml.getDocumentTree().asXML() );
+			}
+			final ClassLoader classLoader = ClassLoaderHelper.getContextClassLoader();
+			for ( String entityName : new TreeSet<String>( hbmMetadataByEntityNameXRef.keySet() ) ) {
+				BootstrapSnapshot.updateClass( digest, entityName, classLoader );
+			}
+			for ( XClass annotatedClass : annotatedClasses ) {
+				Class clazz = reflectionManager.toClass( annotatedClass );
+				while ( clazz != null && clazz != Object.class ) {
+					BootstrapSnapshot.updateClass( digest, clazz.getName(), clazz.getClassLoader() );
+					clazz = clazz.getSuperclass();
+				}
+			}
+		}
+
 	}
 
 
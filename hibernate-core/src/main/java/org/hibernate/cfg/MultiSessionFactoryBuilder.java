@@ -0,0 +1,104 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cfg;
+
+import java.util.Properties;
+
+import org.hibernate.HibernateException;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.internal.PrecomputedPersisterSql;
+import org.hibernate.service.ServiceRegistry;
+
+/**
+ * Builds several SessionFactories from the same {@link Configuration}, e.g. one per database shard, which differ
+ * only in their services (typically the {@link org.hibernate.engine.jdbc.connections.spi.ConnectionProvider}) and in
+ * a few settings such as the cache region prefix, the SessionFactory name or whether statistics are collected.
+ * <p/>
+ * This saves startup time, not memory: the mappings are bound once, when the builder is created (restoring them
+ * from a {@link BootstrapSnapshot} if one is configured), and the static SQL of the persisters is generated by the
+ * first SessionFactory built and then reused by the others, as long as they use the same Dialect and SQL comment
+ * setting; see {@link PrecomputedPersisterSql}.  Everything else (the persisters, the query plans, the type
+ * registries and the second-level cache regions) is still created per SessionFactory, since it refers to that
+ * SessionFactory's services, cache regions and statistics, so the heap used still grows with the number of
+ * SessionFactories.
+ * <p/>
+ * The configuration must not be changed once the builder has been created.
+ */
+public class MultiSessionFactoryBuilder {
+	private final Configuration configuration;
+	private PrecomputedPersisterSql persisterSql;
+
+	/**
+	 * Create a builder, binding the mappings of the given configuration.
+	 *
+	 * @param configuration The configuration, with all mapping sources and shared settings applied
+	 */
+	public MultiSessionFactoryBuilder(Configuration configuration) {
+		this.configuration = BootstrapSnapshot.buildMappings( configuration );
+	}
+
+	/**
+	 * The configuration the SessionFactories are built from, with its mappings bound.
+	 *
+	 * @return The configuration
+	 */
+	public Configuration getConfiguration() {
+		return configuration;
+	}
+
+	/**
+	 * Build a SessionFactory using the settings of the builder's configuration.
+	 *
+	 * @param serviceRegistry The registry of services to be used by the SessionFactory
+	 *
+	 * @return The built SessionFactory
+	 *
+	 * @throws HibernateException usually indicates an invalid configuration
+	 */
+	public SessionFactory buildSessionFactory(ServiceRegistry serviceRegistry) throws HibernateException {
+		return buildSessionFactory( serviceRegistry, null );
+	}
+
+	/**
+	 * Build a SessionFactory using the settings of the builder's configuration with the given overrides applied,
+	 * e.g. {@link AvailableSettings#CACHE_REGION_PREFIX}, {@link AvailableSettings#SESSION_FACTORY_NAME} or
+	 * {@link AvailableSettings#GENERATE_STATISTICS}.
+	 *
+	 * @param serviceRegistry The registry of services to be used by the SessionFactory
+	 * @param overrides The settings specific to this SessionFactory, or {@code null}
+	 *
+	 * @return The built SessionFactory
+	 *
+	 * @throws HibernateException usually indicates an invalid configuration
+	 */
+	public synchronized SessionFactory buildSessionFactory(ServiceRegistry serviceRegistry, Properties overrides)
+			throws HibernateException {
+		final SessionFactory factory = configuration.buildSessionFactory( serviceRegistry, overrides, persisterSql );
+		if ( persisterSql == null ) {
+			persisterSql = PrecomputedPersisterSql.capture( (SessionFactoryImplementor) factory );
+		}
+		return factory;
+	}
+}
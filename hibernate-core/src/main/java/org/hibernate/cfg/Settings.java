@@ -35,6 +35,7 @@ import org.hibernate.engine.transaction.jta.platform.spi.JtaPlatform;
 import org.hibernate.hql.spi.MultiTableBulkIdStrategy;
 import org.hibernate.hql.spi.QueryTranslatorFactory;
 import org.hibernate.loader.BatchFetchStyle;
+import org.hibernate.persister.internal.PrecomputedPersisterSql;
 import org.hibernate.tuple.entity.EntityTuplizerFactory;
 
 /**
@@ -48,6 +49,7 @@ public final class Settings {
 	private Map querySubstitutions;
 	private int jdbcBatchSize;
 	private int defaultBatchFetchSize;
+	private int adaptiveBatchFetchSize;
 	private boolean scrollableResultSetsEnabled;
 	private boolean getGeneratedKeysEnabled;
 	private String defaultSchemaName;
@@ -61,11 +63,13 @@ public final class Settings {
 	private boolean autoValidateSchema;
 	private boolean queryCacheEnabled;
 	private boolean structuredCacheEntriesEnabled;
+	private boolean compactCacheEntriesEnabled;
 	private boolean secondLevelCacheEnabled;
 	private String cacheRegionPrefix;
 	private boolean minimalPutsEnabled;
 	private boolean commentsEnabled;
 	private boolean statisticsEnabled;
+	private boolean sessionProfilingEnabled;
 	private boolean jdbcBatchVersionedData;
 	private boolean identifierRollbackEnabled;
 	private boolean flushBeforeCompletionEnabled;
@@ -82,6 +86,9 @@ public final class Settings {
 	private boolean dataDefinitionInTransactionSupported;
 	private boolean strictJPAQLCompliance;
 	private boolean namedQueryStartupCheckingEnabled;
+	private boolean namedQueryStartupCheckDeferred;
+	private int bootstrapThreads;
+	private PrecomputedPersisterSql precomputedPersisterSql;
 	private EntityTuplizerFactory entityTuplizerFactory;
 	private boolean checkNullability;
 	private NullPrecedence defaultNullPrecedence;
@@ -132,6 +139,10 @@ public final class Settings {
 		return defaultBatchFetchSize;
 	}
 
+	public int getAdaptiveBatchFetchSize() {
+		return adaptiveBatchFetchSize;
+	}
+
 	public Map getQuerySubstitutions() {
 		return querySubstitutions;
 	}
@@ -208,6 +219,10 @@ public final class Settings {
 		return statisticsEnabled;
 	}
 
+	public boolean isSessionProfilingEnabled() {
+		return sessionProfilingEnabled;
+	}
+
 	public boolean isJdbcBatchVersionedData() {
 		return jdbcBatchVersionedData;
 	}
@@ -244,6 +259,10 @@ public final class Settings {
 		return structuredCacheEntriesEnabled;
 	}
 
+	public boolean isCompactCacheEntriesEnabled() {
+		return compactCacheEntriesEnabled;
+	}
+
 	public boolean isDirectReferenceCacheEntriesEnabled() {
 		return directReferenceCacheEntriesEnabled;
 	}
@@ -272,6 +291,18 @@ public final class Settings {
 		return namedQueryStartupCheckingEnabled;
 	}
 
+	public boolean isNamedQueryStartupCheckDeferred() {
+		return namedQueryStartupCheckDeferred;
+	}
+
+	public int getBootstrapThreads() {
+		return bootstrapThreads;
+	}
+
+	public PrecomputedPersisterSql getPrecomputedPersisterSql() {
+		return precomputedPersisterSql;
+	}
+
 	public EntityTuplizerFactory getEntityTuplizerFactory() {
 		return entityTuplizerFactory;
 	}
@@ -302,6 +333,10 @@ public final class Settings {
 		defaultBatchFetchSize = i;
 	}
 
+	void setAdaptiveBatchFetchSize(int i) {
+		adaptiveBatchFetchSize = i;
+	}
+
 	void setQuerySubstitutions(Map map) {
 		querySubstitutions = map;
 	}
@@ -378,6 +413,10 @@ public final class Settings {
 		this.statisticsEnabled = statisticsEnabled;
 	}
 
+	void setSessionProfilingEnabled(boolean sessionProfilingEnabled) {
+		this.sessionProfilingEnabled = sessionProfilingEnabled;
+	}
+
 	void setJdbcBatchVersionedData(boolean jdbcBatchVersionedData) {
 		this.jdbcBatchVersionedData = jdbcBatchVersionedData;
 	}
@@ -414,6 +453,10 @@ public final class Settings {
 		this.structuredCacheEntriesEnabled = structuredCacheEntriesEnabled;
 	}
 
+	void setCompactCacheEntriesEnabled(boolean compactCacheEntriesEnabled) {
+		this.compactCacheEntriesEnabled = compactCacheEntriesEnabled;
+	}
+
 	void setDefaultEntityMode(EntityMode defaultEntityMode) {
 		this.defaultEntityMode = defaultEntityMode;
 	}
@@ -438,6 +481,18 @@ public final class Settings {
 		this.namedQueryStartupCheckingEnabled = namedQueryStartupCheckingEnabled;
 	}
 
+	void setNamedQueryStartupCheckDeferred(boolean namedQueryStartupCheckDeferred) {
+		this.namedQueryStartupCheckDeferred = namedQueryStartupCheckDeferred;
+	}
+
+	void setBootstrapThreads(int bootstrapThreads) {
+		this.bootstrapThreads = bootstrapThreads;
+	}
+
+	void setPrecomputedPersisterSql(PrecomputedPersisterSql precomputedPersisterSql) {
+		this.precomputedPersisterSql = precomputedPersisterSql;
+	}
+
 	void setEntityTuplizerFactory(EntityTuplizerFactory entityTuplizerFactory) {
 		this.entityTuplizerFactory = entityTuplizerFactory;
 	}
@@ -51,6 +51,7 @@ import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.loader.BatchFetchStyle;
+import org.hibernate.persister.internal.PrecomputedPersisterSql;
 import org.hibernate.service.ServiceRegistry;
 import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
 import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
@@ -231,6 +232,12 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setDefaultBatchFetchSize( batchFetchSize );
 
+		int adaptiveBatchFetchSize = ConfigurationHelper.getInt( AvailableSettings.ADAPTIVE_BATCH_FETCH_SIZE, properties, 0 );
+		if ( debugEnabled ) {
+			LOG.debugf( "Adaptive batch fetch size: %s", adaptiveBatchFetchSize );
+		}
+		settings.setAdaptiveBatchFetchSize( adaptiveBatchFetchSize );
+
 		boolean comments = ConfigurationHelper.getBoolean( AvailableSettings.USE_SQL_COMMENTS, properties );
 		if ( debugEnabled ) {
 			LOG.debugf( "Generate SQL with comments: %s", enabledDisabled(comments) );
@@ -315,6 +322,12 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setStructuredCacheEntriesEnabled( useStructuredCacheEntries );
 
+		boolean useCompactCacheEntries = ConfigurationHelper.getBoolean( AvailableSettings.USE_COMPACT_CACHE, properties, false );
+		if ( debugEnabled ) {
+			LOG.debugf( "Compact second-level cache entries: %s", enabledDisabled(useCompactCacheEntries) );
+		}
+		settings.setCompactCacheEntriesEnabled( useCompactCacheEntries );
+
 		boolean useDirectReferenceCacheEntries = ConfigurationHelper.getBoolean(
 				AvailableSettings.USE_DIRECT_REFERENCE_CACHE_ENTRIES,
 				properties,
@@ -333,6 +346,12 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setStatisticsEnabled( useStatistics );
 
+		boolean useSessionProfiling = ConfigurationHelper.getBoolean( AvailableSettings.SESSION_PROFILING, properties );
+		if ( debugEnabled ) {
+			LOG.debugf( "Session profiling: %s", enabledDisabled(useSessionProfiling) );
+		}
+		settings.setSessionProfilingEnabled( useSessionProfiling );
+
 		boolean useIdentifierRollback = ConfigurationHelper.getBoolean( AvailableSettings.USE_IDENTIFIER_ROLLBACK, properties );
 		if ( debugEnabled ) {
 			LOG.debugf( "Deleted entity synthetic identifier rollback: %s", enabledDisabled(useIdentifierRollback) );
@@ -369,6 +388,33 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setNamedQueryStartupCheckingEnabled( namedQueryChecking );
 
+		boolean namedQueryCheckDeferred = ConfigurationHelper.getBoolean( AvailableSettings.QUERY_STARTUP_CHECK_DEFERRED, properties, false );
+		if ( debugEnabled ) {
+			LOG.debugf( "Deferred named query checking : %s", enabledDisabled(namedQueryCheckDeferred) );
+		}
+		settings.setNamedQueryStartupCheckDeferred( namedQueryCheckDeferred );
+
+		int bootstrapThreads = ConfigurationHelper.getInt( AvailableSettings.BOOTSTRAP_THREADS, properties, 1 );
+		if ( debugEnabled ) {
+			LOG.debugf( "Bootstrap threads: %s", bootstrapThreads );
+		}
+		settings.setBootstrapThreads( bootstrapThreads );
+
+		String precomputedSqlResource = properties.getProperty( AvailableSettings.PERSISTER_SQL_RESOURCE );
+		if ( StringHelper.isNotEmpty( precomputedSqlResource ) ) {
+			if ( debugEnabled ) {
+				LOG.debugf( "Precomputed persister SQL resource: %s", precomputedSqlResource );
+			}
+			settings.setPrecomputedPersisterSql(
+					PrecomputedPersisterSql.load(
+							precomputedSqlResource,
+							serviceRegistry.getService( ClassLoaderService.class ),
+							jdbcServices.getDialect(),
+							comments
+					)
+			);
+		}
+
 		boolean checkNullability = ConfigurationHelper.getBoolean(AvailableSettings.CHECK_NULLABILITY, properties, true);
 		if ( debugEnabled ) {
 			LOG.debugf( "Check Nullability in Core (should be disabled when Bean Validation is on): %s", enabledDisabled(checkNullability) );
@@ -0,0 +1,151 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.criterion;
+
+import org.hibernate.Criteria;
+import org.hibernate.HibernateException;
+import org.hibernate.QueryException;
+import org.hibernate.engine.spi.TypedValue;
+import org.hibernate.internal.util.StringHelper;
+
+/**
+ * Constrains the results to the rows following a given sort key in a given ordering, for keyset (seek) pagination:
+ * rather than skipping the rows of the previous pages with an offset, which the database still has to read, the
+ * next page is selected with a predicate on the sort key of the last row of the previous page.
+ * <p/>
+ * The sort key is compared as a row value, <tt>(a, b) &gt; (?, ?)</tt>, when the ordering has a single direction
+ * and the Dialect supports row-value-constructor syntax; otherwise the comparison is expanded into
+ * <tt>a &gt; ? or (a = ? and b &gt; ?)</tt>.  The ordering must be unique (typically it ends with the identifier)
+ * and its properties must be non-nullable, single-column properties.
+ *
+ * @see Restrictions#keysetAfter(Order[], Object[])
+ */
+public class KeysetExpression implements Criterion {
+	private final Order[] orders;
+	private final Object[] values;
+
+	/**
+	 * Constructs a KeysetExpression
+	 *
+	 * @param orders The ordering of the results
+	 * @param values The sort key of the last row seen, one value per order
+	 *
+	 * @see Restrictions#keysetAfter(Order[], Object[])
+	 */
+	protected KeysetExpression(Order[] orders, Object[] values) {
+		if ( orders.length == 0 ) {
+			throw new IllegalArgumentException( "A keyset needs at least one order" );
+		}
+		if ( orders.length != values.length ) {
+			throw new IllegalArgumentException(
+					"The keyset has " + values.length + " values for " + orders.length + " orders"
+			);
+		}
+		for ( Order order : orders ) {
+			if ( order.isIgnoreCase() ) {
+				throw new IllegalArgumentException( "Case insensitive orders cannot be used in a keyset: " + order );
+			}
+		}
+		this.orders = orders;
+		this.values = values;
+	}
+
+	@Override
+	public String toSqlString(Criteria criteria, CriteriaQuery criteriaQuery) throws HibernateException {
+		final String[] columns = new String[ orders.length ];
+		for ( int i = 0; i < orders.length; i++ ) {
+			final String[] propertyColumns = criteriaQuery.findColumns( orders[i].getPropertyName(), criteria );
+			if ( propertyColumns.length != 1 ) {
+				throw new QueryException(
+						"Keyset property [" + orders[i].getPropertyName() + "] does not map to a single column"
+				);
+			}
+			columns[i] = propertyColumns[0];
+		}
+
+		if ( columns.length == 1 ) {
+			return columns[0] + operator( orders[0] ) + "?";
+		}
+		if ( isRowValueComparison( criteriaQuery ) ) {
+			return '(' + StringHelper.join( ", ", columns ) + ')' + operator( orders[0] )
+					+ '(' + StringHelper.repeat( "?, ", columns.length - 1 ) + "?)";
+		}
+
+		final StringBuilder fragment = new StringBuilder( "(" );
+		for ( int i = 0; i < columns.length; i++ ) {
+			if ( i > 0 ) {
+				fragment.append( " or " );
+			}
+			fragment.append( '(' );
+			for ( int j = 0; j < i; j++ ) {
+				fragment.append( columns[j] ).append( "=? and " );
+			}
+			fragment.append( columns[i] ).append( operator( orders[i] ) ).append( "?)" );
+		}
+		return fragment.append( ')' ).toString();
+	}
+
+	@Override
+	public TypedValue[] getTypedValues(Criteria criteria, CriteriaQuery criteriaQuery) throws HibernateException {
+		final TypedValue[] typedValues = new TypedValue[ orders.length ];
+		for ( int i = 0; i < orders.length; i++ ) {
+			typedValues[i] = criteriaQuery.getTypedValue( criteria, orders[i].getPropertyName(), values[i] );
+		}
+		if ( orders.length == 1 || isRowValueComparison( criteriaQuery ) ) {
+			return typedValues;
+		}
+
+		// the expanded comparison repeats the leading values: (a>?) or (a=? and b>?) or (a=? and b=? and c>?)
+		final TypedValue[] expandedTypedValues = new TypedValue[ orders.length * ( orders.length + 1 ) / 2 ];
+		int position = 0;
+		for ( int i = 0; i < orders.length; i++ ) {
+			for ( int j = 0; j <= i; j++ ) {
+				expandedTypedValues[ position++ ] = typedValues[j];
+			}
+		}
+		return expandedTypedValues;
+	}
+
+	private boolean isRowValueComparison(CriteriaQuery criteriaQuery) {
+		if ( !criteriaQuery.getFactory().getDialect().supportsRowValueConstructorSyntax() ) {
+			return false;
+		}
+		for ( Order order : orders ) {
+			if ( order.isAscending() != orders[0].isAscending() ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String operator(Order order) {
+		return order.isAscending() ? ">" : "<";
+	}
+
+	@Override
+	public String toString() {
+		return "keyset after (" + StringHelper.toString( values ) + ") in order " + StringHelper.toString( orders );
+	}
+
+}
@@ -102,12 +102,10 @@ public class Order implements Serializable {
 		return propertyName;
 	}
 
-	@SuppressWarnings("UnusedDeclaration")
 	public boolean isAscending() {
 		return ascending;
 	}
 
-	@SuppressWarnings("UnusedDeclaration")
 	public boolean isIgnoreCase() {
 		return ignoreCase;
 	}
@@ -673,6 +673,31 @@ public class Restrictions {
 		return new SizeExpression( propertyName, size, ">=" );
 	}
 
+	/**
+	 * Constrain the results to the rows following the given sort key in the given ordering, to read the next page
+	 * of a keyset (seek) paginated query.  The same orders should be added to the Criteria, and the page size set
+	 * through {@link org.hibernate.Criteria#setMaxResults}:
+	 * <pre>
+	 * Order[] orders = new Order[] { Order.asc( "timestamp" ), Order.asc( "id" ) };
+	 * session.createCriteria( AuditEntry.class )
+	 * 		.add( Restrictions.keysetAfter( orders, new Object[] { last.getTimestamp(), last.getId() } ) )
+	 * 		.addOrder( orders[0] )
+	 * 		.addOrder( orders[1] )
+	 * 		.setMaxResults( 50 )
+	 * 		.list();
+	 * </pre>
+	 *
+	 * @param orders The ordering of the results, which must be unique
+	 * @param lastSeenKey The values of the ordered properties of the last row of the previous page
+	 *
+	 * @return The Criterion
+	 *
+	 * @see KeysetExpression
+	 */
+	public static Criterion keysetAfter(Order[] orders, Object[] lastSeenKey) {
+		return new KeysetExpression( orders, lastSeenKey );
+	}
+
 	/**
 	 * Consider using any of the natural id based loading stuff from session instead, especially in cases
 	 * where the restriction is the full set of natural id values.
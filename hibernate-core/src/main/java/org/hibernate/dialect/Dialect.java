@@ -2296,6 +2296,20 @@ public abstract class Dialect implements ConversionContext {
 		return false;
 	}
 
+	/**
+	 * Does this dialect support a {@code with} clause (common table expression) defined by a {@code values} list in
+	 * front of update and delete statements?
+	 * <p/>
+	 * For example, "with ids (id) as (values (?), (?)) delete from PERSON where (id) in (select id from ids)"
+	 *
+	 * @return True if this SQL dialect is known to support such statements; false otherwise.
+	 *
+	 * @see org.hibernate.hql.spi.CteValuesListBulkIdStrategy
+	 */
+	public boolean supportsValuesCteInDml() {
+		return false;
+	}
+
 	/**
 	 * Should LOBs (both BLOB and CLOB) be bound using stream operations (i.e.
 	 * {@link java.sql.PreparedStatement#setBinaryStream}).
@@ -37,6 +37,8 @@ import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
 import org.hibernate.engine.jdbc.spi.SqlExceptionHelper;
 import org.hibernate.engine.jdbc.spi.SqlStatementLogger;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.stat.internal.SessionProfilerHelper;
+import org.hibernate.stat.spi.SessionProfiler;
 
 /**
  * Convenience base class for implementers of the Batch interface.
@@ -101,6 +103,17 @@ public abstract class AbstractBatchImpl implements Batch {
 				.getSqlStatementLogger();
 	}
 
+	/**
+	 * Convenience access to the profiler of the session.
+	 *
+	 * @return The session profiler, or {@code null} if the session is not being profiled.
+	 */
+	protected SessionProfiler sessionProfiler() {
+		return SessionProfilerHelper.getSessionProfiler(
+				jdbcCoordinator.getTransactionCoordinator().getTransactionContext()
+		);
+	}
+
 	/**
 	 * Access to the batch's map of statements (keyed by SQL statement string).
 	 *
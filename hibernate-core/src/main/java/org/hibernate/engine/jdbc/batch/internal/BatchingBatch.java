@@ -32,6 +32,7 @@ import org.hibernate.HibernateException;
 import org.hibernate.engine.jdbc.batch.spi.BatchKey;
 import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.stat.spi.SessionProfiler;
 
 /**
  * A {@link org.hibernate.engine.jdbc.batch.spi.Batch} implementation which does bathing based on a given size.  Once
@@ -112,8 +113,10 @@ public class BatchingBatch extends AbstractBatchImpl {
 	}
 
 	private void performExecution() {
+		final SessionProfiler profiler = sessionProfiler();
 		try {
 			for ( Map.Entry<String,PreparedStatement> entry : getStatements().entrySet() ) {
+				final long startTime = profiler == null ? 0 : System.nanoTime();
 				try {
 					final PreparedStatement statement = entry.getValue();
 					checkRowCounts( statement.executeBatch(), statement );
@@ -122,6 +125,11 @@ public class BatchingBatch extends AbstractBatchImpl {
 					LOG.debug( "SQLException escaped proxy", e );
 					throw sqlExceptionHelper().convert( e, "could not perform addBatch", entry.getKey() );
 				}
+				finally {
+					if ( profiler != null ) {
+						profiler.sqlExecuted( entry.getKey(), startTime );
+					}
+				}
 			}
 		}
 		catch ( RuntimeException re ) {
@@ -56,6 +56,8 @@ import org.hibernate.engine.transaction.spi.TransactionEnvironment;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.jdbc.WorkExecutor;
 import org.hibernate.jdbc.WorkExecutorVisitable;
+import org.hibernate.stat.internal.SessionProfilerHelper;
+import org.hibernate.stat.spi.SessionProfiler;
 import org.jboss.logging.Logger;
 import org.jboss.logging.Logger.Level;
 
@@ -82,6 +84,8 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 
 	private final HashMap<Statement,Set<ResultSet>> xref = new HashMap<Statement,Set<ResultSet>>();
 	private final Set<ResultSet> unassociatedResultSets = new HashSet<ResultSet>();
+	// the SQL of the registered prepared statements, kept only while the session is profiled
+	private final HashMap<Statement,String> profiledSql = new HashMap<Statement,String>();
 	private final transient SqlExceptionHelper exceptionHelper;
 
 	private Statement lastQuery;
@@ -365,6 +369,38 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 		xref.put( statement, null );
 	}
 
+	/**
+	 * The profiler of the session, if it is being profiled.
+	 *
+	 * @return The session profiler, or {@code null}
+	 */
+	SessionProfiler getSessionProfiler() {
+		return SessionProfilerHelper.getSessionProfiler( transactionCoordinator.getTransactionContext() );
+	}
+
+	/**
+	 * Keep the SQL of a registered prepared statement, to be reported to the session profiler once it is executed.
+	 *
+	 * @param statement The prepared statement
+	 * @param sql The SQL it was prepared from
+	 */
+	void registerProfiledSql(Statement statement, String sql) {
+		if ( getSessionProfiler() != null ) {
+			profiledSql.put( statement, sql );
+		}
+	}
+
+	/**
+	 * The SQL a registered prepared statement was prepared from, if the session is being profiled.
+	 *
+	 * @param statement The prepared statement
+	 *
+	 * @return The SQL, or {@code null}
+	 */
+	String getProfiledSql(Statement statement) {
+		return profiledSql.get( statement );
+	}
+
 	@Override
 	@SuppressWarnings({ "unchecked" })
 	public void registerLastQuery(Statement statement) {
@@ -403,6 +439,7 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 			resultSets.clear();
 		}
 		xref.remove( statement );
+		profiledSql.remove( statement );
 		close( statement );
 		
 		afterStatementExecution();
@@ -500,6 +537,7 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 			close( entry.getKey() );
 		}
 		xref.clear();
+		profiledSql.clear();
 
 		closeAll( unassociatedResultSets );
 	}
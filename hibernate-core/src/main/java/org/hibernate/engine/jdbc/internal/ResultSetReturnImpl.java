@@ -29,6 +29,8 @@ import java.sql.Statement;
 import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
 import org.hibernate.engine.jdbc.spi.ResultSetReturn;
 import org.hibernate.engine.jdbc.spi.SqlExceptionHelper;
+import org.hibernate.stat.internal.SessionProfilerHelper;
+import org.hibernate.stat.spi.SessionProfiler;
 
 /**
  * Standard implementation of the ResultSetReturn contract
@@ -58,6 +60,8 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 			final CallableStatement callableStatement = (CallableStatement) statement;
 			return extract( callableStatement );
 		}
+		final SessionProfiler profiler = sessionProfiler();
+		final long startTime = profiler == null ? 0 : System.nanoTime();
 		try {
 			final ResultSet rs = statement.executeQuery();
 			postExtract( rs, statement );
@@ -66,10 +70,15 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 		catch ( SQLException e ) {
 			throw sqlExceptionHelper().convert( e, "could not extract ResultSet" );
 		}
+		finally {
+			sqlExecuted( profiler, statement, null, startTime );
+		}
 	}
 
 	@Override
 	public ResultSet extract(CallableStatement statement) {
+		final SessionProfiler profiler = sessionProfiler();
+		final long startTime = profiler == null ? 0 : System.nanoTime();
 		try {
 			// sql logged by StatementPreparerImpl
 			final ResultSet rs = jdbcCoordinator.getLogicalConnection()
@@ -82,11 +91,16 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 		catch ( SQLException e ) {
 			throw sqlExceptionHelper().convert( e, "could not extract ResultSet" );
 		}
+		finally {
+			sqlExecuted( profiler, statement, null, startTime );
+		}
 	}
 
 	@Override
 	public ResultSet extract(Statement statement, String sql) {
 		jdbcCoordinator.getLogicalConnection().getJdbcServices().getSqlStatementLogger().logStatement( sql );
+		final SessionProfiler profiler = sessionProfiler();
+		final long startTime = profiler == null ? 0 : System.nanoTime();
 		try {
 			final ResultSet rs = statement.executeQuery( sql );
 			postExtract( rs, statement );
@@ -95,11 +109,16 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 		catch ( SQLException e ) {
 			throw sqlExceptionHelper().convert( e, "could not extract ResultSet" );
 		}
+		finally {
+			sqlExecuted( profiler, statement, sql, startTime );
+		}
 	}
 
 	@Override
 	public ResultSet execute(PreparedStatement statement) {
 		// sql logged by StatementPreparerImpl
+		final SessionProfiler profiler = sessionProfiler();
+		final long startTime = profiler == null ? 0 : System.nanoTime();
 		try {
 			if ( !statement.execute() ) {
 				while ( !statement.getMoreResults() && statement.getUpdateCount() != -1 ) {
@@ -113,12 +132,17 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 		catch ( SQLException e ) {
 			throw sqlExceptionHelper().convert( e, "could not execute statement" );
 		}
+		finally {
+			sqlExecuted( profiler, statement, null, startTime );
+		}
 	}
 
 	@Override
 	public ResultSet execute(Statement statement, String sql) {
 		jdbcCoordinator.getLogicalConnection().getJdbcServices()
 				.getSqlStatementLogger().logStatement( sql );
+		final SessionProfiler profiler = sessionProfiler();
+		final long startTime = profiler == null ? 0 : System.nanoTime();
 		try {
 			if ( !statement.execute( sql ) ) {
 				while ( !statement.getMoreResults() && statement.getUpdateCount() != -1 ) {
@@ -132,28 +156,41 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 		catch ( SQLException e ) {
 			throw sqlExceptionHelper().convert( e, "could not execute statement" );
 		}
+		finally {
+			sqlExecuted( profiler, statement, sql, startTime );
+		}
 	}
 	
 	@Override
 	public int executeUpdate( PreparedStatement statement ) {
+		final SessionProfiler profiler = sessionProfiler();
+		final long startTime = profiler == null ? 0 : System.nanoTime();
 		try {
 			return statement.executeUpdate();
 		}
 		catch ( SQLException e ) {
 			throw sqlExceptionHelper().convert( e, "could not execute statement" );
 		}
+		finally {
+			sqlExecuted( profiler, statement, null, startTime );
+		}
 	}
 	
 	@Override
 	public int executeUpdate( Statement statement, String sql ) {
 		jdbcCoordinator.getLogicalConnection().getJdbcServices()
 				.getSqlStatementLogger().logStatement( sql );
+		final SessionProfiler profiler = sessionProfiler();
+		final long startTime = profiler == null ? 0 : System.nanoTime();
 		try {
 			return statement.executeUpdate( sql );
 		}
 		catch ( SQLException e ) {
 			throw sqlExceptionHelper().convert( e, "could not execute statement" );
 		}
+		finally {
+			sqlExecuted( profiler, statement, sql, startTime );
+		}
 	}
 
 	private SqlExceptionHelper sqlExceptionHelper() {
@@ -164,7 +201,26 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 				.getSqlExceptionHelper();
 	}
 
-	private void postExtract(ResultSet rs, Statement st) {
+	private SessionProfiler sessionProfiler() {
+		return SessionProfilerHelper.getSessionProfiler(
+				jdbcCoordinator.getTransactionCoordinator().getTransactionContext()
+		);
+	}
+
+	private void sqlExecuted(SessionProfiler profiler, Statement statement, String sql, long startTime) {
+		if ( profiler == null ) {
+			return;
+		}
+		// the SQL of prepared statements is kept by the JdbcCoordinator from when they were prepared
+		final String executedSql = sql == null && jdbcCoordinator instanceof JdbcCoordinatorImpl
+				? ( (JdbcCoordinatorImpl) jdbcCoordinator ).getProfiledSql( statement )
+				: sql;
+		if ( executedSql != null ) {
+			profiler.sqlExecuted( executedSql, startTime );
+		}
+	}
+
+		private void postExtract(ResultSet rs, Statement st) {
 		if ( rs != null ) {
 			jdbcCoordinator.register( rs, st );
 		}
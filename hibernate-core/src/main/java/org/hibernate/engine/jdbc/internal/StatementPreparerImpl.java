@@ -196,6 +196,7 @@ class StatementPreparerImpl implements StatementPreparer {
 
 		public void postProcess(PreparedStatement preparedStatement) throws SQLException {
 			jdbcCoordinator.register( preparedStatement );
+			jdbcCoordinator.registerProfiledSql( preparedStatement, sql );
 			logicalConnection().notifyObserversStatementPrepared();
 		}
 
@@ -31,6 +31,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.hibernate.Filter;
 import org.hibernate.HibernateException;
@@ -40,6 +41,7 @@ import org.hibernate.engine.spi.QueryParameters;
 import org.hibernate.engine.spi.RowSelection;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.TypedValue;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.hql.internal.QuerySplitter;
 import org.hibernate.hql.spi.FilterTranslator;
@@ -75,6 +77,11 @@ public class HQLQueryPlan implements Serializable {
 	private final Set<String> enabledFilterNames;
 	private final boolean shallow;
 
+	private final Map<String,TypedValue> literalParameters;
+
+	// how often the plan was found in the QueryPlanCache, used to rank plans for the plan cache warm-up
+	private final AtomicLong hitCount = new AtomicLong();
+
 	/**
 	 * Constructs a HQLQueryPlan
 	 *
@@ -96,6 +103,7 @@ public class HQLQueryPlan implements Serializable {
 			SessionFactoryImplementor factory) {
 		this.sourceQuery = hql;
 		this.shallow = shallow;
+		this.literalParameters = null;
 
 		final Set<String> copy = new HashSet<String>();
 		copy.addAll( enabledFilters.keySet() );
@@ -146,6 +154,41 @@ public class HQLQueryPlan implements Serializable {
 		}
 	}
 
+	/**
+	 * Constructs a HQLQueryPlan for a query whose literals were rewritten into implicit parameters by
+	 * {@link LiteralParameterizer}.  The plan shares the translation of the rewritten query, and binds the literal
+	 * values on execution.
+	 *
+	 * @param hql The HQL query, as given
+	 * @param parameterizedPlan The plan of the rewritten query
+	 * @param literalParameters The values of the implicit parameters
+	 */
+	public HQLQueryPlan(String hql, HQLQueryPlan parameterizedPlan, Map<String,TypedValue> literalParameters) {
+		this.sourceQuery = hql;
+		this.shallow = parameterizedPlan.shallow;
+		this.literalParameters = literalParameters;
+		this.enabledFilterNames = parameterizedPlan.enabledFilterNames;
+		this.translators = parameterizedPlan.translators;
+		this.sqlStrings = parameterizedPlan.sqlStrings;
+		this.querySpaces = parameterizedPlan.querySpaces;
+		this.returnMetadata = parameterizedPlan.returnMetadata;
+
+		// the implicit parameters are bound by the plan, hide them from the Query
+		final ParameterMetadata parameterizedMetadata = parameterizedPlan.parameterMetadata;
+		final OrdinalParameterDescriptor[] ordinalParamDescriptors =
+				new OrdinalParameterDescriptor[parameterizedMetadata.getOrdinalParameterCount()];
+		for ( int i = 0; i < ordinalParamDescriptors.length; i++ ) {
+			ordinalParamDescriptors[i] = parameterizedMetadata.getOrdinalParameterDescriptor( i + 1 );
+		}
+		final Map<String, NamedParameterDescriptor> namedParamDescriptorMap = new HashMap<String, NamedParameterDescriptor>();
+		for ( String name : parameterizedMetadata.getNamedParameterNames() ) {
+			if ( !literalParameters.containsKey( name ) ) {
+				namedParamDescriptorMap.put( name, parameterizedMetadata.getNamedParameterDescriptor( name ) );
+			}
+		}
+		this.parameterMetadata = new ParameterMetadata( ordinalParamDescriptors, namedParamDescriptorMap );
+	}
+
 	public String getSourceQuery() {
 		return sourceQuery;
 	}
@@ -179,6 +222,14 @@ public class HQLQueryPlan implements Serializable {
 		return shallow;
 	}
 
+	void recordHits(long hits) {
+		hitCount.addAndGet( hits );
+	}
+
+	long getHitCount() {
+		return hitCount.get();
+	}
+
 	/**
 	 * Coordinates the efforts to perform a list across all the included query translators.
 	 *
@@ -193,6 +244,7 @@ public class HQLQueryPlan implements Serializable {
 	public List performList(
 			QueryParameters queryParameters,
 			SessionImplementor session) throws HibernateException {
+		bindLiteralParameters( queryParameters );
 		if ( LOG.isTraceEnabled() ) {
 			LOG.tracev( "Find: {0}", getSourceQuery() );
 			queryParameters.traceParameters( session.getFactory() );
@@ -264,6 +316,7 @@ public class HQLQueryPlan implements Serializable {
 	public Iterator performIterate(
 			QueryParameters queryParameters,
 			EventSource session) throws HibernateException {
+		bindLiteralParameters( queryParameters );
 		if ( LOG.isTraceEnabled() ) {
 			LOG.tracev( "Iterate: {0}", getSourceQuery() );
 			queryParameters.traceParameters( session.getFactory() );
@@ -302,6 +355,7 @@ public class HQLQueryPlan implements Serializable {
 	public ScrollableResults performScroll(
 			QueryParameters queryParameters,
 			SessionImplementor session) throws HibernateException {
+		bindLiteralParameters( queryParameters );
 		if ( LOG.isTraceEnabled() ) {
 			LOG.tracev( "Iterate: {0}", getSourceQuery() );
 			queryParameters.traceParameters( session.getFactory() );
@@ -328,6 +382,7 @@ public class HQLQueryPlan implements Serializable {
 	 */
 	public int performExecuteUpdate(QueryParameters queryParameters, SessionImplementor session)
 			throws HibernateException {
+		bindLiteralParameters( queryParameters );
 		if ( LOG.isTraceEnabled() ) {
 			LOG.tracev( "Execute update: {0}", getSourceQuery() );
 			queryParameters.traceParameters( session.getFactory() );
@@ -342,6 +397,17 @@ public class HQLQueryPlan implements Serializable {
 		return result;
 	}
 
+	private void bindLiteralParameters(QueryParameters queryParameters) {
+		if ( literalParameters == null ) {
+			return;
+		}
+		final Map<String,TypedValue> namedParameters = new HashMap<String,TypedValue>( literalParameters );
+		if ( queryParameters.getNamedParameters() != null ) {
+			namedParameters.putAll( queryParameters.getNamedParameters() );
+		}
+		queryParameters.setNamedParameters( namedParameters );
+	}
+
 	private ParameterMetadata buildParameterMetadata(ParameterTranslations parameterTranslations, String hql) {
 		final long start = System.currentTimeMillis();
 		final ParamLocationRecognizer recognizer = ParamLocationRecognizer.parseLocations( hql );
@@ -0,0 +1,442 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.query.spi;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.engine.spi.TypedValue;
+import org.hibernate.type.SingleColumnType;
+import org.hibernate.type.StandardBasicTypes;
+import org.hibernate.type.Type;
+
+/**
+ * Rewrites the literals an HQL query compares against into implicit named parameters, so that queries which only
+ * differ in those literals share a single {@link HQLQueryPlan}, and a single SQL statement.
+ * <p/>
+ * Only literals which are safe to bind are rewritten: numeric and string literals which are the right-hand operand
+ * of a comparison ({@code =, <>, !=, <, <=, >, >=, like}) against a path, or an element of an {@code in} list, within
+ * a {@code where}, {@code having}, {@code on}/{@code with} or update {@code set} clause, and which are not part of an
+ * arithmetic or concatenation expression.  Literals in the select, group by and order by clauses, escape characters
+ * and discriminator ({@code .class}) comparisons are left alone.  Queries using JDBC-style ordinal parameters are
+ * never rewritten, since the implicit parameters would shift their positions.
+ * <p/>
+ * The literals are bound with the type the rewritten query expects at their position, see
+ * {@link ParameterizedQuery#resolveParameters}; a query with a literal which cannot be bound that way is not
+ * rewritten at all.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_PARAMETERIZE_LITERALS
+ */
+public final class LiteralParameterizer {
+	/**
+	 * The prefix of the names of the implicit parameters.
+	 */
+	public static final String PARAMETER_PREFIX = "hibernateLiteral";
+
+	private static final Set<String> COMPARISON_OPERATORS = new HashSet<String>(
+			Arrays.asList( "=", "<>", "!=", "^=", "<", "<=", ">", ">=", "like" )
+	);
+	private static final Set<String> BINDING_CLAUSES = new HashSet<String>(
+			Arrays.asList( "where", "having", "on", "with", "set" )
+	);
+	private static final Set<String> NON_BINDING_CLAUSES = new HashSet<String>(
+			Arrays.asList( "select", "from", "group", "order" )
+	);
+
+	private static final String LITERAL = "'";
+	private static final String PARAMETER = ":";
+
+	private LiteralParameterizer() {
+	}
+
+	/**
+	 * Rewrite the bindable literals of the given HQL query into implicit parameters.
+	 *
+	 * @param query The HQL query
+	 *
+	 * @return The rewritten query, or {@code null} if the query has no literals which can be rewritten.
+	 */
+	public static ParameterizedQuery parameterize(String query) {
+		if ( query.indexOf( PARAMETER_PREFIX ) >= 0 ) {
+			return null;
+		}
+
+		final int length = query.length();
+		final StringBuilder buffer = new StringBuilder( length );
+		final Map<String, TypedValue> parameters = new LinkedHashMap<String, TypedValue>();
+
+		// per parenthesis depth: may literals be bound there, and did the parenthesis open an in list?
+		boolean[] bindable = new boolean[8];
+		boolean[] inList = new boolean[8];
+		int depth = 0;
+
+		String previous = null;
+		String beforePrevious = null;
+		int copied = 0;
+		int i = 0;
+		while ( i < length ) {
+			final char c = query.charAt( i );
+			if ( Character.isWhitespace( c ) ) {
+				i++;
+				continue;
+			}
+
+			final int start = i;
+			final String token;
+			TypedValue literal = null;
+			if ( c == '\'' ) {
+				i = endOfQuoted( query, i );
+				if ( i < 0 ) {
+					return null;
+				}
+				literal = new TypedValue(
+						StandardBasicTypes.STRING,
+						query.substring( start + 1, i - 1 ).replace( "''", "'" )
+				);
+				token = LITERAL;
+			}
+			else if ( isDigit( c ) || ( c == '.' && i + 1 < length && isDigit( query.charAt( i + 1 ) ) ) ) {
+				i = endOfNumber( query, i );
+				literal = numericLiteral( query.substring( start, i ) );
+				token = LITERAL;
+			}
+			else if ( Character.isJavaIdentifierStart( c ) ) {
+				while ( i < length && ( Character.isJavaIdentifierPart( query.charAt( i ) ) || query.charAt( i ) == '.' ) ) {
+					i++;
+				}
+				token = query.substring( start, i ).toLowerCase( Locale.ENGLISH );
+			}
+			else if ( c == ':' || c == '?' ) {
+				i++;
+				if ( c == '?' && ( i == length || !isDigit( query.charAt( i ) ) ) ) {
+					// a JDBC-style ordinal parameter
+					return null;
+				}
+				while ( i < length && Character.isJavaIdentifierPart( query.charAt( i ) ) ) {
+					i++;
+				}
+				token = PARAMETER;
+			}
+			else if ( c == '"' || c == '`' ) {
+				i = endOfQuoted( query, i );
+				if ( i < 0 ) {
+					return null;
+				}
+				token = String.valueOf( c );
+			}
+			else {
+				i++;
+				if ( i < length ) {
+					final char next = query.charAt( i );
+					if ( ( next == '=' && ( c == '<' || c == '>' || c == '!' || c == '^' ) )
+							|| ( next == '>' && c == '<' )
+							|| ( next == '|' && c == '|' ) ) {
+						i++;
+					}
+				}
+				token = query.substring( start, i );
+			}
+
+			if ( literal != null ) {
+				if ( bindable[depth] && isBindable( previous, beforePrevious, inList[depth] ) && !continuesExpression( query, i ) ) {
+					final String name = PARAMETER_PREFIX + parameters.size();
+					buffer.append( query, copied, start ).append( ':' ).append( name );
+					copied = i;
+					parameters.put( name, literal );
+				}
+			}
+			else if ( "(".equals( token ) ) {
+				depth++;
+				if ( depth == bindable.length ) {
+					bindable = Arrays.copyOf( bindable, depth * 2 );
+					inList = Arrays.copyOf( inList, depth * 2 );
+				}
+				bindable[depth] = bindable[depth - 1];
+				inList[depth] = "in".equals( previous );
+			}
+			else if ( ")".equals( token ) ) {
+				if ( depth > 0 ) {
+					depth--;
+				}
+			}
+			else if ( BINDING_CLAUSES.contains( token ) ) {
+				bindable[depth] = true;
+			}
+			else if ( NON_BINDING_CLAUSES.contains( token ) ) {
+				bindable[depth] = false;
+			}
+
+			beforePrevious = previous;
+			previous = token;
+		}
+
+		if ( parameters.isEmpty() ) {
+			return null;
+		}
+		buffer.append( query, copied, length );
+		return new ParameterizedQuery( buffer.toString(), parameters );
+	}
+
+	private static boolean isBindable(String previous, String beforePrevious, boolean inList) {
+		if ( inList && ( "(".equals( previous ) || ",".equals( previous ) ) ) {
+			return true;
+		}
+		return COMPARISON_OPERATORS.contains( previous ) && isPath( beforePrevious );
+	}
+
+	private static boolean isPath(String token) {
+		if ( token == null ) {
+			return false;
+		}
+		if ( ")".equals( token ) ) {
+			return true;
+		}
+		// discriminator comparisons are resolved by the query translator, and need the literal
+		return Character.isJavaIdentifierStart( token.charAt( 0 ) )
+				&& !"class".equals( token )
+				&& !token.endsWith( ".class" );
+	}
+
+	private static boolean continuesExpression(String query, int index) {
+		int i = index;
+		while ( i < query.length() && Character.isWhitespace( query.charAt( i ) ) ) {
+			i++;
+		}
+		return i < query.length() && "+-*/|".indexOf( query.charAt( i ) ) >= 0;
+	}
+
+	private static int endOfQuoted(String query, int start) {
+		final char quote = query.charAt( start );
+		int i = start + 1;
+		while ( i < query.length() ) {
+			if ( query.charAt( i ) == quote ) {
+				if ( i + 1 < query.length() && query.charAt( i + 1 ) == quote ) {
+					// an escaped quote
+					i += 2;
+					continue;
+				}
+				return i + 1;
+			}
+			i++;
+		}
+		return -1;
+	}
+
+	private static int endOfNumber(String query, int start) {
+		final int length = query.length();
+		int i = start;
+		while ( i < length && ( isDigit( query.charAt( i ) ) || query.charAt( i ) == '.' ) ) {
+			i++;
+		}
+		if ( i < length && ( query.charAt( i ) == 'e' || query.charAt( i ) == 'E' ) ) {
+			int exponent = i + 1;
+			if ( exponent < length && ( query.charAt( exponent ) == '+' || query.charAt( exponent ) == '-' ) ) {
+				exponent++;
+			}
+			if ( exponent < length && isDigit( query.charAt( exponent ) ) ) {
+				i = exponent;
+				while ( i < length && isDigit( query.charAt( i ) ) ) {
+					i++;
+				}
+			}
+		}
+		// the type suffix, if any
+		while ( i < length && Character.isLetterOrDigit( query.charAt( i ) ) ) {
+			i++;
+		}
+		return i;
+	}
+
+	private static TypedValue numericLiteral(String text) {
+		final String lowerCase = text.toLowerCase( Locale.ENGLISH );
+		final int length = text.length();
+		try {
+			if ( lowerCase.endsWith( "bd" ) ) {
+				return new TypedValue( StandardBasicTypes.BIG_DECIMAL, new BigDecimal( text.substring( 0, length - 2 ) ) );
+			}
+			else if ( lowerCase.endsWith( "bi" ) ) {
+				return new TypedValue( StandardBasicTypes.BIG_INTEGER, new BigInteger( text.substring( 0, length - 2 ) ) );
+			}
+			else if ( lowerCase.endsWith( "l" ) ) {
+				return new TypedValue( StandardBasicTypes.LONG, Long.valueOf( text.substring( 0, length - 1 ) ) );
+			}
+			else if ( lowerCase.endsWith( "f" ) ) {
+				return new TypedValue( StandardBasicTypes.FLOAT, Float.valueOf( text.substring( 0, length - 1 ) ) );
+			}
+			else if ( lowerCase.endsWith( "d" ) ) {
+				return new TypedValue( StandardBasicTypes.DOUBLE, Double.valueOf( text.substring( 0, length - 1 ) ) );
+			}
+			else if ( lowerCase.indexOf( '.' ) >= 0 || lowerCase.indexOf( 'e' ) >= 0 ) {
+				return new TypedValue( StandardBasicTypes.DOUBLE, Double.valueOf( text ) );
+			}
+			else if ( length < 10 ) {
+				return new TypedValue( StandardBasicTypes.INTEGER, Integer.valueOf( text ) );
+			}
+			else {
+				return new TypedValue( StandardBasicTypes.LONG, Long.valueOf( text ) );
+			}
+		}
+		catch ( NumberFormatException e ) {
+			// not a literal we know how to bind (hexadecimal, say), leave it to the query translator
+			return null;
+		}
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	/**
+	 * Convert a literal to the Java type of the given expected type, without losing precision.
+	 *
+	 * @return The converted value, or {@code null} if the literal cannot be bound as the expected type
+	 */
+	private static Object coerce(Object value, Type expectedType) {
+		if ( !( expectedType instanceof SingleColumnType ) ) {
+			// unknown (or multi-column) expected type, leave the literal to the query translator
+			return null;
+		}
+		final Class javaType = expectedType.getReturnedClass();
+		if ( value instanceof String ) {
+			final int sqlType = ( (SingleColumnType) expectedType ).sqlType();
+			if ( sqlType == Types.CHAR || sqlType == Types.NCHAR ) {
+				// blank-padded comparison semantics differ between a CHAR literal and a VARCHAR parameter
+				return null;
+			}
+			if ( javaType == String.class ) {
+				return value;
+			}
+			return null;
+		}
+		final BigDecimal number = toBigDecimal( (Number) value );
+		try {
+			if ( javaType == Integer.class ) {
+				return number.intValueExact();
+			}
+			else if ( javaType == Long.class ) {
+				return number.longValueExact();
+			}
+			else if ( javaType == Short.class ) {
+				return number.shortValueExact();
+			}
+			else if ( javaType == Byte.class ) {
+				return number.byteValueExact();
+			}
+			else if ( javaType == BigInteger.class ) {
+				return number.toBigIntegerExact();
+			}
+			else if ( javaType == BigDecimal.class ) {
+				return number;
+			}
+			else if ( javaType == Double.class ) {
+				return number.doubleValue();
+			}
+			else if ( javaType == Float.class ) {
+				return number.floatValue();
+			}
+		}
+		catch ( ArithmeticException e ) {
+			// fractional, or out of range
+		}
+		return null;
+	}
+
+	private static BigDecimal toBigDecimal(Number number) {
+		if ( number instanceof BigDecimal ) {
+			return (BigDecimal) number;
+		}
+		else if ( number instanceof BigInteger ) {
+			return new BigDecimal( (BigInteger) number );
+		}
+		else if ( number instanceof Double || number instanceof Float ) {
+			return new BigDecimal( number.toString() );
+		}
+		else {
+			return BigDecimal.valueOf( number.longValue() );
+		}
+	}
+
+	/**
+	 * An HQL query whose literals were rewritten into implicit parameters.
+	 */
+	public static final class ParameterizedQuery implements Serializable {
+		private final String query;
+		private final Map<String, TypedValue> parameters;
+
+		private ParameterizedQuery(String query, Map<String, TypedValue> parameters) {
+			this.query = query;
+			this.parameters = Collections.unmodifiableMap( parameters );
+		}
+
+		/**
+		 * The rewritten query.
+		 *
+		 * @return The query
+		 */
+		public String getQuery() {
+			return query;
+		}
+
+		/**
+		 * The values of the implicit parameters, by parameter name, typed as the literals themselves are.
+		 *
+		 * @return The parameter values
+		 */
+		public Map<String, TypedValue> getParameters() {
+			return parameters;
+		}
+
+		/**
+		 * The values of the implicit parameters, converted to the types the translated query expects at their
+		 * positions, so that they bind the way the literals compared.  A string literal compared with a date, or a
+		 * fractional literal compared with an integer, cannot be bound without changing the query's meaning.
+		 *
+		 * @param parameterMetadata The parameter metadata of the plan of the {@link #getQuery() rewritten query}
+		 *
+		 * @return The typed parameter values, or {@code null} if any of the literals cannot be bound with the type
+		 * expected at its position, in which case the original query should be used instead.
+		 */
+		public Map<String, TypedValue> resolveParameters(ParameterMetadata parameterMetadata) {
+			final Map<String, TypedValue> resolved = new LinkedHashMap<String, TypedValue>();
+			for ( Map.Entry<String, TypedValue> entry : parameters.entrySet() ) {
+				final Type expectedType = parameterMetadata.getNamedParameterDescriptor( entry.getKey() ).getExpectedType();
+				final Object value = coerce( entry.getValue().getValue(), expectedType );
+				if ( value == null ) {
+					return null;
+				}
+				resolved.put( entry.getKey(), new TypedValue( expectedType, value ) );
+			}
+			return Collections.unmodifiableMap( resolved );
+		}
+	}
+}
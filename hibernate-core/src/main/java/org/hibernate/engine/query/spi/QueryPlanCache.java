@@ -23,32 +23,60 @@
  */
 package org.hibernate.engine.query.spi;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.hibernate.Filter;
+import org.hibernate.HibernateException;
 import org.hibernate.MappingException;
 import org.hibernate.QueryException;
+import org.hibernate.bytecode.spi.ReflectionOptimizer;
 import org.hibernate.cfg.Environment;
 import org.hibernate.engine.query.spi.sql.NativeSQLQuerySpecification;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.TypedValue;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.FilterImpl;
 import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
 import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.loader.criteria.CriteriaLoader;
+import org.hibernate.loader.criteria.CriteriaPlanKey;
+import org.hibernate.loader.criteria.CriteriaQueryTranslator;
+import org.hibernate.persister.entity.OuterJoinLoadable;
+import org.hibernate.stat.spi.ExtendedStatisticsImplementor;
 
 /**
  * Acts as a cache for compiled query plans, as well as query-parameter metadata.
  *
  * @see Environment#QUERY_PLAN_CACHE_PARAMETER_METADATA_MAX_SIZE
  * @see Environment#QUERY_PLAN_CACHE_MAX_SIZE
+ * @see Environment#QUERY_PLAN_CACHE_EVICTION
+ * @see Environment#QUERY_PLAN_CACHE_CRITERIA_ENABLED
+ * @see Environment#QUERY_PLAN_CACHE_PARAMETERIZE_LITERALS
+ * @see Environment#QUERY_PLAN_CACHE_WARMUP_FILE
  *
  * @author Steve Ebersole
  */
@@ -63,6 +91,12 @@ public class QueryPlanCache implements Serializable {
 	 * The default soft reference count.
 	 */
 	public static final int DEFAULT_QUERY_PLAN_MAX_COUNT = 2048;
+	/**
+	 * The default time budget of the plan cache warm-up, in milliseconds.
+	 */
+	public static final int DEFAULT_WARMUP_TIME_BUDGET = 30000;
+
+	private static final String WARMUP_PLAN_PREFIX = "plan.";
 
 	private final SessionFactoryImplementor factory;
 
@@ -81,6 +115,18 @@ public class QueryPlanCache implements Serializable {
 	 */
 	private final BoundedConcurrentHashMap<String,ParameterMetadata> parameterMetadataCache;
 
+	/**
+	 * the reflection optimizers generated for the result beans of queries, kept apart from the plans using them:
+	 * every optimizer generates classes which are never unloaded, so it must not be rebuilt with an evicted plan
+	 */
+	private final ConcurrentHashMap<BeanAccessorKey,ReflectionOptimizer> beanReflectionOptimizers =
+			new ConcurrentHashMap<BeanAccessorKey,ReflectionOptimizer>();
+
+	private final boolean criteriaLoaderCachingEnabled;
+	private final boolean literalParameterizationEnabled;
+	private final String warmUpFile;
+	private final long warmUpTimeBudget;
+
 	/**
 	 * Constructs the QueryPlanCache to be used by the given SessionFactory
 	 *
@@ -113,13 +159,41 @@ public class QueryPlanCache implements Serializable {
 			);
 		}
 
-		queryPlanCache = new BoundedConcurrentHashMap( maxQueryPlanCount, 20, BoundedConcurrentHashMap.Eviction.LIRS );
+		final BoundedConcurrentHashMap.Eviction eviction = determineEviction( factory.getProperties() );
+		queryPlanCache = new BoundedConcurrentHashMap( maxQueryPlanCount, 20, eviction );
 		parameterMetadataCache = new BoundedConcurrentHashMap<String, ParameterMetadata>(
 				maxParameterMetadataCount,
 				20,
-				BoundedConcurrentHashMap.Eviction.LIRS
+				eviction
+		);
+		criteriaLoaderCachingEnabled = ConfigurationHelper.getBoolean(
+				Environment.QUERY_PLAN_CACHE_CRITERIA_ENABLED,
+				factory.getProperties(),
+				true
+		);
+		literalParameterizationEnabled = ConfigurationHelper.getBoolean(
+				Environment.QUERY_PLAN_CACHE_PARAMETERIZE_LITERALS,
+				factory.getProperties(),
+				false
+		);
+		warmUpFile = ConfigurationHelper.getString( Environment.QUERY_PLAN_CACHE_WARMUP_FILE, factory.getProperties() );
+		warmUpTimeBudget = ConfigurationHelper.getInt(
+				Environment.QUERY_PLAN_CACHE_WARMUP_TIME_BUDGET,
+				factory.getProperties(),
+				DEFAULT_WARMUP_TIME_BUDGET
 		);
+	}
 
+	private static BoundedConcurrentHashMap.Eviction determineEviction(Map properties) {
+		final String eviction = ConfigurationHelper.getString(
+				Environment.QUERY_PLAN_CACHE_EVICTION,
+				properties,
+				"lirs",
+				"lru",
+				"sampled",
+				"tinylfu"
+		);
+		return BoundedConcurrentHashMap.Eviction.valueOf( eviction.toUpperCase( Locale.ENGLISH ) );
 	}
 
 	/**
@@ -180,17 +254,36 @@ public class QueryPlanCache implements Serializable {
 	 * @throws QueryException Indicates a problem translating the query
 	 * @throws MappingException Indicates a problem translating the query
 	 */
-	@SuppressWarnings("unchecked")
 	public HQLQueryPlan getHQLQueryPlan(String queryString, boolean shallow, Map<String,Filter> enabledFilters)
 			throws QueryException, MappingException {
+		if ( literalParameterizationEnabled ) {
+			final LiteralParameterizer.ParameterizedQuery parameterized = LiteralParameterizer.parameterize( queryString );
+			if ( parameterized != null ) {
+				final HQLQueryPlan parameterizedPlan = getCachedHQLQueryPlan( parameterized.getQuery(), shallow, enabledFilters );
+				final Map<String,TypedValue> literalParameters =
+						parameterized.resolveParameters( parameterizedPlan.getParameterMetadata() );
+				if ( literalParameters != null ) {
+					return new HQLQueryPlan( queryString, parameterizedPlan, literalParameters );
+				}
+				// some literal cannot be bound with the type expected at its position
+			}
+		}
+		return getCachedHQLQueryPlan( queryString, shallow, enabledFilters );
+	}
+
+	@SuppressWarnings("unchecked")
+	private HQLQueryPlan getCachedHQLQueryPlan(String queryString, boolean shallow, Map<String,Filter> enabledFilters) {
 		final HQLQueryPlanKey key = new HQLQueryPlanKey( queryString, shallow, enabledFilters );
 		HQLQueryPlan value = (HQLQueryPlan) queryPlanCache.get( key );
 		if ( value == null ) {
 			LOG.tracev( "Unable to locate HQL query plan in cache; generating ({0})", queryString );
+			planCacheMiss();
 			value = new HQLQueryPlan( queryString, shallow, enabledFilters, factory );
 			queryPlanCache.putIfAbsent( key, value );
 		} else {
 			LOG.tracev( "Located HQL query plan in cache ({0})", queryString );
+			planCacheHit();
+			value.recordHits( 1 );
 		}
 		return value;
 	}
@@ -222,11 +315,13 @@ public class QueryPlanCache implements Serializable {
 					collectionRole,
 					filterString
 			);
+			planCacheMiss();
 			value = new FilterQueryPlan( filterString, collectionRole, shallow, enabledFilters,factory );
 			queryPlanCache.putIfAbsent( key, value );
 		}
 		else {
 			LOG.tracev( "Located collection-filter query plan in cache ({0} : {1})", collectionRole, filterString );
+			planCacheHit();
 		}
 		return value;
 	}
@@ -246,15 +341,309 @@ public class QueryPlanCache implements Serializable {
 		NativeSQLQueryPlan value = (NativeSQLQueryPlan) queryPlanCache.get( spec );
 		if ( value == null ) {
 			LOG.tracev( "Unable to locate native-sql query plan in cache; generating ({0})", spec.getQueryString() );
+			planCacheMiss();
 			value = new NativeSQLQueryPlan( spec, factory);
 			queryPlanCache.putIfAbsent( spec, value );
 		}
 		else {
 			LOG.tracev( "Located native-sql query plan in cache ({0})", spec.getQueryString() );
+			planCacheHit();
+		}
+		return value;
+	}
+
+	/**
+	 * Get the loader for the Criteria query translated by the given translator, creating it and caching it if not
+	 * already cached.  The loader is shared by all the Criteria queries with the same {@link CriteriaPlanKey shape};
+	 * the parameter values are collected from the translator passed to each execution.
+	 *
+	 * @param persister The persister of the entity (or implementor) being queried
+	 * @param translator The translator of the Criteria
+	 * @param loadQueryInfluencers The influencers of the executing Session
+	 *
+	 * @return The loader
+	 */
+	@SuppressWarnings("unchecked")
+	public CriteriaLoader getCriteriaLoader(
+			OuterJoinLoadable persister,
+			CriteriaQueryTranslator translator,
+			LoadQueryInfluencers loadQueryInfluencers) {
+		if ( !criteriaLoaderCachingEnabled ) {
+			return new CriteriaLoader( persister, factory, translator, loadQueryInfluencers );
+		}
+		final CriteriaPlanKey key = new CriteriaPlanKey( translator, loadQueryInfluencers );
+		CriteriaLoader value = (CriteriaLoader) queryPlanCache.get( key );
+		if ( value == null ) {
+			LOG.tracev( "Unable to locate criteria loader in cache; generating ({0})", key );
+			planCacheMiss();
+			value = new CriteriaLoader( persister, factory, translator, loadQueryInfluencers );
+			queryPlanCache.putIfAbsent( key, value );
+		}
+		else {
+			LOG.tracev( "Located criteria loader in cache ({0})", key );
+			planCacheHit();
 		}
 		return value;
 	}
 
+	private void planCacheHit() {
+		if ( factory.getStatistics().isStatisticsEnabled()
+				&& factory.getStatisticsImplementor() instanceof ExtendedStatisticsImplementor ) {
+			( (ExtendedStatisticsImplementor) factory.getStatisticsImplementor() ).queryPlanCacheHit();
+		}
+	}
+
+	private void planCacheMiss() {
+		if ( factory.getStatistics().isStatisticsEnabled()
+				&& factory.getStatisticsImplementor() instanceof ExtendedStatisticsImplementor ) {
+			( (ExtendedStatisticsImplementor) factory.getStatisticsImplementor() ).queryPlanCacheMiss();
+		}
+	}
+
+	/**
+	 * Is a warm-up file (see {@link Environment#QUERY_PLAN_CACHE_WARMUP_FILE}) configured?
+	 *
+	 * @return {@code true} if the plan cache is to be warmed up, and its hot plans persisted
+	 */
+	public boolean isWarmUpEnabled() {
+		return warmUpFile != null;
+	}
+
+	/**
+	 * Precompile the HQL query plans persisted to the configured warm-up file, if it exists, within the configured
+	 * time budget.  Meant to run in the background while the SessionFactory is already in use.
+	 */
+	public void warmUp() {
+		final File file = new File( warmUpFile );
+		if ( !file.exists() ) {
+			LOG.debugf( "Query plan cache warm-up file [%s] does not exist yet, skipping warm-up", warmUpFile );
+			return;
+		}
+		try {
+			final InputStream inputStream = new BufferedInputStream( new FileInputStream( file ) );
+			try {
+				final int compiled = warmUp( inputStream, warmUpTimeBudget );
+				LOG.debugf( "Warmed up %s query plans from [%s]", compiled, warmUpFile );
+			}
+			finally {
+				inputStream.close();
+			}
+		}
+		catch ( IOException e ) {
+			LOG.warnf( "Unable to read query plan cache warm-up file [%s] : %s", warmUpFile, e.getMessage() );
+		}
+	}
+
+	/**
+	 * Precompile the HQL query plans read from the given stream, in the format written by {@link #writeHotPlans}, in
+	 * order (that is, hottest first), until the time budget is spent or the calling thread is interrupted.  Plans
+	 * which no longer compile, because the mappings changed since they were written, are skipped.
+	 *
+	 * @param inputStream The stream to read the plans from
+	 * @param timeBudget The time the warm-up may take, in milliseconds
+	 *
+	 * @return The number of plans compiled
+	 *
+	 * @throws IOException Indicates a problem reading the stream
+	 */
+	@SuppressWarnings("unchecked")
+	public int warmUp(InputStream inputStream, long timeBudget) throws IOException {
+		final Properties properties = new Properties();
+		properties.load( inputStream );
+
+		final long deadline = System.currentTimeMillis() + timeBudget;
+		int compiled = 0;
+		for ( int i = 0; ; i++ ) {
+			final String prefix = WARMUP_PLAN_PREFIX + i;
+			final String query = properties.getProperty( prefix + ".query" );
+			if ( query == null ) {
+				break;
+			}
+			if ( System.currentTimeMillis() >= deadline || Thread.currentThread().isInterrupted() ) {
+				LOG.debugf( "Query plan cache warm-up stopped after %s plans", compiled );
+				break;
+			}
+
+			final boolean shallow = Boolean.parseBoolean( properties.getProperty( prefix + ".shallow" ) );
+			final Map<String,Filter> enabledFilters = new HashMap<String,Filter>();
+			final Set<DynamicFilterKey> filterKeys = new HashSet<DynamicFilterKey>();
+			try {
+				if ( !readFilters( properties.getProperty( prefix + ".filters", "" ), enabledFilters, filterKeys ) ) {
+					LOG.warnf( "Skipping malformed query plan cache warm-up entry [%s]", prefix );
+					continue;
+				}
+				final HQLQueryPlanKey key = new HQLQueryPlanKey( query, shallow, filterKeys );
+				if ( queryPlanCache.containsKey( key ) ) {
+					continue;
+				}
+				final HQLQueryPlan plan = new HQLQueryPlan( query, shallow, enabledFilters, factory );
+				// carry half of the previous hits over, so the ranking adapts to changes in the workload
+				plan.recordHits( Long.parseLong( properties.getProperty( prefix + ".hits", "0" ) ) / 2 );
+				queryPlanCache.putIfAbsent( key, plan );
+				compiled++;
+			}
+			catch ( NumberFormatException e ) {
+				LOG.warnf( "Skipping malformed query plan cache warm-up entry [%s] : %s", prefix, e.getMessage() );
+			}
+			catch ( HibernateException e ) {
+				LOG.debugf( "Unable to warm up query plan (%s) : %s", query, e.getMessage() );
+			}
+		}
+		return compiled;
+	}
+
+	private boolean readFilters(String filters, Map<String,Filter> enabledFilters, Set<DynamicFilterKey> filterKeys) {
+		// name[param:count,param:count];name[]
+		for ( String filter : filters.split( ";" ) ) {
+			if ( filter.length() == 0 ) {
+				continue;
+			}
+			final int bracket = filter.indexOf( '[' );
+			if ( bracket <= 0 || !filter.endsWith( "]" ) ) {
+				return false;
+			}
+			final String filterName = filter.substring( 0, bracket );
+			final Map<String,Integer> parameterMetadata = new HashMap<String,Integer>();
+			for ( String parameter : filter.substring( bracket + 1, filter.length() - 1 ).split( "," ) ) {
+				if ( parameter.length() > 0 ) {
+					final int colon = parameter.indexOf( ':' );
+					if ( colon <= 0 ) {
+						return false;
+					}
+					parameterMetadata.put( parameter.substring( 0, colon ), Integer.valueOf( parameter.substring( colon + 1 ) ) );
+				}
+			}
+			// the plan only needs the filter definition, the parameter values are applied on execution
+			enabledFilters.put( filterName, new FilterImpl( factory.getFilterDefinition( filterName ) ) );
+			filterKeys.add( new DynamicFilterKey( filterName, parameterMetadata ) );
+		}
+		return true;
+	}
+
+	/**
+	 * Persist the keys of the HQL query plans in the cache to the configured warm-up file, for the next
+	 * SessionFactory to {@link #warmUp() warm up} from.
+	 */
+	public void persistHotPlans() {
+		final File file = new File( warmUpFile ).getAbsoluteFile();
+		File tempFile = null;
+		try {
+			// write aside and rename, so neither a crash nor another factory writing concurrently leaves a torn file
+			tempFile = File.createTempFile( file.getName(), ".tmp", file.getParentFile() );
+			final OutputStream outputStream = new BufferedOutputStream( new FileOutputStream( tempFile ) );
+			try {
+				writeHotPlans( outputStream );
+			}
+			finally {
+				outputStream.close();
+			}
+			if ( !tempFile.renameTo( file ) ) {
+				// not every platform renames onto an existing file
+				file.delete();
+				if ( !tempFile.renameTo( file ) ) {
+					throw new IOException( "Unable to rename " + tempFile + " to " + file );
+				}
+			}
+			tempFile = null;
+		}
+		catch ( IOException e ) {
+			LOG.warnf( "Unable to write query plan cache warm-up file [%s] : %s", warmUpFile, e.getMessage() );
+		}
+		finally {
+			if ( tempFile != null ) {
+				tempFile.delete();
+			}
+		}
+	}
+
+	/**
+	 * Write the keys (query string, shallow flag and enabled filters) of the HQL query plans in the cache, with their
+	 * hit counts, hottest first.  Collection filter, native SQL and Criteria plans are not written.
+	 *
+	 * @param outputStream The stream to write to
+	 *
+	 * @throws IOException Indicates a problem writing to the stream
+	 */
+	public void writeHotPlans(OutputStream outputStream) throws IOException {
+		final List<HotPlan> hotPlans = new ArrayList<HotPlan>();
+		for ( Object o : queryPlanCache.entrySet() ) {
+			final Map.Entry entry = (Map.Entry) o;
+			if ( entry.getKey() instanceof HQLQueryPlanKey ) {
+				hotPlans.add(
+						new HotPlan( (HQLQueryPlanKey) entry.getKey(), ( (HQLQueryPlan) entry.getValue() ).getHitCount() )
+				);
+			}
+		}
+		Collections.sort(
+				hotPlans,
+				new Comparator<HotPlan>() {
+					@Override
+					public int compare(HotPlan plan, HotPlan other) {
+						return plan.hits < other.hits ? 1 : ( plan.hits == other.hits ? 0 : -1 );
+					}
+				}
+		);
+
+		final Properties properties = new Properties();
+		for ( int i = 0; i < hotPlans.size(); i++ ) {
+			final HotPlan hotPlan = hotPlans.get( i );
+			final String prefix = WARMUP_PLAN_PREFIX + i;
+			properties.setProperty( prefix + ".query", hotPlan.key.query );
+			properties.setProperty( prefix + ".shallow", String.valueOf( hotPlan.key.shallow ) );
+			properties.setProperty( prefix + ".hits", String.valueOf( hotPlan.hits ) );
+			if ( !hotPlan.key.filterKeys.isEmpty() ) {
+				final StringBuilder filters = new StringBuilder();
+				for ( DynamicFilterKey filterKey : hotPlan.key.filterKeys ) {
+					if ( filters.length() > 0 ) {
+						filters.append( ';' );
+					}
+					filters.append( filterKey.filterName ).append( '[' );
+					boolean first = true;
+					for ( Map.Entry<String,Integer> parameter : filterKey.parameterMetadata.entrySet() ) {
+						if ( !first ) {
+							filters.append( ',' );
+						}
+						filters.append( parameter.getKey() ).append( ':' ).append( parameter.getValue() );
+						first = false;
+					}
+					filters.append( ']' );
+				}
+				properties.setProperty( prefix + ".filters", filters.toString() );
+			}
+		}
+		properties.store( outputStream, "Hibernate query plan cache warm-up, " + hotPlans.size() + " plans" );
+	}
+
+	/**
+	 * Get the {@link org.hibernate.bytecode.spi.BytecodeProvider#getReflectionOptimizer reflection optimizer} for
+	 * the given result bean class and accessors, generating it only the first time it is asked for.
+	 *
+	 * @param beanClass The bean class
+	 * @param getterNames The names of the getters
+	 * @param setterNames The names of the setters
+	 * @param types The property types
+	 *
+	 * @return The reflection optimizer, or {@code null} if none could be generated
+	 */
+	public ReflectionOptimizer getBeanReflectionOptimizer(
+			Class beanClass,
+			String[] getterNames,
+			String[] setterNames,
+			Class[] types) {
+		final BeanAccessorKey key = new BeanAccessorKey( beanClass, getterNames, setterNames );
+		ReflectionOptimizer optimizer = beanReflectionOptimizers.get( key );
+		if ( optimizer == null ) {
+			optimizer = Environment.getBytecodeProvider().getReflectionOptimizer( beanClass, getterNames, setterNames, types );
+			if ( optimizer != null ) {
+				final ReflectionOptimizer previous = beanReflectionOptimizers.putIfAbsent( key, optimizer );
+				if ( previous != null ) {
+					optimizer = previous;
+				}
+			}
+		}
+		return optimizer;
+	}
+
 	/**
 	 * clean up QueryPlanCache when SessionFactory is closed
 	 */
@@ -262,6 +651,43 @@ public class QueryPlanCache implements Serializable {
 		LOG.trace( "Cleaning QueryPlan Cache" );
 		queryPlanCache.clear();
 		parameterMetadataCache.clear();
+		beanReflectionOptimizers.clear();
+	}
+
+	private static class BeanAccessorKey implements Serializable {
+		private final Class beanClass;
+		private final String[] getterNames;
+		private final String[] setterNames;
+		private final int hashCode;
+
+		private BeanAccessorKey(Class beanClass, String[] getterNames, String[] setterNames) {
+			this.beanClass = beanClass;
+			this.getterNames = getterNames;
+			this.setterNames = setterNames;
+			int hash = beanClass.hashCode();
+			hash = 29 * hash + Arrays.hashCode( getterNames );
+			hash = 29 * hash + Arrays.hashCode( setterNames );
+			this.hashCode = hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( o == null || getClass() != o.getClass() ) {
+				return false;
+			}
+			final BeanAccessorKey that = (BeanAccessorKey) o;
+			return beanClass.equals( that.beanClass )
+					&& Arrays.equals( getterNames, that.getterNames )
+					&& Arrays.equals( setterNames, that.setterNames );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
 	}
 
 	private static class HQLQueryPlanKey implements Serializable {
@@ -271,21 +697,15 @@ public class QueryPlanCache implements Serializable {
 		private final int hashCode;
 
 		public HQLQueryPlanKey(String query, boolean shallow, Map enabledFilters) {
+			this( query, shallow, toFilterKeys( enabledFilters ) );
+		}
+
+		private HQLQueryPlanKey(String query, boolean shallow, Set<DynamicFilterKey> filterKeys) {
 			this.query = query;
 			this.shallow = shallow;
-			if ( CollectionHelper.isEmpty( enabledFilters ) ) {
-				filterKeys = Collections.emptySet();
-			}
-			else {
-				final Set<DynamicFilterKey> tmp = new HashSet<DynamicFilterKey>(
-						CollectionHelper.determineProperSizing( enabledFilters ),
-						CollectionHelper.LOAD_FACTOR
-				);
-				for ( Object o : enabledFilters.values() ) {
-					tmp.add( new DynamicFilterKey( (FilterImpl) o ) );
-				}
-				this.filterKeys = Collections.unmodifiableSet( tmp );
-			}
+			this.filterKeys = filterKeys.isEmpty()
+					? Collections.<DynamicFilterKey>emptySet()
+					: Collections.unmodifiableSet( filterKeys );
 
 			int hash = query.hashCode();
 			hash = 29 * hash + ( shallow ? 1 : 0 );
@@ -314,6 +734,30 @@ public class QueryPlanCache implements Serializable {
 		public int hashCode() {
 			return hashCode;
 		}
+
+		private static Set<DynamicFilterKey> toFilterKeys(Map enabledFilters) {
+			if ( CollectionHelper.isEmpty( enabledFilters ) ) {
+				return Collections.emptySet();
+			}
+			final Set<DynamicFilterKey> filterKeys = new HashSet<DynamicFilterKey>(
+					CollectionHelper.determineProperSizing( enabledFilters ),
+					CollectionHelper.LOAD_FACTOR
+			);
+			for ( Object o : enabledFilters.values() ) {
+				filterKeys.add( new DynamicFilterKey( (FilterImpl) o ) );
+			}
+			return filterKeys;
+		}
+	}
+
+	private static class HotPlan {
+		private final HQLQueryPlanKey key;
+		private final long hits;
+
+		private HotPlan(HQLQueryPlanKey key, long hits) {
+			this.key = key;
+			this.hits = hits;
+		}
 	}
 
 	private static class DynamicFilterKey implements Serializable {
@@ -350,6 +794,12 @@ public class QueryPlanCache implements Serializable {
 			this.hashCode = hash;
 		}
 
+		private DynamicFilterKey(String filterName, Map<String,Integer> parameterMetadata) {
+			this.filterName = filterName;
+			this.parameterMetadata = parameterMetadata;
+			this.hashCode = 31 * filterName.hashCode() + parameterMetadata.hashCode();
+		}
+
 		@Override
 		public boolean equals(Object o) {
 			if ( this == o ) {
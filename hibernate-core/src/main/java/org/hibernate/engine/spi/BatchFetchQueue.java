@@ -75,6 +75,13 @@ public class BatchFetchQueue {
 	private final Map<String, LinkedHashMap<CollectionEntry, PersistentCollection>> batchLoadableCollections =
 			new HashMap<String, LinkedHashMap <CollectionEntry, PersistentCollection>>(8);
 
+	/**
+	 * Used to track, per entity name or collection role, how often the role was loaded and the batch size reached
+	 * so far.  Ultimately used by {@link #adaptBatchSize} for adaptive batch fetching.  Lazily created, as only
+	 * persisters using adaptive batch fetching ever populate it.
+	 */
+	private Map<String, int[]> adaptiveBatchSizes;
+
 	/**
 	 * Constructs a queue for the given context.
 	 *
@@ -340,4 +347,66 @@ public class BatchFetchQueue {
 		}
 		return false;
 	}
+
+	// adaptive batch support ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Number of loads of a role which are performed one key at a time before adaptive batch fetching starts
+	 * batching the loads of that role.
+	 */
+	public static final int ADAPTIVE_BATCH_THRESHOLD = 3;
+
+	/**
+	 * The number of keys to load together for the next load of the given entity name or collection role, for
+	 * persisters using adaptive batch fetching.  {@code 1} until {@link #adaptBatchSize} decided otherwise.
+	 *
+	 * @param role The entity name or collection role being loaded
+	 *
+	 * @return The batch size to use for this load; {@code 1} means no batching.
+	 */
+	public int getAdaptiveBatchSize(String role) {
+		if ( adaptiveBatchSizes == null ) {
+			return 1;
+		}
+		final int[] state = adaptiveBatchSizes.get( role );
+		return state == null ? 1 : state[1];
+	}
+
+	/**
+	 * Record a load of the given entity name or collection role by a persister using adaptive batch fetching, and
+	 * adapt the batch size for its next loads.
+	 * <p/>
+	 * Only loads of a single key count towards detecting the classic N+1 access pattern: once
+	 * {@link #ADAPTIVE_BATCH_THRESHOLD} of them happened, batching starts with two keys.  From then on, each load
+	 * which filled its batch (so more keys are likely pending) doubles the batch size, up to the given maximum.
+	 * Unlike the queued keys, what was learned is kept when the queue is cleared, as it describes how this session
+	 * navigates the model rather than which keys are pending.
+	 *
+	 * @param role The entity name or collection role being loaded
+	 * @param numberOfKeys The number of keys the load fetched
+	 * @param maxBatchSize The largest batch size to grow to
+	 *
+	 * @return The batch size to use for the next load of this role
+	 */
+	public int adaptBatchSize(String role, int numberOfKeys, int maxBatchSize) {
+		if ( adaptiveBatchSizes == null ) {
+			adaptiveBatchSizes = new HashMap<String, int[]>( 8 );
+		}
+		// [0] : number of single-key loads, [1] : current batch size
+		int[] state = adaptiveBatchSizes.get( role );
+		if ( state == null ) {
+			state = new int[] { 0, 1 };
+			adaptiveBatchSizes.put( role, state );
+		}
+		if ( numberOfKeys <= 1 ) {
+			state[0]++;
+			if ( state[0] >= ADAPTIVE_BATCH_THRESHOLD && state[1] == 1 ) {
+				state[1] = Math.min( maxBatchSize, 2 );
+			}
+		}
+		else if ( numberOfKeys >= state[1] ) {
+			state[1] = Math.min( maxBatchSize, state[1] * 2 );
+		}
+		return state[1];
+	}
 }
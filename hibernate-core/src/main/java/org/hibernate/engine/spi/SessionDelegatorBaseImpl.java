@@ -63,6 +63,9 @@ import org.hibernate.loader.custom.CustomQuery;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.procedure.ProcedureCall;
 import org.hibernate.stat.SessionStatistics;
+import org.hibernate.stat.internal.SessionProfilerHelper;
+import org.hibernate.stat.spi.SessionProfiler;
+import org.hibernate.stat.spi.SessionProfilerSource;
 import org.hibernate.type.Type;
 
 /**
@@ -75,7 +78,7 @@ import org.hibernate.type.Type;
  * 
  * @author Sanne Grinovero <sanne@hibernate.org> (C) 2012 Red Hat Inc.
  */
-public class SessionDelegatorBaseImpl implements SessionImplementor, Session {
+public class SessionDelegatorBaseImpl implements SessionImplementor, Session, SessionProfilerSource {
 
 	protected final SessionImplementor sessionImplementor;
 	protected final Session session;
@@ -378,6 +381,11 @@ public class SessionDelegatorBaseImpl implements SessionImplementor, Session {
 		return sessionImplementor.getLoadQueryInfluencers();
 	}
 
+	@Override
+	public SessionProfiler getSessionProfiler() {
+		return SessionProfilerHelper.getSessionProfiler( sessionImplementor );
+	}
+
 	// Delegates to Session
 
 	@Override
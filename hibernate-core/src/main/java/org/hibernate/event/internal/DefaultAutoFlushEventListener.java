@@ -31,6 +31,8 @@ import org.hibernate.event.spi.AutoFlushEvent;
 import org.hibernate.event.spi.AutoFlushEventListener;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.stat.internal.SessionProfilerHelper;
+import org.hibernate.stat.spi.SessionProfiler;
 
 /**
  * Defines the default flush event listeners used by hibernate for
@@ -52,6 +54,8 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 	public void onAutoFlush(AutoFlushEvent event) throws HibernateException {
 		final EventSource source = event.getSession();
 		if ( flushMightBeNeeded(source) ) {
+			final SessionProfiler profiler = SessionProfilerHelper.getSessionProfiler( source );
+			final long startTime = profiler == null ? 0 : System.nanoTime();
 			// Need to get the number of collection removals before flushing to executions
 			// (because flushing to executions can add collection removal actions to the action queue).
 			final int oldSize = source.getActionQueue().numberOfCollectionRemovals();
@@ -67,6 +71,10 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 				if ( source.getFactory().getStatistics().isStatisticsEnabled() ) {
 					source.getFactory().getStatisticsImplementor().flush();
 				}
+
+				if ( profiler != null ) {
+					profiler.flushed( true, startTime );
+				}
 			}
 			else {
 				LOG.trace( "Don't need to execute flush" );
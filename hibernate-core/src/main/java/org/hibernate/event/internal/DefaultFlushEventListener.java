@@ -28,6 +28,8 @@ import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.event.spi.FlushEvent;
 import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.stat.internal.SessionProfilerHelper;
+import org.hibernate.stat.spi.SessionProfiler;
 
 /**
  * Defines the default flush event listeners used by hibernate for 
@@ -48,6 +50,9 @@ public class DefaultFlushEventListener extends AbstractFlushingEventListener imp
 		if ( persistenceContext.getNumberOfManagedEntities() > 0 ||
 				persistenceContext.getCollectionEntries().size() > 0 ) {
 
+			final SessionProfiler profiler = SessionProfilerHelper.getSessionProfiler( source );
+			final long startTime = profiler == null ? 0 : System.nanoTime();
+
 			flushEverythingToExecutions(event);
 			performExecutions(source);
 			postFlush(source);
@@ -56,6 +61,10 @@ public class DefaultFlushEventListener extends AbstractFlushingEventListener imp
 				source.getFactory().getStatisticsImplementor().flush();
 			}
 
+			if ( profiler != null ) {
+				profiler.flushed( false, startTime );
+			}
+
 		}
 	}
 }
@@ -38,6 +38,9 @@ import org.hibernate.event.spi.InitializeCollectionEventListener;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.pretty.MessageHelper;
+import org.hibernate.stat.internal.SessionProfilerHelper;
+import org.hibernate.stat.spi.ExtendedStatisticsImplementor;
+import org.hibernate.stat.spi.SessionProfiler;
 import org.jboss.logging.Logger;
 
 /**
@@ -82,6 +85,8 @@ public class DefaultInitializeCollectionEventListener implements InitializeColle
 				if ( traceEnabled ) {
 					LOG.trace( "Collection not cached" );
 				}
+				final SessionProfiler profiler = SessionProfilerHelper.getSessionProfiler( source );
+				final long startTime = profiler == null ? 0 : System.nanoTime();
 				ce.getLoadedPersister().initialize( ce.getLoadedKey(), source );
 				if ( traceEnabled ) {
 					LOG.trace( "Collection initialized" );
@@ -92,6 +97,9 @@ public class DefaultInitializeCollectionEventListener implements InitializeColle
 							ce.getLoadedPersister().getRole()
 						);
 				}
+				if ( profiler != null ) {
+					profiler.collectionInitialized( ce.getLoadedPersister().getRole(), startTime );
+				}
 			}
 		}
 	}
@@ -125,9 +133,18 @@ public class DefaultInitializeCollectionEventListener implements InitializeColle
         final SessionFactoryImplementor factory = source.getFactory();
 
         final CacheKey ck = source.generateCacheKey( id, persister.getKeyType(), persister.getRole() );
+		final boolean stats = factory.getStatistics().isStatisticsEnabled();
+		final boolean timed = stats && factory.getStatisticsImplementor() instanceof ExtendedStatisticsImplementor;
+		final long startTime = timed ? System.nanoTime() : 0;
         Object ce = persister.getCacheAccessStrategy().get(ck, source.getTimestamp());
 
-		if ( factory.getStatistics().isStatisticsEnabled() ) {
+		if ( stats ) {
+			if ( timed ) {
+				( (ExtendedStatisticsImplementor) factory.getStatisticsImplementor() ).secondLevelCacheLookup(
+						persister.getCacheAccessStrategy().getRegion().getName(),
+						System.nanoTime() - startTime
+				);
+			}
             if (ce == null) {
                 factory.getStatisticsImplementor()
 						.secondLevelCacheMiss( persister.getCacheAccessStrategy().getRegion().getName() );
@@ -137,6 +154,13 @@ public class DefaultInitializeCollectionEventListener implements InitializeColle
 						.secondLevelCacheHit( persister.getCacheAccessStrategy().getRegion().getName() );
             }
 		}
+		final SessionProfiler profiler = SessionProfilerHelper.getSessionProfiler( source );
+		if ( profiler != null ) {
+			profiler.secondLevelCacheAccessed(
+					persister.getCacheAccessStrategy().getRegion().getName(),
+					ce != null
+			);
+		}
 
         if ( ce == null ) {
 			return false;
@@ -57,6 +57,9 @@ import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.proxy.LazyInitializer;
+import org.hibernate.stat.internal.SessionProfilerHelper;
+import org.hibernate.stat.spi.ExtendedStatisticsImplementor;
+import org.hibernate.stat.spi.SessionProfiler;
 import org.hibernate.type.EmbeddedComponentType;
 import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
@@ -457,15 +460,26 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 			final EntityKey keyToLoad,
 			final LoadEventListener.LoadType options) {
 		final SessionImplementor source = event.getSession();
+		final boolean stats = source.getFactory().getStatistics().isStatisticsEnabled();
+		final boolean timed = stats && source.getFactory().getStatisticsImplementor() instanceof ExtendedStatisticsImplementor;
+		final long startTime = timed ? System.nanoTime() : 0;
 		Object entity = persister.load(
 				event.getEntityId(),
 				event.getInstanceToLoad(),
 				event.getLockOptions(),
 				source
 		);
-		
-		if ( event.isAssociationFetch() && source.getFactory().getStatistics().isStatisticsEnabled() ) {
-			source.getFactory().getStatisticsImplementor().fetchEntity( event.getEntityClassName() );
+
+		if ( stats ) {
+			if ( timed ) {
+				( (ExtendedStatisticsImplementor) source.getFactory().getStatisticsImplementor() ).loadEntityFromDatasource(
+						persister.getEntityName(),
+						System.nanoTime() - startTime
+				);
+			}
+			if ( event.isAssociationFetch() ) {
+				source.getFactory().getStatisticsImplementor().fetchEntity( event.getEntityClassName() );
+			}
 		}
 
 		return entity;
@@ -547,9 +561,18 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 				persister.getRootEntityName()
 		);
 
+		final boolean stats = factory.getStatistics().isStatisticsEnabled();
+		final boolean timed = stats && factory.getStatisticsImplementor() instanceof ExtendedStatisticsImplementor;
+		final long startTime = timed ? System.nanoTime() : 0;
 		Object ce = persister.getCacheAccessStrategy().get( ck, source.getTimestamp() );
 
-		if ( factory.getStatistics().isStatisticsEnabled() ) {
+		if ( stats ) {
+			if ( timed ) {
+				( (ExtendedStatisticsImplementor) factory.getStatisticsImplementor() ).secondLevelCacheLookup(
+						persister.getCacheAccessStrategy().getRegion().getName(),
+						System.nanoTime() - startTime
+				);
+			}
 			if ( ce == null ) {
 				factory.getStatisticsImplementor().secondLevelCacheMiss(
 						persister.getCacheAccessStrategy().getRegion().getName()
@@ -561,6 +584,13 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 				);
 			}
 		}
+		final SessionProfiler profiler = SessionProfilerHelper.getSessionProfiler( source );
+		if ( profiler != null ) {
+			profiler.secondLevelCacheAccessed(
+					persister.getCacheAccessStrategy().getRegion().getName(),
+					ce != null
+			);
+		}
 
 		if ( ce == null ) {
 			// nothing was found in cache
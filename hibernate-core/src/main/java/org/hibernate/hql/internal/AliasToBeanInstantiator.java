@@ -0,0 +1,165 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.hql.internal;
+
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+import org.hibernate.HibernateException;
+import org.hibernate.PropertyNotFoundException;
+import org.hibernate.bytecode.spi.ReflectionOptimizer;
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.property.ChainedPropertyAccessor;
+import org.hibernate.property.Getter;
+import org.hibernate.property.PropertyAccessor;
+import org.hibernate.property.PropertyAccessorFactory;
+import org.hibernate.property.Setter;
+import org.hibernate.transform.AliasToBeanResultTransformer;
+import org.hibernate.transform.ResultTransformer;
+
+/**
+ * Instantiates the beans of an {@link AliasToBeanResultTransformer} for the scalar results of one HQL query.
+ * <p/>
+ * Unlike the transformer itself, which resolves its setters for the first tuple and then checks the aliases of
+ * every following tuple, the setters are resolved once for the return aliases of the query, when the query plan is
+ * first executed with the transformer.  When the reflection optimizer is enabled (see
+ * {@link Environment#useReflectionOptimizer()}) and every alias maps to a getter/setter method pair, the beans are
+ * instantiated and populated through the accessor generated by the
+ * {@link org.hibernate.bytecode.spi.BytecodeProvider} instead of through reflection.  That accessor is shared
+ * through the {@link QueryPlanCache}, so that rebuilding an evicted query plan does not generate another one.
+ */
+public final class AliasToBeanInstantiator implements ResultTransformer {
+	private final Class resultClass;
+	private final Setter[] setters;
+	private final transient ReflectionOptimizer optimizer;
+
+	private AliasToBeanInstantiator(Class resultClass, Setter[] setters, ReflectionOptimizer optimizer) {
+		this.resultClass = resultClass;
+		this.setters = setters;
+		this.optimizer = optimizer;
+	}
+
+	/**
+	 * Build the instantiator of the given bean class for the given return aliases.
+	 *
+	 * @param resultClass The bean class
+	 * @param aliases The return aliases of the query
+	 * @param queryPlanCache The query plan cache of the SessionFactory, which holds the generated accessors
+	 *
+	 * @return The instantiator
+	 *
+	 * @throws PropertyNotFoundException If an alias does not name a property of the bean class
+	 */
+	public static AliasToBeanInstantiator create(Class resultClass, String[] aliases, QueryPlanCache queryPlanCache)
+			throws PropertyNotFoundException {
+		final PropertyAccessor propertyAccessor = new ChainedPropertyAccessor(
+				new PropertyAccessor[] {
+						PropertyAccessorFactory.getPropertyAccessor( resultClass, null ),
+						PropertyAccessorFactory.getPropertyAccessor( "field" )
+				}
+		);
+
+		final Setter[] setters = new Setter[ aliases.length ];
+		final String[] getterNames = new String[ aliases.length ];
+		final String[] setterNames = new String[ aliases.length ];
+		final Class[] types = new Class[ aliases.length ];
+		boolean optimizable = Environment.useReflectionOptimizer()
+				&& !resultClass.isInterface()
+				&& !Modifier.isAbstract( resultClass.getModifiers() );
+		for ( int i = 0; i < aliases.length; i++ ) {
+			if ( aliases[i] == null ) {
+				optimizable = false;
+				continue;
+			}
+			setters[i] = propertyAccessor.getSetter( resultClass, aliases[i] );
+			if ( optimizable ) {
+				final Getter getter = findGetter( propertyAccessor, resultClass, aliases[i] );
+				if ( getter == null || getter.getMethodName() == null || setters[i].getMethodName() == null ) {
+					optimizable = false;
+				}
+				else {
+					getterNames[i] = getter.getMethodName();
+					setterNames[i] = setters[i].getMethodName();
+					types[i] = getter.getReturnType();
+				}
+			}
+		}
+
+		final ReflectionOptimizer optimizer = optimizable
+				? queryPlanCache.getBeanReflectionOptimizer( resultClass, getterNames, setterNames, types )
+				: null;
+		return new AliasToBeanInstantiator( resultClass, setters, optimizer );
+	}
+
+	private static Getter findGetter(PropertyAccessor propertyAccessor, Class resultClass, String alias) {
+		try {
+			return propertyAccessor.getGetter( resultClass, alias );
+		}
+		catch ( PropertyNotFoundException e ) {
+			// a write-only property, which the generated accessor cannot handle
+			return null;
+		}
+	}
+
+	/**
+	 * Is the bean class instantiated and populated through a generated accessor?
+	 *
+	 * @return {@code true} if the reflection optimizer is used
+	 */
+	public boolean isOptimized() {
+		return optimizer != null;
+	}
+
+	@Override
+	public Object transformTuple(Object[] tuple, String[] aliases) {
+		if ( optimizer != null ) {
+			final Object result = optimizer.getInstantiationOptimizer().newInstance();
+			optimizer.getAccessOptimizer().setPropertyValues( result, tuple );
+			return result;
+		}
+
+		final Object result;
+		try {
+			result = resultClass.newInstance();
+		}
+		catch ( InstantiationException e ) {
+			throw new HibernateException( "Could not instantiate resultclass: " + resultClass.getName() );
+		}
+		catch ( IllegalAccessException e ) {
+			throw new HibernateException( "Could not instantiate resultclass: " + resultClass.getName() );
+		}
+		for ( int i = 0; i < setters.length; i++ ) {
+			if ( setters[i] != null ) {
+				setters[i].set( result, tuple[i], null );
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public List transformList(List collection) {
+		return collection;
+	}
+}
@@ -23,7 +23,9 @@
  */
 package org.hibernate.hql.internal.ast.tree;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import antlr.SemanticException;
 import antlr.collections.AST;
@@ -58,6 +60,11 @@ public class BinaryLogicOperatorNode extends HqlSqlWalkerNode implements BinaryO
 			throw new SemanticException( "right-hand operand of a binary operator was null" );
 		}
 
+		if ( lhs.getType() == HqlSqlTokenTypes.VECTOR_EXPR && rhs.getType() == HqlSqlTokenTypes.VECTOR_EXPR ) {
+			initializeRowValueComparison( lhs, rhs );
+			return;
+		}
+
 		Type lhsType = extractDataType( lhs );
 		Type rhsType = extractDataType( rhs );
 
@@ -190,6 +197,169 @@ public class BinaryLogicOperatorNode extends HqlSqlWalkerNode implements BinaryO
 		}
     }
 
+	/**
+	 * Initialize the comparison of two explicit row values, such as "(a, b) > (?, ?)".  The elements are typed
+	 * pairwise and, for dialects which are known to not support ANSI-SQL row-value-constructor syntax, the
+	 * comparison is expanded into comparisons of the individual elements.
+	 * <p/>
+	 * For example, here we'd mutate "... where (col1, col2) > ('val1', 'val2') ..." to
+	 * "... where col1 > 'val1' or ( col1 = 'val1' and col2 > 'val2' ) ...", which is what keyset (seek) pagination
+	 * relies on.  Row values with elements other than paths, parameters and literals are never expanded.
+	 */
+	private void initializeRowValueComparison(Node lhs, Node rhs) {
+		final Node[] lhsElements = extractElements( lhs );
+		final Node[] rhsElements = extractElements( rhs );
+		if ( lhsElements.length != rhsElements.length ) {
+			throw new TypeMismatchException(
+					"left and right hand row values of a binary logic operator have different numbers of elements [" +
+					lhsElements.length + " : " + rhsElements.length + "]"
+			);
+		}
+
+		SessionFactoryImplementor sessionFactory = getSessionFactoryHelper().getFactory();
+		boolean singleColumnElements = true;
+		boolean simpleElements = true;
+		for ( int i = 0; i < lhsElements.length; i++ ) {
+			simpleElements = simpleElements && isSimpleElement( lhsElements[i] ) && isSimpleElement( rhsElements[i] );
+			Type lhsType = extractDataType( lhsElements[i] );
+			Type rhsType = extractDataType( rhsElements[i] );
+			if ( lhsType != null && rhsElements[i] instanceof ExpectedTypeAwareNode ) {
+				( ( ExpectedTypeAwareNode ) rhsElements[i] ).setExpectedType( lhsType );
+			}
+			if ( rhsType != null && lhsElements[i] instanceof ExpectedTypeAwareNode ) {
+				( ( ExpectedTypeAwareNode ) lhsElements[i] ).setExpectedType( rhsType );
+			}
+			Type elementType = lhsType != null ? lhsType : rhsType;
+			if ( elementType != null && getColumnSpan( elementType, sessionFactory ) != 1 ) {
+				singleColumnElements = false;
+			}
+		}
+
+		if ( lhsElements.length > 1
+				&& singleColumnElements
+				&& simpleElements
+				&& !sessionFactory.getDialect().supportsRowValueConstructorSyntax() ) {
+			mutateRowValueComparison( lhsElements, rhsElements );
+		}
+	}
+
+	/**
+	 * Can the element be repeated by the expansion of a row value comparison?  Only paths, parameters and literals
+	 * render as a single piece of text; anything else, such as a function or arithmetic, is left to the database.
+	 */
+	private static boolean isSimpleElement(Node element) {
+		return element instanceof DotNode
+				|| element instanceof IdentNode
+				|| element instanceof ParameterNode
+				|| element instanceof LiteralNode
+				|| element instanceof JavaConstantNode;
+	}
+
+	private static Node[] extractElements(Node rowValue) {
+		Node[] elements = new Node[ rowValue.getNumberOfChildren() ];
+		int x = 0;
+		AST node = rowValue.getFirstChild();
+		while ( node != null ) {
+			elements[ x++ ] = ( Node ) node;
+			node = node.getNextSibling();
+		}
+		return elements;
+	}
+
+	private void mutateRowValueComparison(Node[] lhsElements, Node[] rhsElements) {
+		final int comparisonType = getType();
+		final String comparisonText = getText();
+		final List<AST> terms = new ArrayList<AST>();
+		final AST mutation;
+		switch ( comparisonType ) {
+			case HqlSqlTokenTypes.EQ: {
+				for ( int i = 0; i < lhsElements.length; i++ ) {
+					terms.add( createElementComparison( comparisonType, comparisonText, lhsElements[i], rhsElements[i] ) );
+				}
+				mutation = combine( HqlSqlTokenTypes.AND, "and", terms );
+				break;
+			}
+			case HqlSqlTokenTypes.NE: {
+				for ( int i = 0; i < lhsElements.length; i++ ) {
+					terms.add( createElementComparison( comparisonType, comparisonText, lhsElements[i], rhsElements[i] ) );
+				}
+				mutation = combine( HqlSqlTokenTypes.OR, "or", terms );
+				break;
+			}
+			default: {
+				// (a, b, c) > (x, y, z) : a > x or ( a = x and b > y ) or ( a = x and b = y and c > z )
+				final int strictComparisonType;
+				final String strictComparisonText;
+				if ( comparisonType == HqlSqlTokenTypes.GE ) {
+					strictComparisonType = HqlSqlTokenTypes.GT;
+					strictComparisonText = ">";
+				}
+				else if ( comparisonType == HqlSqlTokenTypes.LE ) {
+					strictComparisonType = HqlSqlTokenTypes.LT;
+					strictComparisonText = "<";
+				}
+				else {
+					strictComparisonType = comparisonType;
+					strictComparisonText = comparisonText;
+				}
+				for ( int i = 0; i < lhsElements.length; i++ ) {
+					final List<AST> comparisons = new ArrayList<AST>();
+					for ( int j = 0; j < i; j++ ) {
+						comparisons.add( createElementComparison( HqlSqlTokenTypes.EQ, "=", lhsElements[j], rhsElements[j] ) );
+					}
+					final boolean last = i == lhsElements.length - 1;
+					comparisons.add(
+							createElementComparison(
+									last ? comparisonType : strictComparisonType,
+									last ? comparisonText : strictComparisonText,
+									lhsElements[i],
+									rhsElements[i]
+							)
+					);
+					terms.add( combine( HqlSqlTokenTypes.AND, "and", comparisons ) );
+				}
+				mutation = combine( HqlSqlTokenTypes.OR, "or", terms );
+			}
+		}
+
+		setType( mutation.getType() );
+		setText( mutation.getText() );
+		setFirstChild( mutation.getFirstChild() );
+	}
+
+	private AST createElementComparison(int comparisonType, String comparisonText, Node lhs, Node rhs) {
+		AST comparison = getASTFactory().create( comparisonType, comparisonText );
+		AST lhsFragment = createElementFragment( lhs );
+		AST rhsFragment = createElementFragment( rhs );
+		comparison.setFirstChild( lhsFragment );
+		lhsFragment.setNextSibling( rhsFragment );
+		return comparison;
+	}
+
+	private AST createElementFragment(Node element) {
+		if ( element instanceof ParameterNode ) {
+			// elements are repeated by the mutation, so every fragment carries its own reference to the parameter
+			SqlFragment fragment = ( SqlFragment ) getASTFactory().create( HqlSqlTokenTypes.SQL_TOKEN, "?" );
+			fragment.addEmbeddedParameter( ( ( ParameterNode ) element ).getHqlParameterSpecification() );
+			return fragment;
+		}
+		return getASTFactory().create(
+				HqlSqlTokenTypes.SQL_TOKEN,
+				element.getRenderText( getSessionFactoryHelper().getFactory() )
+		);
+	}
+
+	private AST combine(int operatorType, String operatorText, List<AST> operands) {
+		if ( operands.size() == 1 ) {
+			return operands.get( 0 );
+		}
+		AST operator = getASTFactory().create( operatorType, operatorText );
+		AST first = operands.get( 0 );
+		operator.setFirstChild( first );
+		first.setNextSibling( combine( operatorType, operatorText, operands.subList( 1, operands.size() ) ) );
+		return operator;
+	}
+
 	protected static String[] extractMutationTexts(Node operand, int count) {
 		if ( operand instanceof ParameterNode ) {
 			String[] rtn = new String[count];
@@ -0,0 +1,250 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.hql.spi;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.hql.internal.ast.HqlSqlWalker;
+import org.hibernate.hql.internal.ast.tree.FromElement;
+import org.hibernate.hql.internal.ast.tree.RestrictableStatement;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.param.ParameterSpecification;
+import org.hibernate.persister.entity.Queryable;
+import org.hibernate.sql.Select;
+import org.hibernate.sql.SelectValues;
+import org.hibernate.type.Type;
+
+/**
+ * Base for the multi-table bulk id handlers which need no id table.  The ids matched by the bulk operation are
+ * selected first, then each table is updated or deleted by statements restricted to those ids, bound as parameters
+ * either in an {@code IN} list or in the {@code values} list of a {@code with} clause (common table expression).
+ * <p/>
+ * The ids can't be restricted through an inline subquery of each statement: the statements on the first tables
+ * change the rows which the subqueries of the statements on the later tables would see.
+ */
+public abstract class AbstractInlineIdsBulkIdHandler extends AbstractTableBasedBulkIdHandler {
+	/**
+	 * The number of ids restricted by a single statement, when the Dialect does not limit the size of IN lists.
+	 */
+	public static final int DEFAULT_ID_BATCH_SIZE = 1000;
+
+	private final Queryable targetedPersister;
+	private final boolean useCte;
+
+	private final String idSelect;
+	private final String[] idColumnAliases;
+	private final List<ParameterSpecification> idSelectParameterSpecifications;
+
+	protected AbstractInlineIdsBulkIdHandler(SessionFactoryImplementor factory, HqlSqlWalker walker, boolean useCte) {
+		super( factory, walker, null, null );
+		this.useCte = useCte;
+
+		final RestrictableStatement statement = (RestrictableStatement) walker.getAST();
+		final FromElement fromElement = statement.getFromClause().getFromElement();
+		this.targetedPersister = fromElement.getQueryable();
+		final String bulkTargetAlias = fromElement.getTableAlias();
+
+		final String[] idColumnNames = targetedPersister.getIdentifierColumnNames();
+		this.idColumnAliases = new String[idColumnNames.length];
+		for ( int i = 0; i < idColumnNames.length; i++ ) {
+			idColumnAliases[i] = "id" + i + '_';
+		}
+
+		final ProcessedWhereClause processedWhereClause = processWhereClause( statement.getWhereClause() );
+		this.idSelectParameterSpecifications = processedWhereClause.getIdSelectParameterSpecifications();
+		final Select select = generateIdSelect( targetedPersister, bulkTargetAlias, processedWhereClause );
+		select.setSelectClause(
+				new SelectValues( factory.getDialect() )
+						.addColumns( bulkTargetAlias, idColumnNames, idColumnAliases )
+						.render()
+		);
+		if ( factory.getSettings().isCommentsEnabled() ) {
+			select.setComment( "select of " + targetedPersister.getEntityName() + " ids for bulk operation" );
+		}
+		this.idSelect = select.toStatementString();
+	}
+
+	public Queryable getTargetedQueryable() {
+		return targetedPersister;
+	}
+
+	protected String getIdSelect() {
+		return idSelect;
+	}
+
+	/**
+	 * Select the ids matched by the bulk operation.
+	 *
+	 * @param session The session
+	 * @param queryParameters The parameters of the bulk operation
+	 *
+	 * @return The ids
+	 */
+	protected List<Serializable> selectIds(SessionImplementor session, QueryParameters queryParameters) {
+		final Type idType = targetedPersister.getIdentifierType();
+		final List<Serializable> ids = new ArrayList<Serializable>();
+		try {
+			PreparedStatement ps = null;
+			try {
+				ps = session.getTransactionCoordinator().getJdbcCoordinator().getStatementPreparer().prepareStatement( idSelect, false );
+				int position = 1;
+				for ( ParameterSpecification parameterSpecification : idSelectParameterSpecifications ) {
+					position += parameterSpecification.bind( ps, queryParameters, session, position );
+				}
+				final ResultSet rs = session.getTransactionCoordinator().getJdbcCoordinator().getResultSetReturn().extract( ps );
+				try {
+					while ( rs.next() ) {
+						ids.add( (Serializable) idType.nullSafeGet( rs, idColumnAliases, session, null ) );
+					}
+				}
+				finally {
+					session.getTransactionCoordinator().getJdbcCoordinator().release( rs, ps );
+				}
+			}
+			finally {
+				if ( ps != null ) {
+					session.getTransactionCoordinator().getJdbcCoordinator().release( ps );
+				}
+			}
+		}
+		catch ( SQLException e ) {
+			throw convert( e, "could not select ids for bulk operation", idSelect );
+		}
+		return ids;
+	}
+
+	/**
+	 * The maximum number of ids restricted by a single statement.  Each id binds one parameter per id column, so
+	 * the limit is divided by the column span of composite ids.
+	 *
+	 * @return The batch size
+	 */
+	protected int getIdBatchSize() {
+		final int limit = factory().getDialect().getInExpressionCountLimit();
+		final int span = targetedPersister.getIdentifierType().getColumnSpan( factory() );
+		return Math.max( 1, ( limit > 0 ? limit : DEFAULT_ID_BATCH_SIZE ) / span );
+	}
+
+	/**
+	 * Generate the where clause fragment restricting the given key columns of a table to a number of ids.
+	 *
+	 * @param keyColumnNames The key columns
+	 * @param idCount The number of ids
+	 *
+	 * @return The restriction
+	 */
+	protected String generateIdRestriction(String[] keyColumnNames, int idCount) {
+		final String keyColumns = StringHelper.join( ", ", keyColumnNames );
+		if ( useCte ) {
+			return "(" + keyColumns + ") in (select " + StringHelper.join( ", ", targetedPersister.getIdentifierColumnNames() )
+					+ " from " + getCteName() + ")";
+		}
+
+		final Dialect dialect = factory().getDialect();
+		final StringBuilder buffer = new StringBuilder();
+		if ( keyColumnNames.length == 1 || dialect.supportsRowValueConstructorSyntaxInInList() ) {
+			buffer.append( keyColumnNames.length == 1 ? keyColumns : "(" + keyColumns + ")" ).append( " in (" );
+			final String tuple = keyColumnNames.length == 1 ? "?" : "(" + StringHelper.repeat( "?", keyColumnNames.length, ", " ) + ")";
+			buffer.append( StringHelper.repeat( tuple, idCount, ", " ) ).append( ')' );
+		}
+		else {
+			final String tuple = "(" + StringHelper.join( "=? and ", keyColumnNames ) + "=?)";
+			buffer.append( '(' ).append( StringHelper.repeat( tuple, idCount, " or " ) ).append( ')' );
+		}
+		return buffer.toString();
+	}
+
+	/**
+	 * Complete a statement using {@link #generateIdRestriction}: prepends the comment and, when the ids are bound in
+	 * a {@code with} clause, the {@code with} clause.
+	 *
+	 * @param statement The statement
+	 * @param idCount The number of ids
+	 * @param comment The comment, used if SQL comments are enabled
+	 *
+	 * @return The complete statement
+	 */
+	protected String completeStatement(String statement, int idCount, String comment) {
+		final StringBuilder buffer = new StringBuilder();
+		if ( factory().getSettings().isCommentsEnabled() ) {
+			buffer.append( "/* " ).append( comment ).append( " */ " );
+		}
+		if ( useCte ) {
+			final String[] idColumnNames = targetedPersister.getIdentifierColumnNames();
+			final String tuple = "(" + StringHelper.repeat( "?", idColumnNames.length, ", " ) + ")";
+			buffer.append( "with " ).append( getCteName() )
+					.append( " (" ).append( StringHelper.join( ", ", idColumnNames ) ).append( ") as (values " )
+					.append( StringHelper.repeat( tuple, idCount, ", " ) )
+					.append( ") " );
+		}
+		return buffer.append( statement ).toString();
+	}
+
+	private String getCteName() {
+		return targetedPersister.getTemporaryIdTableName();
+	}
+
+	/**
+	 * Are the ids bound before the other parameters of a statement, in its {@code with} clause, or after them, at
+	 * the end of its where clause?
+	 *
+	 * @return {@code true} if the ids come first
+	 */
+	protected boolean areIdsBoundFirst() {
+		return useCte;
+	}
+
+	/**
+	 * Bind a batch of ids.
+	 *
+	 * @param ps The statement
+	 * @param ids The ids
+	 * @param position The position of the first id parameter
+	 * @param session The session
+	 *
+	 * @return The number of parameters bound
+	 *
+	 * @throws SQLException Indicates a problem binding the ids
+	 */
+	protected int bindIds(PreparedStatement ps, List<Serializable> ids, int position, SessionImplementor session)
+			throws SQLException {
+		final Type idType = targetedPersister.getIdentifierType();
+		final int span = idType.getColumnSpan( factory() );
+		int bound = 0;
+		for ( Serializable id : ids ) {
+			idType.nullSafeSet( ps, id, position + bound, session );
+			bound += span;
+		}
+		return bound;
+	}
+}
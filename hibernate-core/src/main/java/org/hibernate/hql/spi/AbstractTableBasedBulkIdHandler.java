@@ -125,12 +125,34 @@ public class AbstractTableBasedBulkIdHandler {
 	}
 
 	protected String generateIdInsertSelect(Queryable persister, String tableAlias, ProcessedWhereClause whereClause) {
-		Select select = new Select( sessionFactory.getDialect() );
+		Select select = generateIdSelect( persister, tableAlias, whereClause );
 		SelectValues selectClause = new SelectValues( sessionFactory.getDialect() )
 				.addColumns( tableAlias, persister.getIdentifierColumnNames(), persister.getIdentifierColumnNames() );
 		addAnyExtraIdSelectValues( selectClause );
 		select.setSelectClause( selectClause.render() );
 
+		InsertSelect insert = new InsertSelect( sessionFactory.getDialect() );
+		if ( sessionFactory.getSettings().isCommentsEnabled() ) {
+			insert.setComment( "insert-select for " + persister.getEntityName() + " ids" );
+		}
+		insert.setTableName( determineIdTableName( persister ) );
+		insert.setSelect( select );
+		return insert.toStatementString();
+	}
+
+	/**
+	 * Generate the from and where clauses of the select of the ids matched by the bulk operation; the caller is
+	 * responsible for the select clause.
+	 *
+	 * @param persister The persister targeted by the bulk operation
+	 * @param tableAlias The alias of the targeted table
+	 * @param whereClause The where clause of the bulk operation
+	 *
+	 * @return The select
+	 */
+	protected Select generateIdSelect(Queryable persister, String tableAlias, ProcessedWhereClause whereClause) {
+		Select select = new Select( sessionFactory.getDialect() );
+
 		String rootTableName = persister.getTableName();
 		String fromJoinFragment = persister.fromJoinFragment( tableAlias, true, false );
 		String whereJoinFragment = persister.whereJoinFragment( tableAlias, true, false );
@@ -153,14 +175,7 @@ public class AbstractTableBasedBulkIdHandler {
 			}
 		}
 		select.setWhereClause( whereJoinFragment + whereClause.getUserWhereClauseFragment() );
-
-		InsertSelect insert = new InsertSelect( sessionFactory.getDialect() );
-		if ( sessionFactory.getSettings().isCommentsEnabled() ) {
-			insert.setComment( "insert-select for " + persister.getEntityName() + " ids" );
-		}
-		insert.setTableName( determineIdTableName( persister ) );
-		insert.setSelect( select );
-		return insert.toStatementString();
+		return select;
 	}
 
 	protected void addAnyExtraIdSelectValues(SelectValues selectClause) {
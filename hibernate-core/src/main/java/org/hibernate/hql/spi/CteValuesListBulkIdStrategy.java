@@ -0,0 +1,67 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.hql.spi;
+
+import java.util.Map;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.cfg.Mappings;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.spi.JdbcConnectionAccess;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.spi.Mapping;
+
+/**
+ * A variation of {@link InlineIdsBulkIdStrategy} which binds the matched ids in the {@code values} list of a
+ * common table expression, as in {@code with HT_Person (id) as (values (?), (?)) delete from Person where (id) in
+ * (select id from HT_Person)}, which keeps the statements the same regardless of the key columns of each table.
+ * Falls back to {@code IN} lists on Dialects which do not {@link Dialect#supportsValuesCteInDml() support} it.
+ */
+public class CteValuesListBulkIdStrategy extends InlineIdsBulkIdStrategy {
+	private static final Logger log = Logger.getLogger( CteValuesListBulkIdStrategy.class );
+
+	public static final String SHORT_NAME = "cte";
+
+	@Override
+	public void prepare(
+			JdbcServices jdbcServices,
+			JdbcConnectionAccess connectionAccess,
+			Mappings mappings,
+			Mapping mapping,
+			Map settings) {
+		if ( !useCte( jdbcServices.getDialect() ) ) {
+			log.debugf(
+					"Dialect [%s] does not support common table expressions in update and delete statements, " +
+							"multi-table bulk operations will bind their ids in IN lists",
+					jdbcServices.getDialect()
+			);
+		}
+	}
+
+	@Override
+	protected boolean useCte(Dialect dialect) {
+		return dialect.supportsValuesCteInDml();
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.hql.spi;
+
+import java.util.Map;
+
+import org.hibernate.cfg.Mappings;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.spi.JdbcConnectionAccess;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.spi.Mapping;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.hql.internal.ast.HqlSqlWalker;
+
+/**
+ * A multi-table bulk id strategy which needs no id table: the matched ids are selected, then bound into an
+ * {@code IN} list of the update or delete statement of each table.  Works on any Dialect, in contrast to
+ * {@link TemporaryTableBulkIdStrategy}, and without the extra statements (and the shared table) of
+ * {@link PersistentTableBulkIdStrategy}; best suited to bulk operations matching a moderate number of rows, as all
+ * the ids go through the client.
+ *
+ * @see CteValuesListBulkIdStrategy
+ */
+public class InlineIdsBulkIdStrategy implements MultiTableBulkIdStrategy {
+	public static final String SHORT_NAME = "inline";
+
+	@Override
+	public void prepare(
+			JdbcServices jdbcServices,
+			JdbcConnectionAccess connectionAccess,
+			Mappings mappings,
+			Mapping mapping,
+			Map settings) {
+		// nothing to do
+	}
+
+	@Override
+	public void release(JdbcServices jdbcServices, JdbcConnectionAccess connectionAccess) {
+		// nothing to do
+	}
+
+	/**
+	 * Should the ids be bound in a {@code with} clause rather than in {@code IN} lists?
+	 *
+	 * @param dialect The Dialect in use
+	 *
+	 * @return {@code true} to bind the ids in a {@code with} clause
+	 */
+	protected boolean useCte(Dialect dialect) {
+		return false;
+	}
+
+	@Override
+	public UpdateHandler buildUpdateHandler(SessionFactoryImplementor factory, HqlSqlWalker walker) {
+		return new InlineIdsUpdateHandlerImpl( factory, walker, useCte( factory.getDialect() ) );
+	}
+
+	@Override
+	public DeleteHandler buildDeleteHandler(SessionFactoryImplementor factory, HqlSqlWalker walker) {
+		return new InlineIdsDeleteHandlerImpl( factory, walker, useCte( factory.getDialect() ) );
+	}
+}
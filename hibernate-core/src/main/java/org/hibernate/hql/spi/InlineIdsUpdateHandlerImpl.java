@@ -0,0 +1,163 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.hql.spi;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.hql.internal.ast.HqlSqlWalker;
+import org.hibernate.hql.internal.ast.tree.AssignmentSpecification;
+import org.hibernate.param.ParameterSpecification;
+import org.hibernate.persister.entity.Queryable;
+import org.hibernate.sql.Update;
+
+/**
+ * A multi-table bulk update handler which updates the matched ids of each table with statements restricted to the
+ * ids themselves, so that no id table is needed.
+ *
+ * @see AbstractInlineIdsBulkIdHandler
+ */
+public class InlineIdsUpdateHandlerImpl
+		extends AbstractInlineIdsBulkIdHandler
+		implements MultiTableBulkIdStrategy.UpdateHandler {
+	private final String[] tableNames;
+	private final String[][] keyColumnNames;
+	private final String[] assignments;
+	private final ParameterSpecification[][] assignmentParameterSpecifications;
+
+	public InlineIdsUpdateHandlerImpl(SessionFactoryImplementor factory, HqlSqlWalker walker, boolean useCte) {
+		super( factory, walker, useCte );
+
+		final Queryable targetedPersister = getTargetedQueryable();
+		tableNames = targetedPersister.getConstraintOrderedTableNameClosure();
+		keyColumnNames = targetedPersister.getContraintOrderedTableKeyColumnClosure();
+
+		assignments = new String[tableNames.length];
+		assignmentParameterSpecifications = new ParameterSpecification[tableNames.length][];
+		for ( int tableIndex = 0; tableIndex < tableNames.length; tableIndex++ ) {
+			final StringBuilder assignment = new StringBuilder();
+			final List<ParameterSpecification> parameterList = new ArrayList<ParameterSpecification>();
+			final List<AssignmentSpecification> assignmentSpecifications = walker.getAssignmentSpecifications();
+			for ( AssignmentSpecification assignmentSpecification : assignmentSpecifications ) {
+				if ( assignmentSpecification.affectsTable( tableNames[tableIndex] ) ) {
+					if ( assignment.length() > 0 ) {
+						assignment.append( ", " );
+					}
+					assignment.append( assignmentSpecification.getSqlAssignmentFragment() );
+					if ( assignmentSpecification.getParameters() != null ) {
+						for ( int paramIndex = 0; paramIndex < assignmentSpecification.getParameters().length; paramIndex++ ) {
+							parameterList.add( assignmentSpecification.getParameters()[paramIndex] );
+						}
+					}
+				}
+			}
+			if ( assignment.length() > 0 ) {
+				assignments[tableIndex] = assignment.toString();
+				assignmentParameterSpecifications[tableIndex] = parameterList.toArray( new ParameterSpecification[parameterList.size()] );
+			}
+		}
+	}
+
+	private String generateUpdate(int tableIndex, int idCount) {
+		final Update update = new Update( factory().getDialect() )
+				.setTableName( tableNames[tableIndex] )
+				.appendAssignmentFragment( assignments[tableIndex] )
+				.setWhere( generateIdRestriction( keyColumnNames[tableIndex], idCount ) );
+		return completeStatement( update.toStatementString(), idCount, "bulk update" );
+	}
+
+	@Override
+	public String[] getSqlStatements() {
+		final List<String> updates = new ArrayList<String>();
+		updates.add( getIdSelect() );
+		for ( int i = 0; i < tableNames.length; i++ ) {
+			if ( assignments[i] != null ) {
+				updates.add( generateUpdate( i, 1 ) );
+			}
+		}
+		return updates.toArray( new String[updates.size()] );
+	}
+
+	@Override
+	public int execute(SessionImplementor session, QueryParameters queryParameters) {
+		final List<Serializable> ids = selectIds( session, queryParameters );
+		if ( ids.isEmpty() ) {
+			return 0;
+		}
+
+		final int batchSize = getIdBatchSize();
+		for ( int tableIndex = 0; tableIndex < tableNames.length; tableIndex++ ) {
+			if ( assignments[tableIndex] == null ) {
+				continue;
+			}
+			String fullBatchUpdate = null;
+			for ( int start = 0; start < ids.size(); start += batchSize ) {
+				final List<Serializable> batch = ids.subList( start, Math.min( start + batchSize, ids.size() ) );
+				final String update;
+				if ( batch.size() == batchSize ) {
+					if ( fullBatchUpdate == null ) {
+						fullBatchUpdate = generateUpdate( tableIndex, batchSize );
+					}
+					update = fullBatchUpdate;
+				}
+				else {
+					update = generateUpdate( tableIndex, batch.size() );
+				}
+				try {
+					PreparedStatement ps = null;
+					try {
+						ps = session.getTransactionCoordinator().getJdbcCoordinator().getStatementPreparer().prepareStatement( update, false );
+						int position = 1; // jdbc params are 1-based
+						if ( areIdsBoundFirst() ) {
+							position += bindIds( ps, batch, position, session );
+						}
+						for ( ParameterSpecification parameterSpecification : assignmentParameterSpecifications[tableIndex] ) {
+							position += parameterSpecification.bind( ps, queryParameters, session, position );
+						}
+						if ( !areIdsBoundFirst() ) {
+							bindIds( ps, batch, position, session );
+						}
+						session.getTransactionCoordinator().getJdbcCoordinator().getResultSetReturn().executeUpdate( ps );
+					}
+					finally {
+						if ( ps != null ) {
+							session.getTransactionCoordinator().getJdbcCoordinator().release( ps );
+						}
+					}
+				}
+				catch( SQLException e ) {
+					throw convert( e, "error performing bulk update", update );
+				}
+			}
+		}
+
+		return ids.size();
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.HibernateException;
+import org.hibernate.ScrollableResults;
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.hql.internal.HolderInstantiator;
+import org.hibernate.loader.Loader;
+import org.hibernate.type.Type;
+
+/**
+ * Forward-only ScrollableResults implementation which reads its rows in batches (of the fetch size): the rows of a
+ * batch are hydrated together through {@link Loader#loadRows}, and the session is notified once per batch rather
+ * than once per row.  Used for the forward-only scrolls of stateless sessions whose query sets a fetch size, as
+ * their entities are detached anyway; like the underlying forward-only result set, it can only move forward.
+ */
+public class BatchingScrollableResultsImpl extends AbstractScrollableResults implements ScrollableResults {
+	private final int batchSize;
+
+	private List batch = Collections.EMPTY_LIST;
+	private int batchPosition = -1;
+	private boolean exhausted;
+
+	private Object[] currentRow;
+	private int rowNumber = -1;
+
+	/**
+	 * Constructs a BatchingScrollableResultsImpl using the specified information.
+	 *
+	 * @param rs The forward-only result set
+	 * @param ps The prepared statement used to obtain the result set
+	 * @param sess The originating session
+	 * @param loader The loader
+	 * @param queryParameters query parameters
+	 * @param types The result types
+	 * @param holderInstantiator Ugh
+	 * @param batchSize The number of rows to read at once
+	 */
+	public BatchingScrollableResultsImpl(
+			ResultSet rs,
+			PreparedStatement ps,
+			SessionImplementor sess,
+			Loader loader,
+			QueryParameters queryParameters,
+			Type[] types,
+			HolderInstantiator holderInstantiator,
+			int batchSize) {
+		super( rs, ps, sess, loader, queryParameters, types, holderInstantiator );
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	protected Object[] getCurrentRow() {
+		return currentRow;
+	}
+
+	@Override
+	public boolean next() {
+		if ( batchPosition + 1 >= batch.size() && !loadNextBatch() ) {
+			if ( currentRow != null ) {
+				currentRow = null;
+				rowNumber++;
+			}
+			return false;
+		}
+		batchPosition++;
+		rowNumber++;
+		prepareCurrentRow( batch.get( batchPosition ) );
+		return true;
+	}
+
+	private boolean loadNextBatch() {
+		if ( exhausted ) {
+			return false;
+		}
+		batch = getLoader().loadRows( getResultSet(), getSession(), getQueryParameters(), batchSize, false );
+		batchPosition = -1;
+		exhausted = batch.size() < batchSize;
+		afterScrollOperation();
+		return !batch.isEmpty();
+	}
+
+	private void prepareCurrentRow(Object result) {
+		if ( result != null && result.getClass().isArray() ) {
+			currentRow = (Object[]) result;
+		}
+		else {
+			currentRow = new Object[] { result };
+		}
+
+		if ( getHolderInstantiator() != null ) {
+			currentRow = new Object[] { getHolderInstantiator().instantiate( currentRow ) };
+		}
+	}
+
+	@Override
+	public boolean scroll(int positions) {
+		if ( positions < 0 ) {
+			throw forwardOnly( "scroll()" );
+		}
+		boolean result = currentRow != null;
+		for ( int i = 0; i < positions; i++ ) {
+			result = next();
+			if ( !result ) {
+				break;
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public boolean setRowNumber(int rowNumber) {
+		if ( rowNumber < 0 || rowNumber < this.rowNumber ) {
+			throw forwardOnly( "setRowNumber()" );
+		}
+		return scroll( rowNumber - this.rowNumber );
+	}
+
+	@Override
+	public int getRowNumber() {
+		return currentRow == null ? -1 : rowNumber;
+	}
+
+	@Override
+	public boolean isFirst() {
+		return currentRow != null && rowNumber == 0;
+	}
+
+	@Override
+	public boolean isLast() {
+		if ( currentRow == null ) {
+			return false;
+		}
+		if ( batchPosition + 1 < batch.size() ) {
+			return false;
+		}
+		// look ahead; the current row is kept, next() continues with the batch just read
+		return !loadNextBatch();
+	}
+
+	@Override
+	public boolean first() {
+		throw forwardOnly( "first()" );
+	}
+
+	@Override
+	public boolean last() {
+		throw forwardOnly( "last()" );
+	}
+
+	@Override
+	public boolean previous() {
+		throw forwardOnly( "previous()" );
+	}
+
+	@Override
+	public void afterLast() {
+		throw forwardOnly( "afterLast()" );
+	}
+
+	@Override
+	public void beforeFirst() {
+		throw forwardOnly( "beforeFirst()" );
+	}
+
+	private HibernateException forwardOnly(String operation) {
+		return new HibernateException( operation + " is not supported by forward-only results" );
+	}
+}
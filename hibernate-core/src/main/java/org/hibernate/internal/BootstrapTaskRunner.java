@@ -0,0 +1,173 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.HibernateException;
+import org.hibernate.internal.util.BootstrapThreadFactory;
+
+/**
+ * Runs independent SessionFactory bootstrap tasks, either on the calling thread or spread over a pool of worker
+ * threads, as configured by {@link org.hibernate.cfg.AvailableSettings#BOOTSTRAP_THREADS}.
+ * <p/>
+ * The tasks must only read shared bootstrap state; anything registering results with the SessionFactory is
+ * expected to happen on the calling thread once {@link #runAll} returns.
+ */
+final class BootstrapTaskRunner {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( BootstrapTaskRunner.class );
+
+	private static final long STOP_TIMEOUT_SECONDS = 5;
+
+	private BootstrapTaskRunner() {
+	}
+
+	/**
+	 * Run the given tasks, waiting for all of them to complete.
+	 *
+	 * @param tasks The tasks to run
+	 * @param threads The number of worker threads to use; {@code 1} or less runs the tasks on the calling thread
+	 * @param <T> The type of the task results
+	 *
+	 * @return The task results, in task order
+	 *
+	 * @throws HibernateException If a task failed; the failure of the first failing task (in task order) is
+	 * rethrown as-is if unchecked, wrapped otherwise
+	 */
+	static <T> List<T> runAll(List<Callable<T>> tasks, int threads) {
+		final List<T> results = new ArrayList<T>( tasks.size() );
+		if ( threads <= 1 || tasks.size() <= 1 ) {
+			for ( Callable<T> task : tasks ) {
+				try {
+					results.add( task.call() );
+				}
+				catch ( RuntimeException e ) {
+					throw e;
+				}
+				catch ( Exception e ) {
+					throw new HibernateException( "Bootstrap task failed", e );
+				}
+			}
+			return results;
+		}
+
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				Math.min( threads, tasks.size() ),
+				new BootstrapThreadFactory()
+		);
+		try {
+			final List<Future<T>> futures = executor.invokeAll( tasks );
+			for ( Future<T> future : futures ) {
+				results.add( future.get() );
+			}
+			return results;
+		}
+		catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new HibernateException( "Interrupted while building the SessionFactory", e );
+		}
+		catch ( ExecutionException e ) {
+			final Throwable cause = e.getCause();
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw new HibernateException( "Bootstrap task failed", cause );
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Start the given task on a background worker thread and return immediately; intended for work which may
+	 * complete after the SessionFactory is open.  No further tasks are accepted by the returned executor.
+	 *
+	 * @param task The task to run
+	 *
+	 * @return The executor running the task, which the caller should {@link #stop} when the SessionFactory is
+	 * closed
+	 */
+	static ExecutorService runInBackground(Runnable task) {
+		return runInBackground( Collections.singletonList( task ), 1 );
+	}
+
+	/**
+	 * Start the given tasks on a pool of background worker threads and return immediately; intended for work which
+	 * may complete after the SessionFactory is open.  No further tasks are accepted by the returned executor.
+	 *
+	 * @param tasks The tasks to run
+	 * @param threads The number of worker threads to use, at least one
+	 *
+	 * @return The executor running the tasks, which the caller should {@link #stop} when the SessionFactory is
+	 * closed
+	 */
+	static ExecutorService runInBackground(List<? extends Runnable> tasks, int threads) {
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				Math.max( 1, Math.min( threads, tasks.size() ) ),
+				new BootstrapThreadFactory()
+		);
+		for ( Runnable task : tasks ) {
+			executor.execute( task );
+		}
+		executor.shutdown();
+		return executor;
+	}
+
+	/**
+	 * Stop the given executor started by {@link #runInBackground}.  The tasks are given {@value #STOP_TIMEOUT_SECONDS}
+	 * seconds to notice the SessionFactory closing and complete; after that the tasks not yet started are dropped and
+	 * the worker threads interrupted, and the tasks still in progress are given as long again.  Worker threads are
+	 * daemon threads, so any task still running after that is left to complete on its own.
+	 *
+	 * @param executor The executor; may be {@code null}
+	 */
+	static void stop(ExecutorService executor) {
+		if ( executor == null ) {
+			return;
+		}
+		try {
+			if ( !executor.awaitTermination( STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS ) ) {
+				executor.shutdownNow();
+				if ( !executor.awaitTermination( STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS ) ) {
+					LOG.debug( "Background bootstrap tasks did not complete in time, leaving them running" );
+				}
+			}
+		}
+		catch ( InterruptedException e ) {
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -25,6 +25,7 @@
 package org.hibernate.internal;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -180,6 +181,10 @@ public class CriteriaImpl implements Criteria, Serializable {
 	public FetchMode getFetchMode(String path) {
 		return fetchModes.get(path);
 	}
+
+	public Map<String, FetchMode> getFetchModes() {
+		return Collections.unmodifiableMap( fetchModes );
+	}
 	@Override
 	public Criteria setFetchMode(String associationPath, FetchMode mode) {
 		fetchModes.put( associationPath, mode );
@@ -23,10 +23,13 @@
  */
 package org.hibernate.internal;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import org.jboss.logging.Logger;
 
@@ -150,27 +153,101 @@ public class NamedQueryRepository {
 	}
 
 	public Map<String,HibernateException> checkNamedQueries(QueryPlanCache queryPlanCache) {
-		Map<String,HibernateException> errors = new HashMap<String,HibernateException>();
+		return checkNamedQueries( queryPlanCache, 1 );
+	}
+
+	/**
+	 * Check (compile) all named HQL and native-sql queries.
+	 *
+	 * @param queryPlanCache The query plan cache to compile the queries through
+	 * @param threads The number of threads to spread the checks over; {@code 1} checks on the calling thread
+	 *
+	 * @return The failures, keyed by query name; empty if all queries are valid
+	 */
+	public Map<String,HibernateException> checkNamedQueries(QueryPlanCache queryPlanCache, int threads) {
+		final Map<String,Callable<HibernateException>> namedQueryChecks = buildNamedQueryChecks( queryPlanCache );
+		final List<String> names = new ArrayList<String>( namedQueryChecks.keySet() );
+		final List<Callable<HibernateException>> checks =
+				new ArrayList<Callable<HibernateException>>( namedQueryChecks.values() );
+
+		final Map<String,HibernateException> errors = new HashMap<String,HibernateException>();
+		final List<HibernateException> results = BootstrapTaskRunner.runAll( checks, threads );
+		for ( int i = 0; i < results.size(); i++ ) {
+			if ( results.get( i ) != null ) {
+				errors.put( names.get( i ), results.get( i ) );
+			}
+		}
+		return errors;
+	}
+
+	/**
+	 * Build the checks of all named HQL and native-sql queries, each of which compiles its query and returns the
+	 * failure, if any.
+	 *
+	 * @param queryPlanCache The query plan cache to compile the queries through
+	 *
+	 * @return The checks, by query name
+	 */
+	public Map<String,Callable<HibernateException>> buildNamedQueryChecks(QueryPlanCache queryPlanCache) {
+		final Map<String,Callable<HibernateException>> checks = new LinkedHashMap<String,Callable<HibernateException>>();
 
 		// Check named HQL queries
 		log.debugf( "Checking %s named HQL queries", namedQueryDefinitionMap.size() );
 		for ( NamedQueryDefinition namedQueryDefinition : namedQueryDefinitionMap.values() ) {
+			checks.put( namedQueryDefinition.getName(), new NamedQueryCheck( namedQueryDefinition, queryPlanCache ) );
+		}
+
+		// Check native-sql queries
+		log.debugf( "Checking %s named SQL queries", namedSqlQueryDefinitionMap.size() );
+		for ( NamedSQLQueryDefinition namedSQLQueryDefinition : namedSqlQueryDefinitionMap.values() ) {
+			checks.put(
+					namedSQLQueryDefinition.getName(),
+					new NamedSQLQueryCheck( namedSQLQueryDefinition, namedSqlResultSetMappingMap, queryPlanCache )
+			);
+		}
+		return checks;
+	}
+
+	private static class NamedQueryCheck implements Callable<HibernateException> {
+		private final NamedQueryDefinition namedQueryDefinition;
+		private final QueryPlanCache queryPlanCache;
+
+		private NamedQueryCheck(NamedQueryDefinition namedQueryDefinition, QueryPlanCache queryPlanCache) {
+			this.namedQueryDefinition = namedQueryDefinition;
+			this.queryPlanCache = queryPlanCache;
+		}
+
+		@Override
+		public HibernateException call() {
 			// this will throw an error if there's something wrong.
 			try {
 				log.debugf( "Checking named query: %s", namedQueryDefinition.getName() );
 				//TODO: BUG! this currently fails for named queries for non-POJO entities
 				queryPlanCache.getHQLQueryPlan( namedQueryDefinition.getQueryString(), false, Collections.EMPTY_MAP );
+				return null;
 			}
 			catch ( HibernateException e ) {
-				errors.put( namedQueryDefinition.getName(), e );
+				return e;
 			}
+		}
+	}
 
+	private static class NamedSQLQueryCheck implements Callable<HibernateException> {
+		private final NamedSQLQueryDefinition namedSQLQueryDefinition;
+		private final Map<String, ResultSetMappingDefinition> resultSetMappingMap;
+		private final QueryPlanCache queryPlanCache;
 
+		private NamedSQLQueryCheck(
+				NamedSQLQueryDefinition namedSQLQueryDefinition,
+				Map<String, ResultSetMappingDefinition> resultSetMappingMap,
+				QueryPlanCache queryPlanCache) {
+			this.namedSQLQueryDefinition = namedSQLQueryDefinition;
+			this.resultSetMappingMap = resultSetMappingMap;
+			this.queryPlanCache = queryPlanCache;
 		}
 
-		// Check native-sql queries
-		log.debugf( "Checking %s named SQL queries", namedSqlQueryDefinitionMap.size() );
-		for ( NamedSQLQueryDefinition namedSQLQueryDefinition : namedSqlQueryDefinitionMap.values() ) {
+		@Override
+		public HibernateException call() {
 			// this will throw an error if there's something wrong.
 			try {
 				log.debugf( "Checking named SQL query: %s", namedSQLQueryDefinition.getName() );
@@ -178,7 +255,7 @@ public class NamedQueryRepository {
 				// currently not doable though because of the resultset-ref stuff...
 				NativeSQLQuerySpecification spec;
 				if ( namedSQLQueryDefinition.getResultSetRef() != null ) {
-					ResultSetMappingDefinition definition = getResultSetMappingDefinition( namedSQLQueryDefinition.getResultSetRef() );
+					ResultSetMappingDefinition definition = resultSetMappingMap.get( namedSQLQueryDefinition.getResultSetRef() );
 					if ( definition == null ) {
 						throw new MappingException( "Unable to find resultset-ref definition: " + namedSQLQueryDefinition.getResultSetRef() );
 					}
@@ -196,12 +273,11 @@ public class NamedQueryRepository {
 					);
 				}
 				queryPlanCache.getNativeSQLQueryPlan( spec );
+				return null;
 			}
 			catch ( HibernateException e ) {
-				errors.put( namedSQLQueryDefinition.getName(), e );
+				return e;
 			}
 		}
-
-		return errors;
 	}
 }
@@ -39,7 +39,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 
 import javax.naming.Reference;
 import javax.naming.StringRefAddr;
@@ -123,7 +125,10 @@ import org.hibernate.id.factory.IdentifierGeneratorFactory;
 import org.hibernate.integrator.spi.Integrator;
 import org.hibernate.integrator.spi.IntegratorService;
 import org.hibernate.mapping.Collection;
+import org.hibernate.mapping.IdentifierCollection;
+import org.hibernate.mapping.IndexedCollection;
 import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.Property;
 import org.hibernate.mapping.RootClass;
 import org.hibernate.metadata.ClassMetadata;
 import org.hibernate.metadata.CollectionMetadata;
@@ -141,6 +146,7 @@ import org.hibernate.service.ServiceRegistry;
 import org.hibernate.service.spi.ServiceRegistryImplementor;
 import org.hibernate.service.spi.SessionFactoryServiceRegistry;
 import org.hibernate.service.spi.SessionFactoryServiceRegistryFactory;
+import org.hibernate.stat.SessionProfile;
 import org.hibernate.stat.Statistics;
 import org.hibernate.stat.spi.StatisticsImplementor;
 import org.hibernate.tool.hbm2ddl.ImportSqlCommandExtractor;
@@ -208,7 +214,9 @@ public final class SessionFactoryImpl
 	private final transient ConcurrentHashMap<EntityNameResolver,Object> entityNameResolvers = new ConcurrentHashMap<EntityNameResolver, Object>();
 	private final transient QueryPlanCache queryPlanCache;
 	private final transient CacheImplementor cacheAccess;
-	private transient boolean isClosed = false;
+	private transient volatile boolean isClosed = false;
+	private transient ExecutorService namedQueryWarmUp;
+	private transient ExecutorService queryPlanCacheWarmUp;
 	private final transient TypeResolver typeResolver;
 	private final transient TypeHelper typeHelper;
 	private final transient TransactionEnvironment transactionEnvironment;
@@ -223,6 +231,16 @@ public final class SessionFactoryImpl
 			final ServiceRegistry serviceRegistry,
 			Settings settings,
 			SessionFactoryObserver observer) throws HibernateException {
+		this( cfg, mapping, serviceRegistry, settings, observer, cfg.getProperties() );
+	}
+
+	public SessionFactoryImpl(
+			final Configuration cfg,
+			final Mapping mapping,
+			final ServiceRegistry serviceRegistry,
+			Settings settings,
+			SessionFactoryObserver observer,
+			Properties factoryProperties) throws HibernateException {
 			LOG.debug( "Building session factory" );
 
 		sessionFactoryOptions = new SessionFactoryOptions() {
@@ -259,7 +277,7 @@ public final class SessionFactoryImpl
 		this.settings = settings;
 
 		this.properties = new Properties();
-		this.properties.putAll( cfg.getProperties() );
+		this.properties.putAll( factoryProperties );
 
 		this.serviceRegistry = serviceRegistry.getService( SessionFactoryServiceRegistryFactory.class ).buildServiceRegistry(
 				this,
@@ -337,9 +355,16 @@ public final class SessionFactoryImpl
 
 		final PersisterFactory persisterFactory = serviceRegistry.getService( PersisterFactory.class );
 
+		final int bootstrapThreads = settings.getBootstrapThreads();
+		if ( bootstrapThreads > 1 ) {
+			resolveMappedTypes( cfg );
+		}
+
 		entityPersisters = new HashMap();
 		Map entityAccessStrategies = new HashMap();
 		Map<String,ClassMetadata> classMeta = new HashMap<String,ClassMetadata>();
+		// cache regions are built here, the persisters themselves (possibly in parallel) once all regions are known
+		final List<Callable<EntityPersister>> entityPersisterTasks = new ArrayList<Callable<EntityPersister>>();
 		classes = cfg.getClassMappings();
 		while ( classes.hasNext() ) {
 			final PersistentClass model = (PersistentClass) classes.next();
@@ -358,6 +383,7 @@ public final class SessionFactoryImpl
 				}
 			}
 			
+			final EntityRegionAccessStrategy entityAccessStrategy = accessStrategy;
 			NaturalIdRegionAccessStrategy naturalIdAccessStrategy = null;
 			if ( model.hasNaturalId() && model.getNaturalIdCacheRegionName() != null ) {
 				final String naturalIdCacheRegionName = cacheRegionPrefix + model.getNaturalIdCacheRegionName();
@@ -388,27 +414,38 @@ public final class SessionFactoryImpl
 				}
 			}
 			
-			EntityPersister cp = persisterFactory.createEntityPersister(
-					model,
-					accessStrategy,
-					naturalIdAccessStrategy,
-					this,
-					mapping
+			final NaturalIdRegionAccessStrategy entityNaturalIdAccessStrategy = naturalIdAccessStrategy;
+			entityPersisterTasks.add(
+					new Callable<EntityPersister>() {
+						@Override
+						public EntityPersister call() {
+							return persisterFactory.createEntityPersister(
+									model,
+									entityAccessStrategy,
+									entityNaturalIdAccessStrategy,
+									SessionFactoryImpl.this,
+									mapping
+							);
+						}
+					}
 			);
-			entityPersisters.put( model.getEntityName(), cp );
-			classMeta.put( model.getEntityName(), cp.getClassMetadata() );
+		}
+		for ( EntityPersister cp : BootstrapTaskRunner.runAll( entityPersisterTasks, bootstrapThreads ) ) {
+			entityPersisters.put( cp.getEntityName(), cp );
+			classMeta.put( cp.getEntityName(), cp.getClassMetadata() );
 		}
 		this.classMetadata = Collections.unmodifiableMap(classMeta);
 
 		Map<String,Set<String>> tmpEntityToCollectionRoleMap = new HashMap<String,Set<String>>();
 		collectionPersisters = new HashMap<String,CollectionPersister>();
 		Map<String,CollectionMetadata> tmpCollectionMetadata = new HashMap<String,CollectionMetadata>();
+		final List<Callable<CollectionPersister>> collectionPersisterTasks = new ArrayList<Callable<CollectionPersister>>();
 		Iterator collections = cfg.getCollectionMappings();
 		while ( collections.hasNext() ) {
-			Collection model = (Collection) collections.next();
+			final Collection model = (Collection) collections.next();
 			final String cacheRegionName = cacheRegionPrefix + model.getCacheRegionName();
 			final AccessType accessType = AccessType.fromExternalName( model.getCacheConcurrencyStrategy() );
-			CollectionRegionAccessStrategy accessStrategy = null;
+			final CollectionRegionAccessStrategy accessStrategy;
 			if ( accessType != null && settings.isSecondLevelCacheEnabled() ) {
 				LOG.tracev( "Building shared cache region for collection data [{0}]", model.getRole() );
 				CollectionRegion collectionRegion = regionFactory.buildCollectionRegion( cacheRegionName, properties, CacheDataDescriptionImpl
@@ -417,14 +454,26 @@ public final class SessionFactoryImpl
 				entityAccessStrategies.put( cacheRegionName, accessStrategy );
 				cacheAccess.addCacheRegion( cacheRegionName, collectionRegion );
 			}
-			CollectionPersister persister = persisterFactory.createCollectionPersister(
-					cfg,
-					model,
-					accessStrategy,
-					this
-			) ;
-			collectionPersisters.put( model.getRole(), persister );
-			tmpCollectionMetadata.put( model.getRole(), persister.getCollectionMetadata() );
+			else {
+				accessStrategy = null;
+			}
+			collectionPersisterTasks.add(
+					new Callable<CollectionPersister>() {
+						@Override
+						public CollectionPersister call() {
+							return persisterFactory.createCollectionPersister(
+									cfg,
+									model,
+									accessStrategy,
+									SessionFactoryImpl.this
+							);
+						}
+					}
+			);
+		}
+		for ( CollectionPersister persister : BootstrapTaskRunner.runAll( collectionPersisterTasks, bootstrapThreads ) ) {
+			collectionPersisters.put( persister.getRole(), persister );
+			tmpCollectionMetadata.put( persister.getRole(), persister.getCollectionMetadata() );
 			Type indexType = persister.getIndexType();
 			if ( indexType != null && indexType.isAssociationType() && !indexType.isAnyType() ) {
 				String entityName = ( ( AssociationType ) indexType ).getAssociatedEntityName( this );
@@ -464,18 +513,14 @@ public final class SessionFactoryImpl
 		imports = new HashMap<String,String>( cfg.getImports() );
 
 		// after *all* persisters and named queries are registered
+		postInstantiate( entityPersisters.values(), settings.getBootstrapThreads() );
 		Iterator iter = entityPersisters.values().iterator();
 		while ( iter.hasNext() ) {
 			final EntityPersister persister = ( ( EntityPersister ) iter.next() );
-			persister.postInstantiate();
 			registerEntityNameResolvers( persister );
 
 		}
-		iter = collectionPersisters.values().iterator();
-		while ( iter.hasNext() ) {
-			final CollectionPersister persister = ( ( CollectionPersister ) iter.next() );
-			persister.postInstantiate();
-		}
+		postInstantiate( collectionPersisters.values(), settings.getBootstrapThreads() );
 
 		//JNDI + Serialization:
 
@@ -523,21 +568,6 @@ public final class SessionFactoryImpl
 
 		currentSessionContext = buildCurrentSessionContext();
 
-		//checking for named queries
-		if ( settings.isNamedQueryStartupCheckingEnabled() ) {
-			final Map<String,HibernateException> errors = checkNamedQueries();
-			if ( ! errors.isEmpty() ) {
-				StringBuilder failingQueries = new StringBuilder( "Errors in named queries: " );
-				String sep = "";
-				for ( Map.Entry<String,HibernateException> entry : errors.entrySet() ) {
-					LOG.namedQueryError( entry.getKey(), entry.getValue() );
-					failingQueries.append( sep ).append( entry.getKey() );
-					sep = ", ";
-				}
-				throw new HibernateException( failingQueries.toString() );
-			}
-		}
-
 		// this needs to happen after persisters are all ready to go...
 		this.fetchProfiles = new HashMap();
 		itr = cfg.iterateFetchProfiles();
@@ -577,7 +607,146 @@ public final class SessionFactoryImpl
 		this.customEntityDirtinessStrategy = determineCustomEntityDirtinessStrategy();
 		this.currentTenantIdentifierResolver = determineCurrentTenantIdentifierResolver( cfg.getCurrentTenantIdentifierResolver() );
 		this.transactionEnvironment = new TransactionEnvironmentImpl( this );
+
+		//checking for named queries, once the factory is complete as the checks may run on other threads
+		if ( settings.isNamedQueryStartupCheckingEnabled() && !settings.isNamedQueryStartupCheckDeferred() ) {
+			final Map<String,HibernateException> errors = checkNamedQueries();
+			if ( ! errors.isEmpty() ) {
+				StringBuilder failingQueries = new StringBuilder( "Errors in named queries: " );
+				String sep = "";
+				for ( Map.Entry<String,HibernateException> entry : errors.entrySet() ) {
+					LOG.namedQueryError( entry.getKey(), entry.getValue() );
+					failingQueries.append( sep ).append( entry.getKey() );
+					sep = ", ";
+				}
+				throw new HibernateException( failingQueries.toString() );
+			}
+		}
+
 		this.observer.sessionFactoryCreated( this );
+
+		if ( settings.isNamedQueryStartupCheckingEnabled() && settings.isNamedQueryStartupCheckDeferred() ) {
+			startNamedQueryWarmUp();
+		}
+		if ( queryPlanCache.isWarmUpEnabled() ) {
+			startQueryPlanCacheWarmUp();
+		}
+	}
+
+	/**
+	 * Compile the named queries into the query plan cache on background threads, now that the factory is open.
+	 * Queries used before the warm-up reaches them are simply compiled on first use; failures cannot abort the
+	 * (already built) factory any more, so they are only logged.  Closing the factory stops the warm-up before the
+	 * next query.
+	 */
+	private void startNamedQueryWarmUp() {
+		final List<Runnable> tasks = new ArrayList<Runnable>();
+		for ( final Map.Entry<String,Callable<HibernateException>> check
+				: namedQueryRepository.buildNamedQueryChecks( queryPlanCache ).entrySet() ) {
+			tasks.add(
+					new Runnable() {
+						@Override
+						public void run() {
+							if ( isClosed ) {
+								return;
+							}
+							try {
+								final HibernateException error = check.getValue().call();
+								if ( error != null && !isClosed ) {
+									LOG.namedQueryError( check.getKey(), error );
+								}
+							}
+							catch ( Exception e ) {
+								if ( !isClosed ) {
+									LOG.debugf( e, "Unable to check named query %s", check.getKey() );
+								}
+							}
+						}
+					}
+			);
+		}
+		namedQueryWarmUp = BootstrapTaskRunner.runInBackground( tasks, settings.getBootstrapThreads() );
+	}
+
+	/**
+	 * Precompile the HQL query plans which were hot in the previous run into the query plan cache, on a background
+	 * thread; see {@link org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_WARMUP_FILE}.
+	 */
+	private void startQueryPlanCacheWarmUp() {
+		queryPlanCacheWarmUp = BootstrapTaskRunner.runInBackground(
+				new Runnable() {
+					@Override
+					public void run() {
+						try {
+							queryPlanCache.warmUp();
+						}
+						catch ( RuntimeException e ) {
+							if ( !isClosed ) {
+								LOG.debug( "Query plan cache warm-up aborted", e );
+							}
+						}
+					}
+				}
+		);
+	}
+
+	/**
+	 * Resolve the type of every mapped value once on the calling thread, ahead of building the persisters in
+	 * parallel.  Resolving a dynamically parameterized type completes its type parameters in place, which would
+	 * otherwise race; everything else the persisters read from the mappings is left unchanged by them.
+	 */
+	private static void resolveMappedTypes(Configuration cfg) {
+		Iterator classes = cfg.getClassMappings();
+		while ( classes.hasNext() ) {
+			final PersistentClass model = (PersistentClass) classes.next();
+			model.getIdentifier().getType();
+			if ( model.getDiscriminator() != null ) {
+				model.getDiscriminator().getType();
+			}
+			final Iterator properties = model.getPropertyIterator();
+			while ( properties.hasNext() ) {
+				( (Property) properties.next() ).getType();
+			}
+		}
+		Iterator collections = cfg.getCollectionMappings();
+		while ( collections.hasNext() ) {
+			final Collection model = (Collection) collections.next();
+			model.getType();
+			model.getKey().getType();
+			model.getElement().getType();
+			if ( model.isIndexed() ) {
+				( (IndexedCollection) model ).getIndex().getType();
+			}
+			if ( model.isIdentified() ) {
+				( (IdentifierCollection) model ).getIdentifier().getType();
+			}
+		}
+	}
+
+	/**
+	 * Run {@link EntityPersister#postInstantiate} or {@link CollectionPersister#postInstantiate}, which generate the
+	 * loaders, for each of the given persisters.  These only read the (by now complete) set of persisters, so they may
+	 * run in parallel.
+	 */
+	private static void postInstantiate(java.util.Collection<?> persisters, int bootstrapThreads) {
+		final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>( persisters.size() );
+		for ( final Object persister : persisters ) {
+			tasks.add(
+					new Callable<Void>() {
+						@Override
+						public Void call() {
+							if ( persister instanceof EntityPersister ) {
+								( (EntityPersister) persister ).postInstantiate();
+							}
+							else {
+								( (CollectionPersister) persister ).postInstantiate();
+							}
+							return null;
+						}
+					}
+			);
+		}
+		BootstrapTaskRunner.runAll( tasks, bootstrapThreads );
 	}
 
 	private Map<String, ProcedureCallMemento> toProcedureCallMementos(
@@ -880,18 +1049,14 @@ public final class SessionFactoryImpl
 		}
 
 		// after *all* persisters and named queries are registered
+		postInstantiate( entityPersisters.values(), settings.getBootstrapThreads() );
 		Iterator iter = entityPersisters.values().iterator();
 		while ( iter.hasNext() ) {
 			final EntityPersister persister = ( ( EntityPersister ) iter.next() );
-			persister.postInstantiate();
 			registerEntityNameResolvers( persister );
 
 		}
-		iter = collectionPersisters.values().iterator();
-		while ( iter.hasNext() ) {
-			final CollectionPersister persister = ( ( CollectionPersister ) iter.next() );
-			persister.postInstantiate();
-		}
+		postInstantiate( collectionPersisters.values(), settings.getBootstrapThreads() );
 
 		//JNDI + Serialization:
 
@@ -927,21 +1092,6 @@ public final class SessionFactoryImpl
 
 		currentSessionContext = buildCurrentSessionContext();
 
-		//checking for named queries
-		if ( settings.isNamedQueryStartupCheckingEnabled() ) {
-			final Map<String,HibernateException> errors = checkNamedQueries();
-			if ( ! errors.isEmpty() ) {
-				StringBuilder failingQueries = new StringBuilder( "Errors in named queries: " );
-				String sep = "";
-				for ( Map.Entry<String,HibernateException> entry : errors.entrySet() ) {
-					LOG.namedQueryError( entry.getKey(), entry.getValue() );
-					failingQueries.append( entry.getKey() ).append( sep );
-					sep = ", ";
-				}
-				throw new HibernateException( failingQueries.toString() );
-			}
-		}
-
 		// this needs to happen after persisters are all ready to go...
 		this.fetchProfiles = new HashMap<String,FetchProfile>();
 		for ( org.hibernate.metamodel.binding.FetchProfile mappingProfile : metadata.getFetchProfiles() ) {
@@ -976,7 +1126,30 @@ public final class SessionFactoryImpl
 		this.customEntityDirtinessStrategy = determineCustomEntityDirtinessStrategy();
 		this.currentTenantIdentifierResolver = determineCurrentTenantIdentifierResolver( null );
 		this.transactionEnvironment = new TransactionEnvironmentImpl( this );
+
+		//checking for named queries, once the factory is complete as the checks may run on other threads
+		if ( settings.isNamedQueryStartupCheckingEnabled() && !settings.isNamedQueryStartupCheckDeferred() ) {
+			final Map<String,HibernateException> errors = checkNamedQueries();
+			if ( ! errors.isEmpty() ) {
+				StringBuilder failingQueries = new StringBuilder( "Errors in named queries: " );
+				String sep = "";
+				for ( Map.Entry<String,HibernateException> entry : errors.entrySet() ) {
+					LOG.namedQueryError( entry.getKey(), entry.getValue() );
+					failingQueries.append( entry.getKey() ).append( sep );
+					sep = ", ";
+				}
+				throw new HibernateException( failingQueries.toString() );
+			}
+		}
+
 		this.observer.sessionFactoryCreated( this );
+
+		if ( settings.isNamedQueryStartupCheckingEnabled() && settings.isNamedQueryStartupCheckDeferred() ) {
+			startNamedQueryWarmUp();
+		}
+		if ( queryPlanCache.isWarmUpEnabled() ) {
+			startQueryPlanCacheWarmUp();
+		}
 	}
 
 	@SuppressWarnings( {"unchecked"} )
@@ -1028,6 +1201,10 @@ public final class SessionFactoryImpl
 		this.observer.addObserver( observer );
 	}
 
+	void sessionProfileCompleted(SessionProfile profile) {
+		observer.sessionProfileCompleted( profile );
+	}
+
 	public TransactionEnvironment getTransactionEnvironment() {
 		return transactionEnvironment;
 	}
@@ -1077,7 +1254,7 @@ public final class SessionFactoryImpl
 	}
 
 	private Map<String,HibernateException> checkNamedQueries() throws HibernateException {
-		return namedQueryRepository.checkNamedQueries( queryPlanCache );
+		return namedQueryRepository.checkNamedQueries( queryPlanCache, settings.getBootstrapThreads() );
 	}
 
 	public EntityPersister getEntityPersister(String entityName) throws MappingException {
@@ -1330,6 +1507,10 @@ public final class SessionFactoryImpl
 
 		isClosed = true;
 
+		// no query may be compiled into the plan cache once it is cleaned up
+		BootstrapTaskRunner.stop( namedQueryWarmUp );
+		BootstrapTaskRunner.stop( queryPlanCacheWarmUp );
+
 		settings.getMultiTableBulkIdStrategy().release( jdbcServices, buildLocalConnectionAccess() );
 
 		Iterator iter = entityPersisters.values().iterator();
@@ -1348,6 +1529,10 @@ public final class SessionFactoryImpl
 			}
 		}
 
+		if ( queryPlanCache.isWarmUpEnabled() ) {
+			queryPlanCache.persistHotPlans();
+		}
+
 		cacheAccess.close();
 
 		queryPlanCache.cleanup();
@@ -28,11 +28,13 @@ import java.util.List;
 
 import org.hibernate.SessionFactory;
 import org.hibernate.SessionFactoryObserver;
+import org.hibernate.stat.SessionProfile;
+import org.hibernate.stat.SessionProfileObserver;
 
 /**
  * @author Steve Ebersole
  */
-public class SessionFactoryObserverChain implements SessionFactoryObserver {
+public class SessionFactoryObserverChain implements SessionFactoryObserver, SessionProfileObserver {
 	private List<SessionFactoryObserver> observers;
 
 	public void addObserver(SessionFactoryObserver observer) {
@@ -65,4 +67,17 @@ public class SessionFactoryObserverChain implements SessionFactoryObserver {
 			observers.get( index ).sessionFactoryClosed( factory );
 		}
 	}
+
+	@Override
+	public void sessionProfileCompleted(SessionProfile profile) {
+		if ( observers == null ) {
+			return;
+		}
+
+		for ( SessionFactoryObserver observer : observers ) {
+			if ( observer instanceof SessionProfileObserver ) {
+				( (SessionProfileObserver) observer ).sessionProfileCompleted( profile );
+			}
+		}
+	}
 }
@@ -144,6 +144,7 @@ import org.hibernate.jdbc.Work;
 import org.hibernate.jdbc.WorkExecutor;
 import org.hibernate.jdbc.WorkExecutorVisitable;
 import org.hibernate.loader.criteria.CriteriaLoader;
+import org.hibernate.loader.criteria.CriteriaQueryTranslator;
 import org.hibernate.loader.custom.CustomLoader;
 import org.hibernate.loader.custom.CustomQuery;
 import org.hibernate.persister.collection.CollectionPersister;
@@ -153,8 +154,12 @@ import org.hibernate.pretty.MessageHelper;
 import org.hibernate.procedure.ProcedureCall;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.proxy.LazyInitializer;
+import org.hibernate.stat.SessionProfileObserver;
 import org.hibernate.stat.SessionStatistics;
+import org.hibernate.stat.internal.SessionProfilerImpl;
 import org.hibernate.stat.internal.SessionStatisticsImpl;
+import org.hibernate.stat.spi.SessionProfiler;
+import org.hibernate.stat.spi.SessionProfilerSource;
 import org.hibernate.type.SerializationException;
 import org.hibernate.type.Type;
 import org.jboss.logging.Logger;
@@ -173,7 +178,7 @@ import org.jboss.logging.Logger;
  * @author Steve Ebersole
  * @author Brett Meyer
  */
-public final class SessionImpl extends AbstractSessionImpl implements EventSource {
+public final class SessionImpl extends AbstractSessionImpl implements EventSource, SessionProfilerSource {
 
 	// todo : need to find a clean way to handle the "event source" role
 	// a separate class responsible for generating/dispatching events just duplicates most of the Session methods...
@@ -209,6 +214,8 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 	private final transient boolean isTransactionCoordinatorShared;
 	private transient TransactionObserver transactionObserver;
 
+	private transient SessionProfiler sessionProfiler;
+
 	/**
 	 * Constructor used for openSession(...) processing, as well as construction
 	 * of sessions for getCurrentSession().
@@ -308,6 +315,10 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 
 		loadQueryInfluencers = new LoadQueryInfluencers( factory );
 
+		if ( factory.getSettings().isSessionProfilingEnabled() ) {
+			sessionProfiler = new SessionProfilerImpl();
+		}
+
 		if (factory.getStatistics().isStatisticsEnabled()) {
 			factory.getStatisticsImplementor().openSession();
 		}
@@ -367,6 +378,22 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		finally {
 			setClosed();
 			cleanup();
+			if ( sessionProfiler != null ) {
+				notifySessionProfileCompleted();
+			}
+		}
+	}
+
+	private void notifySessionProfileCompleted() {
+		// the session is already closed and its resources released; a failing observer must not change that outcome
+		try {
+			if ( interceptor instanceof SessionProfileObserver ) {
+				( (SessionProfileObserver) interceptor ).sessionProfileCompleted( sessionProfiler );
+			}
+			factory.sessionProfileCompleted( sessionProfiler );
+		}
+		catch ( RuntimeException e ) {
+			LOG.warn( "Exception notifying session profile observers", e );
 		}
 	}
 
@@ -1004,8 +1031,12 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 			LOG.debugf( "Initializing proxy: %s", MessageHelper.infoString( persister, id, getFactory() ) );
 		}
 
+		final long startTime = sessionProfiler == null ? 0 : System.nanoTime();
 		LoadEvent event = new LoadEvent(id, entityName, true, this);
 		fireLoad(event, LoadEventListener.IMMEDIATE_LOAD);
+		if ( sessionProfiler != null ) {
+			sessionProfiler.proxyInitialized( entityName, startTime );
+		}
 		return event.getResult();
 	}
 
@@ -1604,17 +1635,21 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		errorIfClosed();
 		checkTransactionSynchStatus();
 		String entityName = criteriaImpl.getEntityOrClassName();
-		CriteriaLoader loader = new CriteriaLoader(
-				getOuterJoinLoadable(entityName),
+		CriteriaQueryTranslator translator = new CriteriaQueryTranslator(
 				factory,
 				criteriaImpl,
 				entityName,
+				CriteriaQueryTranslator.ROOT_SQL_ALIAS
+		);
+		CriteriaLoader loader = factory.getQueryPlanCache().getCriteriaLoader(
+				getOuterJoinLoadable(entityName),
+				translator,
 				getLoadQueryInfluencers()
 		);
 		autoFlushIfRequired( loader.getQuerySpaces() );
 		dontFlushFromFind++;
 		try {
-			return loader.scroll(this, scrollMode);
+			return loader.scroll(translator, this, scrollMode);
 		}
 		finally {
 			delayedAfterCompletion();
@@ -1637,15 +1672,20 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		String[] implementors = factory.getImplementors( criteriaImpl.getEntityOrClassName() );
 		int size = implementors.length;
 
+		CriteriaQueryTranslator[] translators = new CriteriaQueryTranslator[size];
 		CriteriaLoader[] loaders = new CriteriaLoader[size];
 		Set spaces = new HashSet();
 		for( int i=0; i <size; i++ ) {
 
-			loaders[i] = new CriteriaLoader(
-					getOuterJoinLoadable( implementors[i] ),
+			translators[i] = new CriteriaQueryTranslator(
 					factory,
 					criteriaImpl,
 					implementors[i],
+					CriteriaQueryTranslator.ROOT_SQL_ALIAS
+				);
+			loaders[i] = factory.getQueryPlanCache().getCriteriaLoader(
+					getOuterJoinLoadable( implementors[i] ),
+					translators[i],
 					getLoadQueryInfluencers()
 				);
 
@@ -1660,7 +1700,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		boolean success = false;
 		try {
 			for( int i=0; i<size; i++ ) {
-				final List currentResults = loaders[i].list(this);
+				final List currentResults = loaders[i].list(translators[i], this);
 				currentResults.addAll(results);
 				results = currentResults;
 			}
@@ -2036,6 +2076,11 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		return loadQueryInfluencers;
 	}
 
+	@Override
+	public SessionProfiler getSessionProfiler() {
+		return sessionProfiler;
+	}
+
 	// filter support ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
 	/**
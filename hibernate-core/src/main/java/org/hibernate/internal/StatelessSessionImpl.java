@@ -64,6 +64,7 @@ import org.hibernate.engine.transaction.spi.TransactionEnvironment;
 import org.hibernate.engine.transaction.spi.TransactionImplementor;
 import org.hibernate.id.IdentifierGeneratorHelper;
 import org.hibernate.loader.criteria.CriteriaLoader;
+import org.hibernate.loader.criteria.CriteriaQueryTranslator;
 import org.hibernate.loader.custom.CustomLoader;
 import org.hibernate.loader.custom.CustomQuery;
 import org.hibernate.persister.entity.EntityPersister;
@@ -623,14 +624,18 @@ public class StatelessSessionImpl extends AbstractSessionImpl implements Statele
 		
 		errorIfClosed();
 		String entityName = criteriaImpl.getEntityOrClassName();
-		CriteriaLoader loader = new CriteriaLoader(
-				getOuterJoinLoadable( entityName ),
-		        factory,
+		CriteriaQueryTranslator translator = new CriteriaQueryTranslator(
+				factory,
 		        criteriaImpl,
 		        entityName,
+		        CriteriaQueryTranslator.ROOT_SQL_ALIAS
+		);
+		CriteriaLoader loader = factory.getQueryPlanCache().getCriteriaLoader(
+				getOuterJoinLoadable( entityName ),
+		        translator,
 		        getLoadQueryInfluencers()
 		);
-		return loader.scroll(this, scrollMode);
+		return loader.scroll(translator, this, scrollMode);
 	}
 
 	@Override
@@ -643,13 +648,18 @@ public class StatelessSessionImpl extends AbstractSessionImpl implements Statele
 		String[] implementors = factory.getImplementors( criteriaImpl.getEntityOrClassName() );
 		int size = implementors.length;
 
+		CriteriaQueryTranslator[] translators = new CriteriaQueryTranslator[size];
 		CriteriaLoader[] loaders = new CriteriaLoader[size];
 		for( int i=0; i <size; i++ ) {
-			loaders[i] = new CriteriaLoader(
-					getOuterJoinLoadable( implementors[i] ),
-			        factory,
+			translators[i] = new CriteriaQueryTranslator(
+					factory,
 			        criteriaImpl,
 			        implementors[i],
+			        CriteriaQueryTranslator.ROOT_SQL_ALIAS
+			);
+			loaders[i] = factory.getQueryPlanCache().getCriteriaLoader(
+					getOuterJoinLoadable( implementors[i] ),
+			        translators[i],
 			        getLoadQueryInfluencers()
 			);
 		}
@@ -659,7 +669,7 @@ public class StatelessSessionImpl extends AbstractSessionImpl implements Statele
 		boolean success = false;
 		try {
 			for( int i=0; i<size; i++ ) {
-				final List currentResults = loaders[i].list(this);
+				final List currentResults = loaders[i].list(translators[i], this);
 				currentResults.addAll(results);
 				results = currentResults;
 			}
@@ -0,0 +1,45 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates daemon worker threads for bootstrap work (building the SessionFactory, scanning archives) which see the
+ * same context ClassLoader as the bootstrapping thread, so that entity classes, proxies and custom types resolve the
+ * same way as they would sequentially.  The context ClassLoader is captured when the factory is created.
+ */
+public class BootstrapThreadFactory implements ThreadFactory {
+	private final AtomicInteger threadNumber = new AtomicInteger();
+	private final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+	@Override
+	public Thread newThread(Runnable runnable) {
+		final Thread thread = new Thread( runnable, "hibernate-bootstrap-" + threadNumber.incrementAndGet() );
+		thread.setDaemon( true );
+		thread.setContextClassLoader( contextClassLoader );
+		return thread;
+	}
+}
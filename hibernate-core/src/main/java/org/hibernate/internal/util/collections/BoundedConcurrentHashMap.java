@@ -51,6 +51,8 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static java.util.Collections.singletonMap;
@@ -294,6 +296,27 @@ public class BoundedConcurrentHashMap<K, V> extends AbstractMap<K, V>
 			public <K, V> EvictionPolicy<K, V> make(Segment<K, V> s, int capacity, float lf) {
 				return new LIRS<K,V>(s,capacity,capacity*10,lf);
 			}
+		},
+		/**
+		 * Approximate LRU: hits only stamp the entry, without queueing it or taking a lock, and the eviction
+		 * victim is the least recently used of a small sample of the segment's entries.
+		 */
+		SAMPLED {
+			@Override
+			public <K, V> EvictionPolicy<K, V> make(Segment<K, V> s, int capacity, float lf) {
+				return new Sampled<K,V>(s,capacity);
+			}
+		},
+		/**
+		 * W-TinyLFU: a small LRU admission window in front of a segmented LRU, which only admits the entries
+		 * that a frequency sketch says are used more often than the ones they would replace; hits are buffered
+		 * and never take a lock.
+		 */
+		TINYLFU {
+			@Override
+			public <K, V> EvictionPolicy<K, V> make(Segment<K, V> s, int capacity, float lf) {
+				return new TinyLFU<K,V>(s,capacity);
+			}
 		};
 
 		abstract <K, V> EvictionPolicy<K, V> make(Segment<K, V> s, int capacity, float lf);
@@ -536,6 +559,413 @@ public class BoundedConcurrentHashMap<K, V> extends AbstractMap<K, V>
 		}
 	}
 
+	private static final class SampledHashEntry<K, V> extends HashEntry<K, V> {
+		/**
+		 * The value of the segment clock when the entry was last accessed.  Written racily by readers, which
+		 * is fine for an approximation of recency.
+		 */
+		volatile long lastAccess;
+
+		SampledHashEntry(K key, int hash, HashEntry<K, V> next, V value, long lastAccess) {
+			super(key, hash, next, value);
+			this.lastAccess = lastAccess;
+		}
+	}
+
+	/**
+	 * Sampled (approximate) LRU eviction, in the style of Redis: a hit copies the segment clock into the entry,
+	 * which is a volatile read plus (only when the clock moved since the last hit of that entry) a write, so hits
+	 * never contend on a queue or the segment lock.  The clock advances on every insert; when the segment is full,
+	 * the entry with the oldest stamp among {@link #SAMPLE_SIZE} entries, taken from consecutive buckets starting
+	 * at a random one, is evicted.
+	 */
+	static final class Sampled<K, V> implements EvictionPolicy<K, V> {
+		static final int SAMPLE_SIZE = 8;
+
+		private final Segment<K, V> segment;
+		private final int trimDownSize;
+
+		/** Only advanced under the segment lock, read by hits without it */
+		private volatile long clock;
+		/** xorshift state of the random sample start, only used under the segment lock */
+		private int seed;
+
+		Sampled(Segment<K, V> s, int capacity) {
+			this.segment = s;
+			this.trimDownSize = capacity;
+			this.seed = System.identityHashCode(this) | 1;
+		}
+
+		@Override
+		public HashEntry<K, V> createNewEntry(K key, int hash, HashEntry<K, V> next, V value) {
+			return new SampledHashEntry<K, V>(key, hash, next, value, ++clock);
+		}
+
+		@Override
+		public Set<HashEntry<K, V>> execute() {
+			Set<HashEntry<K, V>> evicted = null;
+			while (segment.count > trimDownSize) {
+				SampledHashEntry<K, V> victim = sample();
+				if (victim == null) {
+					break;
+				}
+				segment.evictionListener.onEntryChosenForEviction(victim.value);
+				segment.remove(victim.key, victim.hash, null);
+				if (evicted == null) {
+					evicted = new HashSet<HashEntry<K, V>>();
+				}
+				evicted.add(victim);
+			}
+			return evicted == null ? Collections.<HashEntry<K, V>>emptySet() : evicted;
+		}
+
+		private SampledHashEntry<K, V> sample() {
+			HashEntry<K, V>[] tab = segment.table;
+			int mask = tab.length - 1;
+			seed ^= seed << 13;
+			seed ^= seed >>> 17;
+			seed ^= seed << 5;
+			int start = seed & mask;
+			SampledHashEntry<K, V> victim = null;
+			int sampled = 0;
+			for (int i = 0; i < tab.length && sampled < SAMPLE_SIZE; i++) {
+				for (HashEntry<K, V> e = tab[(start + i) & mask]; e != null && sampled < SAMPLE_SIZE; e = e.next) {
+					SampledHashEntry<K, V> candidate = (SampledHashEntry<K, V>) e;
+					if (victim == null || candidate.lastAccess < victim.lastAccess) {
+						victim = candidate;
+					}
+					sampled++;
+				}
+			}
+			return victim;
+		}
+
+		@Override
+		public Set<HashEntry<K, V>> onEntryMiss(HashEntry<K, V> e) {
+			return Collections.emptySet();
+		}
+
+		/*
+		 * Invoked without holding a lock on Segment
+		 */
+		@Override
+		public boolean onEntryHit(HashEntry<K, V> e) {
+			SampledHashEntry<K, V> entry = (SampledHashEntry<K, V>) e;
+			long now = clock;
+			// avoid dirtying the entry's cache line when nothing changed
+			if (entry.lastAccess != now) {
+				entry.lastAccess = now;
+			}
+			return false;
+		}
+
+		@Override
+		public void onEntryRemove(HashEntry<K, V> e) {
+			// Do nothing.
+		}
+
+		@Override
+		public void clear() {
+			// Do nothing.
+		}
+
+		@Override
+		public Eviction strategy() {
+			return Eviction.SAMPLED;
+		}
+
+		@Override
+		public boolean thresholdExpired() {
+			return false;
+		}
+	}
+
+	/**
+	 * A count-min sketch of the access frequency of the keys of a segment, with four 4-bit counters per key packed
+	 * in longs.  All counters are halved once the number of increments reaches ten times the table size, so that
+	 * the sketch forgets keys which used to be popular.  Only used under the segment lock.
+	 */
+	static final class FrequencySketch {
+		private static final long[] SEEDS = {
+				0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+		};
+		private static final long RESET_MASK = 0x7777777777777777L;
+
+		private final long[] table;
+		private final int tableMask;
+		private final int sampleSize;
+		private int size;
+
+		FrequencySketch(int capacity) {
+			int length = 8;
+			while (length < capacity) {
+				length <<= 1;
+			}
+			this.table = new long[length];
+			this.tableMask = length - 1;
+			this.sampleSize = length * 10;
+		}
+
+		int frequency(int hash) {
+			int item = spread(hash);
+			int start = (item & 3) << 2;
+			int frequency = 15;
+			for (int i = 0; i < 4; i++) {
+				int offset = (start + i) << 2;
+				int count = (int) ((table[indexOf(item, i)] >>> offset) & 0xfL);
+				frequency = Math.min(frequency, count);
+			}
+			return frequency;
+		}
+
+		void increment(int hash) {
+			int item = spread(hash);
+			int start = (item & 3) << 2;
+			boolean added = false;
+			for (int i = 0; i < 4; i++) {
+				int index = indexOf(item, i);
+				int offset = (start + i) << 2;
+				if (((table[index] >>> offset) & 0xfL) != 0xfL) {
+					table[index] += 1L << offset;
+					added = true;
+				}
+			}
+			if (added && ++size == sampleSize) {
+				reset();
+			}
+		}
+
+		private void reset() {
+			for (int i = 0; i < table.length; i++) {
+				table[i] = (table[i] >>> 1) & RESET_MASK;
+			}
+			size >>>= 1;
+		}
+
+		private int indexOf(int item, int i) {
+			long hash = (item + SEEDS[i]) * SEEDS[i];
+			hash += hash >>> 32;
+			return ((int) hash) & tableMask;
+		}
+
+		private static int spread(int x) {
+			x = ((x >>> 16) ^ x) * 0x45d9f3b;
+			x = ((x >>> 16) ^ x) * 0x45d9f3b;
+			return (x >>> 16) ^ x;
+		}
+	}
+
+	/**
+	 * W-TinyLFU eviction (Einziger, Friedman and Manes, "TinyLFU: A Highly Efficient Cache Admission Policy").
+	 * <p>
+	 * New entries go to a small LRU admission window (1% of the segment).  The entry pushed out of the window
+	 * only makes it into the main, segmented LRU (a probation and a protected region) when the frequency sketch
+	 * says it is accessed more often than the main region's own eviction victim; otherwise the candidate itself
+	 * is evicted.  One-off accesses, such as a scan of many distinct queries, hence can't flush the frequently
+	 * used entries out of the cache.
+	 * <p>
+	 * Hits are recorded in a lossy ring buffer, which is a single atomic increment and never takes the segment
+	 * lock.  The buffer is drained, updating the sketch and the LRU order, by whichever thread already holds the
+	 * lock or manages to {@link ReentrantLock#tryLock() try-lock} the segment once the buffer is half full; hits
+	 * overwritten before they were drained are simply lost, which only makes the frequencies approximate.
+	 */
+	static final class TinyLFU<K, V> implements EvictionPolicy<K, V> {
+		private static final int BUFFER_SIZE = MAX_BATCH_SIZE;
+		private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+		private static final int DRAIN_THRESHOLD = BUFFER_SIZE / 2;
+
+		private final Segment<K, V> segment;
+		private final FrequencySketch sketch;
+		private final int windowCapacity;
+		private final int mainCapacity;
+		private final int protectedCapacity;
+
+		// the regions, in LRU order; values are the current instances of the (equal) keys
+		private final LinkedHashMap<HashEntry<K, V>, HashEntry<K, V>> window;
+		private final LinkedHashMap<HashEntry<K, V>, HashEntry<K, V>> probation;
+		private final LinkedHashMap<HashEntry<K, V>, HashEntry<K, V>> protectedRegion;
+
+		private final AtomicReferenceArray<HashEntry<K, V>> readBuffer;
+		private final AtomicLong readBufferWrites;
+		private volatile long readBufferReads;
+
+		// Segment.remove() re-creates the entries preceding the removed one in its bucket; those copies keep the
+		// region of the entry they replace
+		private HashEntry<K, V> lastRemoved;
+		private Map<HashEntry<K, V>, HashEntry<K, V>> lastRemovedRegion;
+
+		TinyLFU(Segment<K, V> s, int capacity) {
+			this.segment = s;
+			this.sketch = new FrequencySketch(capacity);
+			this.windowCapacity = Math.max(1, capacity / 100);
+			this.mainCapacity = Math.max(0, capacity - windowCapacity);
+			this.protectedCapacity = mainCapacity * 4 / 5;
+			this.window = new LinkedHashMap<HashEntry<K, V>, HashEntry<K, V>>(16, 0.75f, true);
+			this.probation = new LinkedHashMap<HashEntry<K, V>, HashEntry<K, V>>(16, 0.75f, true);
+			this.protectedRegion = new LinkedHashMap<HashEntry<K, V>, HashEntry<K, V>>(16, 0.75f, true);
+			this.readBuffer = new AtomicReferenceArray<HashEntry<K, V>>(BUFFER_SIZE);
+			this.readBufferWrites = new AtomicLong();
+		}
+
+		@Override
+		public HashEntry<K, V> createNewEntry(K key, int hash, HashEntry<K, V> next, V value) {
+			return new HashEntry<K, V>(key, hash, next, value);
+		}
+
+		@Override
+		public Set<HashEntry<K, V>> execute() {
+			// entries are only evicted when the window overflows, on a miss
+			drainReadBuffer();
+			return Collections.emptySet();
+		}
+
+		@Override
+		public Set<HashEntry<K, V>> onEntryMiss(HashEntry<K, V> e) {
+			if (lastRemovedRegion != null && lastRemoved.key == e.key && lastRemoved.value == e.value) {
+				// a copy made by Segment.remove(), not an access
+				lastRemovedRegion.put(e, e);
+				lastRemoved = null;
+				lastRemovedRegion = null;
+				return Collections.emptySet();
+			}
+			lastRemoved = null;
+			lastRemovedRegion = null;
+
+			drainReadBuffer();
+			sketch.increment(e.hash);
+			window.put(e, e);
+			Set<HashEntry<K, V>> evicted = null;
+			while (window.size() > windowCapacity) {
+				HashEntry<K, V> victim = admit(removeEldest(window));
+				if (victim != null) {
+					if (evicted == null) {
+						evicted = new HashSet<HashEntry<K, V>>();
+					}
+					evict(victim);
+					evicted.add(victim);
+				}
+			}
+			return evicted == null ? Collections.<HashEntry<K, V>>emptySet() : evicted;
+		}
+
+		/**
+		 * Moves the candidate pushed out of the window to the main region if there is room or if it is used more
+		 * frequently than the main region's victim.
+		 *
+		 * @return the entry to evict, if any
+		 */
+		private HashEntry<K, V> admit(HashEntry<K, V> candidate) {
+			if (probation.size() + protectedRegion.size() < mainCapacity) {
+				probation.put(candidate, candidate);
+				return null;
+			}
+			Map<HashEntry<K, V>, HashEntry<K, V>> victimRegion = probation.isEmpty() ? protectedRegion : probation;
+			if (victimRegion.isEmpty()) {
+				return candidate;
+			}
+			HashEntry<K, V> victim = victimRegion.values().iterator().next();
+			if (sketch.frequency(candidate.hash) > sketch.frequency(victim.hash)) {
+				victimRegion.remove(victim);
+				probation.put(candidate, candidate);
+				return victim;
+			}
+			return candidate;
+		}
+
+		private void evict(HashEntry<K, V> victim) {
+			segment.evictionListener.onEntryChosenForEviction(victim.value);
+			segment.remove(victim.key, victim.hash, null);
+		}
+
+		private void drainReadBuffer() {
+			long writes = readBufferWrites.get();
+			for (long i = Math.max(readBufferReads, writes - BUFFER_SIZE); i < writes; i++) {
+				int index = (int) i & BUFFER_MASK;
+				HashEntry<K, V> e = readBuffer.get(index);
+				if (e != null) {
+					readBuffer.lazySet(index, null);
+					onAccess(e);
+				}
+			}
+			readBufferReads = writes;
+		}
+
+		private void onAccess(HashEntry<K, V> e) {
+			sketch.increment(e.hash);
+			if (window.get(e) != null || protectedRegion.get(e) != null) {
+				// moved to the MRU end by the access-ordered map
+				return;
+			}
+			HashEntry<K, V> current = probation.remove(e);
+			if (current != null) {
+				protectedRegion.put(current, current);
+				if (protectedRegion.size() > protectedCapacity) {
+					HashEntry<K, V> demoted = removeEldest(protectedRegion);
+					probation.put(demoted, demoted);
+				}
+			}
+		}
+
+		private HashEntry<K, V> removeEldest(Map<HashEntry<K, V>, HashEntry<K, V>> region) {
+			Iterator<HashEntry<K, V>> iterator = region.values().iterator();
+			HashEntry<K, V> eldest = iterator.next();
+			iterator.remove();
+			return eldest;
+		}
+
+		/*
+		 * Invoked without holding a lock on Segment
+		 */
+		@Override
+		public boolean onEntryHit(HashEntry<K, V> e) {
+			long index = readBufferWrites.getAndIncrement();
+			readBuffer.lazySet((int) index & BUFFER_MASK, e);
+			return index + 1 - readBufferReads >= DRAIN_THRESHOLD;
+		}
+
+		/*
+		 * Invoked without holding a lock on Segment; only report an expired threshold to a thread which already
+		 * holds the lock, so that hits never block on it (a full buffer just drops hits)
+		 */
+		@Override
+		public boolean thresholdExpired() {
+			return segment.isHeldByCurrentThread()
+					&& readBufferWrites.get() - readBufferReads >= DRAIN_THRESHOLD;
+		}
+
+		@Override
+		public void onEntryRemove(HashEntry<K, V> e) {
+			lastRemoved = e;
+			if (window.remove(e) != null) {
+				lastRemovedRegion = window;
+			} else if (probation.remove(e) != null) {
+				lastRemovedRegion = probation;
+			} else if (protectedRegion.remove(e) != null) {
+				lastRemovedRegion = protectedRegion;
+			} else {
+				lastRemovedRegion = null;
+			}
+		}
+
+		@Override
+		public void clear() {
+			window.clear();
+			probation.clear();
+			protectedRegion.clear();
+			for (int i = 0; i < BUFFER_SIZE; i++) {
+				readBuffer.lazySet(i, null);
+			}
+			readBufferReads = readBufferWrites.get();
+			lastRemoved = null;
+			lastRemovedRegion = null;
+		}
+
+		@Override
+		public Eviction strategy() {
+			return Eviction.TINYLFU;
+		}
+	}
+
 	/**
 	 * Adapted to Infinispan BoundedConcurrentHashMap using LIRS implementation ideas from Charles Fry (fry@google.com)
 	 * See http://code.google.com/p/concurrentlinkedhashmap/source/browse/trunk/src/test/java/com/googlecode/concurrentlinkedhashmap/caches/LirsMap.java
@@ -1424,7 +1854,7 @@ public class BoundedConcurrentHashMap<K, V> extends AbstractMap<K, V>
 						// notify a miss
 						Set<HashEntry<K, V>> newlyEvicted = eviction.onEntryMiss(tab[index]);
 						if (!newlyEvicted.isEmpty()) {
-							if (evicted != null) {
+							if (evicted != null && !evicted.isEmpty()) {
 								evicted.addAll(newlyEvicted);
 							} else {
 								evicted = newlyEvicted;
@@ -1592,7 +2022,7 @@ public class BoundedConcurrentHashMap<K, V> extends AbstractMap<K, V>
 
 		private void notifyEvictionListener(Set<HashEntry<K, V>> evicted) {
 			// piggyback listener invocation on callers thread outside lock
-			if (evicted != null) {
+			if (evicted != null && !evicted.isEmpty()) {
 				Map<K, V> evictedCopy;
 				if (evicted.size() == 1) {
 					HashEntry<K, V> evictedEntry = evicted.iterator().next();
@@ -76,6 +76,7 @@ import org.hibernate.event.spi.PostLoadEvent;
 import org.hibernate.event.spi.PreLoadEvent;
 import org.hibernate.hql.internal.HolderInstantiator;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.BatchingScrollableResultsImpl;
 import org.hibernate.internal.FetchingScrollableResultsImpl;
 import org.hibernate.internal.ScrollableResultsImpl;
 import org.hibernate.internal.util.StringHelper;
@@ -411,6 +412,66 @@ public abstract class Loader {
 		return result;
 	}
 
+	/**
+	 * Loads the next rows from the result set, up to the given number of rows.  This is the processing used from
+	 * the batching ScrollableResults: all the entities of the rows are hydrated before any of them is initialized,
+	 * as in {@link #list}, rather than row by row as in {@link #loadSingleRow}.
+	 *
+	 * @param resultSet The result set from which to do the load, positioned before the first row to load.
+	 * @param session The session from which the request originated.
+	 * @param queryParameters The query parameters specified by the user.
+	 * @param maxRows The maximum number of rows to load
+	 * @param returnProxies Should proxies be generated
+	 * @return The loaded "rows"; fewer than {@code maxRows} if the end of the result set was reached.
+	 * @throws HibernateException
+	 */
+	public List loadRows(
+	        final ResultSet resultSet,
+	        final SessionImplementor session,
+	        final QueryParameters queryParameters,
+	        final int maxRows,
+	        final boolean returnProxies) throws HibernateException {
+
+		final int entitySpan = getEntityPersisters().length;
+		final List hydratedObjects = entitySpan == 0 ?
+				null : new ArrayList( entitySpan * maxRows );
+		final LockMode[] lockModesArray = getLockModes( queryParameters.getLockOptions() );
+
+		final List results = new ArrayList( maxRows );
+		try {
+			while ( results.size() < maxRows && resultSet.next() ) {
+				results.add(
+						getRowFromResultSet(
+								resultSet,
+								session,
+								queryParameters,
+								lockModesArray,
+								null,
+								hydratedObjects,
+								new EntityKey[entitySpan],
+								returnProxies
+						)
+				);
+			}
+		}
+		catch ( SQLException sqle ) {
+			throw factory.getSQLExceptionHelper().convert(
+			        sqle,
+			        "could not read next rows of results",
+			        getSQLString()
+				);
+		}
+
+		initializeEntitiesAndCollections(
+				hydratedObjects,
+				resultSet,
+				session,
+				queryParameters.isReadOnly( session )
+		);
+		session.getPersistenceContext().initializeNonLazyCollections();
+		return results;
+	}
+
 	private Object sequentialLoad(
 	        final ResultSet resultSet,
 	        final SessionImplementor session,
@@ -2520,7 +2581,11 @@ public abstract class Loader {
 		return doList( session, queryParameters, null);
 	}
 
-	private List doList(final SessionImplementor session,
+	/**
+	 * Actually execute a query, ignoring the query cache, transforming each row as soon as it is read when a
+	 * forced result transformer is given.
+	 */
+	protected List doList(final SessionImplementor session,
 						final QueryParameters queryParameters,
 						final ResultTransformer forcedResultTransformer)
 			throws HibernateException {
@@ -2612,6 +2677,7 @@ public abstract class Loader {
 					);
 			}
 
+			final int batchSize = determineScrollBatchSize( queryParameters, session );
 			if ( needsFetchingScroll() ) {
 				return new FetchingScrollableResultsImpl(
 						rs,
@@ -2623,6 +2689,18 @@ public abstract class Loader {
 						holderInstantiator
 					);
 			}
+			else if ( batchSize > 1 ) {
+				return new BatchingScrollableResultsImpl(
+						rs,
+						st,
+						session,
+						this,
+						queryParameters,
+						returnTypes,
+						holderInstantiator,
+						batchSize
+					);
+			}
 			else {
 				return new ScrollableResultsImpl(
 						rs,
@@ -2646,6 +2724,26 @@ public abstract class Loader {
 
 	}
 
+	/**
+	 * Forward-only scrolls of a stateless session whose query sets its own fetch size read their rows in batches of
+	 * that fetch size: the rows of a batch are hydrated together, and the (temporary) persistence context is cleared
+	 * once per batch rather than once per row.  The global {@code hibernate.jdbc.fetch_size} does not enable this,
+	 * so other scrolls behave as before.  Stateful sessions keep reading row by row, as the application may clear
+	 * or evict from the session between rows.
+	 *
+	 * @return The batch size, or 1 to read row by row
+	 */
+	private int determineScrollBatchSize(QueryParameters queryParameters, SessionImplementor session) {
+		if ( session.isEventSource() || queryParameters.getScrollMode() != ScrollMode.FORWARD_ONLY ) {
+			return 1;
+		}
+		final Integer fetchSize = queryParameters.getRowSelection() == null
+				? null
+				: queryParameters.getRowSelection().getFetchSize();
+		// negative fetch sizes are driver specific streaming hints (MySQL)
+		return fetchSize == null || fetchSize < 1 ? 1 : fetchSize;
+	}
+
 	/**
 	 * Calculate and cache select-clause suffixes. Must be
 	 * called by subclasses after instantiation.
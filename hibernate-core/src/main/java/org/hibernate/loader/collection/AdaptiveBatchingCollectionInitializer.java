@@ -0,0 +1,73 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader.collection;
+
+import org.hibernate.engine.spi.BatchFetchQueue;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.collection.QueryableCollection;
+import org.hibernate.stat.internal.ConcurrentStatisticsImpl;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * A CollectionInitializer for collections which do not define a batch size, used when adaptive batch fetching is
+ * enabled.  Collections are initialized one at a time until the session shows it keeps initializing collections of
+ * this role one by one; from then on the batch size grows with each initialization filling its batch, up to the
+ * configured maximum.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#ADAPTIVE_BATCH_FETCH_SIZE
+ * @see org.hibernate.engine.spi.BatchFetchQueue#adaptBatchSize
+ */
+public class AdaptiveBatchingCollectionInitializer
+		extends DynamicBatchingCollectionInitializerBuilder.DynamicBatchingCollectionInitializer {
+
+	public AdaptiveBatchingCollectionInitializer(
+			QueryableCollection collectionPersister,
+			int maxBatchSize,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers influencers) {
+		super( collectionPersister, maxBatchSize, factory, influencers );
+	}
+
+	@Override
+	protected int determineBatchSize(SessionImplementor session) {
+		return session.getPersistenceContext().getBatchFetchQueue().getAdaptiveBatchSize( collectionPersister().getRole() );
+	}
+
+	@Override
+	protected void keysDetermined(SessionImplementor session, int numberOfKeys) {
+		final String role = collectionPersister().getRole();
+		final BatchFetchQueue batchFetchQueue = session.getPersistenceContext().getBatchFetchQueue();
+		final int previousBatchSize = batchFetchQueue.getAdaptiveBatchSize( role );
+		final int batchSize = batchFetchQueue.adaptBatchSize( role, numberOfKeys, getMaxBatchSize() );
+		final StatisticsImplementor statistics = session.getFactory().getStatisticsImplementor();
+		// only the built-in statistics keep suggested batch sizes
+		if ( batchSize > previousBatchSize
+				&& statistics instanceof ConcurrentStatisticsImpl
+				&& statistics.isStatisticsEnabled() ) {
+			( (ConcurrentStatisticsImpl) statistics ).adaptCollectionBatchSize( role, batchSize );
+		}
+	}
+}
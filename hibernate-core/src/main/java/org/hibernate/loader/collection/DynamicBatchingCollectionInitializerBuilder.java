@@ -100,11 +100,19 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 
 		@Override
 		public void initialize(Serializable id, SessionImplementor session) throws HibernateException {
+			final int batchSize = determineBatchSize( session );
+			if ( batchSize <= 1 ) {
+				keysDetermined( session, 1 );
+				singleKeyLoader.loadCollection( session, id, collectionPersister().getKeyType() );
+				return;
+			}
+
 			// first, figure out how many batchable ids we have...
 			final Serializable[] batch = session.getPersistenceContext()
 					.getBatchFetchQueue()
-					.getCollectionBatch( collectionPersister(), id, maxBatchSize );
+					.getCollectionBatch( collectionPersister(), id, batchSize );
 			final int numberOfIds = ArrayHelper.countNonNull( batch );
+			keysDetermined( session, numberOfIds );
 			if ( numberOfIds <= 1 ) {
 				singleKeyLoader.loadCollection( session, id, collectionPersister().getKeyType() );
 				return;
@@ -115,6 +123,30 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 
 			batchLoader.doBatchedCollectionLoad( session, idsToLoad, collectionPersister().getKeyType() );
 		}
+
+		/**
+		 * The maximum number of keys to load for the current initialization.
+		 *
+		 * @param session The session
+		 *
+		 * @return The batch size; {@code 1} means no batching
+		 */
+		protected int determineBatchSize(SessionImplementor session) {
+			return maxBatchSize;
+		}
+
+		/**
+		 * Callback with the number of keys the current initialization is about to fetch.
+		 *
+		 * @param session The session
+		 * @param numberOfKeys The number of collection keys being loaded
+		 */
+		protected void keysDetermined(SessionImplementor session, int numberOfKeys) {
+		}
+
+		protected int getMaxBatchSize() {
+			return maxBatchSize;
+		}
 	}
 
 	private static class DynamicBatchingCollectionLoader extends CollectionLoader {
@@ -65,10 +65,11 @@ public class CriteriaLoader extends OuterJoinLoader {
 	//      in the impl package ... add a CriteriaImplementor 
 	//      interface
 
-	//NOTE: unlike all other Loaders, this one is NOT
-	//      multithreaded, or cacheable!!
+	//NOTE: like the HQL loaders, this one is multithreaded and may be
+	//      cached (see QueryPlanCache#getCriteriaLoader): it keeps no
+	//      reference to the Criteria it was built from, the values are
+	//      collected from the CriteriaQueryTranslator of each execution
 
-	private final CriteriaQueryTranslator translator;
 	private final Set<Serializable> querySpaces;
 	private final Type[] resultTypes;
 	//the user visible aliases, which are unknown to the superclass,
@@ -76,6 +77,8 @@ public class CriteriaLoader extends OuterJoinLoader {
 	private final String[] userAliases;
 	private final boolean[] includeInResultRow;
 	private final int resultRowLength;
+	private final Type[] projectedTypes;
+	private final String[] projectedColumnAliases;
 
 	public CriteriaLoader(
 			final OuterJoinLoadable persister, 
@@ -83,14 +86,25 @@ public class CriteriaLoader extends OuterJoinLoader {
 			final CriteriaImpl criteria, 
 			final String rootEntityName,
 			final LoadQueryInfluencers loadQueryInfluencers) throws HibernateException {
-		super( factory, loadQueryInfluencers );
+		this(
+				persister,
+				factory,
+				new CriteriaQueryTranslator(
+						factory,
+						criteria,
+						rootEntityName,
+						CriteriaQueryTranslator.ROOT_SQL_ALIAS
+				),
+				loadQueryInfluencers
+		);
+	}
 
-		translator = new CriteriaQueryTranslator(
-				factory, 
-				criteria, 
-				rootEntityName, 
-				CriteriaQueryTranslator.ROOT_SQL_ALIAS
-			);
+	public CriteriaLoader(
+			final OuterJoinLoadable persister,
+			final SessionFactoryImplementor factory,
+			final CriteriaQueryTranslator translator,
+			final LoadQueryInfluencers loadQueryInfluencers) throws HibernateException {
+		super( factory, loadQueryInfluencers );
 
 		querySpaces = translator.getQuerySpaces();
 		
@@ -98,8 +112,8 @@ public class CriteriaLoader extends OuterJoinLoader {
 				persister, 
 				translator,
 				factory, 
-				criteria, 
-				rootEntityName, 
+				translator.getRootCriteria(),
+				translator.getRootEntityName(),
 				loadQueryInfluencers
 			);
 
@@ -110,18 +124,44 @@ public class CriteriaLoader extends OuterJoinLoader {
 		includeInResultRow = walker.includeInResultRow();
 		resultRowLength = ArrayHelper.countTrue( includeInResultRow );
 
+		if ( translator.hasProjection() ) {
+			projectedTypes = translator.getProjectedTypes();
+			projectedColumnAliases = translator.getProjectedColumnAliases();
+		}
+		else {
+			projectedTypes = null;
+			projectedColumnAliases = null;
+		}
+
 		postInstantiate();
 
 	}
-	
-	public ScrollableResults scroll(SessionImplementor session, ScrollMode scrollMode) 
+
+	/**
+	 * Scroll the results of a Criteria query with the shape this loader was built for.
+	 *
+	 * @param translator The translator of the Criteria to execute, providing the parameter values
+	 * @param session The session
+	 * @param scrollMode The scroll mode
+	 *
+	 * @return The results
+	 */
+	public ScrollableResults scroll(CriteriaQueryTranslator translator, SessionImplementor session, ScrollMode scrollMode)
 	throws HibernateException {
 		QueryParameters qp = translator.getQueryParameters();
 		qp.setScrollMode(scrollMode);
 		return scroll(qp, resultTypes, null, session);
 	}
 
-	public List list(SessionImplementor session) 
+	/**
+	 * List the results of a Criteria query with the shape this loader was built for.
+	 *
+	 * @param translator The translator of the Criteria to execute, providing the parameter values
+	 * @param session The session
+	 *
+	 * @return The results
+	 */
+	public List list(CriteriaQueryTranslator translator, SessionImplementor session)
 	throws HibernateException {
 		return list( session, translator.getQueryParameters(), querySpaces, resultTypes );
 
@@ -131,10 +171,6 @@ public class CriteriaLoader extends OuterJoinLoader {
 		return userAliases;
 	}
 	@Override
-	protected ResultTransformer resolveResultTransformer(ResultTransformer resultTransformer) {
-		return translator.getRootCriteria().getResultTransformer();
-	}
-	@Override
 	protected boolean areResultSetRowsTransformedImmediately() {
 		return true;
 	}
@@ -154,10 +190,10 @@ public class CriteriaLoader extends OuterJoinLoader {
 	protected Object[] getResultRow(Object[] row, ResultSet rs, SessionImplementor session)
 			throws SQLException, HibernateException {
 		final Object[] result;
-		if ( translator.hasProjection() ) {
-			Type[] types = translator.getProjectedTypes();
+		if ( projectedTypes != null ) {
+			Type[] types = projectedTypes;
 			result = new Object[types.length];
-			String[] columnAliases = translator.getProjectedColumnAliases();
+			String[] columnAliases = projectedColumnAliases;
 			for ( int i=0, pos=0; i<result.length; i++ ) {
 				int numColumns = types[i].getColumnSpan( session.getFactory() );
 				if ( numColumns > 1 ) {
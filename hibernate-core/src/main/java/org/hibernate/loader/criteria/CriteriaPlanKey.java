@@ -0,0 +1,146 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader.criteria;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.Criteria;
+import org.hibernate.FetchMode;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.internal.CriteriaImpl;
+import org.hibernate.type.Type;
+
+/**
+ * Identifies the shape of a Criteria query, so that the {@link CriteriaLoader} built for it can be cached and reused
+ * by later executions of Criteria with the same shape, but different parameter values.
+ * <p/>
+ * Rather than having every Criterion and Projection describe its structure, the shape is rendered from the SQL
+ * fragments the query is made of (restrictions, projections, orderings and join restrictions), which contain
+ * parameter placeholders rather than values.  Anything whose SQL does depend on its values (e.g. the number of
+ * values of an {@code in} restriction, or the properties included by an Example) thus leads to a distinct key.
+ * The other inputs of the join walker (the joined association paths with their aliases and join types, the fetch
+ * modes, the enabled filters and fetch profiles) are part of the key too, whereas everything applied when the
+ * query is executed (parameter values, first/max results, lock modes, the result transformer, caching) is not.
+ */
+public final class CriteriaPlanKey implements Serializable {
+	private final String rootEntityName;
+	private final String shape;
+	private final Map<String, FetchMode> fetchModes;
+	private final Set<String> enabledFilterNames;
+	private final Set<String> enabledFetchProfileNames;
+	private final String internalFetchProfile;
+	private final int hashCode;
+
+	/**
+	 * Determine the key of the query translated by the given translator.
+	 *
+	 * @param translator The translator of the Criteria
+	 * @param loadQueryInfluencers The influencers the query is executed with
+	 */
+	@SuppressWarnings("unchecked")
+	public CriteriaPlanKey(CriteriaQueryTranslator translator, LoadQueryInfluencers loadQueryInfluencers) {
+		final CriteriaImpl criteria = translator.getRootCriteria();
+		this.rootEntityName = translator.getRootEntityName();
+
+		final StringBuilder buf = new StringBuilder( 128 ).append( criteria.getAlias() );
+		if ( translator.hasProjection() ) {
+			buf.append( "|select " ).append( translator.getSelect() )
+					.append( "|group by " ).append( translator.getGroupBy() )
+					.append( '|' ).append( Arrays.toString( translator.getProjectedAliases() ) );
+			for ( Type type : translator.getProjectedTypes() ) {
+				buf.append( '|' ).append( type.getName() );
+			}
+		}
+		buf.append( "|where " ).append( translator.getWhereCondition() )
+				.append( "|order by " ).append( translator.getOrderBy() );
+		for ( String path : translator.getAssociationPaths() ) {
+			final Criteria subcriteria = translator.getCriteria( path );
+			buf.append( "|join " ).append( path )
+					.append( ' ' ).append( subcriteria.getAlias() )
+					.append( ' ' ).append( translator.getJoinType( path ) )
+					.append( ' ' ).append( translator.hasRestriction( path ) );
+			final String withClause = translator.getWithClause( path );
+			if ( withClause != null ) {
+				buf.append( " with " ).append( withClause );
+			}
+		}
+		this.shape = buf.toString();
+
+		this.fetchModes = criteria.getFetchModes().isEmpty()
+				? Collections.<String, FetchMode>emptyMap()
+				: new HashMap<String, FetchMode>( criteria.getFetchModes() );
+		this.enabledFilterNames = copy( loadQueryInfluencers.getEnabledFilterNames() );
+		this.enabledFetchProfileNames = copy( loadQueryInfluencers.getEnabledFetchProfileNames() );
+		this.internalFetchProfile = loadQueryInfluencers.getInternalFetchProfile();
+
+		int hash = rootEntityName.hashCode();
+		hash = 29 * hash + shape.hashCode();
+		hash = 29 * hash + fetchModes.hashCode();
+		hash = 29 * hash + enabledFilterNames.hashCode();
+		hash = 29 * hash + enabledFetchProfileNames.hashCode();
+		hash = 29 * hash + ( internalFetchProfile == null ? 0 : internalFetchProfile.hashCode() );
+		this.hashCode = hash;
+	}
+
+	private static Set<String> copy(Set<String> names) {
+		return names.isEmpty() ? Collections.<String>emptySet() : new HashSet<String>( names );
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( o == null || getClass() != o.getClass() ) {
+			return false;
+		}
+
+		final CriteriaPlanKey that = (CriteriaPlanKey) o;
+		return hashCode == that.hashCode
+				&& rootEntityName.equals( that.rootEntityName )
+				&& shape.equals( that.shape )
+				&& fetchModes.equals( that.fetchModes )
+				&& enabledFilterNames.equals( that.enabledFilterNames )
+				&& enabledFetchProfileNames.equals( that.enabledFetchProfileNames )
+				&& ( internalFetchProfile == null
+						? that.internalFetchProfile == null
+						: internalFetchProfile.equals( that.internalFetchProfile ) );
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		return rootEntityName + ": " + shape;
+	}
+}
@@ -299,6 +299,15 @@ public class CriteriaQueryTranslator implements CriteriaQuery {
 		return rootCriteria;
 	}
 
+	public String getRootEntityName() {
+		return rootEntityName;
+	}
+
+	/* package-protected */
+	Set<String> getAssociationPaths() {
+		return associationPathCriteriaMap.keySet();
+	}
+
 	public QueryParameters getQueryParameters() {
 		LockOptions lockOptions = new LockOptions();
 		RowSelection selection = new RowSelection();
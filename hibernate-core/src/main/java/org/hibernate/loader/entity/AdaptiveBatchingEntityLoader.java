@@ -0,0 +1,84 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader.entity;
+
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.engine.spi.BatchFetchQueue;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.OuterJoinLoadable;
+import org.hibernate.stat.internal.ConcurrentStatisticsImpl;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * A UniqueEntityLoader for entities which do not define a batch size, used when adaptive batch fetching is enabled.
+ * Entities are loaded one at a time until the session shows it keeps loading entities of this type one by one
+ * (typically by navigating proxies); from then on the batch size grows with each load filling its batch, up to
+ * the configured maximum.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#ADAPTIVE_BATCH_FETCH_SIZE
+ * @see org.hibernate.engine.spi.BatchFetchQueue#adaptBatchSize
+ */
+public class AdaptiveBatchingEntityLoader extends DynamicBatchingEntityLoaderBuilder.DynamicBatchingEntityLoader {
+
+	public AdaptiveBatchingEntityLoader(
+			OuterJoinLoadable persister,
+			int maxBatchSize,
+			LockMode lockMode,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers loadQueryInfluencers) {
+		super( persister, maxBatchSize, lockMode, factory, loadQueryInfluencers );
+	}
+
+	public AdaptiveBatchingEntityLoader(
+			OuterJoinLoadable persister,
+			int maxBatchSize,
+			LockOptions lockOptions,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers loadQueryInfluencers) {
+		super( persister, maxBatchSize, lockOptions, factory, loadQueryInfluencers );
+	}
+
+	@Override
+	protected int determineBatchSize(SessionImplementor session) {
+		return session.getPersistenceContext().getBatchFetchQueue().getAdaptiveBatchSize( persister().getEntityName() );
+	}
+
+	@Override
+	protected void keysDetermined(SessionImplementor session, int numberOfIds) {
+		final String entityName = persister().getEntityName();
+		final BatchFetchQueue batchFetchQueue = session.getPersistenceContext().getBatchFetchQueue();
+		final int previousBatchSize = batchFetchQueue.getAdaptiveBatchSize( entityName );
+		final int batchSize = batchFetchQueue.adaptBatchSize( entityName, numberOfIds, getMaxBatchSize() );
+		final StatisticsImplementor statistics = session.getFactory().getStatisticsImplementor();
+		// only the built-in statistics keep suggested batch sizes
+		if ( batchSize > previousBatchSize
+				&& statistics instanceof ConcurrentStatisticsImpl
+				&& statistics.isStatisticsEnabled() ) {
+			( (ConcurrentStatisticsImpl) statistics ).adaptEntityBatchSize( entityName, batchSize );
+		}
+	}
+}
@@ -113,11 +113,18 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 				Object optionalObject,
 				SessionImplementor session,
 				LockOptions lockOptions) {
+			final int batchSize = determineBatchSize( session );
+			if ( batchSize <= 1 ) {
+				keysDetermined( session, 1 );
+				return singleKeyLoader.load( id, optionalObject, session );
+			}
+
 			final Serializable[] batch = session.getPersistenceContext()
 					.getBatchFetchQueue()
-					.getEntityBatch( persister(), id, maxBatchSize, persister().getEntityMode() );
+					.getEntityBatch( persister(), id, batchSize, persister().getEntityMode() );
 
 			final int numberOfIds = ArrayHelper.countNonNull( batch );
+			keysDetermined( session, numberOfIds );
 			if ( numberOfIds <= 1 ) {
 				return singleKeyLoader.load( id, optionalObject, session );
 			}
@@ -133,6 +140,30 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 			List results = dynamicLoader.doEntityBatchFetch( session, qp, idsToLoad );
 			return getObjectFromList( results, id, session );
 		}
+
+		/**
+		 * The maximum number of ids to load for the current load.
+		 *
+		 * @param session The session
+		 *
+		 * @return The batch size; {@code 1} means no batching
+		 */
+		protected int determineBatchSize(SessionImplementor session) {
+			return maxBatchSize;
+		}
+
+		/**
+		 * Callback with the number of ids the current load is about to fetch.
+		 *
+		 * @param session The session
+		 * @param numberOfIds The number of ids being loaded
+		 */
+		protected void keysDetermined(SessionImplementor session, int numberOfIds) {
+		}
+
+		protected int getMaxBatchSize() {
+			return maxBatchSize;
+		}
 	}
 
 
@@ -32,10 +32,13 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
+import org.hibernate.PropertyNotFoundException;
 import org.hibernate.QueryException;
 import org.hibernate.ScrollableResults;
 import org.hibernate.dialect.Dialect;
@@ -43,6 +46,7 @@ import org.hibernate.engine.spi.QueryParameters;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.event.spi.EventSource;
+import org.hibernate.hql.internal.AliasToBeanInstantiator;
 import org.hibernate.hql.internal.HolderInstantiator;
 import org.hibernate.hql.internal.ast.QueryTranslatorImpl;
 import org.hibernate.hql.internal.ast.tree.AggregatedSelectExpression;
@@ -59,6 +63,7 @@ import org.hibernate.persister.collection.QueryableCollection;
 import org.hibernate.persister.entity.Loadable;
 import org.hibernate.persister.entity.Lockable;
 import org.hibernate.persister.entity.Queryable;
+import org.hibernate.transform.AliasToBeanResultTransformer;
 import org.hibernate.transform.ResultTransformer;
 import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
@@ -104,6 +109,11 @@ public class QueryLoader extends BasicLoader {
 
 	private LockMode[] defaultLockModes;
 
+	private final Map<Class, AliasToBeanInstantiator> aliasToBeanInstantiators =
+			new ConcurrentHashMap<Class, AliasToBeanInstantiator>();
+	private final Set<Class> unsupportedResultClasses =
+			Collections.newSetFromMap( new ConcurrentHashMap<Class, Boolean>() );
+
 
 	/**
 	 * Creates a new Loader implementation.
@@ -493,9 +503,63 @@ public class QueryLoader extends BasicLoader {
 			SessionImplementor session,
 			QueryParameters queryParameters) throws HibernateException {
 		checkQuery( queryParameters );
+		final ResultTransformer instantiator = resolveImmediateInstantiator( queryParameters );
+		if ( instantiator != null ) {
+			// the rows are instantiated as they are read, there is no list of tuples left to transform
+			final List results = doList( session, queryParameters, instantiator );
+			return hasSelectNew() ? results : queryParameters.getResultTransformer().transformList( results );
+		}
 		return list( session, queryParameters, queryTranslator.getQuerySpaces(), queryReturnTypes );
 	}
 
+	/**
+	 * Scalar queries which build a DTO per row, through either a 'select new' or an
+	 * {@link AliasToBeanResultTransformer}, have each DTO instantiated as soon as its row is read rather than
+	 * collecting the tuples and transforming them afterwards.  The bean setters are resolved once per query plan.
+	 * Results put into the query cache are still kept as tuples.
+	 *
+	 * @return The transformer to apply to each row, or {@code null} to list the results the usual way
+	 */
+	private ResultTransformer resolveImmediateInstantiator(QueryParameters queryParameters) {
+		if ( !hasScalars || entityPersisters.length > 0 || collectionPersisters != null ) {
+			return null;
+		}
+		if ( getFactory().getSettings().isQueryCacheEnabled() && queryParameters.isCacheable() ) {
+			return null;
+		}
+		if ( hasSelectNew() ) {
+			return aggregatedSelectExpression.getResultTransformer();
+		}
+
+		final ResultTransformer resultTransformer = queryParameters.getResultTransformer();
+		if ( resultTransformer == null || resultTransformer.getClass() != AliasToBeanResultTransformer.class ) {
+			// subclasses may build their beans differently
+			return null;
+		}
+		final Class resultClass = ( (AliasToBeanResultTransformer) resultTransformer ).getResultClass();
+		AliasToBeanInstantiator instantiator = aliasToBeanInstantiators.get( resultClass );
+		if ( instantiator == null ) {
+			if ( unsupportedResultClasses.contains( resultClass ) ) {
+				return null;
+			}
+			try {
+				instantiator = AliasToBeanInstantiator.create(
+						resultClass,
+						queryReturnAliases,
+						getFactory().getQueryPlanCache()
+				);
+			}
+			catch ( PropertyNotFoundException e ) {
+				// leave it to the transformer to fail on the first row, as it always did; the aliases of this
+				// query never change, so don't try again on the next execution
+				unsupportedResultClasses.add( resultClass );
+				return null;
+			}
+			aliasToBeanInstantiators.put( resultClass, instantiator );
+		}
+		return instantiator;
+	}
+
 	private void checkQuery(QueryParameters queryParameters) {
 		if ( hasSelectNew() && queryParameters.getResultTransformer() != null ) {
 			throw new QueryException( "ResultTransformer is not allowed for 'select new' queries." );
@@ -80,6 +80,7 @@ import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.persister.entity.Loadable;
 import org.hibernate.persister.entity.PropertyMapping;
 import org.hibernate.persister.entity.Queryable;
+import org.hibernate.persister.internal.PrecomputedPersisterSql;
 import org.hibernate.persister.walking.internal.CompositionSingularSubAttributesHelper;
 import org.hibernate.persister.walking.spi.AttributeDefinition;
 import org.hibernate.persister.walking.spi.AttributeSource;
@@ -195,6 +196,7 @@ public abstract class AbstractCollectionPersister
 	private final boolean isMutable;
 	private final boolean isVersioned;
 	protected final int batchSize;
+	protected final boolean adaptiveBatchFetch;
 	private final FetchMode fetchMode;
 	private final boolean hasOrphanDelete;
 	private final boolean subselectLoadable;
@@ -299,10 +301,18 @@ public abstract class AbstractCollectionPersister
 		hasOrphanDelete = collection.hasOrphanDelete();
 
 		int batch = collection.getBatchSize();
+		boolean adaptiveBatch = false;
 		if ( batch == -1 ) {
 			batch = factory.getSettings().getDefaultBatchFetchSize();
+			if ( batch <= 1
+					&& factory.getSettings().getAdaptiveBatchFetchSize() > 1
+					&& !collection.isSubselectLoadable() ) {
+				batch = factory.getSettings().getAdaptiveBatchFetchSize();
+				adaptiveBatch = true;
+			}
 		}
 		batchSize = batch;
+		adaptiveBatchFetch = adaptiveBatch;
 
 		isVersioned = collection.isOptimisticLocked();
 
@@ -471,8 +481,13 @@ public abstract class AbstractCollectionPersister
 		// sqlSelectString = sqlSelectString();
 		// sqlSelectRowString = sqlSelectRowString();
 
+		final PrecomputedPersisterSql precomputedPersisterSql = factory.getSettings().getPrecomputedPersisterSql();
+		final Map<String, String> precomputedSql = precomputedPersisterSql == null
+				? null
+				: precomputedPersisterSql.getSql( role );
+
 		if ( collection.getCustomSQLInsert() == null ) {
-			sqlInsertRowString = generateInsertRowString();
+			sqlInsertRowString = precomputedSql == null ? generateInsertRowString() : precomputedSql.get( "insertRow" );
 			insertCallable = false;
 			insertCheckStyle = ExecuteUpdateResultCheckStyle.COUNT;
 		}
@@ -485,7 +500,7 @@ public abstract class AbstractCollectionPersister
 		}
 
 		if ( collection.getCustomSQLUpdate() == null ) {
-			sqlUpdateRowString = generateUpdateRowString();
+			sqlUpdateRowString = precomputedSql == null ? generateUpdateRowString() : precomputedSql.get( "updateRow" );
 			updateCallable = false;
 			updateCheckStyle = ExecuteUpdateResultCheckStyle.COUNT;
 		}
@@ -498,7 +513,7 @@ public abstract class AbstractCollectionPersister
 		}
 
 		if ( collection.getCustomSQLDelete() == null ) {
-			sqlDeleteRowString = generateDeleteRowString();
+			sqlDeleteRowString = precomputedSql == null ? generateDeleteRowString() : precomputedSql.get( "deleteRow" );
 			deleteCallable = false;
 			deleteCheckStyle = ExecuteUpdateResultCheckStyle.NONE;
 		}
@@ -509,7 +524,7 @@ public abstract class AbstractCollectionPersister
 		}
 
 		if ( collection.getCustomSQLDeleteAll() == null ) {
-			sqlDeleteString = generateDeleteString();
+			sqlDeleteString = precomputedSql == null ? generateDeleteString() : precomputedSql.get( "delete" );
 			deleteAllCallable = false;
 			deleteAllCheckStyle = ExecuteUpdateResultCheckStyle.NONE;
 		}
@@ -519,10 +534,18 @@ public abstract class AbstractCollectionPersister
 			deleteAllCheckStyle = ExecuteUpdateResultCheckStyle.NONE;
 		}
 
-		sqlSelectSizeString = generateSelectSizeString( collection.isIndexed() && !collection.isMap() );
-		sqlDetectRowByIndexString = generateDetectRowByIndexString();
-		sqlDetectRowByElementString = generateDetectRowByElementString();
-		sqlSelectRowByIndexString = generateSelectRowByIndexString();
+		if ( precomputedSql != null ) {
+			sqlSelectSizeString = precomputedSql.get( "selectSize" );
+			sqlDetectRowByIndexString = precomputedSql.get( "detectRowByIndex" );
+			sqlDetectRowByElementString = precomputedSql.get( "detectRowByElement" );
+			sqlSelectRowByIndexString = precomputedSql.get( "selectRowByIndex" );
+		}
+		else {
+			sqlSelectSizeString = generateSelectSizeString( collection.isIndexed() && !collection.isMap() );
+			sqlDetectRowByIndexString = generateDetectRowByIndexString();
+			sqlDetectRowByElementString = generateDetectRowByElementString();
+			sqlSelectRowByIndexString = generateSelectRowByIndexString();
+		}
 
 		logStaticSQL();
 
@@ -671,6 +694,24 @@ public abstract class AbstractCollectionPersister
 				new NamedQueryCollectionInitializer( queryLoaderName, this );
 	}
 
+	/**
+	 * The static SQL generated by the constructor, keyed the way {@link PrecomputedPersisterSql} stores it.
+	 *
+	 * @return The static SQL
+	 */
+	public Map<String, String> getStaticSql() {
+		final Map<String, String> sql = new HashMap<String, String>();
+		sql.put( "insertRow", sqlInsertRowString );
+		sql.put( "updateRow", sqlUpdateRowString );
+		sql.put( "deleteRow", sqlDeleteRowString );
+		sql.put( "delete", sqlDeleteString );
+		sql.put( "selectSize", sqlSelectSizeString );
+		sql.put( "detectRowByIndex", sqlDetectRowByIndexString );
+		sql.put( "detectRowByElement", sqlDetectRowByElementString );
+		sql.put( "selectRowByIndex", sqlSelectRowByIndexString );
+		return sql;
+	}
+
 	protected void logStaticSQL() {
 		if ( LOG.isDebugEnabled() ) {
 			LOG.debugf( "Static SQL for collection: %s", getRole() );
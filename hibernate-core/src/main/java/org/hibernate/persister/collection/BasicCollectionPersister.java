@@ -45,6 +45,7 @@ import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.jdbc.Expectation;
 import org.hibernate.jdbc.Expectations;
 import org.hibernate.loader.collection.BatchingCollectionInitializer;
+import org.hibernate.loader.collection.AdaptiveBatchingCollectionInitializer;
 import org.hibernate.loader.collection.BatchingCollectionInitializerBuilder;
 import org.hibernate.loader.collection.CollectionInitializer;
 import org.hibernate.loader.collection.SubselectCollectionLoader;
@@ -339,6 +340,9 @@ public class BasicCollectionPersister extends AbstractCollectionPersister {
 	@Override
     protected CollectionInitializer createCollectionInitializer(LoadQueryInfluencers loadQueryInfluencers)
 			throws MappingException {
+		if ( adaptiveBatchFetch ) {
+			return new AdaptiveBatchingCollectionInitializer( this, batchSize, getFactory(), loadQueryInfluencers );
+		}
 		return BatchingCollectionInitializerBuilder.getBuilder( getFactory() )
 				.createBatchingCollectionInitializer( this, batchSize, getFactory(), loadQueryInfluencers );
 	}
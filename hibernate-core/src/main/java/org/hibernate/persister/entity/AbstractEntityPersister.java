@@ -36,6 +36,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.hibernate.AssertionFailure;
 import org.hibernate.EntityMode;
@@ -55,6 +56,7 @@ import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
 import org.hibernate.cache.spi.entry.CacheEntry;
 import org.hibernate.cache.spi.entry.CacheEntryStructure;
+import org.hibernate.cache.spi.entry.CompactCacheEntry;
 import org.hibernate.cache.spi.entry.ReferenceCacheEntryImpl;
 import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
 import org.hibernate.cache.spi.entry.StructuredCacheEntry;
@@ -91,6 +93,7 @@ import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.jdbc.Expectation;
 import org.hibernate.jdbc.Expectations;
 import org.hibernate.jdbc.TooManyRowsAffectedException;
+import org.hibernate.loader.entity.AdaptiveBatchingEntityLoader;
 import org.hibernate.loader.entity.BatchingEntityLoaderBuilder;
 import org.hibernate.loader.entity.CascadeEntityLoader;
 import org.hibernate.loader.entity.EntityLoader;
@@ -108,6 +111,7 @@ import org.hibernate.metamodel.binding.SimpleValueBinding;
 import org.hibernate.metamodel.binding.SingularAttributeBinding;
 import org.hibernate.metamodel.relational.DerivedValue;
 import org.hibernate.metamodel.relational.Value;
+import org.hibernate.persister.internal.PrecomputedPersisterSql;
 import org.hibernate.persister.walking.internal.EntityIdentifierDefinitionHelper;
 import org.hibernate.persister.walking.spi.AttributeDefinition;
 import org.hibernate.persister.walking.spi.EntityIdentifierDefinition;
@@ -166,6 +170,7 @@ public abstract class AbstractEntityPersister
 	private final String versionColumnName;
 	private final boolean hasFormulaProperties;
 	private final int batchSize;
+	private final boolean adaptiveBatchFetch;
 	private final boolean hasSubselectLoadableCollections;
 	protected final String rowIdName;
 
@@ -231,7 +236,7 @@ public abstract class AbstractEntityPersister
 
 	private final Map uniqueKeyLoaders = new HashMap();
 	private final Map lockers = new HashMap();
-	private final Map loaders = new HashMap();
+	private final Map loaders = new ConcurrentHashMap();
 
 	// SQL strings
 	private String sqlVersionSelectString;
@@ -511,10 +516,16 @@ public abstract class AbstractEntityPersister
 		// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
 		int batch = persistentClass.getBatchSize();
+		boolean adaptiveBatch = false;
 		if ( batch == -1 ) {
 			batch = factory.getSettings().getDefaultBatchFetchSize();
+			if ( batch <= 1 && factory.getSettings().getAdaptiveBatchFetchSize() > 1 ) {
+				batch = factory.getSettings().getAdaptiveBatchFetchSize();
+				adaptiveBatch = true;
+			}
 		}
 		batchSize = batch;
+		adaptiveBatchFetch = adaptiveBatch;
 		hasSubselectLoadableCollections = persistentClass.hasSubselectLoadableCollections();
 
 		propertyMapping = new BasicEntityPropertyMapping( this );
@@ -795,6 +806,10 @@ public abstract class AbstractEntityPersister
 			return new ReferenceCacheEntryHelper( this );
 		}
 
+		if ( factory.getSettings().isCompactCacheEntriesEnabled() ) {
+			return new StandardCacheEntryHelper( this, CompactCacheEntry.INSTANCE );
+		}
+
 		return factory.getSettings().isStructuredCacheEntriesEnabled()
 				? new StructuredCacheEntryHelper( this )
 				: new StandardCacheEntryHelper( this );
@@ -839,10 +854,16 @@ public abstract class AbstractEntityPersister
 		this.entityMetamodel = new EntityMetamodel( entityBinding, this, factory );
 		this.entityTuplizer = this.entityMetamodel.getTuplizer();
 		int batch = entityBinding.getBatchSize();
+		boolean adaptiveBatch = false;
 		if ( batch == -1 ) {
 			batch = factory.getSettings().getDefaultBatchFetchSize();
+			if ( batch <= 1 && factory.getSettings().getAdaptiveBatchFetchSize() > 1 ) {
+				batch = factory.getSettings().getAdaptiveBatchFetchSize();
+				adaptiveBatch = true;
+			}
 		}
 		batchSize = batch;
+		adaptiveBatchFetch = adaptiveBatch;
 		hasSubselectLoadableCollections = entityBinding.hasSubselectLoadableCollections();
 
 		propertyMapping = new BasicEntityPropertyMapping( this );
@@ -2483,6 +2504,9 @@ public abstract class AbstractEntityPersister
 			LockMode lockMode,
 			LoadQueryInfluencers loadQueryInfluencers) throws MappingException {
 		//TODO: disable batch loading if lockMode > READ?
+		if ( adaptiveBatchFetch ) {
+			return new AdaptiveBatchingEntityLoader( this, batchSize, lockMode, getFactory(), loadQueryInfluencers );
+		}
 		return BatchingEntityLoaderBuilder.getBuilder( getFactory() )
 				.buildLoader( this, batchSize, lockMode, getFactory(), loadQueryInfluencers );
 	}
@@ -2491,6 +2515,9 @@ public abstract class AbstractEntityPersister
 			LockOptions lockOptions,
 			LoadQueryInfluencers loadQueryInfluencers) throws MappingException {
 		//TODO: disable batch loading if lockMode > READ?
+		if ( adaptiveBatchFetch ) {
+			return new AdaptiveBatchingEntityLoader( this, batchSize, lockOptions, getFactory(), loadQueryInfluencers );
+		}
 		return BatchingEntityLoaderBuilder.getBuilder( getFactory() )
 				.buildLoader( this, batchSize, lockOptions, getFactory(), loadQueryInfluencers );
 	}
@@ -3775,26 +3802,40 @@ public abstract class AbstractEntityPersister
 		sqlUpdateStrings = new String[joinSpan];
 		sqlLazyUpdateStrings = new String[joinSpan];
 
-		sqlUpdateByRowIdString = rowIdName == null ?
-				null :
-				generateUpdateString( getPropertyUpdateability(), 0, true );
-		sqlLazyUpdateByRowIdString = rowIdName == null ?
-				null :
-				generateUpdateString( getNonLazyPropertyUpdateability(), 0, true );
-
-		for ( int j = 0; j < joinSpan; j++ ) {
-			sqlInsertStrings[j] = customSQLInsert[j] == null ?
-					generateInsertString( getPropertyInsertability(), j ) :
-					customSQLInsert[j];
-			sqlUpdateStrings[j] = customSQLUpdate[j] == null ?
-					generateUpdateString( getPropertyUpdateability(), j, false ) :
-					customSQLUpdate[j];
-			sqlLazyUpdateStrings[j] = customSQLUpdate[j] == null ?
-					generateUpdateString( getNonLazyPropertyUpdateability(), j, false ) :
-					customSQLUpdate[j];
-			sqlDeleteStrings[j] = customSQLDelete[j] == null ?
-					generateDeleteString( j ) :
-					customSQLDelete[j];
+		final Map<String, String> precomputedSql = locatePrecomputedSql();
+		if ( precomputedSql != null ) {
+			// generated ahead of time from this same mapping, see PrecomputedPersisterSql
+			sqlUpdateByRowIdString = precomputedSql.get( "updateByRowId" );
+			sqlLazyUpdateByRowIdString = precomputedSql.get( "lazyUpdateByRowId" );
+			for ( int j = 0; j < joinSpan; j++ ) {
+				sqlInsertStrings[j] = precomputedSql.get( "insert." + j );
+				sqlUpdateStrings[j] = precomputedSql.get( "update." + j );
+				sqlLazyUpdateStrings[j] = precomputedSql.get( "lazyUpdate." + j );
+				sqlDeleteStrings[j] = precomputedSql.get( "delete." + j );
+			}
+		}
+		else {
+			sqlUpdateByRowIdString = rowIdName == null ?
+					null :
+					generateUpdateString( getPropertyUpdateability(), 0, true );
+			sqlLazyUpdateByRowIdString = rowIdName == null ?
+					null :
+					generateUpdateString( getNonLazyPropertyUpdateability(), 0, true );
+
+			for ( int j = 0; j < joinSpan; j++ ) {
+				sqlInsertStrings[j] = customSQLInsert[j] == null ?
+						generateInsertString( getPropertyInsertability(), j ) :
+						customSQLInsert[j];
+				sqlUpdateStrings[j] = customSQLUpdate[j] == null ?
+						generateUpdateString( getPropertyUpdateability(), j, false ) :
+						customSQLUpdate[j];
+				sqlLazyUpdateStrings[j] = customSQLUpdate[j] == null ?
+						generateUpdateString( getNonLazyPropertyUpdateability(), j, false ) :
+						customSQLUpdate[j];
+				sqlDeleteStrings[j] = customSQLDelete[j] == null ?
+						generateDeleteString( j ) :
+						customSQLDelete[j];
+			}
 		}
 
 		tableHasColumns = new boolean[joinSpan];
@@ -3803,21 +3844,35 @@ public abstract class AbstractEntityPersister
 		}
 
 		//select SQL
-		sqlSnapshotSelectString = generateSnapshotSelectString();
-		sqlLazySelectString = generateLazySelectString();
-		sqlVersionSelectString = generateSelectVersionString();
-		if ( hasInsertGeneratedProperties() ) {
-			sqlInsertGeneratedValuesSelectString = generateInsertGeneratedValuesSelectString();
+		if ( precomputedSql != null ) {
+			sqlSnapshotSelectString = precomputedSql.get( "snapshotSelect" );
+			sqlLazySelectString = precomputedSql.get( "lazySelect" );
+			sqlVersionSelectString = precomputedSql.get( "versionSelect" );
+			sqlInsertGeneratedValuesSelectString = precomputedSql.get( "insertGeneratedValuesSelect" );
+			sqlUpdateGeneratedValuesSelectString = precomputedSql.get( "updateGeneratedValuesSelect" );
 		}
-		if ( hasUpdateGeneratedProperties() ) {
-			sqlUpdateGeneratedValuesSelectString = generateUpdateGeneratedValuesSelectString();
+		else {
+			sqlSnapshotSelectString = generateSnapshotSelectString();
+			sqlLazySelectString = generateLazySelectString();
+			sqlVersionSelectString = generateSelectVersionString();
+			if ( hasInsertGeneratedProperties() ) {
+				sqlInsertGeneratedValuesSelectString = generateInsertGeneratedValuesSelectString();
+			}
+			if ( hasUpdateGeneratedProperties() ) {
+				sqlUpdateGeneratedValuesSelectString = generateUpdateGeneratedValuesSelectString();
+			}
 		}
 		if ( isIdentifierAssignedByInsert() ) {
 			identityDelegate = ( ( PostInsertIdentifierGenerator ) getIdentifierGenerator() )
 					.getInsertGeneratedIdentifierDelegate( this, getFactory().getDialect(), useGetGeneratedKeys() );
-			sqlIdentityInsertString = customSQLInsert[0] == null
-					? generateIdentityInsertString( getPropertyInsertability() )
-					: customSQLInsert[0];
+			if ( precomputedSql != null ) {
+				sqlIdentityInsertString = precomputedSql.get( "identityInsert" );
+			}
+			else {
+				sqlIdentityInsertString = customSQLInsert[0] == null
+						? generateIdentityInsertString( getPropertyInsertability() )
+						: customSQLInsert[0];
+			}
 		}
 		else {
 			sqlIdentityInsertString = null;
@@ -3827,6 +3882,35 @@ public abstract class AbstractEntityPersister
 
 	}
 
+	private Map<String, String> locatePrecomputedSql() {
+		final PrecomputedPersisterSql precomputedSql = getFactory().getSettings().getPrecomputedPersisterSql();
+		return precomputedSql == null ? null : precomputedSql.getSql( getEntityName() );
+	}
+
+	/**
+	 * The static SQL generated by {@link #postConstruct}, keyed the way {@link PrecomputedPersisterSql} stores it.
+	 *
+	 * @return The static SQL
+	 */
+	public Map<String, String> getStaticSql() {
+		final Map<String, String> sql = new HashMap<String, String>();
+		sql.put( "updateByRowId", sqlUpdateByRowIdString );
+		sql.put( "lazyUpdateByRowId", sqlLazyUpdateByRowIdString );
+		for ( int j = 0; j < getTableSpan(); j++ ) {
+			sql.put( "insert." + j, sqlInsertStrings[j] );
+			sql.put( "update." + j, sqlUpdateStrings[j] );
+			sql.put( "lazyUpdate." + j, sqlLazyUpdateStrings[j] );
+			sql.put( "delete." + j, sqlDeleteStrings[j] );
+		}
+		sql.put( "snapshotSelect", sqlSnapshotSelectString );
+		sql.put( "lazySelect", sqlLazySelectString );
+		sql.put( "versionSelect", sqlVersionSelectString );
+		sql.put( "insertGeneratedValuesSelect", sqlInsertGeneratedValuesSelectString );
+		sql.put( "updateGeneratedValuesSelect", sqlUpdateGeneratedValuesSelectString );
+		sql.put( "identityInsert", sqlIdentityInsertString );
+		return sql;
+	}
+
 	public void postInstantiate() throws MappingException {
 		generateEntityDefinition();
 
@@ -3842,70 +3926,75 @@ public abstract class AbstractEntityPersister
 
 	//Relational based Persisters should be content with this implementation
 	protected void createLoaders() {
+		// only the loaders used by (nearly) every application are built up front; the ones for the other lock modes
+		// and for the internal fetch profiles each generate their own SQL and are rarely used, so they are only
+		// built on first use (see #getLoader)
 		final Map loaders = getLoaders();
 		loaders.put( LockMode.NONE, createEntityLoader( LockMode.NONE ) );
+		loaders.put( LockMode.READ, createEntityLoader( LockMode.READ ) );
+	}
 
-		UniqueEntityLoader readLoader = createEntityLoader( LockMode.READ );
-		loaders.put( LockMode.READ, readLoader );
-
-		//TODO: inexact, what we really need to know is: are any outer joins used?
-		boolean disableForUpdate = getSubclassTableSpan() > 1 &&
-				hasSubclasses() &&
-				!getFactory().getDialect().supportsOuterJoinForUpdate();
+	/**
+	 * Locate the loader for the given lock mode or internal fetch profile name, building it if this is the
+	 * first time it is needed.
+	 *
+	 * @param key The {@link LockMode}, or the internal fetch profile name ("merge" or "refresh")
+	 *
+	 * @return The loader, or {@code null} if there is none for the given key
+	 */
+	protected UniqueEntityLoader getLoader(Object key) {
+		final Map loaders = getLoaders();
+		UniqueEntityLoader loader = (UniqueEntityLoader) loaders.get( key );
+		if ( loader == null ) {
+			synchronized ( loaders ) {
+				loader = (UniqueEntityLoader) loaders.get( key );
+				if ( loader == null ) {
+					loader = createLoader( key );
+					if ( loader != null ) {
+						loaders.put( key, loader );
+					}
+				}
+			}
+		}
+		return loader;
+	}
 
-		loaders.put(
-				LockMode.UPGRADE,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.UPGRADE )
-			);
-		loaders.put(
-				LockMode.UPGRADE_NOWAIT,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.UPGRADE_NOWAIT )
-			);
-		loaders.put(
-				LockMode.UPGRADE_SKIPLOCKED,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.UPGRADE_SKIPLOCKED )
-			);
-		loaders.put(
-				LockMode.FORCE,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.FORCE )
-			);
-		loaders.put(
-				LockMode.PESSIMISTIC_READ,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.PESSIMISTIC_READ )
-			);
-		loaders.put(
-				LockMode.PESSIMISTIC_WRITE,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.PESSIMISTIC_WRITE )
-			);
-		loaders.put(
-				LockMode.PESSIMISTIC_FORCE_INCREMENT,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.PESSIMISTIC_FORCE_INCREMENT )
-			);
-		loaders.put( LockMode.OPTIMISTIC, createEntityLoader( LockMode.OPTIMISTIC) );
-		loaders.put( LockMode.OPTIMISTIC_FORCE_INCREMENT, createEntityLoader(LockMode.OPTIMISTIC_FORCE_INCREMENT) );
+	private UniqueEntityLoader createLoader(Object key) {
+		if ( "merge".equals( key ) ) {
+			return new CascadeEntityLoader( this, CascadingActions.MERGE, getFactory() );
+		}
+		if ( "refresh".equals( key ) ) {
+			return new CascadeEntityLoader( this, CascadingActions.REFRESH, getFactory() );
+		}
+		if ( !( key instanceof LockMode ) ) {
+			return null;
+		}
 
-		loaders.put(
-				"merge",
-				new CascadeEntityLoader( this, CascadingActions.MERGE, getFactory() )
-			);
-		loaders.put(
-				"refresh",
-				new CascadeEntityLoader( this, CascadingActions.REFRESH, getFactory() )
-			);
+		final LockMode lockMode = (LockMode) key;
+		switch ( lockMode ) {
+			case UPGRADE:
+			case UPGRADE_NOWAIT:
+			case UPGRADE_SKIPLOCKED:
+			case FORCE:
+			case PESSIMISTIC_READ:
+			case PESSIMISTIC_WRITE:
+			case PESSIMISTIC_FORCE_INCREMENT: {
+				//TODO: inexact, what we really need to know is: are any outer joins used?
+				boolean disableForUpdate = getSubclassTableSpan() > 1 &&
+						hasSubclasses() &&
+						!getFactory().getDialect().supportsOuterJoinForUpdate();
+				return disableForUpdate ? getLoader( LockMode.READ ) : createEntityLoader( lockMode );
+			}
+			case NONE:
+			case READ:
+			case OPTIMISTIC:
+			case OPTIMISTIC_FORCE_INCREMENT: {
+				return createEntityLoader( lockMode );
+			}
+			default: {
+				return null;
+			}
+		}
 	}
 
 	protected void createQueryLoader() {
@@ -3971,7 +4060,7 @@ public abstract class AbstractEntityPersister
 			// Next, we consider whether an 'internal' fetch profile has been set.
 			// This indicates a special fetch profile Hibernate needs applied
 			// (for its merge loading process e.g.).
-			return ( UniqueEntityLoader ) getLoaders().get( session.getLoadQueryInfluencers().getInternalFetchProfile() );
+			return getLoader( session.getLoadQueryInfluencers().getInternalFetchProfile() );
 		}
 		else if ( isAffectedByEnabledFetchProfiles( session ) ) {
 			// If the session has associated influencers we need to adjust the
@@ -3982,7 +4071,7 @@ public abstract class AbstractEntityPersister
 			return createEntityLoader( lockOptions, session.getLoadQueryInfluencers() );
 		}
 		else {
-			return ( UniqueEntityLoader ) getLoaders().get( lockOptions.getLockMode() );
+			return getLoader( lockOptions.getLockMode() );
 		}
 	}
 
@@ -5001,14 +5090,20 @@ public abstract class AbstractEntityPersister
 
 	private static class StandardCacheEntryHelper implements CacheEntryHelper {
 		private final EntityPersister persister;
+		private final CacheEntryStructure structure;
 
 		private StandardCacheEntryHelper(EntityPersister persister) {
+			this( persister, UnstructuredCacheEntry.INSTANCE );
+		}
+
+		private StandardCacheEntryHelper(EntityPersister persister, CacheEntryStructure structure) {
 			this.persister = persister;
+			this.structure = structure;
 		}
 
 		@Override
 		public CacheEntryStructure getCacheEntryStructure() {
-			return UnstructuredCacheEntry.INSTANCE;
+			return structure;
 		}
 
 		@Override
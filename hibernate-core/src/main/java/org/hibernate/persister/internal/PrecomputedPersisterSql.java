@@ -0,0 +1,306 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.persister.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Version;
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * The static SQL of the entity and collection persisters (insert/update/delete and the simple selects), generated
+ * ahead of time by {@link org.hibernate.tool.precompute.PersisterSqlExporter} so that the persisters can skip
+ * generating it while the SessionFactory is built.
+ * <p/>
+ * The SQL is stored as a properties resource, valid for one Hibernate version, Dialect and SQL comment setting,
+ * together with the {@link org.hibernate.cfg.Configuration#getMappingFingerprint() fingerprint} of the mappings it
+ * was generated from; if the mappings changed since, all persisters simply generate their SQL as usual.
+ * <p/>
+ * The SQL can also be {@link #capture captured} from a running SessionFactory, which is how
+ * {@link org.hibernate.cfg.MultiSessionFactoryBuilder} reuses it between the SessionFactories it builds.
+ */
+public class PrecomputedPersisterSql {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			PrecomputedPersisterSql.class.getName()
+	);
+
+	private static final String VERSION_KEY = "#version";
+	private static final String DIALECT_KEY = "#dialect";
+	private static final String COMMENTS_KEY = "#comments";
+	private static final String MAPPING_KEY = "#mapping";
+	private static final char SEPARATOR = '|';
+
+	private final Map<String, Map<String, String>> sqlByRole;
+	private final String dialectName;
+	private final boolean commentsEnabled;
+	private final String mappingFingerprint;
+
+	private PrecomputedPersisterSql(
+			Map<String, Map<String, String>> sqlByRole,
+			String dialectName,
+			boolean commentsEnabled,
+			String mappingFingerprint) {
+		this.sqlByRole = sqlByRole;
+		this.dialectName = dialectName;
+		this.commentsEnabled = commentsEnabled;
+		this.mappingFingerprint = mappingFingerprint;
+	}
+
+	/**
+	 * Load the precomputed SQL from the named resource.
+	 *
+	 * @param resourceName The resource name
+	 * @param classLoaderService The service to locate the resource with
+	 * @param dialect The Dialect in use
+	 * @param commentsEnabled Whether SQL comments are enabled
+	 *
+	 * @return The precomputed SQL, or {@code null} if the resource is missing or was generated for a different
+	 * Hibernate version, Dialect or comment setting.
+	 */
+	public static PrecomputedPersisterSql load(
+			String resourceName,
+			ClassLoaderService classLoaderService,
+			Dialect dialect,
+			boolean commentsEnabled) {
+		final InputStream stream = classLoaderService.locateResourceStream( resourceName );
+		if ( stream == null ) {
+			LOG.warnf( "Precomputed persister SQL resource [%s] not found, generating the SQL", resourceName );
+			return null;
+		}
+
+		final Properties properties = new Properties();
+		try {
+			try {
+				properties.load( stream );
+			}
+			finally {
+				stream.close();
+			}
+		}
+		catch ( IOException e ) {
+			throw new HibernateException( "Unable to read precomputed persister SQL resource [" + resourceName + "]", e );
+		}
+
+		if ( !Version.getVersionString().equals( properties.getProperty( VERSION_KEY ) )
+				|| !isApplicable(
+						properties.getProperty( DIALECT_KEY ),
+						Boolean.valueOf( properties.getProperty( COMMENTS_KEY ) ),
+						dialect,
+						commentsEnabled
+				) ) {
+			LOG.warnf(
+					"Precomputed persister SQL resource [%s] was generated for a different Hibernate version, Dialect " +
+							"or SQL comment setting, generating the SQL",
+					resourceName
+			);
+			return null;
+		}
+
+		final Map<String, Map<String, String>> sqlByRole = new HashMap<String, Map<String, String>>();
+		for ( String key : properties.stringPropertyNames() ) {
+			final int separator = key.lastIndexOf( SEPARATOR );
+			if ( key.startsWith( "#" ) || separator < 0 ) {
+				continue;
+			}
+			final String role = key.substring( 0, separator );
+			Map<String, String> sql = sqlByRole.get( role );
+			if ( sql == null ) {
+				sql = new HashMap<String, String>();
+				sqlByRole.put( role, sql );
+			}
+			sql.put( key.substring( separator + 1 ), properties.getProperty( key ) );
+		}
+		LOG.debugf( "Loaded precomputed SQL of %s persisters from [%s]", sqlByRole.size(), resourceName );
+		return new PrecomputedPersisterSql(
+				sqlByRole,
+				dialect.getClass().getName(),
+				commentsEnabled,
+				properties.getProperty( MAPPING_KEY )
+		);
+	}
+
+	/**
+	 * Capture the static SQL of all the persisters of the given SessionFactory, so that SessionFactories built
+	 * later from the same {@link org.hibernate.cfg.Configuration} can reuse it without going through a resource.
+	 *
+	 * @param factory The SessionFactory
+	 *
+	 * @return The captured SQL
+	 */
+	public static PrecomputedPersisterSql capture(SessionFactoryImplementor factory) {
+		final Map<String, Map<String, String>> sqlByRole = new HashMap<String, Map<String, String>>();
+		for ( Map.Entry<String, Map<String, String>> entry : collectStaticSql( factory ).entrySet() ) {
+			final Map<String, String> sql = new HashMap<String, String>();
+			for ( Map.Entry<String, String> sqlEntry : entry.getValue().entrySet() ) {
+				if ( sqlEntry.getValue() != null ) {
+					sql.put( sqlEntry.getKey(), sqlEntry.getValue() );
+				}
+			}
+			sqlByRole.put( entry.getKey(), sql );
+		}
+		return new PrecomputedPersisterSql(
+				sqlByRole,
+				factory.getDialect().getClass().getName(),
+				factory.getSettings().isCommentsEnabled(),
+				null
+		);
+	}
+
+	/**
+	 * Can this SQL be used by a SessionFactory with the given Dialect and SQL comment setting?
+	 *
+	 * @param dialect The Dialect in use
+	 * @param commentsEnabled Whether SQL comments are enabled
+	 *
+	 * @return {@code true} if the SQL was generated for that Dialect and comment setting
+	 */
+	public boolean isApplicable(Dialect dialect, boolean commentsEnabled) {
+		return isApplicable( dialectName, this.commentsEnabled, dialect, commentsEnabled );
+	}
+
+	private static boolean isApplicable(
+			String generatedDialectName,
+			boolean generatedCommentsEnabled,
+			Dialect dialect,
+			boolean commentsEnabled) {
+		return dialect.getClass().getName().equals( generatedDialectName ) && generatedCommentsEnabled == commentsEnabled;
+	}
+
+	/**
+	 * Was this SQL generated from the mappings with the given fingerprint?  SQL {@link #capture captured} from a
+	 * SessionFactory carries no fingerprint, and is only shared between SessionFactories built from the same
+	 * {@link org.hibernate.cfg.Configuration}.
+	 *
+	 * @param mappingFingerprint The {@link org.hibernate.cfg.Configuration#getMappingFingerprint() fingerprint} of
+	 * the current mappings
+	 *
+	 * @return {@code true} if the SQL was generated from the same mappings
+	 */
+	public boolean isGeneratedFrom(String mappingFingerprint) {
+		return this.mappingFingerprint != null && this.mappingFingerprint.equals( mappingFingerprint );
+	}
+
+	/**
+	 * Locate the precomputed SQL of an entity or collection persister.
+	 *
+	 * @param role The entity name or collection role
+	 *
+	 * @return The SQL strings by kind (SQL which is {@code null} for the persister is absent), or {@code null} if
+	 * there is no precomputed SQL for the persister.
+	 */
+	public Map<String, String> getSql(String role) {
+		final Map<String, String> sql = sqlByRole.get( role );
+		return sql == null ? null : Collections.unmodifiableMap( sql );
+	}
+
+	/**
+	 * Write the static SQL of all the persisters of the given SessionFactory, in the format read by {@link #load}.
+	 *
+	 * @param factory The SessionFactory
+	 * @param mappingFingerprint The {@link org.hibernate.cfg.Configuration#getMappingFingerprint() fingerprint} of
+	 * the mappings the SessionFactory was built from
+	 * @param outputStream The stream to write to
+	 *
+	 * @throws IOException Indicates a problem writing to the stream
+	 */
+	public static void write(SessionFactoryImplementor factory, String mappingFingerprint, OutputStream outputStream)
+			throws IOException {
+		final Properties properties = new Properties();
+		for ( Map.Entry<String, Map<String, String>> entry : collectStaticSql( factory ).entrySet() ) {
+			addEntries( properties, entry.getKey(), entry.getValue() );
+		}
+		properties.setProperty( VERSION_KEY, Version.getVersionString() );
+		properties.setProperty( DIALECT_KEY, factory.getDialect().getClass().getName() );
+		properties.setProperty( COMMENTS_KEY, String.valueOf( factory.getSettings().isCommentsEnabled() ) );
+		properties.setProperty( MAPPING_KEY, mappingFingerprint );
+
+		// write the entries sorted by key, to keep the output stable so the resource can be kept under version
+		// control; Properties still does the escaping, one entry at a time
+		final List<String> keys = new ArrayList<String>( properties.stringPropertyNames() );
+		Collections.sort( keys );
+		final StringBuilder buf = new StringBuilder( "#Precomputed persister SQL, generated by Hibernate " )
+				.append( Version.getVersionString() )
+				.append( '\n' );
+		for ( String key : keys ) {
+			final Properties entry = new Properties();
+			entry.setProperty( key, properties.getProperty( key ) );
+			final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			entry.store( buffer, null );
+			for ( String line : buffer.toString( "ISO-8859-1" ).split( "\\r?\\n" ) ) {
+				// skip the timestamp comment
+				if ( line.length() > 0 && !line.startsWith( "#" ) ) {
+					buf.append( line ).append( '\n' );
+				}
+			}
+		}
+		outputStream.write( buf.toString().getBytes( "ISO-8859-1" ) );
+		outputStream.flush();
+	}
+
+	private static Map<String, Map<String, String>> collectStaticSql(SessionFactoryImplementor factory) {
+		final Map<String, Map<String, String>> sqlByRole = new HashMap<String, Map<String, String>>();
+		for ( EntityPersister persister : factory.getEntityPersisters().values() ) {
+			if ( persister instanceof AbstractEntityPersister ) {
+				sqlByRole.put( persister.getEntityName(), ( (AbstractEntityPersister) persister ).getStaticSql() );
+			}
+		}
+		for ( Object persister : factory.getCollectionPersisters().values() ) {
+			if ( persister instanceof AbstractCollectionPersister ) {
+				sqlByRole.put(
+						( (CollectionPersister) persister ).getRole(),
+						( (AbstractCollectionPersister) persister ).getStaticSql()
+				);
+			}
+		}
+		return sqlByRole;
+	}
+
+	private static void addEntries(Properties entries, String role, Map<String, String> sql) {
+		for ( Map.Entry<String, String> entry : sql.entrySet() ) {
+			if ( entry.getValue() != null ) {
+				entries.setProperty( role + SEPARATOR + entry.getKey(), entry.getValue() );
+			}
+		}
+	}
+}
@@ -23,9 +23,14 @@
  */
 package org.hibernate.proxy.pojo.javassist;
 
+import java.io.File;
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 import javassist.util.proxy.MethodFilter;
 import javassist.util.proxy.MethodHandler;
@@ -57,6 +62,8 @@ public class JavassistLazyInitializer extends BasicLazyInitializer implements Me
 		}
 	};
 
+	private static final String PREBUILT_PROXY_SUFFIX = "$HibernateProxy";
+
 	private Class[] interfaces;
 	private boolean constructed = false;
 
@@ -155,12 +162,13 @@ public class JavassistLazyInitializer extends BasicLazyInitializer implements Me
 			Class[] interfaces) throws HibernateException {
 		// note: interfaces is assumed to already contain HibernateProxy.class
 
+		final Class prebuilt = locatePrebuiltProxyClass( persistentClass, interfaces, proxyClassLoader( persistentClass, interfaces ) );
+		if ( prebuilt != null ) {
+			return prebuilt;
+		}
+
 		try {
-			ProxyFactory factory = new ProxyFactory();
-			factory.setSuperclass( interfaces.length == 1 ? persistentClass : null );
-			factory.setInterfaces( interfaces );
-			factory.setFilter( FINALIZE_FILTER );
-			return factory.createClass();
+			return buildProxyFactory( persistentClass, interfaces ).createClass();
 		}
 		catch ( Throwable t ) {
 			LOG.error(LOG.javassistEnhancementFailed(persistentClass.getName()), t);
@@ -168,6 +176,180 @@ public class JavassistLazyInitializer extends BasicLazyInitializer implements Me
 		}
 	}
 
+	private static ProxyFactory buildProxyFactory(Class persistentClass, Class[] interfaces) {
+		ProxyFactory factory = new ProxyFactory();
+		factory.setSuperclass( interfaces.length == 1 ? persistentClass : null );
+		factory.setInterfaces( interfaces );
+		factory.setFilter( FINALIZE_FILTER );
+		return factory;
+	}
+
+	/**
+	 * The name of the proxy class generated at build time for the given entity class.
+	 *
+	 * @param persistentClass The entity class
+	 *
+	 * @return The proxy class name
+	 */
+	public static String prebuiltProxyClassName(Class persistentClass) {
+		return persistentClass.getName() + PREBUILT_PROXY_SUFFIX;
+	}
+
+	/**
+	 * Generate the proxy class for the given entity class and write it, named by
+	 * {@link #prebuiltProxyClassName}, under the given directory so that it can be packaged with the entity.
+	 *
+	 * @param persistentClass The entity class
+	 * @param interfaces The proxy interfaces, see
+	 * {@link org.hibernate.tuple.entity.PojoEntityTuplizer#determineProxyInterfaces}
+	 * @param directory The root directory of the class files
+	 *
+	 * @throws HibernateException Indicates the proxy class could not be generated
+	 */
+	public static void writePrebuiltProxyClass(
+			Class persistentClass,
+			Class[] interfaces,
+			File directory) throws HibernateException {
+		final String proxyClassName = prebuiltProxyClassName( persistentClass );
+		try {
+			final ProxyFactory factory = buildProxyFactory( persistentClass, interfaces );
+			// the class created for the SessionFactory (if any) is cached under another name
+			factory.setUseCache( false );
+			factory.writeDirectory = directory.getAbsolutePath();
+			// the generated name comes from a global strategy, so proxy generation has to be serialized here
+			synchronized ( ProxyFactory.class ) {
+				final ProxyFactory.UniqueName nameGenerator = ProxyFactory.nameGenerator;
+				ProxyFactory.nameGenerator = new ProxyFactory.UniqueName() {
+					@Override
+					public String get(String classname) {
+						return proxyClassName;
+					}
+				};
+				try {
+					factory.createClass();
+				}
+				finally {
+					ProxyFactory.nameGenerator = nameGenerator;
+				}
+			}
+		}
+		catch ( Throwable t ) {
+			LOG.error(LOG.javassistEnhancementFailed(persistentClass.getName()), t);
+			throw new HibernateException(LOG.javassistEnhancementFailed(persistentClass.getName()), t);
+		}
+	}
+
+	/**
+	 * Locate the proxy class generated at build time (see {@link #writePrebuiltProxyClass}) for the given entity
+	 * class, if any.
+	 *
+	 * @param persistentClass The entity class
+	 * @param interfaces The proxy interfaces
+	 * @param classLoader The class loader to look the proxy class up with
+	 *
+	 * @return The proxy class, or {@code null} if there is none, or if it is stale (the entity class or the proxy
+	 * interfaces changed since it was generated)
+	 */
+	public static Class locatePrebuiltProxyClass(Class persistentClass, Class[] interfaces, ClassLoader classLoader) {
+		if ( classLoader == null ) {
+			return null;
+		}
+		final String proxyClassName = prebuiltProxyClassName( persistentClass );
+		final Class proxyClass;
+		try {
+			proxyClass = Class.forName( proxyClassName, false, classLoader );
+		}
+		catch ( ClassNotFoundException e ) {
+			return null;
+		}
+		catch ( LinkageError e ) {
+			LOG.debugf( "Unable to load prebuilt proxy class %s, generating it : %s", proxyClassName, e );
+			return null;
+		}
+
+		if ( !ProxyObject.class.isAssignableFrom( proxyClass )
+				|| !implementsAll( proxyClass, interfaces )
+				|| ( interfaces.length == 1 && proxyClass.getSuperclass() != persistentClass )
+				|| !overridesAllMethods( proxyClass, interfaces.length == 1 ? persistentClass : null, interfaces ) ) {
+			LOG.debugf( "Prebuilt proxy class %s is out of date, generating it", proxyClassName );
+			return null;
+		}
+		LOG.tracef( "Using prebuilt proxy class %s", proxyClassName );
+		return proxyClass;
+	}
+
+	private static boolean implementsAll(Class proxyClass, Class[] interfaces) {
+		// HibernateProxy as well as the mapped proxy interface, else the proxy cannot be used where they are expected
+		for ( Class anInterface : interfaces ) {
+			if ( !anInterface.isAssignableFrom( proxyClass ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static ClassLoader proxyClassLoader(Class persistentClass, Class[] interfaces) {
+		// the same loader javassist defines the proxy class with
+		return interfaces.length == 1 ? persistentClass.getClassLoader() : interfaces[0].getClassLoader();
+	}
+
+	/**
+	 * Whether the proxy class intercepts every method a proxy generated now would.  Methods declared by
+	 * {@link Object} are left out, as they cannot change.
+	 */
+	private static boolean overridesAllMethods(Class proxyClass, Class superclass, Class[] interfaces) {
+		// including the return type: a covariant override is a different method, which must be overridden in turn
+		final Set<String> overridden = new HashSet<String>();
+		for ( Method method : proxyClass.getDeclaredMethods() ) {
+			overridden.add( signature( method ) );
+		}
+		final Set<String> checked = new HashSet<String>();
+		for ( Class anInterface : interfaces ) {
+			for ( Method method : anInterface.getMethods() ) {
+				if ( !isOverridden( overridden, method, checked ) ) {
+					return false;
+				}
+			}
+		}
+		final Package proxyPackage = proxyClass.getPackage();
+		for ( Class clazz = superclass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass() ) {
+			for ( Method method : clazz.getDeclaredMethods() ) {
+				final int modifiers = method.getModifiers();
+				if ( Modifier.isStatic( modifiers ) || Modifier.isPrivate( modifiers ) || method.isSynthetic() ) {
+					continue;
+				}
+				if ( Modifier.isFinal( modifiers ) ) {
+					// cannot be overridden, nor can the methods it overrides
+					checked.add( signature( method ) );
+					continue;
+				}
+				if ( !Modifier.isPublic( modifiers ) && !Modifier.isProtected( modifiers )
+						&& clazz.getPackage() != proxyPackage ) {
+					continue;
+				}
+				if ( !FINALIZE_FILTER.isHandled( method ) ) {
+					continue;
+				}
+				if ( !isOverridden( overridden, method, checked ) ) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private static boolean isOverridden(Set<String> overridden, Method method, Set<String> checked) {
+		final String signature = signature( method );
+		if ( !checked.add( signature ) ) {
+			return true;
+		}
+		return overridden.contains( signature ) || method.getDeclaringClass() == Object.class;
+	}
+
+	private static String signature(Method method) {
+		return method.getReturnType().getName() + ' ' + method.getName() + Arrays.toString( method.getParameterTypes() );
+	}
+
 	@Override
 	public Object invoke(
 			final Object proxy,
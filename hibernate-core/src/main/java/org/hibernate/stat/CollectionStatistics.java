@@ -41,4 +41,15 @@ public interface CollectionStatistics extends Serializable {
 	long getRemoveCount();
 
 	long getUpdateCount();
+
+	/**
+	 * The largest batch size adaptive batch fetching had to grow to when initializing collections of this
+	 * role, which makes a good candidate for a static batch size in the mapping.  {@code 0} if adaptive
+	 * batch fetching is disabled, or never needed to batch.
+	 *
+	 * @return The suggested batch size
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#ADAPTIVE_BATCH_FETCH_SIZE
+	 */
+	int getSuggestedBatchSize();
 }
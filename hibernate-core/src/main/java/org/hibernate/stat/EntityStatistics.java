@@ -43,4 +43,23 @@ public interface EntityStatistics extends Serializable {
 
 	long getOptimisticFailureCount();
 
+	/**
+	 * The distribution of the times, in nanoseconds, taken to load an entity of this type
+	 * from the database by its identifier
+	 *
+	 * @return The load time histogram
+	 */
+	LatencyHistogram getDatasourceLoadTimeHistogram();
+
+	/**
+	 * The largest batch size adaptive batch fetching had to grow to when loading entities of this type,
+	 * which makes a good candidate for a static batch size in the mapping.  {@code 0} if adaptive batch
+	 * fetching is disabled, or never needed to batch.
+	 *
+	 * @return The suggested batch size
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#ADAPTIVE_BATCH_FETCH_SIZE
+	 */
+	int getSuggestedBatchSize();
+
 }
@@ -0,0 +1,89 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat;
+
+import java.io.Serializable;
+
+/**
+ * A fixed-size latency distribution, allowing percentile queries in addition to the simple
+ * min/max/average figures exposed elsewhere in the statistics API.
+ * <p/>
+ * Recorded values are bucketed logarithmically, so the value reported for a percentile is
+ * accurate to within a few percent of the real value.  The recorded values are durations in
+ * nanoseconds.
+ */
+public interface LatencyHistogram extends Serializable {
+	/**
+	 * The number of values recorded.
+	 *
+	 * @return The number of values recorded.
+	 */
+	public long getTotalCount();
+
+	/**
+	 * The smallest value recorded, or {@code 0} if nothing was recorded.
+	 *
+	 * @return The smallest recorded value
+	 */
+	public long getMinValue();
+
+	/**
+	 * The largest value recorded, or {@code 0} if nothing was recorded.
+	 *
+	 * @return The largest recorded value
+	 */
+	public long getMaxValue();
+
+	/**
+	 * The arithmetic mean of the recorded values, or {@code 0} if nothing was recorded.
+	 *
+	 * @return The mean value
+	 */
+	public double getMean();
+
+	/**
+	 * The value below which the given percentage of recorded values fall.
+	 *
+	 * @param percentile The percentile, between {@code 0} and {@code 100} (e.g. {@code 99.9})
+	 *
+	 * @return The (approximate) value at that percentile, or {@code 0} if nothing was recorded.
+	 */
+	public long getValueAtPercentile(double percentile);
+
+	/**
+	 * Obtain an immutable copy of the distribution as it currently stands.
+	 *
+	 * @return The snapshot
+	 */
+	public LatencyHistogram getSnapshot();
+
+	/**
+	 * Obtain an immutable view of just the values recorded since the previous call to this
+	 * method (or since the histogram was created, for the first call).  Intended for periodic
+	 * reporting; callers sharing a histogram also share the interval boundaries.
+	 *
+	 * @return The interval snapshot
+	 */
+	public LatencyHistogram getIntervalSnapshot();
+}
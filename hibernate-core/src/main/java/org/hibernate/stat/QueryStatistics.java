@@ -48,4 +48,12 @@ public interface QueryStatistics extends Serializable {
 	long getExecutionMaxTime();
 
 	long getExecutionMinTime();
+
+	/**
+	 * The distribution of the execution times, in nanoseconds, of this query onto the DB.  Query execution times are
+	 * measured in milliseconds, so the recorded values are multiples of a millisecond.
+	 *
+	 * @return The execution time histogram
+	 */
+	LatencyHistogram getExecutionTimeHistogram();
 }
@@ -46,4 +46,11 @@ public interface SecondLevelCacheStatistics extends Serializable {
 	long getSizeInMemory();
 
 	Map getEntries();
+
+	/**
+	 * The distribution of the times, in nanoseconds, taken by lookups (hits and misses) against the region
+	 *
+	 * @return The lookup time histogram
+	 */
+	LatencyHistogram getLookupTimeHistogram();
 }
@@ -0,0 +1,65 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The timeline of work performed by a single session: flushes, SQL statements, lazy initializations and
+ * second-level cache accesses, in the order they happened.  Collected only when
+ * {@link org.hibernate.cfg.AvailableSettings#SESSION_PROFILING} is enabled; obtained either from
+ * {@link ProfiledSessionStatistics#getProfile()} while the session is open or through a
+ * {@link SessionProfileObserver} when it closes.
+ */
+public interface SessionProfile {
+	/**
+	 * The time the session was opened, in ms (JVM standards {@link System#currentTimeMillis()})
+	 *
+	 * @return The session start time
+	 */
+	public long getStartTime();
+
+	/**
+	 * The recorded events, oldest first.
+	 *
+	 * @return The (unmodifiable) list of events
+	 */
+	public List<SessionProfileEvent> getEvents();
+
+	/**
+	 * The number of events which were not recorded because the per-session limit had already been reached.
+	 *
+	 * @return The number of dropped events
+	 */
+	public int getDroppedEventCount();
+
+	/**
+	 * Collection roles and entity names which were lazily initialized one at a time often enough to suggest
+	 * an N+1 select problem, along with the number of such initializations.
+	 *
+	 * @return The (unmodifiable) map of suspect role/entity name to initialization count
+	 */
+	public Map<String,Integer> getNPlusOneSuspects();
+}
@@ -0,0 +1,123 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat;
+
+import java.io.Serializable;
+
+/**
+ * A single entry in a {@link SessionProfile} timeline.
+ */
+public class SessionProfileEvent implements Serializable {
+	/**
+	 * The kinds of recorded events
+	 */
+	public static enum Type {
+		/**
+		 * An explicit or managed flush; the detail is empty.
+		 */
+		FLUSH,
+		/**
+		 * An automatic flush triggered by a query which actually had changes to flush; the detail is empty.
+		 */
+		AUTO_FLUSH,
+		/**
+		 * A SQL statement executed against the database (for a batch, all its rows at once); the detail is the SQL.
+		 */
+		SQL,
+		/**
+		 * A lazy collection being initialized; the detail is the collection role (i.e. the property path).
+		 */
+		COLLECTION_INITIALIZATION,
+		/**
+		 * An entity proxy being initialized; the detail is the entity name.
+		 */
+		PROXY_INITIALIZATION,
+		/**
+		 * A second-level cache lookup which found an entry; the detail is the region name.
+		 */
+		SECOND_LEVEL_CACHE_HIT,
+		/**
+		 * A second-level cache lookup which did not find an entry; the detail is the region name.
+		 */
+		SECOND_LEVEL_CACHE_MISS,
+		/**
+		 * A collection role or entity name was initialized one at a time often enough to be an N+1 select
+		 * suspect; the detail is the role or entity name.  Recorded once per role or entity name.
+		 */
+		N_PLUS_ONE
+	}
+
+	private final Type type;
+	private final long offset;
+	private final long duration;
+	private final String detail;
+
+	public SessionProfileEvent(Type type, long offset, long duration, String detail) {
+		this.type = type;
+		this.offset = offset;
+		this.duration = duration;
+		this.detail = detail;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * When the event started, relative to the opening of the session.
+	 *
+	 * @return The offset, in nanoseconds
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * How long the event took.
+	 *
+	 * @return The duration in nanoseconds, or {@code -1} for events which are not timed
+	 */
+	public long getDuration() {
+		return duration;
+	}
+
+	public String getDetail() {
+		return detail;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder buf = new StringBuilder()
+				.append( "SessionProfileEvent[" )
+				.append( type )
+				.append( ",offset=" ).append( offset );
+		if ( duration >= 0 ) {
+			buf.append( ",duration=" ).append( duration );
+		}
+		if ( detail != null ) {
+			buf.append( ",detail=" ).append( detail );
+		}
+		return buf.append( ']' ).toString();
+	}
+}
@@ -131,6 +131,18 @@ public interface Statistics {
      * Get the global number of cacheable queries put in cache
      */
 	public long getQueryCachePutCount();
+	/**
+	 * Get the global number of query plans (HQL, native SQL and Criteria) found in the query plan cache
+	 */
+	public long getQueryPlanCacheHitCount();
+	/**
+	 * Get the global number of query plans *not* found in the query plan cache, and so compiled.  A miss count
+	 * which keeps growing once the application is warmed up indicates plan cache churn, typically caused by
+	 * queries inlining their literals (see
+	 * {@link org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_PARAMETERIZE_LITERALS}) or a plan cache too small
+	 * for the application's queries.
+	 */
+	public long getQueryPlanCacheMissCount();
 	/**
 	 * Get the global number of naturalId queries executed against the database
 	 */
@@ -23,7 +23,7 @@
  */
 package org.hibernate.stat.internal;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hibernate.stat.CollectionStatistics;
 
@@ -37,11 +37,12 @@ public class ConcurrentCollectionStatisticsImpl extends CategorizedStatistics im
 		super(role);
 	}
 
-	private	AtomicLong loadCount	 = new AtomicLong();
-	private	AtomicLong fetchCount	 = new AtomicLong();
-	private	AtomicLong updateCount	 = new AtomicLong();
-	private	AtomicLong removeCount	 = new AtomicLong();
-	private	AtomicLong recreateCount = new AtomicLong();
+	private	StripedCounter loadCount	 = new StripedCounter();
+	private	StripedCounter fetchCount	 = new StripedCounter();
+	private	StripedCounter updateCount	 = new StripedCounter();
+	private	StripedCounter removeCount	 = new StripedCounter();
+	private	StripedCounter recreateCount = new StripedCounter();
+	private final AtomicInteger suggestedBatchSize = new AtomicInteger();
 
 	public long getLoadCount() {
 		return loadCount.get();
@@ -63,6 +64,10 @@ public class ConcurrentCollectionStatisticsImpl extends CategorizedStatistics im
 		return updateCount.get();
 	}
 
+	public int getSuggestedBatchSize() {
+		return suggestedBatchSize.get();
+	}
+
 	public String toString() {
 		return new StringBuilder()
 				.append("CollectionStatistics")
@@ -71,27 +76,35 @@ public class ConcurrentCollectionStatisticsImpl extends CategorizedStatistics im
 				.append(",recreateCount=").append(this.recreateCount)
 				.append(",removeCount=").append(this.removeCount)
 				.append(",updateCount=").append(this.updateCount)
+				.append(",suggestedBatchSize=").append(this.suggestedBatchSize)
 				.append(']')
 				.toString();
 	}
 
 	void incrementLoadCount() {
-		loadCount.getAndIncrement();
+		loadCount.increment();
 	}
 
 	void incrementFetchCount() {
-		fetchCount.getAndIncrement();
+		fetchCount.increment();
 	}
 
 	void incrementUpdateCount() {
-		updateCount.getAndIncrement();
+		updateCount.increment();
 	}
 
 	void incrementRecreateCount() {
-		recreateCount.getAndIncrement();
+		recreateCount.increment();
 	}
 
 	void incrementRemoveCount() {
-		removeCount.getAndIncrement();
+		removeCount.increment();
+	}
+
+	void batchSizeAdapted(int batchSize) {
+		int old = suggestedBatchSize.get();
+		while ( batchSize > old && !suggestedBatchSize.compareAndSet( old, batchSize ) ) {
+			old = suggestedBatchSize.get();
+		}
 	}
 }
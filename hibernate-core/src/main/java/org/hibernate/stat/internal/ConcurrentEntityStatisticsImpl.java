@@ -23,9 +23,10 @@
  */
 package org.hibernate.stat.internal;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.LatencyHistogram;
 
 /**
  * Entity related statistics
@@ -38,12 +39,14 @@ public class ConcurrentEntityStatisticsImpl extends CategorizedStatistics implem
 		super(name);
 	}
 
-	private	AtomicLong loadCount			  =	new	AtomicLong();
-	private	AtomicLong updateCount			  =	new	AtomicLong();
-	private	AtomicLong insertCount			  =	new	AtomicLong();
-	private	AtomicLong deleteCount			  =	new	AtomicLong();
-	private	AtomicLong fetchCount			  =	new	AtomicLong();
-	private	AtomicLong optimisticFailureCount =	new	AtomicLong();
+	private	StripedCounter loadCount			  =	new	StripedCounter();
+	private	StripedCounter updateCount			  =	new	StripedCounter();
+	private	StripedCounter insertCount			  =	new	StripedCounter();
+	private	StripedCounter deleteCount			  =	new	StripedCounter();
+	private	StripedCounter fetchCount			  =	new	StripedCounter();
+	private	StripedCounter optimisticFailureCount =	new	StripedCounter();
+	private final ConcurrentLatencyHistogram datasourceLoadTimeHistogram = new ConcurrentLatencyHistogram();
+	private final AtomicInteger suggestedBatchSize = new AtomicInteger();
 
 	public long getDeleteCount() {
 		return deleteCount.get();
@@ -69,6 +72,14 @@ public class ConcurrentEntityStatisticsImpl extends CategorizedStatistics implem
 		return optimisticFailureCount.get();
 	}
 
+	public LatencyHistogram getDatasourceLoadTimeHistogram() {
+		return datasourceLoadTimeHistogram;
+	}
+
+	public int getSuggestedBatchSize() {
+		return suggestedBatchSize.get();
+	}
+
 	public String toString() {
 		return new StringBuilder()
 				.append("EntityStatistics")
@@ -78,31 +89,43 @@ public class ConcurrentEntityStatisticsImpl extends CategorizedStatistics implem
 				.append(",deleteCount=").append(this.deleteCount)
 				.append(",fetchCount=").append(this.fetchCount)
 				.append(",optimisticLockFailureCount=").append(this.optimisticFailureCount)
+				.append(",suggestedBatchSize=").append(this.suggestedBatchSize)
 				.append(']')
 				.toString();
 	}
 
 	void incrementLoadCount() {
-		loadCount.getAndIncrement();
+		loadCount.increment();
 	}
 
 	void incrementFetchCount() {
-		fetchCount.getAndIncrement();
+		fetchCount.increment();
 	}
 
 	void incrementUpdateCount() {
-		updateCount.getAndIncrement();
+		updateCount.increment();
 	}
 
 	void incrementInsertCount() {
-		insertCount.getAndIncrement();
+		insertCount.increment();
 	}
 
 	void incrementDeleteCount() {
-		deleteCount.getAndIncrement();
+		deleteCount.increment();
 	}
 
 	void incrementOptimisticFailureCount() {
-		optimisticFailureCount.getAndIncrement();
+		optimisticFailureCount.increment();
+	}
+
+	void loadedFromDatasource(long time) {
+		datasourceLoadTimeHistogram.recordValue( time );
+	}
+
+	void batchSizeAdapted(int batchSize) {
+		int old = suggestedBatchSize.get();
+		while ( batchSize > old && !suggestedBatchSize.compareAndSet( old, batchSize ) ) {
+			old = suggestedBatchSize.get();
+		}
 	}
 }
@@ -0,0 +1,186 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.hibernate.stat.LatencyHistogram;
+
+/**
+ * Lock-free {@link LatencyHistogram} implementation based on the log-linear bucketing scheme
+ * popularized by HdrHistogram.
+ * <p/>
+ * Values below {@code 2^SUB_BUCKET_BITS} each get their own bucket; above that every power of two
+ * is split into {@code 2^(SUB_BUCKET_BITS-1)} linear sub-buckets, which bounds the relative error of
+ * a reported value to roughly 6%.  Values larger than {@code 2^MAX_VALUE_BITS - 1} are clamped,
+ * so the memory footprint is a fixed array of a few hundred counters no matter how many values
+ * get recorded.  Recording a value is a single atomic increment plus (rarely) a min/max CAS.
+ */
+public class ConcurrentLatencyHistogram implements LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+	private static final int MAX_VALUE_BITS = 40;
+	private static final long MAX_VALUE = ( 1L << MAX_VALUE_BITS ) - 1;
+
+	static final int BUCKET_COUNT = bucketIndex( MAX_VALUE ) + 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray( BUCKET_COUNT );
+	private final StripedCounter totalValue = new StripedCounter();
+	private final AtomicLong minValue = new AtomicLong( Long.MAX_VALUE );
+	private final AtomicLong maxValue = new AtomicLong();
+
+	// interval bookkeeping, only touched by readers
+	private long[] intervalStartCounts = new long[BUCKET_COUNT];
+	private long intervalStartTotalValue;
+
+	/**
+	 * Record a single value.  Negative values are ignored.
+	 *
+	 * @param value The value to record
+	 */
+	public void recordValue(long value) {
+		if ( value < 0 ) {
+			return;
+		}
+		final long clamped = value > MAX_VALUE ? MAX_VALUE : value;
+		counts.incrementAndGet( bucketIndex( clamped ) );
+		totalValue.add( clamped );
+		for ( long old = minValue.get(); ( clamped < old ) && !minValue.compareAndSet( old, clamped ); old = minValue.get() ) {
+			// retry
+		}
+		for ( long old = maxValue.get(); ( clamped > old ) && !maxValue.compareAndSet( old, clamped ); old = maxValue.get() ) {
+			// retry
+		}
+	}
+
+	@Override
+	public long getTotalCount() {
+		long total = 0;
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			total += counts.get( i );
+		}
+		return total;
+	}
+
+	@Override
+	public long getMinValue() {
+		final long min = minValue.get();
+		return min == Long.MAX_VALUE ? 0 : min;
+	}
+
+	@Override
+	public long getMaxValue() {
+		return maxValue.get();
+	}
+
+	@Override
+	public double getMean() {
+		return getSnapshot().getMean();
+	}
+
+	@Override
+	public long getValueAtPercentile(double percentile) {
+		return getSnapshot().getValueAtPercentile( percentile );
+	}
+
+	@Override
+	public LatencyHistogram getSnapshot() {
+		return new LatencyHistogramSnapshot( currentCounts(), totalValue.get(), getMinValue(), getMaxValue() );
+	}
+
+	@Override
+	public synchronized LatencyHistogram getIntervalSnapshot() {
+		final long[] current = currentCounts();
+		final long currentTotalValue = totalValue.get();
+
+		final long[] interval = new long[BUCKET_COUNT];
+		long min = -1;
+		long max = 0;
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			interval[i] = current[i] - intervalStartCounts[i];
+			if ( interval[i] > 0 ) {
+				if ( min < 0 ) {
+					min = lowestEquivalentValue( i );
+				}
+				max = highestEquivalentValue( i );
+			}
+		}
+		final long intervalTotalValue = currentTotalValue - intervalStartTotalValue;
+
+		intervalStartCounts = current;
+		intervalStartTotalValue = currentTotalValue;
+
+		// bucket bounds are approximations, keep them within the exact overall extremes
+		return new LatencyHistogramSnapshot(
+				interval,
+				intervalTotalValue,
+				min < 0 ? 0 : Math.max( min, getMinValue() ),
+				Math.min( max, getMaxValue() )
+		);
+	}
+
+	private long[] currentCounts() {
+		final long[] copy = new long[BUCKET_COUNT];
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			copy[i] = counts.get( i );
+		}
+		return copy;
+	}
+
+	@Override
+	public String toString() {
+		return getSnapshot().toString();
+	}
+
+	static int bucketIndex(long value) {
+		if ( value < SUB_BUCKET_COUNT ) {
+			return (int) value;
+		}
+		final int shift = 64 - Long.numberOfLeadingZeros( value ) - SUB_BUCKET_BITS;
+		return SUB_BUCKET_COUNT
+				+ ( shift - 1 ) * SUB_BUCKET_HALF_COUNT
+				+ (int) ( ( value >>> shift ) - SUB_BUCKET_HALF_COUNT );
+	}
+
+	static long lowestEquivalentValue(int index) {
+		if ( index < SUB_BUCKET_COUNT ) {
+			return index;
+		}
+		final int offset = index - SUB_BUCKET_COUNT;
+		final int shift = offset / SUB_BUCKET_HALF_COUNT + 1;
+		final long subBucket = offset % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+		return subBucket << shift;
+	}
+
+	static long highestEquivalentValue(int index) {
+		if ( index < SUB_BUCKET_COUNT ) {
+			return index;
+		}
+		final int offset = index - SUB_BUCKET_COUNT;
+		final int shift = offset / SUB_BUCKET_HALF_COUNT + 1;
+		return lowestEquivalentValue( index ) + ( 1L << shift ) - 1;
+	}
+}
@@ -43,13 +43,13 @@ import org.hibernate.stat.NaturalIdCacheStatistics;
 public class ConcurrentNaturalIdCacheStatisticsImpl extends CategorizedStatistics implements NaturalIdCacheStatistics {
 	private static final long serialVersionUID = 1L;
 	private final transient Region region;
-	private final AtomicLong hitCount = new AtomicLong();
-	private final AtomicLong missCount = new AtomicLong();
-	private final AtomicLong putCount = new AtomicLong();
-	private final AtomicLong executionCount = new AtomicLong();
+	private final StripedCounter hitCount = new StripedCounter();
+	private final StripedCounter missCount = new StripedCounter();
+	private final StripedCounter putCount = new StripedCounter();
+	private final StripedCounter executionCount = new StripedCounter();
 	private final AtomicLong executionMaxTime = new AtomicLong();
 	private final AtomicLong executionMinTime = new AtomicLong( Long.MAX_VALUE );
-	private final AtomicLong totalExecutionTime = new AtomicLong();
+	private final StripedCounter totalExecutionTime = new StripedCounter();
 
 	private final Lock readLock;
 	private final Lock writeLock;
@@ -172,27 +172,27 @@ public class ConcurrentNaturalIdCacheStatisticsImpl extends CategorizedStatistic
 	}
 
 	void incrementHitCount() {
-		this.hitCount.getAndIncrement();
+		this.hitCount.increment();
 	}
 
 	void incrementMissCount() {
-		this.missCount.getAndIncrement();
+		this.missCount.increment();
 	}
 
 	void incrementPutCount() {
-		this.putCount.getAndIncrement();
+		this.putCount.increment();
 	}
 
 	void queryExecuted(long time) {
-		// read lock is enough, concurrent updates are supported by the underlying type AtomicLong
+		// read lock is enough, concurrent updates are supported by the underlying counters
 		// this only guards executed(long, long) to be called, when another thread is executing getExecutionAvgTime()
 		this.readLock.lock();
 		try {
 			// Less chances for a context switch
 			for ( long old = this.executionMinTime.get(); time < old && !this.executionMinTime.compareAndSet( old, time ); old = this.executionMinTime.get() ) {;}
 			for ( long old = this.executionMaxTime.get(); time > old && !this.executionMaxTime.compareAndSet( old, time ); old = this.executionMaxTime.get() ) {;}
-			this.executionCount.getAndIncrement();
-			this.totalExecutionTime.addAndGet( time );
+			this.executionCount.increment();
+			this.totalExecutionTime.add( time );
 		}
 		finally {
 			this.readLock.unlock();
@@ -23,11 +23,13 @@
  */
 package org.hibernate.stat.internal;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import org.hibernate.stat.LatencyHistogram;
 import org.hibernate.stat.QueryStatistics;
 
 /**
@@ -38,14 +40,15 @@ import org.hibernate.stat.QueryStatistics;
  * @author Alex Snaps
  */
 public class ConcurrentQueryStatisticsImpl extends CategorizedStatistics implements QueryStatistics {
-	private final AtomicLong cacheHitCount = new AtomicLong();
-	private final AtomicLong cacheMissCount = new AtomicLong();
-	private final AtomicLong cachePutCount = new AtomicLong();
-	private final AtomicLong executionCount = new AtomicLong();
-	private final AtomicLong executionRowCount = new AtomicLong();
+	private final StripedCounter cacheHitCount = new StripedCounter();
+	private final StripedCounter cacheMissCount = new StripedCounter();
+	private final StripedCounter cachePutCount = new StripedCounter();
+	private final StripedCounter executionCount = new StripedCounter();
+	private final StripedCounter executionRowCount = new StripedCounter();
 	private final AtomicLong executionMaxTime = new AtomicLong();
 	private final AtomicLong executionMinTime = new AtomicLong(Long.MAX_VALUE);
-	private final AtomicLong totalExecutionTime = new AtomicLong();
+	private final StripedCounter totalExecutionTime = new StripedCounter();
+	private final ConcurrentLatencyHistogram executionTimeHistogram = new ConcurrentLatencyHistogram();
 
 	private final Lock readLock;
 	private final Lock writeLock;
@@ -128,6 +131,13 @@ public class ConcurrentQueryStatisticsImpl extends CategorizedStatistics impleme
 		return executionMinTime.get();
 	}
 
+	/**
+	 * distribution of the times in nanoseconds taken by the execution of this query onto the DB
+	 */
+	public LatencyHistogram getExecutionTimeHistogram() {
+		return executionTimeHistogram;
+	}
+
 	/**
 	 * add statistics report of a DB query
 	 *
@@ -135,16 +145,18 @@ public class ConcurrentQueryStatisticsImpl extends CategorizedStatistics impleme
 	 * @param time time taken
 	 */
 	void executed(long rows, long time) {
-		// read lock is enough, concurrent updates are supported by the underlying type AtomicLong
+		// read lock is enough, concurrent updates are supported by the underlying counters
 		// this only guards executed(long, long) to be called, when another thread is executing getExecutionAvgTime()
 		readLock.lock();
 		try {
 			// Less chances for a context switch
 			for (long old = executionMinTime.get(); (time < old) && !executionMinTime.compareAndSet(old, time); old = executionMinTime.get());
 			for (long old = executionMaxTime.get(); (time > old) && !executionMaxTime.compareAndSet(old, time); old = executionMaxTime.get());
-			executionCount.getAndIncrement();
-			executionRowCount.addAndGet(rows);
-			totalExecutionTime.addAndGet(time);
+			executionCount.increment();
+			executionRowCount.add(rows);
+			totalExecutionTime.add(time);
+			// the histograms of the statistics API all record nanoseconds
+			executionTimeHistogram.recordValue( TimeUnit.MILLISECONDS.toNanos( time ) );
 		} finally {
 			readLock.unlock();
 		}
@@ -166,14 +178,14 @@ public class ConcurrentQueryStatisticsImpl extends CategorizedStatistics impleme
 	}
 
 	void incrementCacheHitCount() {
-		cacheHitCount.getAndIncrement();
+		cacheHitCount.increment();
 	}
 
 	void incrementCacheMissCount() {
-		cacheMissCount.getAndIncrement();
+		cacheMissCount.increment();
 	}
 
 	void incrementCachePutCount() {
-		cachePutCount.getAndIncrement();
+		cachePutCount.increment();
 	}
 }
@@ -26,10 +26,10 @@ package org.hibernate.stat.internal;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
 
 import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.Region;
+import org.hibernate.stat.LatencyHistogram;
 import org.hibernate.stat.SecondLevelCacheStatistics;
 
 /**
@@ -39,9 +39,10 @@ import org.hibernate.stat.SecondLevelCacheStatistics;
  */
 public class ConcurrentSecondLevelCacheStatisticsImpl extends CategorizedStatistics implements SecondLevelCacheStatistics {
 	private final transient Region region;
-	private AtomicLong hitCount = new AtomicLong();
-	private AtomicLong missCount = new AtomicLong();
-	private AtomicLong putCount = new AtomicLong();
+	private StripedCounter hitCount = new StripedCounter();
+	private StripedCounter missCount = new StripedCounter();
+	private StripedCounter putCount = new StripedCounter();
+	private final ConcurrentLatencyHistogram lookupTimeHistogram = new ConcurrentLatencyHistogram();
 
 	ConcurrentSecondLevelCacheStatisticsImpl(Region region) {
 		super( region.getName() );
@@ -82,6 +83,10 @@ public class ConcurrentSecondLevelCacheStatisticsImpl extends CategorizedStatist
 		return map;
 	}
 
+	public LatencyHistogram getLookupTimeHistogram() {
+		return lookupTimeHistogram;
+	}
+
 	public String toString() {
 		StringBuilder buf = new StringBuilder()
 				.append("SecondLevelCacheStatistics")
@@ -99,14 +104,18 @@ public class ConcurrentSecondLevelCacheStatisticsImpl extends CategorizedStatist
 	}
 
 	void incrementHitCount() {
-		hitCount.getAndIncrement();
+		hitCount.increment();
 	}
 
 	void incrementMissCount() {
-		missCount.getAndIncrement();
+		missCount.increment();
 	}
 
 	void incrementPutCount() {
-		putCount.getAndIncrement();
+		putCount.increment();
+	}
+
+	void lookedUp(long time) {
+		lookupTimeHistogram.recordValue( time );
 	}
 }
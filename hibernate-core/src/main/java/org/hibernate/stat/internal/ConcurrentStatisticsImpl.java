@@ -39,7 +39,7 @@ import org.hibernate.stat.EntityStatistics;
 import org.hibernate.stat.NaturalIdCacheStatistics;
 import org.hibernate.stat.QueryStatistics;
 import org.hibernate.stat.SecondLevelCacheStatistics;
-import org.hibernate.stat.spi.StatisticsImplementor;
+import org.hibernate.stat.spi.ExtendedStatisticsImplementor;
 
 /**
  * Implementation of {@link org.hibernate.stat.Statistics} based on the {@link java.util.concurrent} package.
@@ -47,7 +47,7 @@ import org.hibernate.stat.spi.StatisticsImplementor;
  * @author Alex Snaps
  */
 @SuppressWarnings({ "unchecked" })
-public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service {
+public class ConcurrentStatisticsImpl implements ExtendedStatisticsImplementor, Service {
 
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class, ConcurrentStatisticsImpl.class.getName());
 
@@ -55,51 +55,53 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 
 	private volatile boolean isStatisticsEnabled;
 	private volatile long startTime;
-	private AtomicLong sessionOpenCount = new AtomicLong();
-	private AtomicLong sessionCloseCount = new AtomicLong();
-	private AtomicLong flushCount = new AtomicLong();
-	private AtomicLong connectCount = new AtomicLong();
-
-	private AtomicLong prepareStatementCount = new AtomicLong();
-	private AtomicLong closeStatementCount = new AtomicLong();
-
-	private AtomicLong entityLoadCount = new AtomicLong();
-	private AtomicLong entityUpdateCount = new AtomicLong();
-	private AtomicLong entityInsertCount = new AtomicLong();
-	private AtomicLong entityDeleteCount = new AtomicLong();
-	private AtomicLong entityFetchCount = new AtomicLong();
-	private AtomicLong collectionLoadCount = new AtomicLong();
-	private AtomicLong collectionUpdateCount = new AtomicLong();
-	private AtomicLong collectionRemoveCount = new AtomicLong();
-	private AtomicLong collectionRecreateCount = new AtomicLong();
-	private AtomicLong collectionFetchCount = new AtomicLong();
-
-	private AtomicLong secondLevelCacheHitCount = new AtomicLong();
-	private AtomicLong secondLevelCacheMissCount = new AtomicLong();
-	private AtomicLong secondLevelCachePutCount = new AtomicLong();
+	private StripedCounter sessionOpenCount = new StripedCounter();
+	private StripedCounter sessionCloseCount = new StripedCounter();
+	private StripedCounter flushCount = new StripedCounter();
+	private StripedCounter connectCount = new StripedCounter();
+
+	private StripedCounter prepareStatementCount = new StripedCounter();
+	private StripedCounter closeStatementCount = new StripedCounter();
+
+	private StripedCounter entityLoadCount = new StripedCounter();
+	private StripedCounter entityUpdateCount = new StripedCounter();
+	private StripedCounter entityInsertCount = new StripedCounter();
+	private StripedCounter entityDeleteCount = new StripedCounter();
+	private StripedCounter entityFetchCount = new StripedCounter();
+	private StripedCounter collectionLoadCount = new StripedCounter();
+	private StripedCounter collectionUpdateCount = new StripedCounter();
+	private StripedCounter collectionRemoveCount = new StripedCounter();
+	private StripedCounter collectionRecreateCount = new StripedCounter();
+	private StripedCounter collectionFetchCount = new StripedCounter();
+
+	private StripedCounter secondLevelCacheHitCount = new StripedCounter();
+	private StripedCounter secondLevelCacheMissCount = new StripedCounter();
+	private StripedCounter secondLevelCachePutCount = new StripedCounter();
 	
-	private AtomicLong naturalIdCacheHitCount = new AtomicLong();
-	private AtomicLong naturalIdCacheMissCount = new AtomicLong();
-	private AtomicLong naturalIdCachePutCount = new AtomicLong();
-	private AtomicLong naturalIdQueryExecutionCount = new AtomicLong();
+	private StripedCounter naturalIdCacheHitCount = new StripedCounter();
+	private StripedCounter naturalIdCacheMissCount = new StripedCounter();
+	private StripedCounter naturalIdCachePutCount = new StripedCounter();
+	private StripedCounter naturalIdQueryExecutionCount = new StripedCounter();
 	private AtomicLong naturalIdQueryExecutionMaxTime = new AtomicLong();
 	private volatile String naturalIdQueryExecutionMaxTimeRegion;
 	
-	private AtomicLong queryExecutionCount = new AtomicLong();
+	private StripedCounter queryExecutionCount = new StripedCounter();
 	private AtomicLong queryExecutionMaxTime = new AtomicLong();
 	private volatile String queryExecutionMaxTimeQueryString;
-	private AtomicLong queryCacheHitCount = new AtomicLong();
-	private AtomicLong queryCacheMissCount = new AtomicLong();
-	private AtomicLong queryCachePutCount = new AtomicLong();
+	private StripedCounter queryCacheHitCount = new StripedCounter();
+	private StripedCounter queryCacheMissCount = new StripedCounter();
+	private StripedCounter queryCachePutCount = new StripedCounter();
+	private StripedCounter queryPlanCacheHitCount = new StripedCounter();
+	private StripedCounter queryPlanCacheMissCount = new StripedCounter();
 
-	private AtomicLong updateTimestampsCacheHitCount = new AtomicLong();
-	private AtomicLong updateTimestampsCacheMissCount = new AtomicLong();
-	private AtomicLong updateTimestampsCachePutCount = new AtomicLong();
+	private StripedCounter updateTimestampsCacheHitCount = new StripedCounter();
+	private StripedCounter updateTimestampsCacheMissCount = new StripedCounter();
+	private StripedCounter updateTimestampsCachePutCount = new StripedCounter();
 
-	private AtomicLong committedTransactionCount = new AtomicLong();
-	private AtomicLong transactionCount = new AtomicLong();
+	private StripedCounter committedTransactionCount = new StripedCounter();
+	private StripedCounter transactionCount = new StripedCounter();
 
-	private AtomicLong optimisticFailureCount = new AtomicLong();
+	private StripedCounter optimisticFailureCount = new StripedCounter();
 
 	/**
 	 * natural id cache statistics per region
@@ -136,52 +138,54 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 * reset all statistics
 	 */
 	public void clear() {
-		secondLevelCacheHitCount.set( 0 );
-		secondLevelCacheMissCount.set( 0 );
-		secondLevelCachePutCount.set( 0 );
+		secondLevelCacheHitCount.reset();
+		secondLevelCacheMissCount.reset();
+		secondLevelCachePutCount.reset();
 		
-		naturalIdCacheHitCount.set( 0 );
-		naturalIdCacheMissCount.set( 0 );
-		naturalIdCachePutCount.set( 0 );
-		naturalIdQueryExecutionCount.set( 0 );
+		naturalIdCacheHitCount.reset();
+		naturalIdCacheMissCount.reset();
+		naturalIdCachePutCount.reset();
+		naturalIdQueryExecutionCount.reset();
 		naturalIdQueryExecutionMaxTime.set( 0 );
 		naturalIdQueryExecutionMaxTimeRegion = null;
 
-		sessionCloseCount.set( 0 );
-		sessionOpenCount.set( 0 );
-		flushCount.set( 0 );
-		connectCount.set( 0 );
+		sessionCloseCount.reset();
+		sessionOpenCount.reset();
+		flushCount.reset();
+		connectCount.reset();
 
-		prepareStatementCount.set( 0 );
-		closeStatementCount.set( 0 );
+		prepareStatementCount.reset();
+		closeStatementCount.reset();
 
-		entityDeleteCount.set( 0 );
-		entityInsertCount.set( 0 );
-		entityUpdateCount.set( 0 );
-		entityLoadCount.set( 0 );
-		entityFetchCount.set( 0 );
+		entityDeleteCount.reset();
+		entityInsertCount.reset();
+		entityUpdateCount.reset();
+		entityLoadCount.reset();
+		entityFetchCount.reset();
 
-		collectionRemoveCount.set( 0 );
-		collectionUpdateCount.set( 0 );
-		collectionRecreateCount.set( 0 );
-		collectionLoadCount.set( 0 );
-		collectionFetchCount.set( 0 );
+		collectionRemoveCount.reset();
+		collectionUpdateCount.reset();
+		collectionRecreateCount.reset();
+		collectionLoadCount.reset();
+		collectionFetchCount.reset();
 
-		queryExecutionCount.set( 0 );
-		queryCacheHitCount.set( 0 );
+		queryExecutionCount.reset();
+		queryCacheHitCount.reset();
 		queryExecutionMaxTime.set( 0 );
 		queryExecutionMaxTimeQueryString = null;
-		queryCacheMissCount.set( 0 );
-		queryCachePutCount.set( 0 );
+		queryCacheMissCount.reset();
+		queryCachePutCount.reset();
+		queryPlanCacheHitCount.reset();
+		queryPlanCacheMissCount.reset();
 
-		updateTimestampsCacheMissCount.set( 0 );
-		updateTimestampsCacheHitCount.set( 0 );
-		updateTimestampsCachePutCount.set( 0 );
+		updateTimestampsCacheMissCount.reset();
+		updateTimestampsCacheHitCount.reset();
+		updateTimestampsCachePutCount.reset();
 
-		transactionCount.set( 0 );
-		committedTransactionCount.set( 0 );
+		transactionCount.reset();
+		committedTransactionCount.reset();
 
-		optimisticFailureCount.set( 0 );
+		optimisticFailureCount.reset();
 
 		secondLevelCacheStatistics.clear();
 		entityStatistics.clear();
@@ -192,31 +196,47 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 
 	public void openSession() {
-		sessionOpenCount.getAndIncrement();
+		sessionOpenCount.increment();
 	}
 
 	public void closeSession() {
-		sessionCloseCount.getAndIncrement();
+		sessionCloseCount.increment();
 	}
 
 	public void flush() {
-		flushCount.getAndIncrement();
+		flushCount.increment();
 	}
 
 	public void connect() {
-		connectCount.getAndIncrement();
+		connectCount.increment();
 	}
 
 	public void loadEntity(String entityName) {
-		entityLoadCount.getAndIncrement();
+		entityLoadCount.increment();
 		( (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName ) ).incrementLoadCount();
 	}
 
 	public void fetchEntity(String entityName) {
-		entityFetchCount.getAndIncrement();
+		entityFetchCount.increment();
 		( (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName ) ).incrementFetchCount();
 	}
 
+	@Override
+	public void loadEntityFromDatasource(String entityName, long time) {
+		( (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName ) ).loadedFromDatasource( time );
+	}
+
+	/**
+	 * Record a batch size adaptive batch fetching grew to when loading an entity, see
+	 * {@link org.hibernate.stat.EntityStatistics#getSuggestedBatchSize()}.
+	 *
+	 * @param entityName The name of the entity being batch loaded.
+	 * @param batchSize The batch size reached.
+	 */
+	public void adaptEntityBatchSize(String entityName, int batchSize) {
+		( (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName ) ).batchSizeAdapted( batchSize );
+	}
+
 	/**
 	 * find entity statistics per name
 	 *
@@ -239,19 +259,19 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 
 	public void updateEntity(String entityName) {
-		entityUpdateCount.getAndIncrement();
+		entityUpdateCount.increment();
 		ConcurrentEntityStatisticsImpl es = (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName );
 		es.incrementUpdateCount();
 	}
 
 	public void insertEntity(String entityName) {
-		entityInsertCount.getAndIncrement();
+		entityInsertCount.increment();
 		ConcurrentEntityStatisticsImpl es = (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName );
 		es.incrementInsertCount();
 	}
 
 	public void deleteEntity(String entityName) {
-		entityDeleteCount.getAndIncrement();
+		entityDeleteCount.increment();
 		ConcurrentEntityStatisticsImpl es = (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName );
 		es.incrementDeleteCount();
 	}
@@ -278,29 +298,40 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 
 	public void loadCollection(String role) {
-		collectionLoadCount.getAndIncrement();
+		collectionLoadCount.increment();
 		( (ConcurrentCollectionStatisticsImpl) getCollectionStatistics( role ) ).incrementLoadCount();
 	}
 
 	public void fetchCollection(String role) {
-		collectionFetchCount.getAndIncrement();
+		collectionFetchCount.increment();
 		( (ConcurrentCollectionStatisticsImpl) getCollectionStatistics( role ) ).incrementFetchCount();
 	}
 
 	public void updateCollection(String role) {
-		collectionUpdateCount.getAndIncrement();
+		collectionUpdateCount.increment();
 		( (ConcurrentCollectionStatisticsImpl) getCollectionStatistics( role ) ).incrementUpdateCount();
 	}
 
 	public void recreateCollection(String role) {
-		collectionRecreateCount.getAndIncrement();
+		collectionRecreateCount.increment();
 		( (ConcurrentCollectionStatisticsImpl) getCollectionStatistics( role ) ).incrementRecreateCount();
 	}
 
 	public void removeCollection(String role) {
-		collectionRemoveCount.getAndIncrement();
+		collectionRemoveCount.increment();
 		( (ConcurrentCollectionStatisticsImpl) getCollectionStatistics( role ) ).incrementRemoveCount();
 	}
+
+	/**
+	 * Record a batch size adaptive batch fetching grew to when initializing a collection, see
+	 * {@link org.hibernate.stat.CollectionStatistics#getSuggestedBatchSize()}.
+	 *
+	 * @param role The collection role.
+	 * @param batchSize The batch size reached.
+	 */
+	public void adaptCollectionBatchSize(String role, int batchSize) {
+		( (ConcurrentCollectionStatisticsImpl) getCollectionStatistics( role ) ).batchSizeAdapted( batchSize );
+	}
 	
 
 	@Override
@@ -357,41 +388,46 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 
 	public void secondLevelCachePut(String regionName) {
-		secondLevelCachePutCount.getAndIncrement();
+		secondLevelCachePutCount.increment();
 		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).incrementPutCount();
 	}
 
 	public void secondLevelCacheHit(String regionName) {
-		secondLevelCacheHitCount.getAndIncrement();
+		secondLevelCacheHitCount.increment();
 		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).incrementHitCount();
 	}
 
 	public void secondLevelCacheMiss(String regionName) {
-		secondLevelCacheMissCount.getAndIncrement();
+		secondLevelCacheMissCount.increment();
 		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).incrementMissCount();
 	}
 	
+	@Override
+	public void secondLevelCacheLookup(String regionName, long time) {
+		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).lookedUp( time );
+	}
+
 	@Override
 	public void naturalIdCachePut(String regionName) {
-		naturalIdCachePutCount.getAndIncrement();
+		naturalIdCachePutCount.increment();
 		( (ConcurrentNaturalIdCacheStatisticsImpl) getNaturalIdCacheStatistics( regionName ) ).incrementPutCount();
 	}
 
 	@Override
 	public void naturalIdCacheHit(String regionName) {
-		naturalIdCacheHitCount.getAndIncrement();
+		naturalIdCacheHitCount.increment();
 		( (ConcurrentNaturalIdCacheStatisticsImpl) getNaturalIdCacheStatistics( regionName ) ).incrementHitCount();
 	}
 
 	@Override
 	public void naturalIdCacheMiss(String regionName) {
-		naturalIdCacheMissCount.getAndIncrement();
+		naturalIdCacheMissCount.increment();
 		( (ConcurrentNaturalIdCacheStatisticsImpl) getNaturalIdCacheStatistics( regionName ) ).incrementMissCount();
 	}
 	
 	@Override
 	public void naturalIdQueryExecuted(String regionName, long time) {
-		naturalIdQueryExecutionCount.getAndIncrement();
+		naturalIdQueryExecutionCount.increment();
 		boolean isLongestQuery = false;
 		for ( long old = naturalIdQueryExecutionMaxTime.get();
 			  ( isLongestQuery = time > old ) && ( !naturalIdQueryExecutionMaxTime.compareAndSet( old, time ) );
@@ -409,7 +445,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	@Override
 	public void queryExecuted(String hql, int rows, long time) {
         LOG.hql(hql, time, (long) rows );
-		queryExecutionCount.getAndIncrement();
+		queryExecutionCount.increment();
 		boolean isLongestQuery = false;
 		for ( long old = queryExecutionMaxTime.get();
 			  ( isLongestQuery = time > old ) && ( !queryExecutionMaxTime.compareAndSet( old, time ) );
@@ -426,7 +462,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 	@Override
 	public void queryCacheHit(String hql, String regionName) {
-		queryCacheHitCount.getAndIncrement();
+		queryCacheHitCount.increment();
 		if ( hql != null ) {
 			ConcurrentQueryStatisticsImpl qs = (ConcurrentQueryStatisticsImpl) getQueryStatistics( hql );
 			qs.incrementCacheHitCount();
@@ -438,7 +474,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 	@Override
 	public void queryCacheMiss(String hql, String regionName) {
-		queryCacheMissCount.getAndIncrement();
+		queryCacheMissCount.increment();
 		if ( hql != null ) {
 			ConcurrentQueryStatisticsImpl qs = (ConcurrentQueryStatisticsImpl) getQueryStatistics( hql );
 			qs.incrementCacheMissCount();
@@ -450,7 +486,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 	@Override
 	public void queryCachePut(String hql, String regionName) {
-		queryCachePutCount.getAndIncrement();
+		queryCachePutCount.increment();
 		if ( hql != null ) {
 			ConcurrentQueryStatisticsImpl qs = (ConcurrentQueryStatisticsImpl) getQueryStatistics( hql );
 			qs.incrementCachePutCount();
@@ -463,17 +499,17 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 
 	@Override
 	public void updateTimestampsCacheHit() {
-		updateTimestampsCacheHitCount.getAndIncrement();
+		updateTimestampsCacheHitCount.increment();
 	}
 
 	@Override
 	public void updateTimestampsCacheMiss() {
-		updateTimestampsCacheMissCount.getAndIncrement();
+		updateTimestampsCacheMissCount.increment();
 	}
 
 	@Override
 	public void updateTimestampsCachePut() {
-		updateTimestampsCachePutCount.getAndIncrement();
+		updateTimestampsCachePutCount.increment();
 	}
 
 	/**
@@ -554,6 +590,22 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		return queryCachePutCount.get();
 	}
 	@Override
+	public void queryPlanCacheHit() {
+		queryPlanCacheHitCount.increment();
+	}
+	@Override
+	public void queryPlanCacheMiss() {
+		queryPlanCacheMissCount.increment();
+	}
+	@Override
+	public long getQueryPlanCacheHitCount() {
+		return queryPlanCacheHitCount.get();
+	}
+	@Override
+	public long getQueryPlanCacheMissCount() {
+		return queryPlanCacheMissCount.get();
+	}
+	@Override
 	public long getUpdateTimestampsCacheHitCount() {
 		return updateTimestampsCacheHitCount.get();
 	}
@@ -818,9 +870,9 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 	@Override
 	public void endTransaction(boolean success) {
-		transactionCount.getAndIncrement();
+		transactionCount.increment();
 		if ( success ) {
-			committedTransactionCount.getAndIncrement();
+			committedTransactionCount.increment();
 		}
 	}
 	@Override
@@ -833,11 +885,11 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 	@Override
 	public void closeStatement() {
-		closeStatementCount.getAndIncrement();
+		closeStatementCount.increment();
 	}
 	@Override
 	public void prepareStatement() {
-		prepareStatementCount.getAndIncrement();
+		prepareStatementCount.increment();
 	}
 	@Override
 	public long getCloseStatementCount() {
@@ -849,7 +901,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 	@Override
 	public void optimisticFailure(String entityName) {
-		optimisticFailureCount.getAndIncrement();
+		optimisticFailureCount.increment();
 		( (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName ) ).incrementOptimisticFailureCount();
 	}
 	@Override
@@ -893,6 +945,8 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 				.append( ",query cache puts=" ).append( queryCachePutCount )
 				.append( ",query cache hits=" ).append( queryCacheHitCount )
 				.append( ",query cache misses=" ).append( queryCacheMissCount )
+				.append( ",query plan cache hits=" ).append( queryPlanCacheHitCount )
+				.append( ",query plan cache misses=" ).append( queryPlanCacheMissCount )
 				.append(",update timestamps cache puts=").append(updateTimestampsCachePutCount)
 				.append(",update timestamps cache hits=").append(updateTimestampsCacheHitCount)
 				.append(",update timestamps cache misses=").append(updateTimestampsCacheMissCount)
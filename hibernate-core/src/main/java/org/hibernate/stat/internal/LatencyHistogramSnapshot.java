@@ -0,0 +1,116 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import org.hibernate.stat.LatencyHistogram;
+
+/**
+ * Immutable copy of a {@link ConcurrentLatencyHistogram}.
+ */
+class LatencyHistogramSnapshot implements LatencyHistogram {
+	private final long[] counts;
+	private final long totalCount;
+	private final long totalValue;
+	private final long minValue;
+	private final long maxValue;
+
+	LatencyHistogramSnapshot(long[] counts, long totalValue, long minValue, long maxValue) {
+		this.counts = counts;
+		long total = 0;
+		for ( long count : counts ) {
+			total += count;
+		}
+		this.totalCount = total;
+		this.totalValue = totalValue;
+		this.minValue = minValue;
+		this.maxValue = maxValue;
+	}
+
+	@Override
+	public long getTotalCount() {
+		return totalCount;
+	}
+
+	@Override
+	public long getMinValue() {
+		return minValue;
+	}
+
+	@Override
+	public long getMaxValue() {
+		return maxValue;
+	}
+
+	@Override
+	public double getMean() {
+		return totalCount == 0 ? 0 : (double) totalValue / totalCount;
+	}
+
+	@Override
+	public long getValueAtPercentile(double percentile) {
+		if ( totalCount == 0 ) {
+			return 0;
+		}
+		final double requested = Math.min( Math.max( percentile, 0d ), 100d );
+		long countAtPercentile = (long) Math.ceil( ( requested / 100d ) * totalCount );
+		if ( countAtPercentile < 1 ) {
+			countAtPercentile = 1;
+		}
+		long running = 0;
+		for ( int i = 0; i < counts.length; i++ ) {
+			running += counts[i];
+			if ( running >= countAtPercentile ) {
+				final long value = ConcurrentLatencyHistogram.highestEquivalentValue( i );
+				return Math.max( Math.min( value, maxValue ), minValue );
+			}
+		}
+		return maxValue;
+	}
+
+	@Override
+	public LatencyHistogram getSnapshot() {
+		return this;
+	}
+
+	@Override
+	public LatencyHistogram getIntervalSnapshot() {
+		return this;
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder()
+				.append( "LatencyHistogram" )
+				.append( "[count=" ).append( totalCount )
+				.append( ",min=" ).append( minValue )
+				.append( ",mean=" ).append( getMean() )
+				.append( ",p50=" ).append( getValueAtPercentile( 50 ) )
+				.append( ",p90=" ).append( getValueAtPercentile( 90 ) )
+				.append( ",p99=" ).append( getValueAtPercentile( 99 ) )
+				.append( ",p999=" ).append( getValueAtPercentile( 99.9 ) )
+				.append( ",max=" ).append( maxValue )
+				.append( ']' )
+				.toString();
+	}
+}
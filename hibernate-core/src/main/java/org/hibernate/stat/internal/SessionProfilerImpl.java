@@ -0,0 +1,150 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.stat.SessionProfileEvent;
+import org.hibernate.stat.spi.SessionProfiler;
+
+/**
+ * Standard {@link SessionProfiler} implementation, keeping a bounded list of events in memory.
+ */
+public class SessionProfilerImpl implements SessionProfiler {
+	/**
+	 * The number of individual initializations of the same role (or entity) after which it is
+	 * reported as an N+1 select suspect.
+	 */
+	public static final int N_PLUS_ONE_THRESHOLD = 5;
+
+	/**
+	 * The maximum number of events kept per session, to bound the memory used by long-running sessions.
+	 */
+	public static final int MAX_EVENTS = 10000;
+
+	private final long startTime = System.currentTimeMillis();
+	private final long startNanoTime = System.nanoTime();
+	private final List<SessionProfileEvent> events = new ArrayList<SessionProfileEvent>();
+	private final Map<String,Integer> initializationCounts = new HashMap<String,Integer>();
+	private int droppedEventCount;
+
+	@Override
+	public long getStartTime() {
+		return startTime;
+	}
+
+	@Override
+	public List<SessionProfileEvent> getEvents() {
+		return Collections.unmodifiableList( events );
+	}
+
+	@Override
+	public int getDroppedEventCount() {
+		return droppedEventCount;
+	}
+
+	@Override
+	public Map<String,Integer> getNPlusOneSuspects() {
+		final Map<String,Integer> suspects = new HashMap<String,Integer>();
+		for ( Map.Entry<String,Integer> entry : initializationCounts.entrySet() ) {
+			if ( entry.getValue() >= N_PLUS_ONE_THRESHOLD ) {
+				suspects.put( entry.getKey(), entry.getValue() );
+			}
+		}
+		return Collections.unmodifiableMap( suspects );
+	}
+
+	@Override
+	public void flushed(boolean auto, long startTime) {
+		addTimedEvent(
+				auto ? SessionProfileEvent.Type.AUTO_FLUSH : SessionProfileEvent.Type.FLUSH,
+				startTime,
+				null
+		);
+	}
+
+	@Override
+	public void sqlExecuted(String sql, long startTime) {
+		addTimedEvent( SessionProfileEvent.Type.SQL, startTime, sql );
+	}
+
+	@Override
+	public void collectionInitialized(String role, long startTime) {
+		addTimedEvent( SessionProfileEvent.Type.COLLECTION_INITIALIZATION, startTime, role );
+		countInitialization( role );
+	}
+
+	@Override
+	public void proxyInitialized(String entityName, long startTime) {
+		addTimedEvent( SessionProfileEvent.Type.PROXY_INITIALIZATION, startTime, entityName );
+		countInitialization( entityName );
+	}
+
+	@Override
+	public void secondLevelCacheAccessed(String regionName, boolean hit) {
+		addEvent(
+				hit ? SessionProfileEvent.Type.SECOND_LEVEL_CACHE_HIT : SessionProfileEvent.Type.SECOND_LEVEL_CACHE_MISS,
+				System.nanoTime() - startNanoTime,
+				-1,
+				regionName
+		);
+	}
+
+	private void countInitialization(String name) {
+		final Integer previous = initializationCounts.get( name );
+		final int count = previous == null ? 1 : previous + 1;
+		initializationCounts.put( name, count );
+		if ( count == N_PLUS_ONE_THRESHOLD ) {
+			addEvent( SessionProfileEvent.Type.N_PLUS_ONE, System.nanoTime() - startNanoTime, -1, name );
+		}
+	}
+
+	private void addTimedEvent(SessionProfileEvent.Type type, long startTime, String detail) {
+		addEvent( type, startTime - startNanoTime, System.nanoTime() - startTime, detail );
+	}
+
+	private void addEvent(SessionProfileEvent.Type type, long offset, long duration, String detail) {
+		if ( events.size() >= MAX_EVENTS ) {
+			droppedEventCount++;
+			return;
+		}
+		events.add( new SessionProfileEvent( type, offset, duration, detail ) );
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder()
+				.append( "SessionProfile[" )
+				.append( "start time=" ).append( startTime )
+				.append( ",events=" ).append( events.size() )
+				.append( ",dropped events=" ).append( droppedEventCount )
+				.append( ",N+1 suspects=" ).append( getNPlusOneSuspects() )
+				.append( ']' )
+				.toString();
+	}
+}
@@ -27,12 +27,13 @@ import java.util.Collections;
 import java.util.Set;
 
 import org.hibernate.engine.spi.SessionImplementor;
-import org.hibernate.stat.SessionStatistics;
+import org.hibernate.stat.ProfiledSessionStatistics;
+import org.hibernate.stat.SessionProfile;
 
 /**
  * @author Gavin King
  */
-public class SessionStatisticsImpl implements SessionStatistics {
+public class SessionStatisticsImpl implements ProfiledSessionStatistics {
 
 	private final SessionImplementor session;
 	
@@ -56,6 +57,10 @@ public class SessionStatisticsImpl implements SessionStatistics {
 		return Collections.unmodifiableSet( session.getPersistenceContext().getCollectionsByKey().keySet() );
 	}
 	
+	public SessionProfile getProfile() {
+		return SessionProfilerHelper.getSessionProfiler( session );
+	}
+
 	public String toString() {
 		return new StringBuilder()
 			.append("SessionStatistics[")
@@ -0,0 +1,146 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter which spreads concurrent updates over several cells, in the spirit of the JDK 8
+ * {@code LongAdder} (which we cannot use given our JDK baseline).
+ * <p/>
+ * As long as updates are uncontended they go to a single base value, so an idle or single-threaded
+ * counter costs no more than an {@link AtomicLong}.  The first time a CAS on the base value fails the
+ * counter inflates to a padded array of cells, one cache line apart, indexed by the updating thread;
+ * from then on concurrent threads mostly update distinct cache lines.  Reads sum all cells and so are
+ * more expensive, which is the right trade-off for statistics: written constantly, read rarely.
+ */
+public class StripedCounter implements Serializable {
+	// longs per cache line; cells are placed this far apart to avoid false sharing
+	private static final int PADDING = 8;
+	private static final int CELL_COUNT = cellCount();
+
+	private final AtomicLong base = new AtomicLong();
+	// sized from this host's processor count, so never serialized; writeObject folds it into the base value
+	private transient volatile AtomicLongArray cells;
+
+	/**
+	 * Increment the counter by one.
+	 */
+	public void increment() {
+		add( 1 );
+	}
+
+	/**
+	 * Add the given value to the counter.
+	 *
+	 * @param value The value to add
+	 */
+	public void add(long value) {
+		AtomicLongArray cs = cells;
+		if ( cs == null ) {
+			final long current = base.get();
+			if ( base.compareAndSet( current, current + value ) ) {
+				return;
+			}
+			cs = inflate();
+		}
+		cs.getAndAdd( cellIndex( cs ), value );
+	}
+
+	/**
+	 * The current value of the counter.  Not an atomic snapshot when updates are in flight.
+	 *
+	 * @return The current value
+	 */
+	public long get() {
+		return base.get() + sumCells();
+	}
+
+	/**
+	 * Reset the counter to zero.  Updates concurrent with the reset may or may not be lost.
+	 */
+	public void reset() {
+		base.set( 0 );
+		final AtomicLongArray cs = cells;
+		if ( cs != null ) {
+			for ( int i = 0; i < cs.length(); i += PADDING ) {
+				cs.set( i, 0 );
+			}
+		}
+	}
+
+	private long sumCells() {
+		long sum = 0;
+		final AtomicLongArray cs = cells;
+		if ( cs != null ) {
+			for ( int i = 0; i < cs.length(); i += PADDING ) {
+				sum += cs.get( i );
+			}
+		}
+		return sum;
+	}
+
+	private synchronized AtomicLongArray inflate() {
+		if ( cells == null ) {
+			cells = new AtomicLongArray( CELL_COUNT * PADDING );
+		}
+		return cells;
+	}
+
+	private static int cellIndex(AtomicLongArray cs) {
+		// spread the (sequential) thread ids so neighbouring threads land on different cells
+		int h = (int) Thread.currentThread().getId() * 0x9E3779B9;
+		h ^= h >>> 16;
+		return ( h & ( cs.length() / PADDING - 1 ) ) * PADDING;
+	}
+
+	private static int cellCount() {
+		final int processors = Runtime.getRuntime().availableProcessors();
+		int count = 1;
+		while ( count < processors && count < 64 ) {
+			count <<= 1;
+		}
+		return count;
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		out.writeLong( sumCells() );
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		base.addAndGet( in.readLong() );
+	}
+
+	@Override
+	public String toString() {
+		return Long.toString( get() );
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.spi;
+
+/**
+ * Optional statistics callbacks which {@link StatisticsImplementor} does not declare, so that existing
+ * implementations of that contract (and the {@link StatisticsFactory}s building them) are unaffected.  Callers
+ * check for it with {@code instanceof}; the built-in statistics implement it.
+ */
+public interface ExtendedStatisticsImplementor extends StatisticsImplementor {
+	/**
+	 * Callback about the time taken to load an entity from the database by its identifier.
+	 *
+	 * @param entityName The name of the entity loaded.
+	 * @param time The time taken, in nanoseconds.
+	 */
+	public void loadEntityFromDatasource(String entityName, long time);
+
+	/**
+	 * Callback about the time taken by a lookup (hit or miss) against the second level cache.
+	 *
+	 * @param regionName The name of the cache region
+	 * @param time The time taken, in nanoseconds.
+	 */
+	public void secondLevelCacheLookup(String regionName, long time);
+
+	/**
+	 * Callback indicating a query plan was found in the query plan cache.
+	 */
+	public void queryPlanCacheHit();
+
+	/**
+	 * Callback indicating a query plan was not found in the query plan cache, and had to be compiled.
+	 */
+	public void queryPlanCacheMiss();
+}
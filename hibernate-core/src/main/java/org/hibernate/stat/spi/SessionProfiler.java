@@ -0,0 +1,72 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.spi;
+
+import org.hibernate.stat.SessionProfile;
+
+/**
+ * Collects the {@link SessionProfile} of a single session.  Like the session itself, implementations
+ * need not be thread-safe.
+ */
+public interface SessionProfiler extends SessionProfile {
+	/**
+	 * Callback about a flush having been performed.
+	 *
+	 * @param auto Was this an automatic (query-triggered) flush?
+	 * @param startTime The {@link System#nanoTime()} at which the flush started
+	 */
+	public void flushed(boolean auto, long startTime);
+
+	/**
+	 * Callback about a SQL statement having been executed.
+	 *
+	 * @param sql The SQL
+	 * @param startTime The {@link System#nanoTime()} at which the execution started
+	 */
+	public void sqlExecuted(String sql, long startTime);
+
+	/**
+	 * Callback about a lazy collection having been initialized from the database.
+	 *
+	 * @param role The collection role
+	 * @param startTime The {@link System#nanoTime()} at which the initialization started
+	 */
+	public void collectionInitialized(String role, long startTime);
+
+	/**
+	 * Callback about an entity proxy having been initialized.
+	 *
+	 * @param entityName The name of the entity
+	 * @param startTime The {@link System#nanoTime()} at which the initialization started
+	 */
+	public void proxyInitialized(String entityName, long startTime);
+
+	/**
+	 * Callback about a second-level cache lookup.
+	 *
+	 * @param regionName The name of the cache region
+	 * @param hit Was an entry found?
+	 */
+	public void secondLevelCacheAccessed(String regionName, boolean hit);
+}
@@ -0,0 +1,38 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.spi;
+
+/**
+ * Implemented by sessions which can record a {@link SessionProfiler} timeline.  Kept apart from
+ * {@link org.hibernate.engine.spi.SessionImplementor} so that existing implementations of that contract
+ * are unaffected; callers check for it with {@code instanceof}.
+ */
+public interface SessionProfilerSource {
+	/**
+	 * Get the profiler recording the timeline of this session.
+	 *
+	 * @return The session profiler, or {@code null} if session profiling is not enabled.
+	 */
+	public SessionProfiler getSessionProfiler();
+}
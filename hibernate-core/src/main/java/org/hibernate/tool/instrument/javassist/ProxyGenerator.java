@@ -0,0 +1,95 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.tool.instrument.javassist;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.HibernateException;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.proxy.pojo.javassist.JavassistLazyInitializer;
+import org.hibernate.tuple.entity.PojoEntityTuplizer;
+
+/**
+ * Generates, at build time, the Javassist proxy classes of the lazy entities of a {@link Configuration}, so that
+ * they are loaded rather than generated when the SessionFactory is built.  Proxy classes which no longer match
+ * their entity class are ignored at runtime (and generated as usual), but should be regenerated along with the
+ * entity classes.
+ *
+ * @see ProxyTask
+ */
+public class ProxyGenerator {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			ProxyGenerator.class.getName()
+	);
+
+	private final Configuration configuration;
+
+	public ProxyGenerator(Configuration configuration) {
+		this.configuration = configuration;
+	}
+
+	/**
+	 * Generate the proxy classes.
+	 *
+	 * @param directory The root directory to write the class files under
+	 *
+	 * @return The names of the generated proxy classes
+	 */
+	public List<String> generate(File directory) {
+		configuration.buildMappings();
+
+		final List<String> generated = new ArrayList<String>();
+		final Iterator<PersistentClass> entities = configuration.getClassMappings();
+		while ( entities.hasNext() ) {
+			final PersistentClass entity = entities.next();
+			if ( !entity.isLazy() || !entity.hasPojoRepresentation() ) {
+				continue;
+			}
+			final Class mappedClass = entity.getMappedClass();
+			final Set<Class> interfaces = PojoEntityTuplizer.determineProxyInterfaces( entity );
+			try {
+				JavassistLazyInitializer.writePrebuiltProxyClass(
+						mappedClass,
+						interfaces.toArray( new Class[interfaces.size()] ),
+						directory
+				);
+				generated.add( JavassistLazyInitializer.prebuiltProxyClassName( mappedClass ) );
+			}
+			catch ( HibernateException e ) {
+				// same as at runtime: the entity is just not proxied
+				LOG.unableToCreateProxyFactory( entity.getEntityName(), e );
+			}
+		}
+		return generated;
+	}
+}
@@ -0,0 +1,183 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.tool.instrument.javassist;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.tools.ant.BuildException;
+import org.apache.tools.ant.DirectoryScanner;
+import org.apache.tools.ant.Project;
+import org.apache.tools.ant.taskdefs.MatchingTask;
+import org.apache.tools.ant.types.FileSet;
+
+import org.hibernate.HibernateException;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.NamingStrategy;
+import org.hibernate.internal.util.ReflectHelper;
+import org.hibernate.internal.util.collections.ArrayHelper;
+
+/**
+ * An Ant task generating the Javassist proxy classes of the lazy entities at build time, see
+ * {@link ProxyGenerator}.  Typically run right after {@link InstrumentTask}, if used, and writing to the same
+ * classes directory as the entities:<pre>
+ * &lt;taskdef name="proxies" classname="org.hibernate.tool.instrument.javassist.ProxyTask"&gt;
+ *     &lt;classpath refid="lib.class.path"/&gt;
+ * &lt;/taskdef&gt;
+ *
+ * &lt;proxies config="${build.classes.dir}/hibernate.cfg.xml" destdir="${build.classes.dir}"&gt;
+ *     &lt;fileset dir="${build.classes.dir}"&gt;
+ *         &lt;include name="**&#47;*.hbm.xml"/&gt;
+ *     &lt;/fileset&gt;
+ * &lt;/proxies&gt;
+ * </pre>
+ * where <tt>lib.class.path</tt> also contains the entity classes.
+ */
+public class ProxyTask extends MatchingTask {
+
+	private List fileSets = new LinkedList();
+	private File propertiesFile = null;
+	private File configurationFile = null;
+	private File destDir = null;
+	private String namingStrategy = null;
+
+	public void addFileset(FileSet set) {
+		fileSets.add(set);
+	}
+
+	/**
+	 * Set a properties file
+	 * @param propertiesFile the properties file name
+	 */
+	public void setProperties(File propertiesFile) {
+		if ( !propertiesFile.exists() ) {
+			throw new BuildException("Properties file: " + propertiesFile + " does not exist.");
+		}
+
+		log("Using properties file " + propertiesFile, Project.MSG_DEBUG);
+		this.propertiesFile = propertiesFile;
+	}
+
+	/**
+	 * Set a <literal>.cfg.xml</literal> file
+	 * @param configurationFile the file name
+	 */
+	public void setConfig(File configurationFile) {
+		this.configurationFile = configurationFile;
+	}
+
+	/**
+	 * Set the root directory to write the proxy classes to
+	 * @param destDir the directory
+	 */
+	public void setDestdir(File destDir) {
+		this.destDir = destDir;
+	}
+
+	public void setNamingStrategy(String namingStrategy) {
+		this.namingStrategy = namingStrategy;
+	}
+
+	/**
+	 * Execute the task
+	 */
+	@Override
+	public void execute() throws BuildException {
+		if ( destDir == null ) {
+			throw new BuildException( "The destdir attribute is required" );
+		}
+		try {
+			final List<String> generated = new ProxyGenerator( getConfiguration() ).generate( destDir );
+			for ( String proxyClassName : generated ) {
+				log( "Generated proxy class " + proxyClassName, Project.MSG_VERBOSE );
+			}
+			log( "Generated " + generated.size() + " proxy classes" );
+		}
+		catch (HibernateException e) {
+			throw new BuildException("Proxy generation failed: " + e.getMessage(), e);
+		}
+		catch (Exception e) {
+			throw new BuildException(e);
+		}
+	}
+
+	private String[] getFiles() {
+		List files = new LinkedList();
+		for ( Iterator i = fileSets.iterator(); i.hasNext(); ) {
+			FileSet fs = (FileSet) i.next();
+			DirectoryScanner ds = fs.getDirectoryScanner( getProject() );
+
+			String[] dsFiles = ds.getIncludedFiles();
+			for (int j = 0; j < dsFiles.length; j++) {
+				File f = new File(dsFiles[j]);
+				if ( !f.isFile() ) {
+					f = new File( ds.getBasedir(), dsFiles[j] );
+				}
+				files.add( f.getAbsolutePath() );
+			}
+		}
+		return ArrayHelper.toStringArray( files );
+	}
+
+	private Configuration getConfiguration() throws Exception {
+		Configuration cfg = new Configuration();
+		if (namingStrategy!=null) {
+			cfg.setNamingStrategy(
+					(NamingStrategy) ReflectHelper.classForName(namingStrategy).newInstance()
+				);
+		}
+		if (configurationFile!=null) {
+			cfg.configure( configurationFile );
+		}
+
+		String[] files = getFiles();
+		for (int i = 0; i < files.length; i++) {
+			String filename = files[i];
+			if ( filename.endsWith(".jar") ) {
+				cfg.addJar( new File(filename) );
+			}
+			else {
+				cfg.addFile(filename);
+			}
+		}
+
+		if (propertiesFile != null) {
+			Properties properties = new Properties();
+			properties.putAll( cfg.getProperties() );
+			FileInputStream stream = new FileInputStream(propertiesFile);
+			try {
+				properties.load( stream );
+			}
+			finally {
+				stream.close();
+			}
+			cfg.setProperties(properties);
+		}
+		return cfg;
+	}
+}
@@ -0,0 +1,185 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.tool.precompute;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.tools.ant.BuildException;
+import org.apache.tools.ant.DirectoryScanner;
+import org.apache.tools.ant.Project;
+import org.apache.tools.ant.taskdefs.MatchingTask;
+import org.apache.tools.ant.types.FileSet;
+
+import org.hibernate.HibernateException;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.NamingStrategy;
+import org.hibernate.internal.util.ReflectHelper;
+import org.hibernate.internal.util.collections.ArrayHelper;
+
+/**
+ * An Ant task for <tt>PersisterSqlExporter</tt>.
+ *
+ * <pre>
+ * &lt;taskdef name="persistersql"
+ *     classname="org.hibernate.tool.precompute.PersisterSqlExportTask"
+ *     classpathref="class.path"/&gt;
+ *
+ * &lt;persistersql
+ *     properties="${build.classes.dir}/hibernate.properties"
+ *     output="${build.classes.dir}/META-INF/persister-sql.properties"&gt;
+ *     &lt;fileset dir="${build.classes.dir}"&gt;
+ *         &lt;include name="*.hbm.xml"/&gt;
+ *     &lt;/fileset&gt;
+ * &lt;/persistersql&gt;
+ * </pre>
+ *
+ * @see PersisterSqlExporter
+ */
+public class PersisterSqlExportTask extends MatchingTask {
+
+	private List fileSets = new LinkedList();
+	private File propertiesFile = null;
+	private File configurationFile = null;
+	private File outputFile = null;
+	private String namingStrategy = null;
+
+	public void addFileset(FileSet set) {
+		fileSets.add(set);
+	}
+
+	/**
+	 * Set a properties file
+	 * @param propertiesFile the properties file name
+	 */
+	public void setProperties(File propertiesFile) {
+		if ( !propertiesFile.exists() ) {
+			throw new BuildException("Properties file: " + propertiesFile + " does not exist.");
+		}
+
+		log("Using properties file " + propertiesFile, Project.MSG_DEBUG);
+		this.propertiesFile = propertiesFile;
+	}
+
+	/**
+	 * Set a <literal>.cfg.xml</literal> file
+	 * @param configurationFile the file name
+	 */
+	public void setConfig(File configurationFile) {
+		this.configurationFile = configurationFile;
+	}
+
+	/**
+	 * Set the file to write the SQL to
+	 * @param outputFile the file name
+	 */
+	public void setOutput(File outputFile) {
+		this.outputFile = outputFile;
+	}
+
+	public void setNamingStrategy(String namingStrategy) {
+		this.namingStrategy = namingStrategy;
+	}
+
+	/**
+	 * Execute the task
+	 */
+	@Override
+	public void execute() throws BuildException {
+		if ( outputFile == null ) {
+			throw new BuildException( "The output attribute is required" );
+		}
+		try {
+			new PersisterSqlExporter( getConfiguration() ).export( outputFile );
+		}
+		catch (HibernateException e) {
+			throw new BuildException("Persister SQL export failed: " + e.getMessage(), e);
+		}
+		catch (Exception e) {
+			throw new BuildException(e);
+		}
+	}
+
+	private String[] getFiles() {
+		List files = new LinkedList();
+		for ( Iterator i = fileSets.iterator(); i.hasNext(); ) {
+			FileSet fs = (FileSet) i.next();
+			DirectoryScanner ds = fs.getDirectoryScanner( getProject() );
+
+			String[] dsFiles = ds.getIncludedFiles();
+			for (int j = 0; j < dsFiles.length; j++) {
+				File f = new File(dsFiles[j]);
+				if ( !f.isFile() ) {
+					f = new File( ds.getBasedir(), dsFiles[j] );
+				}
+				files.add( f.getAbsolutePath() );
+			}
+		}
+		return ArrayHelper.toStringArray( files );
+	}
+
+	private Configuration getConfiguration() throws Exception {
+		Configuration cfg = new Configuration();
+		if (namingStrategy!=null) {
+			cfg.setNamingStrategy(
+					(NamingStrategy) ReflectHelper.classForName(namingStrategy).newInstance()
+				);
+		}
+		if (configurationFile!=null) {
+			cfg.configure( configurationFile );
+		}
+
+		String[] files = getFiles();
+		for (int i = 0; i < files.length; i++) {
+			String filename = files[i];
+			if ( filename.endsWith(".jar") ) {
+				cfg.addJar( new File(filename) );
+			}
+			else {
+				cfg.addFile(filename);
+			}
+		}
+
+		Properties properties = new Properties();
+		properties.putAll( cfg.getProperties() );
+		if (propertiesFile == null) {
+			properties.putAll( getProject().getProperties() );
+		}
+		else {
+			FileInputStream stream = new FileInputStream(propertiesFile);
+			try {
+				properties.load( stream );
+			}
+			finally {
+				stream.close();
+			}
+		}
+		cfg.setProperties(properties);
+		return cfg;
+	}
+}
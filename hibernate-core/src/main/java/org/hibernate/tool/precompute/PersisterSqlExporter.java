@@ -0,0 +1,186 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.tool.precompute;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.HibernateException;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.boot.registry.internal.StandardServiceRegistryImpl;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.cfg.NamingStrategy;
+import org.hibernate.engine.jdbc.connections.internal.UserSuppliedConnectionProviderImpl;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.ReflectHelper;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.persister.internal.PrecomputedPersisterSql;
+
+/**
+ * A commandline tool (also usable from a build, see {@link PersisterSqlExportTask}) generating the static SQL of
+ * the entity and collection persisters into a resource to be named by
+ * {@link AvailableSettings#PERSISTER_SQL_RESOURCE}.
+ * <p/>
+ * The SessionFactory is built without connecting to the database, so the Dialect (and any other setting
+ * affecting the generated SQL, such as the default schema or {@link AvailableSettings#USE_SQL_COMMENTS}) has to be
+ * configured explicitly, the same as at runtime.
+ */
+public class PersisterSqlExporter {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			PersisterSqlExporter.class.getName()
+	);
+
+	private final Configuration configuration;
+
+	public PersisterSqlExporter(Configuration configuration) {
+		this.configuration = configuration;
+	}
+
+	/**
+	 * Generate the SQL into the given file.
+	 *
+	 * @param outputFile The file to write
+	 *
+	 * @throws IOException Indicates a problem writing the file
+	 */
+	public void export(File outputFile) throws IOException {
+		final File directory = outputFile.getAbsoluteFile().getParentFile();
+		if ( directory != null && !directory.exists() && !directory.mkdirs() ) {
+			throw new IOException( "Unable to create directory " + directory );
+		}
+		final OutputStream outputStream = new BufferedOutputStream( new FileOutputStream( outputFile ) );
+		try {
+			export( outputStream );
+		}
+		finally {
+			outputStream.close();
+		}
+		LOG.debugf( "Exported persister SQL to %s", outputFile );
+	}
+
+	/**
+	 * Generate the SQL into the given stream.
+	 *
+	 * @param outputStream The stream to write to
+	 *
+	 * @throws IOException Indicates a problem writing to the stream
+	 */
+	public void export(OutputStream outputStream) throws IOException {
+		final Properties properties = new Properties();
+		properties.putAll( configuration.getProperties() );
+		// build the persisters only: no database access, and no SQL from an earlier export
+		properties.remove( AvailableSettings.PERSISTER_SQL_RESOURCE );
+		properties.remove( AvailableSettings.HBM2DDL_AUTO );
+		properties.remove( AvailableSettings.DATASOURCE );
+		properties.put( AvailableSettings.CONNECTION_PROVIDER, UserSuppliedConnectionProviderImpl.class.getName() );
+		properties.put( "hibernate.temp.use_jdbc_metadata_defaults", "false" );
+		properties.put( AvailableSettings.QUERY_STARTUP_CHECKING, "false" );
+		properties.put( AvailableSettings.GENERATE_STATISTICS, "false" );
+		if ( !properties.containsKey( AvailableSettings.DIALECT ) ) {
+			throw new HibernateException( "The Dialect must be set to export the persister SQL" );
+		}
+
+		final Properties originalProperties = configuration.getProperties();
+		configuration.setProperties( properties );
+		final StandardServiceRegistryImpl serviceRegistry = createServiceRegistry( properties );
+		try {
+			final SessionFactoryImplementor factory =
+					(SessionFactoryImplementor) configuration.buildSessionFactory( serviceRegistry );
+			try {
+				PrecomputedPersisterSql.write( factory, configuration.getMappingFingerprint(), outputStream );
+			}
+			finally {
+				factory.close();
+			}
+		}
+		finally {
+			serviceRegistry.destroy();
+			configuration.setProperties( originalProperties );
+		}
+	}
+
+	private static StandardServiceRegistryImpl createServiceRegistry(Properties properties) {
+		Environment.verifyProperties( properties );
+		ConfigurationHelper.resolvePlaceHolders( properties );
+		return (StandardServiceRegistryImpl) new StandardServiceRegistryBuilder().applySettings( properties ).build();
+	}
+
+	public static void main(String[] args) {
+		try {
+			Configuration cfg = new Configuration();
+
+			String propFile = null;
+			String outputFile = null;
+
+			for ( int i = 0; i < args.length; i++ ) {
+				if ( args[i].startsWith( "--" ) ) {
+					if ( args[i].startsWith( "--properties=" ) ) {
+						propFile = args[i].substring( 13 );
+					}
+					else if ( args[i].startsWith( "--config=" ) ) {
+						cfg.configure( args[i].substring( 9 ) );
+					}
+					else if ( args[i].startsWith( "--naming=" ) ) {
+						cfg.setNamingStrategy(
+								( NamingStrategy ) ReflectHelper.classForName( args[i].substring( 9 ) ).newInstance()
+						);
+					}
+					else if ( args[i].startsWith( "--output=" ) ) {
+						outputFile = args[i].substring( 9 );
+					}
+				}
+				else {
+					cfg.addFile( args[i] );
+				}
+			}
+
+			if ( propFile != null ) {
+				Properties props = new Properties();
+				props.putAll( cfg.getProperties() );
+				props.load( new FileInputStream( propFile ) );
+				cfg.setProperties( props );
+			}
+
+			if ( outputFile == null ) {
+				throw new HibernateException( "The output file must be given, using --output=" );
+			}
+			new PersisterSqlExporter( cfg ).export( new File( outputFile ) );
+		}
+		catch ( Exception e ) {
+			LOG.error( "Unable to export persister SQL", e );
+			e.printStackTrace();
+		}
+	}
+}
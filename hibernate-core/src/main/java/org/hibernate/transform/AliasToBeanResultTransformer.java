@@ -70,6 +70,15 @@ public class AliasToBeanResultTransformer extends AliasedTupleSubsetResultTransf
 		this.resultClass = resultClass;
 	}
 
+	/**
+	 * The class of the beans built by this transformer.
+	 *
+	 * @return The bean class
+	 */
+	public Class getResultClass() {
+		return resultClass;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -0,0 +1,125 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.batchfetch;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests adaptive batch fetching of entities and collections which do not define a batch size.
+ */
+public class AdaptiveBatchFetchTest extends BaseCoreFunctionalTestCase {
+	private static final int SIZE = 20;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Author.class, Book.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+		configuration.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "false" );
+		configuration.setProperty( AvailableSettings.ADAPTIVE_BATCH_FETCH_SIZE, "16" );
+	}
+
+	@Test
+	public void testEntityBatchSizeAdapts() {
+		createData();
+
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < SIZE; i++ ) {
+			assertFalse( Hibernate.isInitialized( s.load( Author.class, i ) ) );
+		}
+		sessionFactory().getStatistics().clear();
+		for ( int i = 0; i < SIZE; i++ ) {
+			Object author = s.load( Author.class, i );
+			Hibernate.initialize( author );
+			assertTrue( Hibernate.isInitialized( author ) );
+		}
+		// three single-key loads, then batches of 2, 4, 8 and the remaining 3
+		assertEquals( 7, sessionFactory().getStatistics().getEntityStatistics( Author.class.getName() ).getFetchCount() );
+		assertEquals( 16, sessionFactory().getStatistics().getEntityStatistics( Author.class.getName() ).getSuggestedBatchSize() );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanupData();
+	}
+
+	@Test
+	@SuppressWarnings( {"unchecked"})
+	public void testCollectionBatchSizeAdapts() {
+		createData();
+
+		Session s = openSession();
+		s.beginTransaction();
+		List<Author> authors = s.createQuery( "from Author a order by a.id" ).list();
+		sessionFactory().getStatistics().clear();
+		for ( Author author : authors ) {
+			assertEquals( 1, author.getBooks().size() );
+		}
+		final String role = Author.class.getName() + ".books";
+		assertEquals( 7, sessionFactory().getStatistics().getCollectionStatistics( role ).getFetchCount() );
+		assertEquals( 16, sessionFactory().getStatistics().getCollectionStatistics( role ).getSuggestedBatchSize() );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanupData();
+	}
+
+	private void createData() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < SIZE; i++ ) {
+			Author author = new Author( i );
+			s.save( author );
+			s.save( new Book( i, author ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private void cleanupData() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Book" ).executeUpdate();
+		s.createQuery( "delete Author" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
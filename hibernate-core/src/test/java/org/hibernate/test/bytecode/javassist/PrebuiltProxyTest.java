@@ -0,0 +1,122 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.bytecode.javassist;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.hibernate.cfg.Configuration;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.pojo.javassist.JavassistLazyInitializer;
+import org.hibernate.test.bytecode.ProxyBean;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.hibernate.tool.instrument.javassist.ProxyGenerator;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PrebuiltProxyTest extends BaseUnitTestCase {
+	private File directory;
+
+	@Before
+	public void createDirectory() throws Exception {
+		directory = File.createTempFile( "hibernate-proxies", "" );
+		directory.delete();
+		directory.mkdirs();
+	}
+
+	@After
+	public void deleteDirectory() {
+		delete( directory );
+	}
+
+	private static void delete(File file) {
+		final File[] children = file.listFiles();
+		if ( children != null ) {
+			for ( File child : children ) {
+				delete( child );
+			}
+		}
+		file.delete();
+	}
+
+	@Test
+	public void testGeneratedProxyClassIsLocated() throws Exception {
+		final Configuration cfg = new Configuration().addResource( "org/hibernate/test/bytecode/Bean.hbm.xml" );
+		final List<String> generated = new ProxyGenerator( cfg ).generate( directory );
+		final String proxyClassName = JavassistLazyInitializer.prebuiltProxyClassName( ProxyBean.class );
+		assertTrue( generated.contains( proxyClassName ) );
+		assertTrue( new File( directory, proxyClassName.replace( '.', File.separatorChar ) + ".class" ).isFile() );
+
+		final ClassLoader classLoader = new URLClassLoader(
+				new URL[] { directory.toURI().toURL() },
+				getClass().getClassLoader()
+		);
+		final Class proxyClass = JavassistLazyInitializer.locatePrebuiltProxyClass(
+				ProxyBean.class,
+				new Class[] { HibernateProxy.class },
+				classLoader
+		);
+		assertNotNull( proxyClass );
+		assertSame( ProxyBean.class, proxyClass.getSuperclass() );
+		assertTrue( HibernateProxy.class.isAssignableFrom( proxyClass ) );
+
+		// the proxy interfaces changed since the proxy class was generated
+		assertNull(
+				JavassistLazyInitializer.locatePrebuiltProxyClass(
+						ProxyBean.class,
+						new Class[] { Comparable.class, HibernateProxy.class },
+						classLoader
+				)
+		);
+		// a marker interface adds no methods, but the proxy must still implement it
+		assertNull(
+				JavassistLazyInitializer.locatePrebuiltProxyClass(
+						ProxyBean.class,
+						new Class[] { RandomAccess.class, HibernateProxy.class },
+						classLoader
+				)
+		);
+	}
+
+	@Test
+	public void testMissingProxyClass() {
+		assertNull(
+				JavassistLazyInitializer.locatePrebuiltProxyClass(
+						ProxyBean.class,
+						new Class[] { HibernateProxy.class },
+						getClass().getClassLoader()
+				)
+		);
+	}
+}
@@ -34,6 +34,7 @@ import org.hibernate.testing.junit4.BaseUnitTestCase;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Steve Ebersole
@@ -72,6 +73,39 @@ public class ReflectionOptimizerTest extends BaseUnitTestCase {
 		assertEquivalent( values, BeanReflectionHelper.TEST_VALUES );
 	}
 
+	@Test
+	public void testGeneratedInstantiation() {
+		BulkAccessor bulkAccessor = BulkAccessor.create(
+				Bean.class,
+				BeanReflectionHelper.getGetterNames(),
+				BeanReflectionHelper.getSetterNames(),
+				BeanReflectionHelper.getTypes()
+		);
+		assertTrue( bulkAccessor.isInstantiationSupported() );
+		assertEquals( Bean.class, bulkAccessor.newInstance().getClass() );
+	}
+
+	@Test
+	public void testInheritedAccessors() {
+		BytecodeProviderImpl provider = new BytecodeProviderImpl();
+		ReflectionOptimizer optimizer = provider.getReflectionOptimizer(
+				SubBean.class,
+				BeanReflectionHelper.getGetterNames(),
+				BeanReflectionHelper.getSetterNames(),
+				BeanReflectionHelper.getTypes()
+		);
+		assertNotNull( optimizer );
+		assertNotNull( optimizer.getAccessOptimizer() );
+
+		SubBean bean = (SubBean) optimizer.getInstantiationOptimizer().newInstance();
+		optimizer.getAccessOptimizer().setPropertyValues( bean, BeanReflectionHelper.TEST_VALUES );
+		assertEquals( bean.getSomeString(), BeanReflectionHelper.TEST_VALUES[0] );
+		assertEquivalent( optimizer.getAccessOptimizer().getPropertyValues( bean ), BeanReflectionHelper.TEST_VALUES );
+	}
+
+	public static class SubBean extends Bean {
+	}
+
 	private void assertEquivalent(Object[] checkValues, Object[] values) {
 		assertEquals( "Different lengths", checkValues.length, values.length );
 		for ( int i = 0; i < checkValues.length; i++ ) {
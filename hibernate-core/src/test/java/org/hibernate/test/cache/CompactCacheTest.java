@@ -0,0 +1,249 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import javax.persistence.Cacheable;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+import org.hibernate.Session;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.CompactCacheEntry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link CompactCacheEntry}
+ */
+public class CompactCacheTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.USE_COMPACT_CACHE, "true" );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { MyCompactData.class };
+	}
+
+	@Test
+	public void testRoundTrip() {
+		final StringBuilder longString = new StringBuilder();
+		for ( int i = 0; i < 30000; i++ ) {
+			longString.append( (char) ( 'a' + i % 26 ) ).append( '\u20ac' );
+		}
+		final Timestamp timestamp = new Timestamp( 1234567890123L );
+		timestamp.setNanos( 123456789 );
+		final Serializable[] state = new Serializable[] {
+				null,
+				"text",
+				longString.toString(),
+				1,
+				2L,
+				(short) 3,
+				(byte) 4,
+				5.5d,
+				6.5f,
+				'x',
+				Boolean.TRUE,
+				new BigDecimal( "12345678901234567890.123" ),
+				new Date( 1000L ),
+				timestamp,
+				new byte[] { 1, 2, 3 },
+				new Object[] { "component", 7, null },
+				Locale.CANADA_FRENCH,
+				LazyPropertyInitializer.UNFETCHED_PROPERTY
+		};
+
+		final Object structured = CompactCacheEntry.INSTANCE.structure( new TestCacheEntry( state, 42 ) );
+		assertTrue( structured instanceof byte[] );
+		final CacheEntry entry = (CacheEntry) CompactCacheEntry.INSTANCE.destructure( structured, sessionFactory() );
+
+		assertEquals( "SomeEntity", entry.getSubclass() );
+		assertEquals( 42, entry.getVersion() );
+		assertTrue( entry.areLazyPropertiesUnfetched() );
+		final Serializable[] read = entry.getDisassembledState();
+		assertEquals( state.length, read.length );
+		for ( int i = 0; i < state.length; i++ ) {
+			if ( state[i] instanceof byte[] ) {
+				assertArrayEquals( (byte[]) state[i], (byte[]) read[i] );
+			}
+			else if ( state[i] instanceof Object[] ) {
+				assertArrayEquals( (Object[]) state[i], (Object[]) read[i] );
+			}
+			else {
+				assertEquals( state[i], read[i] );
+				if ( state[i] != null ) {
+					assertSame( state[i].getClass(), read[i].getClass() );
+				}
+			}
+		}
+		assertEquals( timestamp.getNanos(), ( (Timestamp) read[13] ).getNanos() );
+		assertSame( LazyPropertyInitializer.UNFETCHED_PROPERTY, read[17] );
+	}
+
+	@Test
+	public void testCompactEntriesInRegion() {
+		EntityPersister persister = (EntityPersister) sessionFactory().getClassMetadata( MyCompactData.class );
+		assertSame( CompactCacheEntry.INSTANCE, persister.getCacheEntryStructure() );
+
+		final Date created = new Date( 1000000L );
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( new MyCompactData( 1, "first item", new BigDecimal( "10.50" ), created ) );
+		s.getTransaction().commit();
+		s.close();
+
+		final Map entries = sessionFactory().getStatistics()
+				.getSecondLevelCacheStatistics( persister.getCacheAccessStrategy().getRegion().getName() )
+				.getEntries();
+		assertEquals( 1, entries.size() );
+		assertTrue( entries.values().iterator().next() instanceof byte[] );
+
+		sessionFactory().getStatistics().clear();
+		s = openSession();
+		s.beginTransaction();
+		MyCompactData loaded = (MyCompactData) s.get( MyCompactData.class, 1 );
+		assertEquals( 1, sessionFactory().getStatistics().getSecondLevelCacheHitCount() );
+		assertEquals( "first item", loaded.getName() );
+		assertEquals( new BigDecimal( "10.50" ), loaded.getAmount() );
+		assertEquals( created.getTime(), loaded.getCreated().getTime() );
+		s.delete( loaded );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static class TestCacheEntry implements CacheEntry {
+		private final Serializable[] state;
+		private final Object version;
+
+		private TestCacheEntry(Serializable[] state, Object version) {
+			this.state = state;
+			this.version = version;
+		}
+
+		@Override
+		public boolean isReferenceEntry() {
+			return false;
+		}
+
+		@Override
+		public String getSubclass() {
+			return "SomeEntity";
+		}
+
+		@Override
+		public Object getVersion() {
+			return version;
+		}
+
+		@Override
+		public boolean areLazyPropertiesUnfetched() {
+			return true;
+		}
+
+		@Override
+		public Serializable[] getDisassembledState() {
+			return state;
+		}
+	}
+
+	@Entity( name="MyCompactData" )
+	@Cacheable
+	@Cache( usage = CacheConcurrencyStrategy.READ_ONLY )
+	@SuppressWarnings("UnusedDeclaration")
+	public static class MyCompactData {
+		@Id
+		private Integer id;
+		private String name;
+		private BigDecimal amount;
+		@Temporal( TemporalType.TIMESTAMP )
+		private Date created;
+
+		public MyCompactData(Integer id, String name, BigDecimal amount, Date created) {
+			this.id = id;
+			this.name = name;
+			this.amount = amount;
+			this.created = created;
+		}
+
+		protected MyCompactData() {
+		}
+
+		public Integer getId() {
+			return id;
+		}
+
+		public void setId(Integer id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public BigDecimal getAmount() {
+			return amount;
+		}
+
+		public void setAmount(BigDecimal amount) {
+			this.amount = amount;
+		}
+
+		public Date getCreated() {
+			return created;
+		}
+
+		public void setCreated(Date created) {
+			this.created = created;
+		}
+	}
+}
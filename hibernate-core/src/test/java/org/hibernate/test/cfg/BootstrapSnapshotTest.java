@@ -0,0 +1,266 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cfg;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.persistence.Embeddable;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.Description;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.Interceptor;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.BootstrapSnapshot;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.testing.ServiceRegistryBuilder;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BootstrapSnapshotTest extends BaseUnitTestCase {
+	private File directory;
+
+	@Before
+	public void createDirectory() throws Exception {
+		directory = File.createTempFile( "hibernate-snapshot", "" );
+		directory.delete();
+	}
+
+	@After
+	public void deleteDirectory() {
+		final File[] files = directory.listFiles();
+		if ( files != null ) {
+			for ( File file : files ) {
+				file.delete();
+			}
+		}
+		directory.delete();
+	}
+
+	@Test
+	public void testSnapshotIsWrittenAndRestored() {
+		final Configuration first = buildConfiguration();
+		assertSame( first, BootstrapSnapshot.buildMappings( first ) );
+		assertEquals( 1, directory.listFiles().length );
+
+		final Configuration second = buildConfiguration();
+		final Interceptor interceptor = new EmptyInterceptor() {
+		};
+		second.setInterceptor( interceptor );
+		final Configuration restored = BootstrapSnapshot.buildMappings( second );
+		assertNotSame( second, restored );
+		assertNotNull( restored.getClassMapping( Snapshotted.class.getName() ) );
+		assertSame( interceptor, restored.getInterceptor() );
+		assertEquals( "create-drop", restored.getProperty( Environment.HBM2DDL_AUTO ) );
+
+		SessionFactory factory = null;
+		ServiceRegistry serviceRegistry = null;
+		try {
+			serviceRegistry = ServiceRegistryBuilder.buildServiceRegistry( restored.getProperties() );
+			factory = restored.buildSessionFactory( serviceRegistry );
+			Session s = factory.openSession();
+			s.beginTransaction();
+			Snapshotted entity = new Snapshotted();
+			entity.setId( 1 );
+			entity.setName( "restored" );
+			s.persist( entity );
+			s.getTransaction().commit();
+			s.clear();
+			assertEquals( "restored", ( (Snapshotted) s.get( Snapshotted.class, 1 ) ).getName() );
+			s.close();
+		}
+		finally {
+			if ( factory != null ) {
+				factory.close();
+			}
+			if ( serviceRegistry != null ) {
+				ServiceRegistryBuilder.destroy( serviceRegistry );
+			}
+		}
+	}
+
+	@Test
+	public void testChangedSettingsDoNotUseSnapshot() {
+		BootstrapSnapshot.buildMappings( buildConfiguration() );
+
+		final Configuration changed = buildConfiguration();
+		changed.setProperty( Environment.DEFAULT_BATCH_FETCH_SIZE, "8" );
+		assertSame( changed, BootstrapSnapshot.buildMappings( changed ) );
+		assertEquals( 2, directory.listFiles().length );
+	}
+
+	@Test
+	public void testChangedEmbeddableDoesNotUseSnapshot() throws Exception {
+		BootstrapSnapshot.buildMappings( buildConfiguration() );
+		final File file = directory.listFiles()[0];
+
+		// the embeddable is not one of the mapping sources, but the snapshot records it; pretend it changed
+		final Snapshot snapshot = Snapshot.read( file );
+		assertTrue( snapshot.classDigests.containsKey( Details.class.getName() ) );
+		snapshot.classDigests.put( Details.class.getName(), "changed" );
+		snapshot.write( file );
+
+		final Configuration changed = buildConfiguration();
+		assertSame( changed, BootstrapSnapshot.buildMappings( changed ) );
+	}
+
+	@Test
+	public void testSnapshotWithUnexpectedClassIsRejected() throws Exception {
+		BootstrapSnapshot.buildMappings( buildConfiguration() );
+		final File file = directory.listFiles()[0];
+
+		// keep the valid header, but replace the mappings by an instance of a class no snapshot references
+		final Snapshot snapshot = Snapshot.read( file );
+		snapshot.body = SerializationHelper.serialize( Description.createSuiteDescription( "unexpected" ) );
+		snapshot.write( file );
+
+		final Configuration changed = buildConfiguration();
+		assertSame( changed, BootstrapSnapshot.buildMappings( changed ) );
+	}
+
+	/**
+	 * The layout written by {@link BootstrapSnapshot}: a format marker, the class hashes and the serialized mappings.
+	 */
+	private static class Snapshot {
+		private String format;
+		private Map<String, String> classDigests = new TreeMap<String, String>();
+		private byte[] body;
+
+		private static Snapshot read(File file) throws IOException {
+			final Snapshot snapshot = new Snapshot();
+			final DataInputStream in = new DataInputStream( new FileInputStream( file ) );
+			try {
+				snapshot.format = in.readUTF();
+				final int size = in.readInt();
+				for ( int i = 0; i < size; i++ ) {
+					snapshot.classDigests.put( in.readUTF(), in.readUTF() );
+				}
+				final ByteArrayOutputStream body = new ByteArrayOutputStream();
+				final byte[] buffer = new byte[4096];
+				int read;
+				while ( ( read = in.read( buffer ) ) != -1 ) {
+					body.write( buffer, 0, read );
+				}
+				snapshot.body = body.toByteArray();
+			}
+			finally {
+				in.close();
+			}
+			return snapshot;
+		}
+
+		private void write(File file) throws IOException {
+			final DataOutputStream out = new DataOutputStream( new FileOutputStream( file ) );
+			try {
+				out.writeUTF( format );
+				out.writeInt( classDigests.size() );
+				for ( Map.Entry<String, String> entry : classDigests.entrySet() ) {
+					out.writeUTF( entry.getKey() );
+					out.writeUTF( entry.getValue() );
+				}
+				out.write( body );
+			}
+			finally {
+				out.close();
+			}
+		}
+	}
+
+	private Configuration buildConfiguration() {
+		final Configuration cfg = new Configuration();
+		cfg.addAnnotatedClass( Snapshotted.class );
+		cfg.setProperty( Environment.HBM2DDL_AUTO, "create-drop" );
+		cfg.setProperty( AvailableSettings.BOOTSTRAP_SNAPSHOT_DIRECTORY, directory.getAbsolutePath() );
+		return cfg;
+	}
+
+	@Entity
+	public static class Snapshotted {
+		private Integer id;
+		private String name;
+		private Details details;
+
+		@Id
+		public Integer getId() {
+			return id;
+		}
+
+		public void setId(Integer id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		@Embedded
+		public Details getDetails() {
+			return details;
+		}
+
+		public void setDetails(Details details) {
+			this.details = details;
+		}
+	}
+
+	@Embeddable
+	public static class Details {
+		private String description;
+
+		public String getDescription() {
+			return description;
+		}
+
+		public void setDescription(String description) {
+			this.description = description;
+		}
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cfg;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.cfg.MultiSessionFactoryBuilder;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.testing.ServiceRegistryBuilder;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class MultiSessionFactoryBuilderTest extends BaseUnitTestCase {
+	private final List<SessionFactoryImplementor> factories = new ArrayList<SessionFactoryImplementor>();
+	private final List<ServiceRegistry> serviceRegistries = new ArrayList<ServiceRegistry>();
+
+	@After
+	public void cleanUp() {
+		for ( SessionFactoryImplementor factory : factories ) {
+			factory.close();
+		}
+		for ( ServiceRegistry serviceRegistry : serviceRegistries ) {
+			ServiceRegistryBuilder.destroy( serviceRegistry );
+		}
+	}
+
+	@Test
+	public void testShardsReuseStaticSql() {
+		final Configuration cfg = new Configuration();
+		cfg.addAnnotatedClass( Shard.class );
+		cfg.setProperty( Environment.HBM2DDL_AUTO, "create-drop" );
+		final MultiSessionFactoryBuilder builder = new MultiSessionFactoryBuilder( cfg );
+
+		final SessionFactoryImplementor first = buildShard( builder, "shard_a" );
+		final SessionFactoryImplementor second = buildShard( builder, "shard_b" );
+
+		assertEquals( "shard_a", first.getSettings().getCacheRegionPrefix() );
+		assertEquals( "shard_b", second.getSettings().getCacheRegionPrefix() );
+		assertNull( first.getSettings().getPrecomputedPersisterSql() );
+		assertNotNull( second.getSettings().getPrecomputedPersisterSql() );
+		assertSame(
+				persister( first ).getStaticSql().get( "insert.0" ),
+				persister( second ).getStaticSql().get( "insert.0" )
+		);
+
+		Session s = first.openSession();
+		s.beginTransaction();
+		Shard shard = new Shard();
+		shard.id = 1L;
+		shard.name = "a";
+		s.persist( shard );
+		s.getTransaction().commit();
+		s.close();
+
+		s = second.openSession();
+		s.beginTransaction();
+		assertNull( s.get( Shard.class, 1L ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private SessionFactoryImplementor buildShard(MultiSessionFactoryBuilder builder, String name) {
+		final Properties properties = new Properties();
+		properties.putAll( builder.getConfiguration().getProperties() );
+		properties.setProperty( Environment.URL, "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1" );
+		final ServiceRegistry serviceRegistry = ServiceRegistryBuilder.buildServiceRegistry( properties );
+		serviceRegistries.add( serviceRegistry );
+
+		final Properties overrides = new Properties();
+		overrides.setProperty( AvailableSettings.CACHE_REGION_PREFIX, name );
+		final SessionFactoryImplementor factory =
+				(SessionFactoryImplementor) builder.buildSessionFactory( serviceRegistry, overrides );
+		factories.add( factory );
+		return factory;
+	}
+
+	private static AbstractEntityPersister persister(SessionFactoryImplementor factory) {
+		return (AbstractEntityPersister) factory.getEntityPersister( Shard.class.getName() );
+	}
+
+	@Entity
+	public static class Shard {
+		@Id
+		Long id;
+		String name;
+	}
+}
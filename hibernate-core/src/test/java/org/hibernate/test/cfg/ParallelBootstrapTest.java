@@ -0,0 +1,324 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cfg;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.Mapping;
+import org.hibernate.engine.spi.NamedQueryDefinitionBuilder;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.mapping.Collection;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.metamodel.binding.EntityBinding;
+import org.hibernate.metamodel.binding.PluralAttributeBinding;
+import org.hibernate.metamodel.source.MetadataImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.internal.PersisterFactoryImpl;
+import org.hibernate.persister.spi.PersisterFactory;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.service.spi.ServiceRegistryAwareService;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.hibernate.testing.ServiceRegistryBuilder;
+import org.hibernate.type.Type;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that building the persisters and validating the named queries on several threads
+ * ({@link AvailableSettings#BOOTSTRAP_THREADS}) yields the same factory as the sequential bootstrap, and that
+ * deferring the named query check ({@link AvailableSettings#QUERY_STARTUP_CHECK_DEFERRED}) moves failures to
+ * first use.
+ */
+public class ParallelBootstrapTest extends BaseUnitTestCase {
+	private static final String[] FILES = new String[] {
+			"legacy/ABC.hbm.xml",
+			"legacy/ABCExtends.hbm.xml",
+			"legacy/Baz.hbm.xml",
+			"legacy/Category.hbm.xml",
+			"legacy/Circular.hbm.xml",
+			"legacy/Container.hbm.xml",
+			"legacy/FooBar.hbm.xml",
+			"legacy/Glarch.hbm.xml",
+			"legacy/Many.hbm.xml",
+			"legacy/MasterDetail.hbm.xml",
+			"legacy/One.hbm.xml",
+			"legacy/ParentChild.hbm.xml",
+			"legacy/Qux.hbm.xml",
+			"legacy/Simple.hbm.xml",
+			"iterate/Item.hbm.xml",
+			"joinfetch/ItemBid.hbm.xml"
+	};
+
+	@Test
+	public void testParallelBootstrapMatchesSequential() {
+		SessionFactory sequential = null;
+		SessionFactory parallel = null;
+		ServiceRegistry serviceRegistry = null;
+		ServiceRegistry parallelServiceRegistry = null;
+		try {
+			final Configuration sequentialCfg = buildConfiguration( "1" );
+			serviceRegistry = ServiceRegistryBuilder.buildServiceRegistry( sequentialCfg.getProperties() );
+			sequential = sequentialCfg.buildSessionFactory( serviceRegistry );
+
+			final Configuration parallelCfg = buildConfiguration( "4" );
+			final ThreadRecordingPersisterFactory persisterFactory = new ThreadRecordingPersisterFactory();
+			parallelServiceRegistry = new StandardServiceRegistryBuilder()
+					.applySettings( parallelCfg.getProperties() )
+					.addService( PersisterFactory.class, persisterFactory )
+					.build();
+			parallel = parallelCfg.buildSessionFactory( parallelServiceRegistry );
+
+			// every persister was built by a worker, none by the bootstrapping thread
+			assertFalse( persisterFactory.threadNames.isEmpty() );
+			for ( String threadName : persisterFactory.threadNames ) {
+				assertTrue( threadName, threadName.startsWith( "hibernate-bootstrap-" ) );
+			}
+
+			assertEquals(
+					new TreeSet<String>( sequential.getAllClassMetadata().keySet() ),
+					new TreeSet<String>( parallel.getAllClassMetadata().keySet() )
+			);
+			assertEquals(
+					new TreeSet<String>( sequential.getAllCollectionMetadata().keySet() ),
+					new TreeSet<String>( parallel.getAllCollectionMetadata().keySet() )
+			);
+			assertTrue( parallel.getAllClassMetadata().size() > 1 );
+			for ( String entityName : sequential.getAllClassMetadata().keySet() ) {
+				final ClassMetadata expected = sequential.getClassMetadata( entityName );
+				final ClassMetadata actual = parallel.getClassMetadata( entityName );
+				assertArrayEquals( entityName, expected.getPropertyNames(), actual.getPropertyNames() );
+				assertEquals( entityName, typeNames( expected.getPropertyTypes() ), typeNames( actual.getPropertyTypes() ) );
+			}
+		}
+		finally {
+			if ( sequential != null ) {
+				sequential.close();
+			}
+			if ( parallel != null ) {
+				parallel.close();
+			}
+			if ( serviceRegistry != null ) {
+				ServiceRegistryBuilder.destroy( serviceRegistry );
+			}
+			if ( parallelServiceRegistry != null ) {
+				ServiceRegistryBuilder.destroy( parallelServiceRegistry );
+			}
+		}
+	}
+
+	@Test
+	public void testParallelNamedQueryCheckReportsErrors() {
+		Configuration cfg = buildConfiguration( "4" );
+		cfg.createMappings().addQuery(
+				"broken",
+				new NamedQueryDefinitionBuilder( "broken" ).setQuery( "from NoSuchEntity" ).createNamedQueryDefinition()
+		);
+
+		SessionFactory factory = null;
+		ServiceRegistry serviceRegistry = null;
+		try {
+			serviceRegistry = ServiceRegistryBuilder.buildServiceRegistry( cfg.getProperties() );
+			factory = cfg.buildSessionFactory( serviceRegistry );
+			fail( "expecting the broken named query to be reported" );
+		}
+		catch (HibernateException expected) {
+			assertTrue( expected.getMessage().contains( "broken" ) );
+		}
+		finally {
+			if ( factory != null ) {
+				factory.close();
+			}
+			if ( serviceRegistry != null ) {
+				ServiceRegistryBuilder.destroy( serviceRegistry );
+			}
+		}
+	}
+
+	@Test
+	public void testDeferredNamedQueryCheckDoesNotFailBootstrap() throws Exception {
+		Configuration cfg = buildConfiguration( "4" );
+		cfg.setProperty( AvailableSettings.QUERY_STARTUP_CHECK_DEFERRED, "true" );
+		cfg.createMappings().addQuery(
+				"broken",
+				new NamedQueryDefinitionBuilder( "broken" ).setQuery( "from NoSuchEntity" ).createNamedQueryDefinition()
+		);
+
+		SessionFactory factory = null;
+		ServiceRegistry serviceRegistry = null;
+		try {
+			serviceRegistry = ServiceRegistryBuilder.buildServiceRegistry( cfg.getProperties() );
+			factory = cfg.buildSessionFactory( serviceRegistry );
+
+			// the warm-up compiles the valid named queries into the query plan cache in the background
+			final SessionFactoryImplementor factoryImplementor = (SessionFactoryImplementor) factory;
+			final String nameDesc = factoryImplementor.getNamedQuery( "nameDesc" ).getQueryString();
+			Set<String> cachedQueries = cachedQueries( factoryImplementor );
+			final long deadline = System.currentTimeMillis() + 10000;
+			while ( !cachedQueries.contains( nameDesc ) && System.currentTimeMillis() < deadline ) {
+				Thread.sleep( 10 );
+				cachedQueries = cachedQueries( factoryImplementor );
+			}
+			assertTrue( cachedQueries.contains( nameDesc ) );
+			assertFalse( cachedQueries.contains( "from NoSuchEntity" ) );
+
+			Session s = factory.openSession();
+			try {
+				// the broken named query fails on first use instead of at startup
+				s.getNamedQuery( "nameDesc" );
+				try {
+					s.getNamedQuery( "broken" );
+					fail( "expecting the broken named query to fail on first use" );
+				}
+				catch (HibernateException expected) {
+				}
+			}
+			finally {
+				s.close();
+			}
+		}
+		finally {
+			if ( factory != null ) {
+				factory.close();
+			}
+			if ( serviceRegistry != null ) {
+				ServiceRegistryBuilder.destroy( serviceRegistry );
+			}
+		}
+	}
+
+	/**
+	 * The HQL query strings in the query plan cache of the given factory.
+	 */
+	private static Set<String> cachedQueries(SessionFactoryImplementor factory) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		factory.getQueryPlanCache().writeHotPlans( out );
+		final Properties hotPlans = new Properties();
+		hotPlans.load( new ByteArrayInputStream( out.toByteArray() ) );
+		final Set<String> queries = new HashSet<String>();
+		for ( String name : hotPlans.stringPropertyNames() ) {
+			if ( name.endsWith( ".query" ) ) {
+				queries.add( hotPlans.getProperty( name ) );
+			}
+		}
+		return queries;
+	}
+
+	private static Configuration buildConfiguration(String threads) {
+		Configuration cfg = new Configuration();
+		for ( String file : FILES ) {
+			cfg.addResource( "org/hibernate/test/" + file );
+		}
+		cfg.setProperty( AvailableSettings.BOOTSTRAP_THREADS, threads );
+		return cfg;
+	}
+
+	private static List<String> typeNames(Type[] types) {
+		final List<String> names = new ArrayList<String>( types.length );
+		for ( Type type : types ) {
+			names.add( type.getName() );
+		}
+		return names;
+	}
+
+	/**
+	 * Builds the standard persisters, remembering which threads built them.
+	 */
+	private static class ThreadRecordingPersisterFactory implements PersisterFactory, ServiceRegistryAwareService {
+		private final PersisterFactoryImpl delegate = new PersisterFactoryImpl();
+		private final Set<String> threadNames = Collections.synchronizedSet( new HashSet<String>() );
+
+		@Override
+		public void injectServices(ServiceRegistryImplementor serviceRegistry) {
+			delegate.injectServices( serviceRegistry );
+		}
+
+		@Override
+		public EntityPersister createEntityPersister(
+				PersistentClass model,
+				EntityRegionAccessStrategy cacheAccessStrategy,
+				NaturalIdRegionAccessStrategy naturalIdAccessStrategy,
+				SessionFactoryImplementor factory,
+				Mapping cfg) {
+			threadNames.add( Thread.currentThread().getName() );
+			return delegate.createEntityPersister( model, cacheAccessStrategy, naturalIdAccessStrategy, factory, cfg );
+		}
+
+		@Override
+		public EntityPersister createEntityPersister(
+				EntityBinding model,
+				EntityRegionAccessStrategy cacheAccessStrategy,
+				SessionFactoryImplementor factory,
+				Mapping cfg) {
+			threadNames.add( Thread.currentThread().getName() );
+			return delegate.createEntityPersister( model, cacheAccessStrategy, factory, cfg );
+		}
+
+		@Override
+		public CollectionPersister createCollectionPersister(
+				Configuration cfg,
+				Collection model,
+				CollectionRegionAccessStrategy cacheAccessStrategy,
+				SessionFactoryImplementor factory) {
+			threadNames.add( Thread.currentThread().getName() );
+			return delegate.createCollectionPersister( cfg, model, cacheAccessStrategy, factory );
+		}
+
+		@Override
+		public CollectionPersister createCollectionPersister(
+				MetadataImplementor metadata,
+				PluralAttributeBinding model,
+				CollectionRegionAccessStrategy cacheAccessStrategy,
+				SessionFactoryImplementor factory) {
+			threadNames.add( Thread.currentThread().getName() );
+			return delegate.createCollectionPersister( metadata, model, cacheAccessStrategy, factory );
+		}
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.criteria;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.hibernate.Criteria;
+import org.hibernate.Session;
+import org.hibernate.criterion.Projections;
+import org.hibernate.criterion.Restrictions;
+import org.hibernate.internal.CriteriaImpl;
+import org.hibernate.loader.criteria.CriteriaLoader;
+import org.hibernate.loader.criteria.CriteriaQueryTranslator;
+import org.hibernate.persister.entity.OuterJoinLoadable;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.hibernate.transform.Transformers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class CriteriaPlanCacheTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "criteria/TestObject.hbm.xml" };
+	}
+
+	@Test
+	public void testLoaderIsSharedBySameShape() {
+		Session s = openSession();
+		CriteriaLoader loader = loader( s.createCriteria( TestObject.class ).add( Restrictions.eq( "text", "a" ) ) );
+		assertSame( loader, loader( s.createCriteria( TestObject.class ).add( Restrictions.eq( "text", "b" ) ) ) );
+		assertNotSame( loader, loader( s.createCriteria( TestObject.class ).add( Restrictions.ne( "text", "b" ) ) ) );
+
+		CriteriaLoader inLoader = loader(
+				s.createCriteria( TestObject.class ).add( Restrictions.in( "text", new Object[] { "a", "b" } ) )
+		);
+		assertSame(
+				inLoader,
+				loader( s.createCriteria( TestObject.class ).add( Restrictions.in( "text", new Object[] { "c", "d" } ) ) )
+		);
+		assertNotSame(
+				inLoader,
+				loader( s.createCriteria( TestObject.class ).add( Restrictions.in( "text", new Object[] { "a", "b", "c" } ) ) )
+		);
+		s.close();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testCachedLoaderUsesValuesOfEachExecution() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( String text : new String[] { "a", "b", "c" } ) {
+			TestObject object = new TestObject();
+			object.setText( text );
+			s.save( object );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		for ( String text : new String[] { "a", "b", "c" } ) {
+			List<TestObject> results = s.createCriteria( TestObject.class )
+					.add( Restrictions.eq( "text", text ) )
+					.list();
+			assertEquals( 1, results.size() );
+			assertEquals( text, results.get( 0 ).getText() );
+		}
+
+		Long count = (Long) s.createCriteria( TestObject.class )
+				.add( Restrictions.ne( "text", "a" ) )
+				.setProjection( Projections.rowCount() )
+				.uniqueResult();
+		assertEquals( 2L, count.longValue() );
+		List<Map> maps = s.createCriteria( TestObject.class )
+				.add( Restrictions.ne( "text", "c" ) )
+				.setProjection( Projections.alias( Projections.rowCount(), "count" ) )
+				.setResultTransformer( Transformers.ALIAS_TO_ENTITY_MAP )
+				.list();
+		assertEquals( 2L, maps.get( 0 ).get( "count" ) );
+
+		s.createQuery( "delete TestObject" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private CriteriaLoader loader(Criteria criteria) {
+		final String entityName = TestObject.class.getName();
+		final CriteriaQueryTranslator translator = new CriteriaQueryTranslator(
+				sessionFactory(),
+				(CriteriaImpl) criteria,
+				entityName,
+				CriteriaQueryTranslator.ROOT_SQL_ALIAS
+		);
+		return sessionFactory().getQueryPlanCache().getCriteriaLoader(
+				(OuterJoinLoadable) sessionFactory().getEntityPersister( entityName ),
+				translator,
+				( (CriteriaImpl) criteria ).getSession().getLoadQueryInfluencers()
+		);
+	}
+}
@@ -0,0 +1,265 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.criteria;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.Criteria;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Restrictions;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.CriteriaImpl;
+import org.hibernate.loader.criteria.CriteriaQueryTranslator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.ServiceRegistryBuilder;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests reading pages by the sort key of the previous page, through both Criteria and HQL row value comparisons.
+ */
+public class KeysetPaginationTest extends BaseCoreFunctionalTestCase {
+	private static final int PAGE_SIZE = 3;
+
+	@Entity( name = "AuditEntry" )
+	public static class AuditEntry {
+		@Id
+		private Long id;
+		private String category;
+
+		public AuditEntry() {
+		}
+
+		public AuditEntry(Long id, String category) {
+			this.id = id;
+			this.category = category;
+		}
+
+		public Long getId() {
+			return id;
+		}
+
+		public String getCategory() {
+			return category;
+		}
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { AuditEntry.class };
+	}
+
+	@Test
+	public void testCriteriaKeysetAscending() {
+		createEntries();
+		assertCriteriaPages( new Order[] { Order.asc( "category" ), Order.asc( "id" ) } );
+		deleteEntries();
+	}
+
+	@Test
+	public void testCriteriaKeysetDescending() {
+		createEntries();
+		assertCriteriaPages( new Order[] { Order.desc( "category" ), Order.desc( "id" ) } );
+		deleteEntries();
+	}
+
+	@Test
+	public void testCriteriaKeysetMixedDirections() {
+		createEntries();
+		assertCriteriaPages( new Order[] { Order.desc( "category" ), Order.asc( "id" ) } );
+		deleteEntries();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testHqlRowValueComparison() {
+		createEntries();
+
+		Session s = openSession();
+		s.beginTransaction();
+		List<Long> expected = s.createQuery( "select e.id from AuditEntry e order by e.category, e.id" ).list();
+		List<Long> paged = new ArrayList<Long>();
+		List<AuditEntry> page = s.createQuery( "from AuditEntry e order by e.category, e.id" )
+				.setMaxResults( PAGE_SIZE )
+				.list();
+		while ( !page.isEmpty() ) {
+			for ( AuditEntry entry : page ) {
+				paged.add( entry.getId() );
+			}
+			AuditEntry last = page.get( page.size() - 1 );
+			page = s.createQuery(
+					"from AuditEntry e where (e.category, e.id) > (:category, :id) order by e.category, e.id"
+			)
+					.setParameter( "category", last.getCategory() )
+					.setParameter( "id", last.getId() )
+					.setMaxResults( PAGE_SIZE )
+					.list();
+		}
+		assertEquals( expected, paged );
+
+		assertEquals(
+				2L,
+				s.createQuery( "select count(*) from AuditEntry e where (e.category, e.id) >= (:category, :id)" )
+						.setParameter( "category", "c2" )
+						.setParameter( "id", 5L )
+						.uniqueResult()
+		);
+		s.getTransaction().commit();
+		s.close();
+
+		deleteEntries();
+	}
+
+	@Test
+	@RequiresDialect( H2Dialect.class )
+	public void testHqlRowValueWithExpressionIsNotExpanded() {
+		createEntries();
+
+		// H2 accepts row values even though its dialect does not claim them, the comparison is passed through as is
+		Session s = openSession();
+		s.beginTransaction();
+		assertEquals(
+				2L,
+				s.createQuery( "select count(*) from AuditEntry e where (lower(e.category), e.id) >= (:category, :id)" )
+						.setParameter( "category", "c2" )
+						.setParameter( "id", 5L )
+						.uniqueResult()
+		);
+		s.getTransaction().commit();
+		s.close();
+
+		deleteEntries();
+	}
+
+	@Test
+	public void testRowValueRendering() {
+		// only rendered, so any Dialect claiming row value support will do
+		final Configuration cfg = new Configuration();
+		cfg.addAnnotatedClass( AuditEntry.class );
+		cfg.setProperty( AvailableSettings.DIALECT, PostgreSQL81Dialect.class.getName() );
+		cfg.setProperty( "hibernate.temp.use_jdbc_metadata_defaults", "false" );
+		final ServiceRegistry serviceRegistry = ServiceRegistryBuilder.buildServiceRegistry( cfg.getProperties() );
+		try {
+			final SessionFactoryImplementor factory =
+					(SessionFactoryImplementor) cfg.buildSessionFactory( serviceRegistry );
+			try {
+				assertEquals(
+						"(this_.category, this_.id)>(?, ?)",
+						render( factory, Order.asc( "category" ), Order.asc( "id" ) )
+				);
+				assertEquals(
+						"(this_.category, this_.id)<(?, ?)",
+						render( factory, Order.desc( "category" ), Order.desc( "id" ) )
+				);
+				// mixed directions cannot be compared as a row value
+				assertEquals(
+						"((this_.category<?) or (this_.category=? and this_.id>?))",
+						render( factory, Order.desc( "category" ), Order.asc( "id" ) )
+				);
+			}
+			finally {
+				factory.close();
+			}
+		}
+		finally {
+			ServiceRegistryBuilder.destroy( serviceRegistry );
+		}
+	}
+
+	private String render(SessionFactoryImplementor factory, Order... orders) {
+		final CriteriaImpl criteria = new CriteriaImpl( AuditEntry.class.getName(), null );
+		criteria.add( Restrictions.keysetAfter( orders, new Object[] { "c1", 4L } ) );
+		return new CriteriaQueryTranslator(
+				factory,
+				criteria,
+				AuditEntry.class.getName(),
+				CriteriaQueryTranslator.ROOT_SQL_ALIAS
+		).getWhereCondition();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void assertCriteriaPages(Order[] orders) {
+		Session s = openSession();
+		s.beginTransaction();
+		List<Long> expected = new ArrayList<Long>();
+		for ( AuditEntry entry : (List<AuditEntry>) addOrders( s.createCriteria( AuditEntry.class ), orders ).list() ) {
+			expected.add( entry.getId() );
+		}
+
+		List<Long> paged = new ArrayList<Long>();
+		List<AuditEntry> page = addOrders( s.createCriteria( AuditEntry.class ), orders )
+				.setMaxResults( PAGE_SIZE )
+				.list();
+		while ( !page.isEmpty() ) {
+			for ( AuditEntry entry : page ) {
+				paged.add( entry.getId() );
+			}
+			AuditEntry last = page.get( page.size() - 1 );
+			page = addOrders( s.createCriteria( AuditEntry.class ), orders )
+					.add( Restrictions.keysetAfter( orders, new Object[] { last.getCategory(), last.getId() } ) )
+					.setMaxResults( PAGE_SIZE )
+					.list();
+		}
+		assertEquals( expected, paged );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private Criteria addOrders(Criteria criteria, Order[] orders) {
+		for ( Order order : orders ) {
+			criteria.addOrder( order );
+		}
+		return criteria;
+	}
+
+	private void createEntries() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( long id = 1; id <= 10; id++ ) {
+			s.save( new AuditEntry( id, "c" + ( id % 3 ) ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private void deleteEntries() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete AuditEntry" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
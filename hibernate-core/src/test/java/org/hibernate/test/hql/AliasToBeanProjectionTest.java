@@ -0,0 +1,315 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.hql;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.util.List;
+
+import org.hibernate.PropertyAccessException;
+import org.hibernate.PropertyNotFoundException;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.bytecode.internal.javassist.BulkAccessorException;
+import org.hibernate.bytecode.spi.ReflectionOptimizer;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.hql.internal.AliasToBeanInstantiator;
+import org.hibernate.transform.Transformers;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the DTO projections which are instantiated as their rows are read.
+ */
+public class AliasToBeanProjectionTest extends BaseCoreFunctionalTestCase {
+	@Entity( name = "Employee" )
+	public static class Employee {
+		@Id
+		private Long id;
+		private String name;
+		private Integer salary;
+
+		public Employee() {
+		}
+
+		public Employee(Long id, String name, Integer salary) {
+			this.id = id;
+			this.name = name;
+			this.salary = salary;
+		}
+	}
+
+	public static class EmployeeSummary {
+		private String name;
+		private Integer salary;
+
+		public EmployeeSummary() {
+		}
+
+		public EmployeeSummary(String name, Integer salary) {
+			this.name = name;
+			this.salary = salary;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public Integer getSalary() {
+			return salary;
+		}
+
+		public void setSalary(Integer salary) {
+			this.salary = salary;
+		}
+	}
+
+	public static class EmployeeRank {
+		private String name;
+		private int salary;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getSalary() {
+			return salary;
+		}
+
+		public void setSalary(int salary) {
+			this.salary = salary;
+		}
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Employee.class };
+	}
+
+	@Test
+	public void testAliasToBeanList() {
+		createEmployees();
+
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 2; i++ ) {
+			// the second execution reuses the instantiator of the query plan
+			List results = s.createQuery( "select e.name as name, e.salary as salary from Employee e order by e.id" )
+					.setResultTransformer( Transformers.aliasToBean( EmployeeSummary.class ) )
+					.list();
+			assertSummaries( results );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		deleteEmployees();
+	}
+
+	@Test
+	public void testSelectNewList() {
+		createEmployees();
+
+		Session s = openSession();
+		s.beginTransaction();
+		List results = s.createQuery(
+				"select new " + EmployeeSummary.class.getName() + "(e.name, e.salary) from Employee e order by e.id"
+		).list();
+		assertSummaries( results );
+		s.getTransaction().commit();
+		s.close();
+
+		deleteEmployees();
+	}
+
+	@Test
+	public void testAliasToBeanScroll() {
+		createEmployees();
+
+		Session s = openSession();
+		s.beginTransaction();
+		ScrollableResults results = s.createQuery( "select e.name as name, e.salary as salary from Employee e order by e.id" )
+				.setResultTransformer( Transformers.aliasToBean( EmployeeSummary.class ) )
+				.scroll();
+		assertTrue( results.next() );
+		assertEquals( "Steve", ( (EmployeeSummary) results.get( 0 ) ).getName() );
+		results.close();
+		s.getTransaction().commit();
+		s.close();
+
+		deleteEmployees();
+	}
+
+	@Test
+	public void testUnknownAliasFailsOnFirstRow() {
+		Session s = openSession();
+		s.beginTransaction();
+		List results = s.createQuery( "select e.name as fullName from Employee e" )
+				.setResultTransformer( Transformers.aliasToBean( EmployeeSummary.class ) )
+				.list();
+		assertTrue( results.isEmpty() );
+		s.getTransaction().commit();
+		s.close();
+
+		createEmployees();
+
+		s = openSession();
+		s.beginTransaction();
+		try {
+			s.createQuery( "select e.name as fullName from Employee e" )
+					.setResultTransformer( Transformers.aliasToBean( EmployeeSummary.class ) )
+					.list();
+			fail( "expecting PropertyNotFoundException" );
+		}
+		catch ( PropertyNotFoundException expected ) {
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		deleteEmployees();
+	}
+
+	@Test
+	public void testInstantiator() {
+		AliasToBeanInstantiator instantiator = AliasToBeanInstantiator.create(
+				EmployeeSummary.class,
+				new String[] { "name", null, "salary" },
+				sessionFactory().getQueryPlanCache()
+		);
+		// an alias which is not a bean property rules out the generated accessor
+		assertFalse( instantiator.isOptimized() );
+
+		EmployeeSummary summary = (EmployeeSummary) instantiator.transformTuple(
+				new Object[] { "Steve", "ignored", null },
+				null
+		);
+		assertEquals( "Steve", summary.getName() );
+		assertNull( summary.getSalary() );
+	}
+
+	@Test
+	public void testGeneratedAccessorIsShared() {
+		final QueryPlanCache queryPlanCache = sessionFactory().getQueryPlanCache();
+		final String[] getterNames = new String[] { "getName", "getSalary" };
+		final String[] setterNames = new String[] { "setName", "setSalary" };
+		final Class[] types = new Class[] { String.class, Integer.class };
+		ReflectionOptimizer optimizer = queryPlanCache.getBeanReflectionOptimizer(
+				EmployeeSummary.class,
+				getterNames,
+				setterNames,
+				types
+		);
+		assertSame(
+				optimizer,
+				queryPlanCache.getBeanReflectionOptimizer(
+						EmployeeSummary.class,
+						getterNames.clone(),
+						setterNames.clone(),
+						types
+				)
+		);
+	}
+
+	@Test
+	public void testNullIntoPrimitiveSetter() {
+		final Object[] tuple = new Object[] { "Gail", null };
+
+		// the reflective setters report the null
+		AliasToBeanInstantiator instantiator = AliasToBeanInstantiator.create(
+				EmployeeRank.class,
+				new String[] { "name", "salary" },
+				sessionFactory().getQueryPlanCache()
+		);
+		try {
+			instantiator.transformTuple( tuple, null );
+			fail( "expecting PropertyAccessException" );
+		}
+		catch ( PropertyAccessException expected ) {
+			assertTrue( expected.getCause() instanceof NullPointerException );
+		}
+
+		// the generated accessor fails on unboxing the null, still reported as a PropertyAccessException
+		ReflectionOptimizer optimizer = sessionFactory().getQueryPlanCache().getBeanReflectionOptimizer(
+				EmployeeRank.class,
+				new String[] { "getName", "getSalary" },
+				new String[] { "setName", "setSalary" },
+				new Class[] { String.class, int.class }
+		);
+		assertNotNull( optimizer );
+		final Object rank = optimizer.getInstantiationOptimizer().newInstance();
+		try {
+			optimizer.getAccessOptimizer().setPropertyValues( rank, tuple );
+			fail( "expecting PropertyAccessException" );
+		}
+		catch ( PropertyAccessException expected ) {
+			assertTrue( expected.getCause() instanceof BulkAccessorException );
+			assertEquals( 1, ( (BulkAccessorException) expected.getCause() ).getIndex() );
+			assertTrue( expected.getCause().getCause() instanceof NullPointerException );
+		}
+	}
+
+	private void assertSummaries(List results) {
+		assertEquals( 2, results.size() );
+		EmployeeSummary first = (EmployeeSummary) results.get( 0 );
+		assertEquals( "Steve", first.getName() );
+		assertEquals( Integer.valueOf( 100 ), first.getSalary() );
+		EmployeeSummary second = (EmployeeSummary) results.get( 1 );
+		assertEquals( "Gail", second.getName() );
+		assertNull( second.getSalary() );
+	}
+
+	private void createEmployees() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( new Employee( 1L, "Steve", 100 ) );
+		s.save( new Employee( 2L, "Gail", null ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private void deleteEmployees() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Employee" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.hql.joinedSubclass;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import org.hibernate.Filter;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.PostgreSQL91Dialect;
+import org.hibernate.dialect.PostgreSQL9Dialect;
+import org.hibernate.hql.spi.CteValuesListBulkIdStrategy;
+import org.hibernate.persister.entity.Queryable;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The SQL rendered by {@link CteValuesListBulkIdStrategy} for a Dialect supporting common table expressions in
+ * update and delete statements.  The statements are only rendered, not executed.
+ */
+public class CteValuesListBulkIdStrategySqlTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Employee.class };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.DIALECT, PostgreSQL91Dialect.class.getName() );
+		cfg.setProperty( AvailableSettings.HQL_BULK_ID_STRATEGY, CteValuesListBulkIdStrategy.SHORT_NAME );
+	}
+
+	@Override
+	protected boolean createSchema() {
+		return false;
+	}
+
+	@Test
+	public void testValuesCteRequiresPostgres91() {
+		assertFalse( new PostgreSQL9Dialect().supportsValuesCteInDml() );
+		assertTrue( new PostgreSQL91Dialect().supportsValuesCteInDml() );
+	}
+
+	@Test
+	public void testDeleteRendersValuesCte() {
+		final Queryable persister = (Queryable) sessionFactory().getEntityPersister( Employee.class.getName() );
+		final String cteName = persister.getTemporaryIdTableName();
+		assertTrue( cteName.startsWith( "HT_" ) );
+		final String idColumn = persister.getIdentifierColumnNames()[0];
+
+		final String[] sqlStrings = sessionFactory().getQueryPlanCache()
+				.getHQLQueryPlan( "delete from Employee", false, Collections.<String, Filter>emptyMap() )
+				.getSqlStrings();
+		// the id select, then one delete per table, each restricted to a single id
+		assertEquals( 3, sqlStrings.length );
+		final String cte = "with " + cteName + " (" + idColumn + ") as (values (?)) ";
+		final String restriction = " where (" + idColumn + ") in (select " + idColumn + " from " + cteName + ")";
+		assertEquals( cte + "delete from Employee" + restriction, sqlStrings[1] );
+		assertEquals( cte + "delete from Person" + restriction, sqlStrings[2] );
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.hql.joinedSubclass;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.hql.spi.InlineIdsBulkIdStrategy;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Bulk manipulation of a joined hierarchy through {@link InlineIdsBulkIdStrategy}, which needs no id table.
+ */
+public class InlineIdsBulkIdStrategyTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Employee.class };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.HQL_BULK_ID_STRATEGY, getBulkIdStrategyName() );
+	}
+
+	protected String getBulkIdStrategyName() {
+		return InlineIdsBulkIdStrategy.SHORT_NAME;
+	}
+
+	@Test
+	public void testBulkUpdateAndDelete() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( new Person( "Steve" ) );
+		s.save( new Employee( "Sam", "A1" ) );
+		Employee sue = new Employee( "Sue", "B2" );
+		s.save( sue );
+		s.save( new Employee( "John", "A3" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals(
+				2,
+				s.createQuery( "update Employee set name = 'Other' where employeeNumber like 'A%'" ).executeUpdate()
+		);
+		assertEquals(
+				1,
+				s.createQuery( "update Employee e set e.name = :name where e.id = :id" )
+						.setParameter( "name", "Susan" )
+						.setParameter( "id", sue.getId() )
+						.executeUpdate()
+		);
+		assertEquals( 0, s.createQuery( "update Person set name = 'Nobody' where name = 'Nobody'" ).executeUpdate() );
+		assertEquals( 2L, s.createQuery( "select count(*) from Employee where name = 'Other'" ).uniqueResult() );
+		assertEquals( "Susan", s.createQuery( "select name from Employee where employeeNumber = 'B2'" ).uniqueResult() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 2, s.createQuery( "delete from Person where name like 'S%'" ).executeUpdate() );
+		assertEquals( 2L, s.createQuery( "select count(*) from Person" ).uniqueResult() );
+		assertEquals( 2, s.createQuery( "delete from Employee" ).executeUpdate() );
+		assertEquals( 0L, s.createQuery( "select count(*) from Person" ).uniqueResult() );
+		assertEquals( 0, s.createQuery( "delete from Employee" ).executeUpdate() );
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.locking;
+
+import org.junit.Test;
+
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.Session;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Loaders for the less common lock modes, and for merge and refresh, are built on first use.  Make sure
+ * each of them still works, including when used repeatedly.
+ */
+public class LazyLockModeLoaderTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { A.class };
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Test
+	public void testLoadingWithEachLockMode() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Long id = (Long) s.save( new A( "it" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		final LockMode[] lockModes = new LockMode[] {
+				LockMode.NONE,
+				LockMode.READ,
+				LockMode.OPTIMISTIC,
+				LockMode.PESSIMISTIC_READ,
+				LockMode.PESSIMISTIC_WRITE,
+				LockMode.UPGRADE,
+				LockMode.OPTIMISTIC,
+				LockMode.PESSIMISTIC_WRITE
+		};
+		for ( LockMode lockMode : lockModes ) {
+			s = openSession();
+			s.beginTransaction();
+			A it = (A) s.get( A.class, id, new LockOptions( lockMode ) );
+			assertNotNull( it );
+			assertEquals( "it", it.getValue() );
+			s.getTransaction().commit();
+			s.close();
+		}
+	}
+
+	@Test
+	public void testMergeAndRefresh() {
+		Session s = openSession();
+		s.beginTransaction();
+		A detached = new A( "it" );
+		s.save( detached );
+		s.getTransaction().commit();
+		s.close();
+
+		detached.setValue( "changed" );
+		s = openSession();
+		s.beginTransaction();
+		A merged = (A) s.merge( detached );
+		assertEquals( "changed", merged.getValue() );
+		merged.setValue( "changed again" );
+		s.refresh( merged );
+		assertEquals( "it", merged.getValue() );
+		s.getTransaction().commit();
+		s.close();
+	}
+}
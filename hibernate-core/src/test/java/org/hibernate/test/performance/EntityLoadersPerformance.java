@@ -0,0 +1,190 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.performance;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Ignore;
+
+import org.hibernate.HibernateException;
+import org.hibernate.LockMode;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.Mapping;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.persister.entity.SingleTableEntityPersister;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.testing.ServiceRegistryBuilder;
+
+/**
+ * Measures the {@link SessionFactory} startup time and the heap it retains with the per-LockMode entity loaders
+ * built on first use, against the same mappings with every loader built up front (as they were before).
+ * <p/>
+ * Each run builds a factory over {@link #NUMBER_ENTITIES} generated entities, each with a few properties and a
+ * many-to-one fetched by join, so that every loader has to walk an association.
+ */
+@Ignore
+public class EntityLoadersPerformance {
+	private final static int NUMBER_ENTITIES = 500;
+	private final static int NUMBER_PROPERTIES = 10;
+
+	private String getSecondsString(long milliseconds) {
+		return (milliseconds / 1000) + "." + (milliseconds % 1000);
+	}
+
+	private void printResults(String name, long eager, long lazy) {
+		System.out.println( name + " eager: " + eager );
+		System.out.println( name + "  lazy: " + lazy );
+		System.out.println( name + " delta: " + ( eager - lazy ) );
+		System.out.println( name + " factor: " + (double) eager / lazy );
+	}
+
+	private Configuration buildConfiguration(boolean eager) {
+		final Configuration cfg = new Configuration();
+		for ( int i = 0; i < NUMBER_ENTITIES; i++ ) {
+			cfg.addXML( mapping( i ) );
+		}
+		cfg.buildMappings();
+		if ( eager ) {
+			final Iterator<PersistentClass> classes = cfg.getClassMappings();
+			while ( classes.hasNext() ) {
+				classes.next().setEntityPersisterClass( EagerLoadersEntityPersister.class );
+			}
+		}
+		return cfg;
+	}
+
+	private static String mapping(int i) {
+		final StringBuilder xml = new StringBuilder()
+				.append( "<?xml version=\"1.0\"?>\n" )
+				.append( "<!DOCTYPE hibernate-mapping PUBLIC \"-//Hibernate/Hibernate Mapping DTD 3.0//EN\" " )
+				.append( "\"http://www.hibernate.org/dtd/hibernate-mapping-3.0.dtd\">\n" )
+				.append( "<hibernate-mapping>\n" )
+				.append( "<class entity-name=\"Entity" ).append( i ).append( "\" table=\"ENTITY" ).append( i ).append( "\">\n" )
+				.append( "<id name=\"id\" type=\"long\"><generator class=\"assigned\"/></id>\n" );
+		for ( int p = 0; p < NUMBER_PROPERTIES; p++ ) {
+			xml.append( "<property name=\"property" ).append( p ).append( "\" type=\"string\"/>\n" );
+		}
+		if ( i > 0 ) {
+			xml.append( "<many-to-one name=\"parent\" entity-name=\"Entity" ).append( i - 1 )
+					.append( "\" fetch=\"join\"/>\n" );
+		}
+		return xml.append( "</class>\n</hibernate-mapping>" ).toString();
+	}
+
+	private static long usedHeap() {
+		final Runtime runtime = Runtime.getRuntime();
+		for ( int i = 0; i < 3; i++ ) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/**
+	 * @return The startup time (in milliseconds) and the retained heap (in bytes)
+	 */
+	private long[] run(boolean eager) {
+		final Configuration cfg = buildConfiguration( eager );
+		final ServiceRegistry serviceRegistry = ServiceRegistryBuilder.buildServiceRegistry( cfg.getProperties() );
+		try {
+			final long heapBefore = usedHeap();
+			final long startTime = System.currentTimeMillis();
+			final SessionFactory factory = cfg.buildSessionFactory( serviceRegistry );
+			final long startup = System.currentTimeMillis() - startTime;
+			final long retained = usedHeap() - heapBefore;
+			factory.close();
+			return new long[] { startup, retained };
+		}
+		finally {
+			ServiceRegistryBuilder.destroy( serviceRegistry );
+		}
+	}
+
+	public void test(int numberOfRuns) {
+		final List<long[]> eagerRuns = new ArrayList<long[]>();
+		final List<long[]> lazyRuns = new ArrayList<long[]>();
+
+		// the first run of each only warms up the JVM
+		for ( int i = 0; i <= numberOfRuns; i++ ) {
+			eagerRuns.add( run( true ) );
+			lazyRuns.add( run( false ) );
+		}
+
+		long eagerStartup = 0;
+		long lazyStartup = 0;
+		long eagerRetained = 0;
+		long lazyRetained = 0;
+		for ( int i = 0; i <= numberOfRuns; i++ ) {
+			System.out.println( "RUN " + i );
+			System.out.println( "Startup eager: " + getSecondsString( eagerRuns.get( i )[0] ) );
+			System.out.println( "Startup  lazy: " + getSecondsString( lazyRuns.get( i )[0] ) );
+			printResults( "Retained heap (bytes)", eagerRuns.get( i )[1], lazyRuns.get( i )[1] );
+			System.out.println();
+			if ( i > 0 ) {
+				eagerStartup += eagerRuns.get( i )[0];
+				lazyStartup += lazyRuns.get( i )[0];
+				eagerRetained += eagerRuns.get( i )[1];
+				lazyRetained += lazyRuns.get( i )[1];
+			}
+		}
+
+		System.out.println( "AVERAGE (excluding RUN 0)" );
+		printResults( "Startup (ms)", eagerStartup / numberOfRuns, lazyStartup / numberOfRuns );
+		printResults( "Retained heap (bytes)", eagerRetained / numberOfRuns, lazyRetained / numberOfRuns );
+	}
+
+	public static void main(String[] args) {
+		EntityLoadersPerformance entityLoadersPerformance = new EntityLoadersPerformance();
+		entityLoadersPerformance.test( 3 );
+	}
+
+	/**
+	 * Builds the loaders for every lock mode and internal fetch profile while the factory starts up.
+	 */
+	public static class EagerLoadersEntityPersister extends SingleTableEntityPersister {
+		public EagerLoadersEntityPersister(
+				PersistentClass persistentClass,
+				EntityRegionAccessStrategy cacheAccessStrategy,
+				NaturalIdRegionAccessStrategy naturalIdRegionAccessStrategy,
+				SessionFactoryImplementor factory,
+				Mapping mapping) throws HibernateException {
+			super( persistentClass, cacheAccessStrategy, naturalIdRegionAccessStrategy, factory, mapping );
+		}
+
+		@Override
+		protected void createLoaders() {
+			super.createLoaders();
+			for ( LockMode lockMode : LockMode.values() ) {
+				getLoader( lockMode );
+			}
+			getLoader( "merge" );
+			getLoader( "refresh" );
+		}
+	}
+}
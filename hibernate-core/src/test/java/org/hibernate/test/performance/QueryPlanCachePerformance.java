@@ -0,0 +1,144 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.performance;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Ignore;
+
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+
+/**
+ * Measures the hit throughput of the query plan cache for each of its eviction policies (see
+ * {@link org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_EVICTION}), with several threads looking up plans
+ * that are all already cached.
+ * <p/>
+ * The map is sized and segmented like {@link QueryPlanCache} builds it by default.
+ */
+@Ignore
+public class QueryPlanCachePerformance {
+	private final static int MAX_QUERY_PLAN_COUNT = QueryPlanCache.DEFAULT_QUERY_PLAN_MAX_COUNT;
+	private final static int CONCURRENCY_LEVEL = 20;
+	private final static int NUMBER_QUERIES = 1000;
+	private final static int NUMBER_HITS = 2000000;
+
+	private final String[] queries = new String[NUMBER_QUERIES];
+
+	public QueryPlanCachePerformance() {
+		for ( int i = 0; i < NUMBER_QUERIES; i++ ) {
+			queries[i] = "from Entity" + ( i % 50 ) + " e where e.property" + i + " = :value";
+		}
+	}
+
+	private String getSecondsString(long milliseconds) {
+		return (milliseconds / 1000) + "." + (milliseconds % 1000);
+	}
+
+	/**
+	 * @return The time (in milliseconds) taken by every thread to perform its {@link #NUMBER_HITS} hits
+	 */
+	private long run(BoundedConcurrentHashMap.Eviction eviction, int numberOfThreads) throws InterruptedException {
+		final BoundedConcurrentHashMap<String,Object> cache = new BoundedConcurrentHashMap<String,Object>(
+				MAX_QUERY_PLAN_COUNT,
+				CONCURRENCY_LEVEL,
+				eviction
+		);
+		for ( String query : queries ) {
+			cache.put( query, new Object() );
+		}
+
+		final CountDownLatch start = new CountDownLatch( 1 );
+		final CountDownLatch done = new CountDownLatch( numberOfThreads );
+		for ( int t = 0; t < numberOfThreads; t++ ) {
+			final int seed = t * 7919;
+			final Thread thread = new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						int index = seed;
+						for ( int i = 0; i < NUMBER_HITS; i++ ) {
+							index = ( index * 31 + 17 ) & 0x7fffffff;
+							final String query = queries[index % NUMBER_QUERIES];
+							if ( cache.get( query ) == null ) {
+								// as QueryPlanCache does on a miss; the cache is big enough for this not to happen
+								cache.putIfAbsent( query, new Object() );
+							}
+						}
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					finally {
+						done.countDown();
+					}
+				}
+			};
+			thread.start();
+		}
+
+		final long startTime = System.currentTimeMillis();
+		start.countDown();
+		done.await();
+		return System.currentTimeMillis() - startTime;
+	}
+
+	public void test(int numberOfRuns) throws InterruptedException {
+		final int processors = Runtime.getRuntime().availableProcessors();
+		final int[] threadCounts = new int[] { 1, processors, processors * 4 };
+		final BoundedConcurrentHashMap.Eviction[] evictions = new BoundedConcurrentHashMap.Eviction[] {
+				BoundedConcurrentHashMap.Eviction.LIRS,
+				BoundedConcurrentHashMap.Eviction.LRU,
+				BoundedConcurrentHashMap.Eviction.SAMPLED
+		};
+
+		// warm up
+		for ( BoundedConcurrentHashMap.Eviction eviction : evictions ) {
+			run( eviction, processors );
+		}
+
+		for ( int numberOfThreads : threadCounts ) {
+			System.out.println( "THREADS " + numberOfThreads );
+			for ( BoundedConcurrentHashMap.Eviction eviction : evictions ) {
+				long total = 0;
+				for ( int i = 0; i < numberOfRuns; i++ ) {
+					total += run( eviction, numberOfThreads );
+				}
+				final long average = total / numberOfRuns;
+				final long hits = (long) NUMBER_HITS * numberOfThreads;
+				System.out.println(
+						eviction + ": " + getSecondsString( average ) + "s, "
+								+ ( hits * 1000 / Math.max( average, 1 ) ) + " hits/s"
+				);
+			}
+			System.out.println();
+		}
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		QueryPlanCachePerformance queryPlanCachePerformance = new QueryPlanCachePerformance();
+		queryPlanCachePerformance.test( 3 );
+	}
+}
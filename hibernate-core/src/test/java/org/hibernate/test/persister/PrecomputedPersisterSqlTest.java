@@ -0,0 +1,276 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.persister;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.testing.ServiceRegistryBuilder;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.hibernate.tool.precompute.PersisterSqlExporter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PrecomputedPersisterSqlTest extends BaseUnitTestCase {
+	private static final String ITEM = Item.class.getName();
+	private static final String TAGS = ITEM + ".tags";
+
+	private final List<ServiceRegistry> serviceRegistries = new ArrayList<ServiceRegistry>();
+	private File file;
+
+	@Before
+	public void export() throws Exception {
+		file = File.createTempFile( "persister-sql", ".properties" );
+		new PersisterSqlExporter( buildConfiguration() ).export( file );
+	}
+
+	@After
+	public void cleanUp() {
+		for ( ServiceRegistry serviceRegistry : serviceRegistries ) {
+			ServiceRegistryBuilder.destroy( serviceRegistry );
+		}
+		file.delete();
+	}
+
+	@Test
+	public void testPrecomputedSqlMatchesGeneratedSql() throws Exception {
+		final Properties exported = load();
+		assertTrue( exported.containsKey( ITEM + "|insert.0" ) );
+		assertTrue( exported.containsKey( TAGS + "|insertRow" ) );
+
+		SessionFactoryImplementor generated = buildSessionFactory( false );
+		SessionFactoryImplementor precomputed = buildSessionFactory( true );
+		try {
+			assertEquals( staticSql( generated ), staticSql( precomputed ) );
+
+			Session s = precomputed.openSession();
+			s.beginTransaction();
+			Item item = new Item();
+			item.id = 1L;
+			item.name = "item";
+			item.tags.add( "tag" );
+			s.persist( item );
+			s.getTransaction().commit();
+			s.close();
+
+			s = precomputed.openSession();
+			s.beginTransaction();
+			item = (Item) s.get( Item.class, 1L );
+			assertEquals( "item", item.name );
+			assertEquals( 1, item.tags.size() );
+			s.delete( item );
+			s.getTransaction().commit();
+			s.close();
+		}
+		finally {
+			generated.close();
+			precomputed.close();
+		}
+	}
+
+	@Test
+	public void testPrecomputedSqlIsUsed() throws Exception {
+		final Properties exported = load();
+		exported.setProperty( ITEM + "|insert.0", exported.getProperty( ITEM + "|insert.0" ) + " /* precomputed */" );
+		exported.setProperty( TAGS + "|insertRow", exported.getProperty( TAGS + "|insertRow" ) + " /* precomputed */" );
+		store( exported );
+
+		SessionFactoryImplementor factory = buildSessionFactory( true );
+		try {
+			assertTrue( entityPersister( factory ).getStaticSql().get( "insert.0" ).endsWith( "/* precomputed */" ) );
+			assertTrue( collectionPersister( factory ).getStaticSql().get( "insertRow" ).endsWith( "/* precomputed */" ) );
+		}
+		finally {
+			factory.close();
+		}
+	}
+
+	@Test
+	public void testChangedMappingIsGenerated() throws Exception {
+		final Properties exported = load();
+		exported.setProperty( ITEM + "|insert.0", exported.getProperty( ITEM + "|insert.0" ) + " /* precomputed */" );
+		exported.setProperty( "#mapping", "changed" );
+		store( exported );
+
+		SessionFactoryImplementor factory = buildSessionFactory( true );
+		try {
+			assertFalse( entityPersister( factory ).getStaticSql().get( "insert.0" ).endsWith( "/* precomputed */" ) );
+		}
+		finally {
+			factory.close();
+		}
+	}
+
+	@Test
+	public void testExportIsStable() throws Exception {
+		final File other = File.createTempFile( "persister-sql", ".properties" );
+		try {
+			new PersisterSqlExporter( buildConfiguration() ).export( other );
+			assertEquals( read( file ), read( other ) );
+		}
+		finally {
+			other.delete();
+		}
+		final List<String> keys = new ArrayList<String>();
+		for ( String line : read( file ).split( "\n" ) ) {
+			if ( !line.startsWith( "#" ) ) {
+				// the keys hold no escaped '=' (the SQL values may)
+				keys.add( line.substring( 0, line.indexOf( '=' ) ).replace( "\\", "" ) );
+			}
+		}
+		final List<String> sortedKeys = new ArrayList<String>( keys );
+		Collections.sort( sortedKeys );
+		assertEquals( sortedKeys, keys );
+	}
+
+	@Test
+	public void testShiftedColumnAliasesAreGenerated() throws Exception {
+		final Properties exported = load();
+		exported.setProperty( ITEM + "|insert.0", exported.getProperty( ITEM + "|insert.0" ) + " /* precomputed */" );
+		store( exported );
+
+		// an additional table mapped ahead of Item's renumbers Item's table, and so its column aliases
+		final Configuration cfg = new Configuration();
+		cfg.addAnnotatedClass( Other.class );
+		cfg.addAnnotatedClass( Item.class );
+		cfg.setProperty( Environment.HBM2DDL_AUTO, "create-drop" );
+		cfg.setProperty( AvailableSettings.PERSISTER_SQL_RESOURCE, file.toURI().toURL().toExternalForm() );
+		final ServiceRegistry serviceRegistry = ServiceRegistryBuilder.buildServiceRegistry( cfg.getProperties() );
+		serviceRegistries.add( serviceRegistry );
+		SessionFactoryImplementor factory = (SessionFactoryImplementor) cfg.buildSessionFactory( serviceRegistry );
+		try {
+			assertFalse( entityPersister( factory ).getStaticSql().get( "insert.0" ).endsWith( "/* precomputed */" ) );
+		}
+		finally {
+			factory.close();
+		}
+	}
+
+	private Properties load() throws Exception {
+		final Properties properties = new Properties();
+		final FileInputStream stream = new FileInputStream( file );
+		try {
+			properties.load( stream );
+		}
+		finally {
+			stream.close();
+		}
+		return properties;
+	}
+
+	private String read(File file) throws Exception {
+		final FileInputStream stream = new FileInputStream( file );
+		try {
+			final byte[] bytes = new byte[(int) file.length()];
+			int offset = 0;
+			while ( offset < bytes.length ) {
+				offset += stream.read( bytes, offset, bytes.length - offset );
+			}
+			return new String( bytes, "ISO-8859-1" );
+		}
+		finally {
+			stream.close();
+		}
+	}
+
+	private void store(Properties properties) throws Exception {
+		final FileOutputStream stream = new FileOutputStream( file );
+		try {
+			properties.store( stream, null );
+		}
+		finally {
+			stream.close();
+		}
+	}
+
+	private Configuration buildConfiguration() {
+		final Configuration cfg = new Configuration();
+		cfg.addAnnotatedClass( Item.class );
+		cfg.setProperty( Environment.HBM2DDL_AUTO, "create-drop" );
+		return cfg;
+	}
+
+	private SessionFactoryImplementor buildSessionFactory(boolean precomputed) throws Exception {
+		final Configuration cfg = buildConfiguration();
+		if ( precomputed ) {
+			cfg.setProperty( AvailableSettings.PERSISTER_SQL_RESOURCE, file.toURI().toURL().toExternalForm() );
+		}
+		final ServiceRegistry serviceRegistry = ServiceRegistryBuilder.buildServiceRegistry( cfg.getProperties() );
+		serviceRegistries.add( serviceRegistry );
+		return (SessionFactoryImplementor) cfg.buildSessionFactory( serviceRegistry );
+	}
+
+	private static String staticSql(SessionFactoryImplementor factory) {
+		return new TreeMap<String, String>( entityPersister( factory ).getStaticSql() ).toString()
+				+ new TreeMap<String, String>( collectionPersister( factory ).getStaticSql() );
+	}
+
+	private static AbstractEntityPersister entityPersister(SessionFactoryImplementor factory) {
+		return (AbstractEntityPersister) factory.getEntityPersister( ITEM );
+	}
+
+	private static AbstractCollectionPersister collectionPersister(SessionFactoryImplementor factory) {
+		return (AbstractCollectionPersister) factory.getCollectionPersister( TAGS );
+	}
+
+	@Entity
+	public static class Item {
+		@Id
+		Long id;
+		String name;
+		@ElementCollection
+		Set<String> tags = new HashSet<String>();
+	}
+
+	@Entity
+	public static class Other {
+		@Id
+		Long id;
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.queryplan;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+public class LiteralParameterizationTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "queryplan/Joined.hbm.xml" };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.QUERY_PLAN_CACHE_PARAMETERIZE_LITERALS, "true" );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testQueriesDifferingInLiteralsShareAPlan() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( new Person( "Alice", 'F' ) );
+		s.save( new Person( "Bob", 'M' ) );
+		s.getTransaction().commit();
+		s.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		s = openSession();
+		s.beginTransaction();
+		List alices = s.createQuery( "from Person p where p.name = 'Alice'" ).list();
+		assertEquals( 1, alices.size() );
+		assertEquals( "Alice", ( (Person) alices.get( 0 ) ).getName() );
+		final long misses = statistics.getQueryPlanCacheMissCount();
+		assertEquals( 1, misses );
+
+		List bobs = s.createQuery( "from Person p where p.name = 'Bob' and p.id > :id" )
+				.setLong( "id", 0 )
+				.list();
+		assertEquals( 1, bobs.size() );
+		assertEquals( "Bob", ( (Person) bobs.get( 0 ) ).getName() );
+		assertEquals( 2, statistics.getQueryPlanCacheMissCount() );
+
+		List bobsAgain = s.createQuery( "from Person p where p.name = 'Bob'" ).list();
+		assertEquals( 1, bobsAgain.size() );
+		assertEquals( "Bob", ( (Person) bobsAgain.get( 0 ) ).getName() );
+		assertEquals( 2, statistics.getQueryPlanCacheMissCount() );
+
+		for ( Object person : s.createQuery( "from Person" ).list() ) {
+			s.delete( person );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+}
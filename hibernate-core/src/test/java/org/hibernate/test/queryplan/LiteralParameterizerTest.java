@@ -0,0 +1,151 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.queryplan;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.hibernate.engine.query.spi.LiteralParameterizer;
+import org.hibernate.engine.query.spi.NamedParameterDescriptor;
+import org.hibernate.engine.query.spi.ParameterMetadata;
+import org.hibernate.engine.spi.TypedValue;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.hibernate.type.StandardBasicTypes;
+import org.hibernate.type.Type;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class LiteralParameterizerTest extends BaseUnitTestCase {
+	@Test
+	public void testComparisonLiteralsAreParameterized() {
+		LiteralParameterizer.ParameterizedQuery parameterized = LiteralParameterizer.parameterize(
+				"from Person p where p.name = 'O''Brien' and p.id > 10 and lower(p.name) like 'o%' escape '!'"
+		);
+		assertEquals(
+				"from Person p where p.name = :hibernateLiteral0 and p.id > :hibernateLiteral1 "
+						+ "and lower(p.name) like :hibernateLiteral2 escape '!'",
+				parameterized.getQuery()
+		);
+		assertEquals( 3, parameterized.getParameters().size() );
+		assertEquals( "O'Brien", parameterized.getParameters().get( "hibernateLiteral0" ).getValue() );
+		assertEquals( 10, parameterized.getParameters().get( "hibernateLiteral1" ).getValue() );
+		assertEquals( StandardBasicTypes.INTEGER, parameterized.getParameters().get( "hibernateLiteral1" ).getType() );
+		assertEquals( "o%", parameterized.getParameters().get( "hibernateLiteral2" ).getValue() );
+	}
+
+	@Test
+	public void testNumericLiteralTypes() {
+		LiteralParameterizer.ParameterizedQuery parameterized = LiteralParameterizer.parameterize(
+				"from Person p where p.id in (1, 2L, 1.5, 2.5f, 3bd)"
+		);
+		assertEquals(
+				"from Person p where p.id in (:hibernateLiteral0, :hibernateLiteral1, :hibernateLiteral2, "
+						+ ":hibernateLiteral3, :hibernateLiteral4)",
+				parameterized.getQuery()
+		);
+		assertEquals( StandardBasicTypes.INTEGER, parameterized.getParameters().get( "hibernateLiteral0" ).getType() );
+		assertEquals( StandardBasicTypes.LONG, parameterized.getParameters().get( "hibernateLiteral1" ).getType() );
+		assertEquals( StandardBasicTypes.DOUBLE, parameterized.getParameters().get( "hibernateLiteral2" ).getType() );
+		assertEquals( StandardBasicTypes.FLOAT, parameterized.getParameters().get( "hibernateLiteral3" ).getType() );
+		assertEquals( StandardBasicTypes.BIG_DECIMAL, parameterized.getParameters().get( "hibernateLiteral4" ).getType() );
+	}
+
+	@Test
+	public void testLiteralsAreBoundWithTheExpectedType() {
+		LiteralParameterizer.ParameterizedQuery parameterized = LiteralParameterizer.parameterize(
+				"from Item i where i.price > 1 and i.stock < 2 and i.name = 'x'"
+		);
+		Map<String, TypedValue> resolved = parameterized.resolveParameters(
+				parameterMetadata( StandardBasicTypes.BIG_DECIMAL, StandardBasicTypes.SHORT, StandardBasicTypes.STRING )
+		);
+		assertEquals( StandardBasicTypes.BIG_DECIMAL, resolved.get( "hibernateLiteral0" ).getType() );
+		assertEquals( BigDecimal.ONE, resolved.get( "hibernateLiteral0" ).getValue() );
+		assertEquals( StandardBasicTypes.SHORT, resolved.get( "hibernateLiteral1" ).getType() );
+		assertEquals( (short) 2, resolved.get( "hibernateLiteral1" ).getValue() );
+		assertEquals( "x", resolved.get( "hibernateLiteral2" ).getValue() );
+	}
+
+	@Test
+	public void testLiteralsNotMatchingTheExpectedTypeAreNotBound() {
+		// a string compared with a date
+		assertNull(
+				LiteralParameterizer.parameterize( "from Item i where i.created > '2013-01-01'" )
+						.resolveParameters( parameterMetadata( StandardBasicTypes.DATE ) )
+		);
+		// a blank-padded CHAR comparison
+		assertNull(
+				LiteralParameterizer.parameterize( "from Item i where i.code = 'x'" )
+						.resolveParameters( parameterMetadata( StandardBasicTypes.CHARACTER ) )
+		);
+		// a fractional number compared with an integer
+		assertNull(
+				LiteralParameterizer.parameterize( "from Item i where i.stock > 1.5" )
+						.resolveParameters( parameterMetadata( StandardBasicTypes.INTEGER ) )
+		);
+		// an unknown expected type
+		assertNull(
+				LiteralParameterizer.parameterize( "from Item i where i.stock > 1" )
+						.resolveParameters( parameterMetadata( (Type) null ) )
+		);
+	}
+
+	@Test
+	public void testUnsafeLiteralsAreLeftAlone() {
+		// select clause, arithmetic, discriminators, literal on the left-hand side
+		assertNull( LiteralParameterizer.parameterize( "select p.name, 1 from Person p" ) );
+		assertNull( LiteralParameterizer.parameterize( "select case when p.id = 1 then 'a' else 'b' end from Person p" ) );
+		assertNull( LiteralParameterizer.parameterize( "from Person p where p.id = 1 + p.id" ) );
+		assertNull( LiteralParameterizer.parameterize( "from Person p where p.class = 'User'" ) );
+		assertNull( LiteralParameterizer.parameterize( "from Person p where 1 = 1" ) );
+		assertNull( LiteralParameterizer.parameterize( "from Person p order by p.name" ) );
+		// JDBC-style parameters would be shifted
+		assertNull( LiteralParameterizer.parameterize( "from Person p where p.name = ? and p.id = 1" ) );
+	}
+
+	@Test
+	public void testSubqueryClauses() {
+		LiteralParameterizer.ParameterizedQuery parameterized = LiteralParameterizer.parameterize(
+				"select p.name from Person p where p.id in (select max(q.id) from Person q where q.sex = 'F') "
+						+ "and p.name <> 'x' order by p.name"
+		);
+		assertEquals(
+				"select p.name from Person p where p.id in (select max(q.id) from Person q where q.sex = :hibernateLiteral0) "
+						+ "and p.name <> :hibernateLiteral1 order by p.name",
+				parameterized.getQuery()
+		);
+	}
+
+	private static ParameterMetadata parameterMetadata(Type... expectedTypes) {
+		final Map<String, NamedParameterDescriptor> descriptors = new HashMap<String, NamedParameterDescriptor>();
+		for ( int i = 0; i < expectedTypes.length; i++ ) {
+			final String name = LiteralParameterizer.PARAMETER_PREFIX + i;
+			descriptors.put( name, new NamedParameterDescriptor( name, expectedTypes[i], new int[] { i }, false ) );
+		}
+		return new ParameterMetadata( null, descriptors );
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.queryplan;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stat.Statistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+public class QueryPlanCacheWarmUpTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] {
+				"queryplan/filter-defs.hbm.xml",
+				"queryplan/Joined.hbm.xml"
+		};
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testHotPlansAreWrittenAndWarmedUp() throws Exception {
+		final Map noFilters = Collections.EMPTY_MAP;
+		final QueryPlanCache cache = sessionFactory().getQueryPlanCache();
+		for ( int i = 0; i < 3; i++ ) {
+			cache.getHQLQueryPlan( "from Person where name = :name", false, noFilters );
+		}
+		cache.getHQLQueryPlan( "from User", false, noFilters );
+
+		Session s = openSession();
+		s.enableFilter( "sex" ).setParameter( "sexCode", Character.valueOf( 'F' ) );
+		final Map enabledFilters = ( (SessionImplementor) s ).getLoadQueryInfluencers().getEnabledFilters();
+		cache.getHQLQueryPlan( "from Person", true, enabledFilters );
+		cache.getHQLQueryPlan( "from Person", true, enabledFilters );
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		cache.writeHotPlans( out );
+		final Properties written = new Properties();
+		written.load( new ByteArrayInputStream( out.toByteArray() ) );
+		assertEquals( "from Person where name = :name", written.getProperty( "plan.0.query" ) );
+		assertEquals( "2", written.getProperty( "plan.0.hits" ) );
+		assertEquals( "from Person", written.getProperty( "plan.1.query" ) );
+		assertEquals( "true", written.getProperty( "plan.1.shallow" ) );
+		assertEquals( "sex[sexCode:1]", written.getProperty( "plan.1.filters" ) );
+		assertEquals( "from User", written.getProperty( "plan.2.query" ) );
+
+		final QueryPlanCache warmedUp = new QueryPlanCache( sessionFactory() );
+		assertEquals( 3, warmedUp.warmUp( new ByteArrayInputStream( out.toByteArray() ), 10000 ) );
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		warmedUp.getHQLQueryPlan( "from Person where name = :name", false, noFilters );
+		warmedUp.getHQLQueryPlan( "from Person", true, enabledFilters );
+		warmedUp.getHQLQueryPlan( "from User", false, noFilters );
+		assertEquals( 0, statistics.getQueryPlanCacheMissCount() );
+		assertEquals( 3, statistics.getQueryPlanCacheHitCount() );
+
+		// nothing is compiled once the time budget is spent
+		assertEquals( 0, new QueryPlanCache( sessionFactory() ).warmUp( new ByteArrayInputStream( out.toByteArray() ), 0 ) );
+		s.close();
+	}
+
+	@Test
+	public void testMalformedEntriesAreSkipped() throws Exception {
+		final Properties properties = new Properties();
+		properties.setProperty( "plan.0.query", "from Person" );
+		properties.setProperty( "plan.0.filters", "sex[sexCode]" );
+		properties.setProperty( "plan.1.query", "from Person" );
+		properties.setProperty( "plan.1.filters", "sex" );
+		properties.setProperty( "plan.2.query", "from Person" );
+		properties.setProperty( "plan.2.filters", "sex[sexCode:x]" );
+		properties.setProperty( "plan.3.query", "from Person" );
+		properties.setProperty( "plan.3.hits", "many" );
+		properties.setProperty( "plan.4.query", "from User" );
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		properties.store( out, null );
+
+		assertEquals( 1, new QueryPlanCache( sessionFactory() ).warmUp( new ByteArrayInputStream( out.toByteArray() ), 10000 ) );
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.stateless;
+
+import org.junit.Test;
+
+import org.hibernate.HibernateException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.internal.BatchingScrollableResultsImpl;
+import org.hibernate.internal.ScrollableResultsImpl;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Forward-only scrolls of a stateless session, which read their rows in batches of the fetch size.
+ */
+public class StatelessSessionBatchingScrollTest extends BaseCoreFunctionalTestCase {
+	private static final int DOCUMENT_COUNT = 25;
+
+	public String[] getMappings() {
+		return new String[] { "stateless/Document.hbm.xml" };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		// only a fetch size set on the query itself enables batching
+		cfg.setProperty( Environment.STATEMENT_FETCH_SIZE, "10" );
+	}
+
+	@Test
+	public void testBatchingScroll() {
+		createDocuments();
+
+		StatelessSession ss = sessionFactory().openStatelessSession();
+		Transaction tx = ss.beginTransaction();
+		ScrollableResults results = ss.createQuery( "from Document order by name" )
+				.setFetchSize( 10 )
+				.scroll( ScrollMode.FORWARD_ONLY );
+		assertTrue( results instanceof BatchingScrollableResultsImpl );
+		assertEquals( -1, results.getRowNumber() );
+		int count = 0;
+		while ( results.next() ) {
+			assertEquals( count, results.getRowNumber() );
+			assertEquals( count == 0, results.isFirst() );
+			assertEquals( count == DOCUMENT_COUNT - 1, results.isLast() );
+			assertEquals( name( count ), ( (Document) results.get( 0 ) ).getName() );
+			count++;
+		}
+		assertEquals( DOCUMENT_COUNT, count );
+		assertNull( results.get() );
+		try {
+			results.previous();
+			fail( "forward-only results should not move backwards" );
+		}
+		catch ( HibernateException expected ) {
+		}
+		results.close();
+
+		results = ss.createQuery( "select d.name from Document d order by d.name" )
+				.setFetchSize( 10 )
+				.scroll( ScrollMode.FORWARD_ONLY );
+		assertTrue( results.setRowNumber( 12 ) );
+		assertEquals( name( 12 ), results.get( 0 ) );
+		assertTrue( results.scroll( 12 ) );
+		assertEquals( name( 24 ), results.get( 0 ) );
+		assertFalse( results.next() );
+		results.close();
+		tx.commit();
+		ss.close();
+
+		deleteDocuments();
+	}
+
+	@Test
+	public void testGlobalFetchSizeDoesNotBatch() {
+		createDocuments();
+
+		StatelessSession ss = sessionFactory().openStatelessSession();
+		Transaction tx = ss.beginTransaction();
+		ScrollableResults results = ss.createQuery( "from Document order by name" )
+				.scroll( ScrollMode.FORWARD_ONLY );
+		assertTrue( results instanceof ScrollableResultsImpl );
+		int count = 0;
+		while ( results.next() ) {
+			assertEquals( name( count++ ), ( (Document) results.get( 0 ) ).getName() );
+		}
+		assertEquals( DOCUMENT_COUNT, count );
+		results.close();
+		tx.commit();
+		ss.close();
+
+		deleteDocuments();
+	}
+
+	private void createDocuments() {
+		StatelessSession ss = sessionFactory().openStatelessSession();
+		Transaction tx = ss.beginTransaction();
+		for ( int i = 0; i < DOCUMENT_COUNT; i++ ) {
+			ss.insert( new Document( "text " + i, name( i ) ) );
+		}
+		tx.commit();
+		ss.close();
+	}
+
+	private void deleteDocuments() {
+		StatelessSession ss = sessionFactory().openStatelessSession();
+		Transaction tx = ss.beginTransaction();
+		ss.createQuery( "delete Document" ).executeUpdate();
+		tx.commit();
+		ss.close();
+	}
+
+	private static String name( int i ) {
+		return i < 10 ? "doc0" + i : "doc" + i;
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.stats;
+
+import org.junit.Test;
+
+import org.hibernate.stat.LatencyHistogram;
+import org.hibernate.stat.internal.ConcurrentLatencyHistogram;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest extends BaseUnitTestCase {
+	@Test
+	public void testEmptyHistogram() {
+		ConcurrentLatencyHistogram histogram = new ConcurrentLatencyHistogram();
+		assertEquals( 0, histogram.getTotalCount() );
+		assertEquals( 0, histogram.getMinValue() );
+		assertEquals( 0, histogram.getMaxValue() );
+		assertEquals( 0, histogram.getValueAtPercentile( 99 ) );
+		assertEquals( 0d, histogram.getMean(), 0d );
+	}
+
+	@Test
+	public void testPercentiles() {
+		ConcurrentLatencyHistogram histogram = new ConcurrentLatencyHistogram();
+		for ( long i = 1; i <= 10000; i++ ) {
+			histogram.recordValue( i );
+		}
+		assertEquals( 10000, histogram.getTotalCount() );
+		assertEquals( 1, histogram.getMinValue() );
+		assertEquals( 10000, histogram.getMaxValue() );
+		assertEquals( 5000.5d, histogram.getMean(), 0.001d );
+		assertWithinPrecision( 5000, histogram.getValueAtPercentile( 50 ) );
+		assertWithinPrecision( 9900, histogram.getValueAtPercentile( 99 ) );
+		assertEquals( 10000, histogram.getValueAtPercentile( 100 ) );
+		assertEquals( 1, histogram.getValueAtPercentile( 0 ) );
+	}
+
+	@Test
+	public void testSmallValuesAreExact() {
+		ConcurrentLatencyHistogram histogram = new ConcurrentLatencyHistogram();
+		histogram.recordValue( 3 );
+		histogram.recordValue( 7 );
+		histogram.recordValue( 7 );
+		histogram.recordValue( 12 );
+		assertEquals( 7, histogram.getValueAtPercentile( 50 ) );
+		assertEquals( 12, histogram.getValueAtPercentile( 99 ) );
+	}
+
+	@Test
+	public void testHugeAndNegativeValues() {
+		ConcurrentLatencyHistogram histogram = new ConcurrentLatencyHistogram();
+		histogram.recordValue( -5 );
+		assertEquals( 0, histogram.getTotalCount() );
+		histogram.recordValue( Long.MAX_VALUE );
+		assertEquals( 1, histogram.getTotalCount() );
+		assertTrue( histogram.getMaxValue() > 0 );
+		assertEquals( histogram.getMaxValue(), histogram.getValueAtPercentile( 50 ) );
+	}
+
+	@Test
+	public void testIntervalSnapshots() {
+		ConcurrentLatencyHistogram histogram = new ConcurrentLatencyHistogram();
+		for ( int i = 0; i < 100; i++ ) {
+			histogram.recordValue( 10 );
+		}
+		LatencyHistogram first = histogram.getIntervalSnapshot();
+		assertEquals( 100, first.getTotalCount() );
+		assertEquals( 10, first.getValueAtPercentile( 99 ) );
+
+		for ( int i = 0; i < 10; i++ ) {
+			histogram.recordValue( 1000 );
+		}
+		LatencyHistogram second = histogram.getIntervalSnapshot();
+		assertEquals( 10, second.getTotalCount() );
+		assertWithinPrecision( 1000, second.getMinValue() );
+		assertWithinPrecision( 1000, second.getValueAtPercentile( 50 ) );
+		assertEquals( 1000d, second.getMean(), 0.001d );
+
+		// the interval snapshots do not affect the overall distribution, and are immutable
+		assertEquals( 110, histogram.getTotalCount() );
+		assertEquals( 10, histogram.getMinValue() );
+		histogram.recordValue( 5 );
+		assertEquals( 10, second.getTotalCount() );
+		assertEquals( 1, histogram.getIntervalSnapshot().getTotalCount() );
+	}
+
+	private static void assertWithinPrecision(long expected, long actual) {
+		assertTrue(
+				"expected ~" + expected + " but was " + actual,
+				Math.abs( expected - actual ) <= expected * 0.07d
+		);
+	}
+}
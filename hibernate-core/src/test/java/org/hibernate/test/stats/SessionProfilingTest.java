@@ -0,0 +1,176 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.stats;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.ProfiledSessionStatistics;
+import org.hibernate.stat.SessionProfile;
+import org.hibernate.stat.SessionProfileEvent;
+import org.hibernate.stat.SessionProfileObserver;
+import org.hibernate.stat.internal.SessionProfilerImpl;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class SessionProfilingTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "stats/Continent2.hbm.xml" };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.SESSION_PROFILING, "true" );
+	}
+
+	@Test
+	public void testProfileTimeline() {
+		final int continentCount = SessionProfilerImpl.N_PLUS_ONE_THRESHOLD + 1;
+
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < continentCount; i++ ) {
+			Continent continent = new Continent();
+			continent.setName( "Continent " + i );
+			Country country = new Country();
+			country.setName( "Country " + i );
+			continent.setCountries( new HashSet() );
+			continent.getCountries().add( country );
+			s.persist( country );
+			s.persist( continent );
+		}
+		s.getTransaction().commit();
+		SessionProfile openProfile = ( (ProfiledSessionStatistics) s.getStatistics() ).getProfile();
+		assertNotNull( openProfile );
+		assertTrue( containsEvent( openProfile, SessionProfileEvent.Type.FLUSH, null ) );
+		s.close();
+
+		final ProfileCollector interceptor = new ProfileCollector();
+		final FactoryProfileCollector factoryObserver = new FactoryProfileCollector();
+		sessionFactory().addObserver( factoryObserver );
+
+		s = openSession( interceptor );
+		s.beginTransaction();
+		List continents = s.createQuery( "from Continent" ).list();
+		assertEquals( continentCount, continents.size() );
+		for ( Object continent : continents ) {
+			Hibernate.initialize( ( (Continent) continent ).getCountries() );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 1, interceptor.profiles.size() );
+		assertEquals( 1, factoryObserver.profiles.size() );
+		SessionProfile profile = interceptor.profiles.get( 0 );
+
+		final String role = Continent.class.getName() + ".countries";
+		assertTrue( containsEvent( profile, SessionProfileEvent.Type.SQL, null ) );
+		for ( SessionProfileEvent event : profile.getEvents() ) {
+			if ( event.getType() == SessionProfileEvent.Type.SQL ) {
+				// recorded once executed, with the execution time
+				assertNotNull( event.getDetail() );
+				assertTrue( event.getDuration() >= 0 );
+			}
+		}
+		assertTrue( containsEvent( profile, SessionProfileEvent.Type.COLLECTION_INITIALIZATION, role ) );
+		assertTrue( containsEvent( profile, SessionProfileEvent.Type.N_PLUS_ONE, role ) );
+		assertEquals( Integer.valueOf( continentCount ), profile.getNPlusOneSuspects().get( role ) );
+		assertEquals( 0, profile.getDroppedEventCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Country" ).executeUpdate();
+		s.createQuery( "delete Continent" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testFailingObserverDoesNotPreventClose() {
+		Session s = openSession( new FailingProfileObserver() );
+		s.beginTransaction();
+		s.createQuery( "from Continent" ).list();
+		s.getTransaction().commit();
+		s.close();
+		assertFalse( s.isOpen() );
+	}
+
+	private boolean containsEvent(SessionProfile profile, SessionProfileEvent.Type type, String detail) {
+		for ( SessionProfileEvent event : profile.getEvents() ) {
+			if ( event.getType() == type && ( detail == null || detail.equals( event.getDetail() ) ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static class ProfileCollector extends EmptyInterceptor implements SessionProfileObserver {
+		private final List<SessionProfile> profiles = new ArrayList<SessionProfile>();
+
+		@Override
+		public void sessionProfileCompleted(SessionProfile profile) {
+			profiles.add( profile );
+		}
+	}
+
+	private static class FailingProfileObserver extends EmptyInterceptor implements SessionProfileObserver {
+		@Override
+		public void sessionProfileCompleted(SessionProfile profile) {
+			throw new IllegalStateException( "observer failure" );
+		}
+	}
+
+	private static class FactoryProfileCollector implements SessionFactoryObserver, SessionProfileObserver {
+		private final List<SessionProfile> profiles = new ArrayList<SessionProfile>();
+
+		@Override
+		public void sessionFactoryCreated(SessionFactory factory) {
+		}
+
+		@Override
+		public void sessionFactoryClosed(SessionFactory factory) {
+		}
+
+		@Override
+		public void sessionProfileCompleted(SessionProfile profile) {
+			profiles.add( profile );
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.stats;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.stat.internal.StripedCounter;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+public class StripedCounterTest extends BaseUnitTestCase {
+	@Test
+	public void testSingleThreaded() {
+		StripedCounter counter = new StripedCounter();
+		assertEquals( 0, counter.get() );
+		counter.increment();
+		counter.add( 41 );
+		assertEquals( 42, counter.get() );
+		assertEquals( "42", counter.toString() );
+		counter.reset();
+		assertEquals( 0, counter.get() );
+	}
+
+	@Test
+	public void testConcurrentUpdatesAreNotLost() throws Exception {
+		final StripedCounter counter = new StripedCounter();
+		final int threadCount = 8;
+		final int incrementsPerThread = 100000;
+		final CountDownLatch start = new CountDownLatch( 1 );
+		final CountDownLatch done = new CountDownLatch( threadCount );
+		for ( int i = 0; i < threadCount; i++ ) {
+			new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						for ( int j = 0; j < incrementsPerThread; j++ ) {
+							counter.increment();
+						}
+					}
+					catch (InterruptedException ignore) {
+					}
+					finally {
+						done.countDown();
+					}
+				}
+			}.start();
+		}
+		start.countDown();
+		done.await();
+		assertEquals( (long) threadCount * incrementsPerThread, counter.get() );
+
+		// the cells are not written, only their total
+		StripedCounter copy = (StripedCounter) SerializationHelper.clone( counter );
+		assertEquals( counter.get(), copy.get() );
+		copy.increment();
+		assertEquals( counter.get() + 1, copy.get() );
+
+		counter.reset();
+		assertEquals( 0, counter.get() );
+		counter.add( 5 );
+		assertEquals( 5, counter.get() );
+	}
+}
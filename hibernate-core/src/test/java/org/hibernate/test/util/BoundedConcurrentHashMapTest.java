@@ -0,0 +1,163 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BoundedConcurrentHashMapTest extends BaseUnitTestCase {
+	@Test
+	public void testSampledEvictionIsBounded() {
+		final Map<Integer,Integer> evictions = new HashMap<Integer,Integer>();
+		final BoundedConcurrentHashMap<Integer,Integer> map = new BoundedConcurrentHashMap<Integer,Integer>(
+				64,
+				4,
+				BoundedConcurrentHashMap.Eviction.SAMPLED,
+				new BoundedConcurrentHashMap.EvictionListener<Integer,Integer>() {
+					@Override
+					public void onEntryEviction(Map<Integer,Integer> evicted) {
+						evictions.putAll( evicted );
+					}
+
+					@Override
+					public void onEntryChosenForEviction(Integer internalCacheEntry) {
+					}
+				}
+		);
+		for ( int i = 0; i < 1000; i++ ) {
+			map.put( i, i );
+			assertTrue( map.size() <= 64 );
+		}
+		assertEquals( 1000, map.size() + evictions.size() );
+		for ( Map.Entry<Integer,Integer> entry : map.entrySet() ) {
+			assertEquals( entry.getKey(), map.get( entry.getKey() ) );
+		}
+	}
+
+	@Test
+	public void testSampledEvictionKeepsRecentlyUsedEntries() {
+		final BoundedConcurrentHashMap<Integer,String> map = new BoundedConcurrentHashMap<Integer,String>(
+				64,
+				1,
+				BoundedConcurrentHashMap.Eviction.SAMPLED
+		);
+		map.put( -1, "hot" );
+		for ( int i = 0; i < 1000; i++ ) {
+			map.put( i, "cold" );
+			assertEquals( "hot", map.get( -1 ) );
+		}
+		assertEquals( 64, map.size() );
+	}
+
+	@Test
+	public void testTinyLFUEvictionIsBounded() {
+		final BoundedConcurrentHashMap<Integer,Integer> map = new BoundedConcurrentHashMap<Integer,Integer>(
+				64,
+				4,
+				BoundedConcurrentHashMap.Eviction.TINYLFU
+		);
+		for ( int i = 0; i < 1000; i++ ) {
+			map.put( i, i );
+			map.get( i % 10 );
+			assertTrue( map.size() <= 64 );
+		}
+		for ( int i = 0; i < 1000; i++ ) {
+			map.remove( i );
+		}
+		assertEquals( 0, map.size() );
+		for ( int i = 0; i < 1000; i++ ) {
+			map.put( i, i );
+			assertTrue( map.size() <= 64 );
+		}
+	}
+
+	@Test
+	public void testTinyLFUEvictionResistsScans() {
+		final BoundedConcurrentHashMap<Integer,Integer> map = new BoundedConcurrentHashMap<Integer,Integer>(
+				100,
+				1,
+				BoundedConcurrentHashMap.Eviction.TINYLFU
+		);
+		for ( int i = 0; i < 50; i++ ) {
+			map.put( i, i );
+		}
+		for ( int round = 0; round < 5; round++ ) {
+			for ( int i = 0; i < 50; i++ ) {
+				assertEquals( Integer.valueOf( i ), map.get( i ) );
+			}
+		}
+		// one-off keys must not flush the frequently used ones
+		for ( int i = 1000; i < 2000; i++ ) {
+			map.put( i, i );
+		}
+		assertEquals( 100, map.size() );
+		for ( int i = 0; i < 50; i++ ) {
+			assertEquals( Integer.valueOf( i ), map.get( i ) );
+		}
+	}
+
+	@Test
+	public void testEvictionListenerOnlyGetsEvictedEntries() {
+		for ( BoundedConcurrentHashMap.Eviction eviction : new BoundedConcurrentHashMap.Eviction[] {
+				BoundedConcurrentHashMap.Eviction.SAMPLED, BoundedConcurrentHashMap.Eviction.TINYLFU
+		} ) {
+			final Map<Integer,Integer> evictions = new HashMap<Integer,Integer>();
+			final BoundedConcurrentHashMap<Integer,Integer> map = new BoundedConcurrentHashMap<Integer,Integer>(
+					64,
+					1,
+					eviction,
+					new BoundedConcurrentHashMap.EvictionListener<Integer,Integer>() {
+						@Override
+						public void onEntryEviction(Map<Integer,Integer> evicted) {
+							assertFalse( evicted.isEmpty() );
+							evictions.putAll( evicted );
+						}
+
+						@Override
+						public void onEntryChosenForEviction(Integer internalCacheEntry) {
+						}
+					}
+			);
+			for ( int i = 0; i < 1000; i++ ) {
+				map.put( i, i );
+				for ( int j = 0; j < 10; j++ ) {
+					map.get( j );
+				}
+			}
+			assertEquals( eviction.toString(), 1000, map.size() + evictions.size() );
+			for ( Integer key : evictions.keySet() ) {
+				assertFalse( map.containsKey( key ) );
+			}
+		}
+	}
+}
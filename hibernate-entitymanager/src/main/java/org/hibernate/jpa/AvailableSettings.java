@@ -460,6 +460,20 @@ public interface AvailableSettings {
 	 */
 	public static final String SCANNER = "hibernate.ejb.resource_scanner";
 
+	/**
+	 * The number of threads the standard scanner spreads the archives of a persistence unit (its root and
+	 * {@code <jar-file/>}s) over.  Defaults to {@code 1}, scanning on the calling thread.  Archives containing a
+	 * Jandex index ({@code META-INF/jandex.idx}) are classified from the index regardless of this setting.
+	 */
+	public static final String SCANNER_THREADS = "hibernate.ejb.resource_scanner_threads";
+
+	/**
+	 * How the literals of criteria queries are rendered: {@code auto} (the default) renders numeric literals inline
+	 * and binds all others as parameters, {@code bind} binds numeric literals too, so that criteria queries only
+	 * differing in their literal values share a query plan.  See {@link org.hibernate.jpa.criteria.LiteralHandlingMode}.
+	 */
+	public static final String CRITERIA_LITERAL_HANDLING_MODE = "hibernate.criteria.literal_handling_mode";
+
 	/**
 	 * List of classes names
 	 * Internal use only
@@ -73,6 +73,7 @@ import org.hibernate.integrator.spi.Integrator;
 import org.hibernate.internal.jaxb.cfg.JaxbHibernateConfiguration;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.ValueHolder;
+import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.jpa.AvailableSettings;
 import org.hibernate.jpa.boot.scan.internal.StandardScanOptions;
 import org.hibernate.jpa.boot.scan.internal.StandardScanner;
@@ -738,7 +739,9 @@ public class EntityManagerFactoryBuilderImpl implements EntityManagerFactoryBuil
 	private Scanner locateOrBuildScanner(BootstrapServiceRegistry bootstrapServiceRegistry) {
 		final Object value = configurationValues.remove( AvailableSettings.SCANNER );
 		if ( value == null ) {
-			return new StandardScanner();
+			return new StandardScanner(
+					ConfigurationHelper.getInt( AvailableSettings.SCANNER_THREADS, configurationValues, 1 )
+			);
 		}
 
 		if ( Scanner.class.isInstance( value ) ) {
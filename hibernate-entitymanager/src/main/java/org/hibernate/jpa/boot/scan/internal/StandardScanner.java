@@ -37,4 +37,11 @@ public class StandardScanner extends AbstractScannerImpl {
 	public StandardScanner() {
 		super( StandardArchiveDescriptorFactory.INSTANCE );
 	}
+
+	/**
+	 * @param scanThreads The number of threads over which to spread the scanning of a persistence unit's archives
+	 */
+	public StandardScanner(int scanThreads) {
+		super( StandardArchiveDescriptorFactory.INSTANCE, scanThreads );
+	}
 }
@@ -24,17 +24,26 @@
 package org.hibernate.jpa.boot.scan.spi;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.hibernate.internal.util.BootstrapThreadFactory;
 import org.hibernate.jpa.boot.archive.spi.ArchiveContext;
 import org.hibernate.jpa.boot.archive.spi.ArchiveDescriptor;
 import org.hibernate.jpa.boot.archive.spi.ArchiveDescriptorFactory;
 import org.hibernate.jpa.boot.archive.spi.ArchiveEntry;
 import org.hibernate.jpa.boot.archive.spi.ArchiveEntryHandler;
+import org.hibernate.jpa.boot.archive.spi.ArchiveException;
 import org.hibernate.jpa.boot.internal.ClassDescriptorImpl;
 import org.hibernate.jpa.boot.internal.MappingFileDescriptorImpl;
 import org.hibernate.jpa.boot.internal.PackageDescriptorImpl;
@@ -48,33 +57,122 @@ import org.hibernate.jpa.boot.spi.PersistenceUnitDescriptor;
  */
 public abstract class AbstractScannerImpl implements Scanner {
 	private final ArchiveDescriptorFactory archiveDescriptorFactory;
+	private final int scanThreads;
 	private final Map<URL, ArchiveDescriptorInfo> archiveDescriptorCache = new HashMap<URL, ArchiveDescriptorInfo>();
 
 	protected AbstractScannerImpl(ArchiveDescriptorFactory archiveDescriptorFactory) {
+		this( archiveDescriptorFactory, 1 );
+	}
+
+	/**
+	 * @param archiveDescriptorFactory The factory for descriptors of the scanned archives
+	 * @param scanThreads The number of threads over which the archives of a persistence unit are spread; {@code 1}
+	 * or less scans them all on the calling thread
+	 */
+	protected AbstractScannerImpl(ArchiveDescriptorFactory archiveDescriptorFactory, int scanThreads) {
 		this.archiveDescriptorFactory = archiveDescriptorFactory;
+		this.scanThreads = scanThreads;
 	}
 
 	@Override
 	public ScanResult scan(PersistenceUnitDescriptor persistenceUnit, ScanOptions scanOptions) {
 		final ResultCollector resultCollector = new ResultCollector( scanOptions );
+		final List<ArchiveVisit> visits = new ArrayList<ArchiveVisit>();
 
 		if ( persistenceUnit.getJarFileUrls() != null ) {
 			for ( URL url : persistenceUnit.getJarFileUrls() ) {
 				final ArchiveDescriptor descriptor = buildArchiveDescriptor( url, false, scanOptions );
-				final ArchiveContext context = buildArchiveContext( persistenceUnit, false, resultCollector );
-				descriptor.visitArchive( context );
+				final ArchiveContext context = buildArchiveContext(
+						persistenceUnit,
+						false,
+						resolveEntryHandlers( url, scanOptions, resultCollector )
+				);
+				visits.add( new ArchiveVisit( descriptor, context ) );
 			}
 		}
 
 		if ( persistenceUnit.getPersistenceUnitRootUrl() != null ) {
-			final ArchiveDescriptor descriptor = buildArchiveDescriptor( persistenceUnit.getPersistenceUnitRootUrl(), true, scanOptions );
-			final ArchiveContext context = buildArchiveContext( persistenceUnit, true, resultCollector );
-			descriptor.visitArchive( context );
+			final URL url = persistenceUnit.getPersistenceUnitRootUrl();
+			final ArchiveDescriptor descriptor = buildArchiveDescriptor( url, true, scanOptions );
+			final ArchiveContext context = buildArchiveContext(
+					persistenceUnit,
+					true,
+					resolveEntryHandlers( url, scanOptions, resultCollector )
+			);
+			visits.add( new ArchiveVisit( descriptor, context ) );
 		}
 
+		visitArchives( visits );
+
 		return ScanResultImpl.from( resultCollector );
 	}
 
+	/**
+	 * Archives shipping a Jandex index get their class files classified from the index rather than by parsing them.
+	 */
+	private ArchiveEntryHandlers resolveEntryHandlers(URL url, ScanOptions scanOptions, ResultCollector resultCollector) {
+		final JandexArchiveIndex index = JandexArchiveIndex.locate( url );
+		if ( index == null ) {
+			return resultCollector;
+		}
+		return new IndexedArchiveEntryHandlers(
+				resultCollector,
+				new IndexedClassFileArchiveEntryHandler( scanOptions, resultCollector, index )
+		);
+	}
+
+	private void visitArchives(List<ArchiveVisit> visits) {
+		if ( scanThreads <= 1 || visits.size() <= 1 ) {
+			for ( ArchiveVisit visit : visits ) {
+				visit.call();
+			}
+			return;
+		}
+
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				Math.min( scanThreads, visits.size() ),
+				new BootstrapThreadFactory()
+		);
+		try {
+			for ( Future<Void> future : executor.invokeAll( visits ) ) {
+				future.get();
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ArchiveException( "Interrupted while scanning archives", e );
+		}
+		catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw new ArchiveException( "Error scanning archive", cause );
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static class ArchiveVisit implements Callable<Void> {
+		private final ArchiveDescriptor descriptor;
+		private final ArchiveContext context;
+
+		private ArchiveVisit(ArchiveDescriptor descriptor, ArchiveContext context) {
+			this.descriptor = descriptor;
+			this.context = context;
+		}
+
+		@Override
+		public Void call() {
+			descriptor.visitArchive( context );
+			return null;
+		}
+	}
+
 	private ArchiveContext buildArchiveContext(
 			PersistenceUnitDescriptor persistenceUnit,
 			boolean isRoot,
@@ -88,6 +186,31 @@ public abstract class AbstractScannerImpl implements Scanner {
 		public ArchiveEntryHandler getFileHandler();
 	}
 
+	private static class IndexedArchiveEntryHandlers implements ArchiveEntryHandlers {
+		private final ArchiveEntryHandlers delegate;
+		private final ArchiveEntryHandler classFileHandler;
+
+		private IndexedArchiveEntryHandlers(ArchiveEntryHandlers delegate, ArchiveEntryHandler classFileHandler) {
+			this.delegate = delegate;
+			this.classFileHandler = classFileHandler;
+		}
+
+		@Override
+		public ArchiveEntryHandler getClassFileHandler() {
+			return classFileHandler;
+		}
+
+		@Override
+		public ArchiveEntryHandler getPackageInfoHandler() {
+			return delegate.getPackageInfoHandler();
+		}
+
+		@Override
+		public ArchiveEntryHandler getFileHandler() {
+			return delegate.getFileHandler();
+		}
+	}
+
 	private ArchiveDescriptor buildArchiveDescriptor(URL url, boolean isRootUrl, ScanOptions scanOptions) {
 		final ArchiveDescriptor descriptor;
 		final ArchiveDescriptorInfo descriptorInfo = archiveDescriptorCache.get( url );
@@ -118,6 +241,7 @@ public abstract class AbstractScannerImpl implements Scanner {
 		private final Set<ClassDescriptor> classDescriptorSet = new HashSet<ClassDescriptor>();
 		private final Set<MappingFileDescriptor> mappingFileSet = new HashSet<MappingFileDescriptor>();
 
+		// the located* callbacks are synchronized as archives may be scanned in parallel
 		public ResultCollector(ScanOptions scanOptions) {
 			this.classFileHandler = new ClassFileArchiveEntryHandler( scanOptions, this );
 			this.packageInfoHandler = new PackageInfoArchiveEntryHandler( scanOptions, this );
@@ -140,7 +264,7 @@ public abstract class AbstractScannerImpl implements Scanner {
 		}
 
 		@Override
-		public void locatedPackage(PackageDescriptor packageDescriptor) {
+		public synchronized void locatedPackage(PackageDescriptor packageDescriptor) {
 			if ( PackageDescriptorImpl.class.isInstance( packageDescriptor ) ) {
 				packageDescriptorSet.add( packageDescriptor );
 			}
@@ -156,7 +280,7 @@ public abstract class AbstractScannerImpl implements Scanner {
 		}
 
 		@Override
-		public void locatedClass(ClassDescriptor classDescriptor) {
+		public synchronized void locatedClass(ClassDescriptor classDescriptor) {
 			if ( ClassDescriptorImpl.class.isInstance( classDescriptor ) ) {
 				classDescriptorSet.add( classDescriptor );
 			}
@@ -172,7 +296,7 @@ public abstract class AbstractScannerImpl implements Scanner {
 		}
 
 		@Override
-		public void locatedMappingFile(MappingFileDescriptor mappingFileDescriptor) {
+		public synchronized void locatedMappingFile(MappingFileDescriptor mappingFileDescriptor) {
 			if ( MappingFileDescriptorImpl.class.isInstance( mappingFileDescriptor ) ) {
 				mappingFileSet.add( mappingFileDescriptor );
 			}
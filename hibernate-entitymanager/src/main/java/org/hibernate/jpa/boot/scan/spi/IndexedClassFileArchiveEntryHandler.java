@@ -0,0 +1,71 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.jpa.boot.scan.spi;
+
+import org.hibernate.jpa.boot.archive.spi.ArchiveContext;
+import org.hibernate.jpa.boot.archive.spi.ArchiveEntry;
+import org.hibernate.jpa.boot.internal.ClassDescriptorImpl;
+
+/**
+ * Class file handling for an archive with a {@link JandexArchiveIndex}: indexed classes are classified from the
+ * index, only classes missing from it are parsed.
+ */
+public class IndexedClassFileArchiveEntryHandler extends ClassFileArchiveEntryHandler {
+	private final JandexArchiveIndex index;
+
+	public IndexedClassFileArchiveEntryHandler(ScanOptions scanOptions, Callback callback, JandexArchiveIndex index) {
+		super( scanOptions, callback );
+		this.index = index;
+	}
+
+	@Override
+	public void handleEntry(ArchiveEntry entry, ArchiveContext context) {
+		final String className = toClassName( entry.getNameWithinArchive() );
+		if ( ! index.isIndexed( className ) ) {
+			super.handleEntry( entry, context );
+			return;
+		}
+
+		if ( ! isListedOrDetectable( context, className ) ) {
+			return;
+		}
+
+		if ( ! index.hasClassAnnotationsOfInterest( className ) ) {
+			return;
+		}
+
+		notifyMatchedClass( new ClassDescriptorImpl( className, entry.getStreamAccess() ) );
+	}
+
+	private static String toClassName(String nameWithinArchive) {
+		String name = nameWithinArchive;
+		if ( name.startsWith( "/" ) ) {
+			name = name.substring( 1 );
+		}
+		if ( name.endsWith( ".class" ) ) {
+			name = name.substring( 0, name.length() - ".class".length() );
+		}
+		return name.replace( '/', '.' );
+	}
+}
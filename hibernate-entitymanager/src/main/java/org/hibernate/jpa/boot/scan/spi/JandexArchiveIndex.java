@@ -0,0 +1,168 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.jpa.boot.scan.spi;
+
+import javax.persistence.Converter;
+import javax.persistence.Embeddable;
+import javax.persistence.Entity;
+import javax.persistence.MappedSuperclass;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.logging.Logger;
+
+import org.hibernate.jpa.internal.EntityManagerMessageLogger;
+
+/**
+ * The class information of an archive shipping a prebuilt Jandex index ({@value #INDEX_LOCATION}), which allows
+ * deciding whether a class file is of interest without parsing it.
+ */
+public class JandexArchiveIndex {
+	private static final EntityManagerMessageLogger LOG = Logger.getMessageLogger(
+			EntityManagerMessageLogger.class,
+			JandexArchiveIndex.class.getName()
+	);
+
+	/**
+	 * The location of the index within an archive, as written by the Jandex tooling.
+	 */
+	public static final String INDEX_LOCATION = "META-INF/jandex.idx";
+
+	private static final DotName[] ANNOTATIONS_OF_INTEREST = new DotName[] {
+			DotName.createSimple( Entity.class.getName() ),
+			DotName.createSimple( MappedSuperclass.class.getName() ),
+			DotName.createSimple( Embeddable.class.getName() ),
+			DotName.createSimple( Converter.class.getName() )
+	};
+
+	private final Set<String> indexedClassNames = new HashSet<String>();
+	private final Set<String> classNamesOfInterest = new HashSet<String>();
+
+	private JandexArchiveIndex(Index index) {
+		for ( ClassInfo classInfo : index.getKnownClasses() ) {
+			indexedClassNames.add( classInfo.name().toString() );
+		}
+		for ( DotName annotationName : ANNOTATIONS_OF_INTEREST ) {
+			for ( AnnotationInstance annotation : index.getAnnotations( annotationName ) ) {
+				if ( annotation.target() instanceof ClassInfo ) {
+					classNamesOfInterest.add( ( (ClassInfo) annotation.target() ).name().toString() );
+				}
+			}
+		}
+	}
+
+	/**
+	 * Locate and read the index of the given archive.
+	 *
+	 * @param archiveUrl The archive (jar file or directory) URL
+	 *
+	 * @return The index, or {@code null} if the archive has none, or it could not be read
+	 */
+	public static JandexArchiveIndex locate(URL archiveUrl) {
+		final InputStream inputStream;
+		try {
+			final URLConnection connection = resolveIndexUrl( archiveUrl ).openConnection();
+			// do not keep (and lock) the archive open through the JarURLConnection cache
+			connection.setUseCaches( false );
+			inputStream = new BufferedInputStream( connection.getInputStream() );
+		}
+		catch (IOException e) {
+			// no index
+			return null;
+		}
+
+		try {
+			return new JandexArchiveIndex( new IndexReader( inputStream ).read() );
+		}
+		catch (Exception e) {
+			LOG.debugf( "Unable to read Jandex index of [%s], scanning class files instead : %s", archiveUrl, e );
+			return null;
+		}
+		finally {
+			try {
+				inputStream.close();
+			}
+			catch (IOException ignore) {
+			}
+		}
+	}
+
+	private static URL resolveIndexUrl(URL archiveUrl) throws IOException {
+		final String externalForm = archiveUrl.toExternalForm();
+		if ( externalForm.endsWith( "/" ) ) {
+			return new URL( archiveUrl, INDEX_LOCATION );
+		}
+		if ( "file".equals( archiveUrl.getProtocol() ) && isFile( archiveUrl ) ) {
+			return new URL( "jar:" + externalForm + "!/" + INDEX_LOCATION );
+		}
+		return new URL( externalForm + "/" + INDEX_LOCATION );
+	}
+
+	private static boolean isFile(URL fileUrl) {
+		try {
+			return new File( fileUrl.toURI() ).isFile();
+		}
+		catch (URISyntaxException e) {
+			return new File( fileUrl.getFile() ).isFile();
+		}
+		catch (IllegalArgumentException e) {
+			return new File( fileUrl.getFile() ).isFile();
+		}
+	}
+
+	/**
+	 * Does the index cover the named class?  Classes added to the archive after the index was built are not.
+	 *
+	 * @param className The class name
+	 *
+	 * @return {@code true} if the class is indexed
+	 */
+	public boolean isIndexed(String className) {
+		return indexedClassNames.contains( className );
+	}
+
+	/**
+	 * Is the named (indexed) class annotated with {@code @Entity}, {@code @MappedSuperclass}, {@code @Embeddable}
+	 * or {@code @Converter}?
+	 *
+	 * @param className The class name
+	 *
+	 * @return {@code true} if the class has any of the annotations
+	 */
+	public boolean hasClassAnnotationsOfInterest(String className) {
+		return classNamesOfInterest.contains( className );
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.jpa.criteria;
+
+import org.hibernate.HibernateException;
+
+/**
+ * How the literals of a criteria query are rendered into the JPQL it is compiled to.
+ *
+ * @see org.hibernate.jpa.AvailableSettings#CRITERIA_LITERAL_HANDLING_MODE
+ */
+public enum LiteralHandlingMode {
+	/**
+	 * Numeric literals are rendered inline, all other literals are bound as parameters.
+	 */
+	AUTO,
+	/**
+	 * Literals are bound as parameters wherever a parameter is allowed (i.e. everywhere but the select clause), so
+	 * that criteria queries only differing in their literal values compile to the same JPQL and share its plan in
+	 * the {@link org.hibernate.engine.query.spi.QueryPlanCache}.
+	 */
+	BIND;
+
+	/**
+	 * Interpret the value of the {@link org.hibernate.jpa.AvailableSettings#CRITERIA_LITERAL_HANDLING_MODE} setting.
+	 *
+	 * @param setting The setting value, either a {@link LiteralHandlingMode} or its (case-insensitive) name
+	 *
+	 * @return The mode, {@link #AUTO} if not set
+	 */
+	public static LiteralHandlingMode interpret(Object setting) {
+		if ( setting == null ) {
+			return AUTO;
+		}
+		if ( setting instanceof LiteralHandlingMode ) {
+			return (LiteralHandlingMode) setting;
+		}
+		final String name = setting.toString().trim();
+		for ( LiteralHandlingMode mode : values() ) {
+			if ( mode.name().equalsIgnoreCase( name ) ) {
+				return mode;
+			}
+		}
+		throw new HibernateException( "Unrecognized criteria literal handling mode : " + setting );
+	}
+}
@@ -28,7 +28,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -159,7 +158,7 @@ public class QueryStructure<T> implements Serializable {
 			throw new IllegalStateException( "Query is not identified as sub-query" );
 		}
 		if ( correlationRoots == null ) {
-			correlationRoots = new HashSet<FromImplementor>();
+			correlationRoots = new LinkedHashSet<FromImplementor>();
 		}
 		correlationRoots.add( fromImplementor );
 	}
@@ -170,7 +169,7 @@ public class QueryStructure<T> implements Serializable {
 		}
 		final Set<Join<?, ?>> correlatedJoins;
 		if ( correlationRoots != null ) {
-			correlatedJoins = new HashSet<Join<?,?>>();
+			correlatedJoins = new LinkedHashSet<Join<?,?>>();
 			for ( FromImplementor<?,?> correlationRoot : correlationRoots ) {
 				correlatedJoins.addAll( correlationRoot.getJoins() );
 			}
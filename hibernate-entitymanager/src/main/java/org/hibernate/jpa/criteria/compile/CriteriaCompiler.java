@@ -34,6 +34,9 @@ import java.util.Map;
 
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.util.StringHelper;
+import org.hibernate.jpa.criteria.LiteralHandlingMode;
+import org.hibernate.jpa.criteria.ValueHandlerFactory;
+import org.hibernate.jpa.internal.EntityManagerFactoryImpl;
 import org.hibernate.jpa.spi.HibernateEntityManagerImplementor;
 import org.hibernate.type.Type;
 
@@ -60,6 +63,9 @@ public class CriteriaCompiler implements Serializable {
 		final Map<String,ParameterExpression<?>> explicitParameterNameMapping = new HashMap<String,ParameterExpression<?>>();
 		final List<ImplicitParameterBinding> implicitParameterBindings = new ArrayList<ImplicitParameterBinding>();
 		final Map<String,Class> implicitParameterTypes = new HashMap<String, Class>();
+		final LiteralHandlingMode literalHandlingMode = entityManager.getEntityManagerFactory() instanceof EntityManagerFactoryImpl
+				? ( (EntityManagerFactoryImpl) entityManager.getEntityManagerFactory() ).getCriteriaLiteralHandlingMode()
+				: LiteralHandlingMode.AUTO;
 
 		RenderingContext renderingContext = new RenderingContext() {
 			private int aliasCount = 0;
@@ -102,8 +108,19 @@ public class CriteriaCompiler implements Serializable {
 						return javaType;
 					}
 
+					@SuppressWarnings("unchecked")
 					public void bind(TypedQuery typedQuery) {
-						typedQuery.setParameter( parameterName, literal );
+						Object value = literal;
+						if ( ValueHandlerFactory.isNumeric( literal ) ) {
+							// a bound numeric literal has to match the type the query expects it to be
+							final Class parameterType = typedQuery.getParameter( parameterName ).getParameterType();
+							if ( parameterType != null
+									&& ValueHandlerFactory.isNumeric( parameterType )
+									&& !parameterType.isInstance( literal ) ) {
+								value = ValueHandlerFactory.convert( literal, parameterType );
+							}
+						}
+						typedQuery.setParameter( parameterName, value );
 					}
 				};
 
@@ -123,6 +140,10 @@ public class CriteriaCompiler implements Serializable {
 				}
 				return hibernateType.getName();
 			}
+
+			public LiteralHandlingMode getLiteralHandlingMode() {
+				return literalHandlingMode;
+			}
 		};
 
 		return criteria.interpret( renderingContext ).buildCompiledQuery(
@@ -25,6 +25,8 @@ package org.hibernate.jpa.criteria.compile;
 
 import javax.persistence.criteria.ParameterExpression;
 
+import org.hibernate.jpa.criteria.LiteralHandlingMode;
+
 /**
  * Used to provide a context and services to the rendering.
  *
@@ -65,4 +67,11 @@ public interface RenderingContext {
 	 * @return The cast type name.
 	 */
 	public String getCastType(Class javaType);
+
+	/**
+	 * How literals should be rendered.
+	 *
+	 * @return The literal handling mode
+	 */
+	public LiteralHandlingMode getLiteralHandlingMode();
 }
@@ -76,6 +76,7 @@ import org.hibernate.jpa.AvailableSettings;
 import org.hibernate.jpa.HibernateQuery;
 import org.hibernate.jpa.boot.internal.SettingsImpl;
 import org.hibernate.jpa.criteria.CriteriaBuilderImpl;
+import org.hibernate.jpa.criteria.LiteralHandlingMode;
 import org.hibernate.jpa.graph.internal.AbstractGraphNode;
 import org.hibernate.jpa.graph.internal.EntityGraphImpl;
 import org.hibernate.jpa.graph.internal.SubgraphImpl;
@@ -108,6 +109,7 @@ public class EntityManagerFactoryImpl implements HibernateEntityManagerFactory {
 	private final transient MetamodelImpl metamodel;
 	private final transient HibernatePersistenceUnitUtil util;
 	private final transient Map<String,Object> properties;
+	private final transient LiteralHandlingMode criteriaLiteralHandlingMode;
 	private final String entityManagerFactoryName;
 
 	private final transient PersistenceUtilHelper.MetadataCache cache = new PersistenceUtilHelper.MetadataCache();
@@ -162,6 +164,9 @@ public class EntityManagerFactoryImpl implements HibernateEntityManagerFactory {
 		addAll( props, configurationValues );
 		maskOutSensitiveInformation( props );
 		this.properties = Collections.unmodifiableMap( props );
+		this.criteriaLiteralHandlingMode = LiteralHandlingMode.interpret(
+				props.get( AvailableSettings.CRITERIA_LITERAL_HANDLING_MODE )
+		);
 		String entityManagerFactoryName = (String)this.properties.get( AvailableSettings.ENTITY_MANAGER_FACTORY_NAME);
 		if (entityManagerFactoryName == null) {
 			entityManagerFactoryName = persistenceUnitName;
@@ -328,6 +333,15 @@ public class EntityManagerFactoryImpl implements HibernateEntityManagerFactory {
 		return criteriaBuilder;
 	}
 
+	/**
+	 * How the literals of criteria queries are rendered.
+	 *
+	 * @return The literal handling mode
+	 */
+	public LiteralHandlingMode getCriteriaLiteralHandlingMode() {
+		return criteriaLiteralHandlingMode;
+	}
+
 	public Metamodel getMetamodel() {
 		validateNotClosed();
 		return metamodel;
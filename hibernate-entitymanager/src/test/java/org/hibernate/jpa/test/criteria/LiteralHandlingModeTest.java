@@ -0,0 +1,93 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008, 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.jpa.test.criteria;
+
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+import org.junit.Test;
+
+import org.hibernate.Query;
+import org.hibernate.jpa.AvailableSettings;
+import org.hibernate.jpa.test.BaseEntityManagerFunctionalTestCase;
+import org.hibernate.jpa.test.metamodel.Product;
+import org.hibernate.jpa.test.metamodel.Product_;
+import org.hibernate.jpa.test.metamodel.ShelfLife;
+
+import static org.junit.Assert.assertEquals;
+
+public class LiteralHandlingModeTest extends BaseEntityManagerFunctionalTestCase {
+	@Override
+	public Class[] getAnnotatedClasses() {
+		return new Class[] { Product.class, ShelfLife.class };
+	}
+
+	@Override
+	@SuppressWarnings( {"unchecked"})
+	protected void addConfigOptions(Map options) {
+		options.put( AvailableSettings.CRITERIA_LITERAL_HANDLING_MODE, "bind" );
+	}
+
+	@Test
+	public void testNumericLiteralsAreBound() {
+		EntityManager em = getOrCreateEntityManager();
+		em.getTransaction().begin();
+		em.persist( new Product( "p1", "Cheap", 5.0d, 10, 1L ) );
+		em.persist( new Product( "p2", "Pricey", 50.0d, 20, 2L ) );
+		em.getTransaction().commit();
+		em.close();
+
+		em = getOrCreateEntityManager();
+		em.getTransaction().begin();
+		final TypedQuery<Product> first = pricierThan( em, 1 );
+		final TypedQuery<Product> second = pricierThan( em, 10 );
+		// both queries render to the same JPQL, and so share a single query plan
+		assertEquals(
+				first.unwrap( Query.class ).getQueryString(),
+				second.unwrap( Query.class ).getQueryString()
+		);
+		// the int literals were bound as the double the price comparison expects
+		assertEquals( 2, first.getResultList().size() );
+		final List<Product> pricey = second.getResultList();
+		assertEquals( 1, pricey.size() );
+		assertEquals( "p2", pricey.get( 0 ).getId() );
+
+		em.createQuery( "delete Product" ).executeUpdate();
+		em.getTransaction().commit();
+		em.close();
+	}
+
+	private TypedQuery<Product> pricierThan(EntityManager em, int price) {
+		final CriteriaBuilder builder = em.getCriteriaBuilder();
+		final CriteriaQuery<Product> criteria = builder.createQuery( Product.class );
+		final Root<Product> root = criteria.from( Product.class );
+		criteria.where( builder.gt( root.get( Product_.price ), price ) );
+		return em.createQuery( criteria );
+	}
+}
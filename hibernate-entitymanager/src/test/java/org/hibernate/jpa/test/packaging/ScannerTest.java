@@ -25,10 +25,19 @@ package org.hibernate.jpa.test.packaging;
 
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.InputStream;
 import java.util.HashMap;
 
+import org.jboss.jandex.IndexWriter;
+import org.jboss.jandex.Indexer;
+import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+
 import org.hibernate.jpa.AvailableSettings;
 import org.hibernate.jpa.boot.internal.ParsedPersistenceXmlDescriptor;
 import org.hibernate.jpa.boot.spi.PersistenceUnitDescriptor;
@@ -37,16 +46,24 @@ import org.hibernate.jpa.boot.scan.internal.StandardScanner;
 import org.hibernate.jpa.boot.spi.ClassDescriptor;
 import org.hibernate.jpa.boot.spi.MappingFileDescriptor;
 import org.hibernate.jpa.boot.spi.NamedInputStream;
+import org.hibernate.jpa.boot.scan.spi.JandexArchiveIndex;
 import org.hibernate.jpa.boot.scan.spi.ScanOptions;
 import org.hibernate.jpa.boot.scan.spi.ScanResult;
 import org.hibernate.jpa.boot.scan.spi.Scanner;
 import org.hibernate.jpa.test.pack.defaultpar.ApplicationServer;
+import org.hibernate.jpa.test.pack.defaultpar.IncrementListener;
+import org.hibernate.jpa.test.pack.defaultpar.Lighter;
+import org.hibernate.jpa.test.pack.defaultpar.Money;
+import org.hibernate.jpa.test.pack.defaultpar.Mouse;
+import org.hibernate.jpa.test.pack.defaultpar.OtherIncrementListener;
 import org.hibernate.jpa.test.pack.defaultpar.Version;
 
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -84,6 +101,73 @@ public class ScannerTest extends PackagingTestCase {
 		}
 	}
 
+	@Test
+	public void testJandexIndexedScanner() throws Exception {
+		File indexedPar = buildIndexedPar();
+		addPackageToClasspath( indexedPar );
+
+		JandexArchiveIndex index = JandexArchiveIndex.locate( indexedPar.toURL() );
+		assertNotNull( index );
+		assertTrue( index.isIndexed( ApplicationServer.class.getName() ) );
+		assertTrue( index.hasClassAnnotationsOfInterest( ApplicationServer.class.getName() ) );
+		assertFalse( index.hasClassAnnotationsOfInterest( Mouse.class.getName() ) );
+
+		PersistenceUnitDescriptor descriptor = new ParsedPersistenceXmlDescriptor( indexedPar.toURL() );
+		ScanOptions options = new StandardScanOptions( "hbm,class", descriptor.isExcludeUnlistedClasses() );
+		ScanResult scanResult = new StandardScanner( 2 ).scan( descriptor, options );
+
+		// the classes missing from the index (Lighter and the listeners) get classified by parsing them
+		assertEquals( 3, scanResult.getLocatedClasses().size() );
+		assertClassesContained( scanResult, ApplicationServer.class );
+		assertClassesContained( scanResult, Money.class );
+		assertClassesContained( scanResult, Version.class );
+		assertEquals( 2, scanResult.getLocatedMappingFiles().size() );
+	}
+
+	@Test
+	public void testNoJandexIndex() throws Exception {
+		File defaultPar = buildDefaultPar();
+		assertNull( JandexArchiveIndex.locate( defaultPar.toURL() ) );
+	}
+
+	private File buildIndexedPar() throws Exception {
+		String fileName = "indexedpar.par";
+		JavaArchive archive = ShrinkWrap.create( JavaArchive.class, fileName );
+		archive.addClasses(
+				ApplicationServer.class,
+				Lighter.class,
+				Money.class,
+				Mouse.class,
+				OtherIncrementListener.class,
+				IncrementListener.class,
+				Version.class
+		);
+		archive.addAsResource( "defaultpar/META-INF/orm.xml", ArchivePaths.create( "META-INF/orm.xml" ) );
+		archive.addAsResource( "defaultpar/META-INF/persistence.xml", ArchivePaths.create( "META-INF/persistence.xml" ) );
+		archive.addAsResource(
+				"defaultpar/org/hibernate/jpa/test/pack/defaultpar/Mouse.hbm.xml",
+				ArchivePaths.create( "org/hibernate/jpa/test/pack/defaultpar/Mouse.hbm.xml" )
+		);
+
+		Indexer indexer = new Indexer();
+		for ( Class clazz : new Class[] { ApplicationServer.class, Money.class, Mouse.class, Version.class } ) {
+			InputStream stream = clazz.getClassLoader().getResourceAsStream( clazz.getName().replace( '.', '/' ) + ".class" );
+			try {
+				indexer.index( stream );
+			}
+			finally {
+				stream.close();
+			}
+		}
+		ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+		new IndexWriter( indexBytes ).write( indexer.complete() );
+		archive.add( new ByteArrayAsset( indexBytes.toByteArray() ), ArchivePaths.create( JandexArchiveIndex.INDEX_LOCATION ) );
+
+		File testPackage = new File( packageTargetDir, fileName );
+		archive.as( ZipExporter.class ).exportTo( testPackage, true );
+		return testPackage;
+	}
+
 	private void assertClassesContained(ScanResult scanResult, Class classToCheckFor) {
 		for ( ClassDescriptor classDescriptor : scanResult.getLocatedClasses() ) {
 			if ( classDescriptor.getName().equals( classToCheckFor.getName() ) ) {